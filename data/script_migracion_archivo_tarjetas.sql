@@ -0,0 +1,60 @@
+-- Migración: tablas de archivo, reconciliación y tarjetas de match de ms-social
+-- para bases de datos existentes. Las tarjetas de los matches existentes se
+-- crean después con POST /api/social/interno/tarjetas/reconstruir.
+
+USE tinderstandin_db;
+
+-- Likes archivados de ms-social (fuera de la tabla caliente)
+CREATE TABLE IF NOT EXISTS likes_archivo (
+    id BIGINT PRIMARY KEY,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    fecha_archivado DATETIME NOT NULL,
+    UNIQUE KEY uk_likes_archivo_origen_destino (usuario_origen_id, usuario_destino_id),
+    INDEX idx_likes_archivo_destino_fecha (usuario_destino_id, fecha_creacion, id)
+);
+
+-- Matches archivados de ms-social
+CREATE TABLE IF NOT EXISTS matches_archivo (
+    id BIGINT PRIMARY KEY,
+    usuario1_id BIGINT NOT NULL,
+    usuario2_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    activo TINYINT(1) NOT NULL,
+    fecha_archivado DATETIME NOT NULL,
+    UNIQUE KEY uk_matches_archivo_par (usuario1_id, usuario2_id),
+    INDEX idx_matches_archivo_usuario1_fecha (usuario1_id, fecha_creacion, id),
+    INDEX idx_matches_archivo_usuario2_fecha (usuario2_id, fecha_creacion, id)
+);
+
+-- Rangos de usuarios ya revisados por la reconciliación de ms-social
+CREATE TABLE IF NOT EXISTS reconciliacion_puntos_control (
+    rango_inicio BIGINT PRIMARY KEY,
+    rango_fin BIGINT NOT NULL,
+    likes_duplicados INT NOT NULL,
+    matches_duplicados INT NOT NULL,
+    matches_faltantes INT NOT NULL,
+    fecha_completado DATETIME NOT NULL
+);
+
+-- Tarjetas de match de ms-social (una por usuario y match, con los datos de la contraparte)
+CREATE TABLE IF NOT EXISTS tarjetas_match (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    match_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    contraparte_id BIGINT NOT NULL,
+    fecha_match DATETIME NOT NULL,
+    activo TINYINT(1) NOT NULL,
+    username VARCHAR(100),
+    nombre_completo VARCHAR(200),
+    genero VARCHAR(30),
+    ciudad VARCHAR(100),
+    foto_url VARCHAR(500),
+    fecha_actualizacion DATETIME,
+    UNIQUE KEY uk_tarjetas_usuario_contraparte (usuario_id, contraparte_id),
+    INDEX idx_tarjetas_usuario_fecha (usuario_id, fecha_match, match_id),
+    INDEX idx_tarjetas_contraparte (contraparte_id),
+    INDEX idx_tarjetas_match (match_id),
+    INDEX idx_tarjetas_pendientes (fecha_actualizacion, contraparte_id)
+);
@@ -0,0 +1,11 @@
+-- Migración: el despacho del outbox lo ejecuta solo la instancia de ms-social
+-- que tiene el arrendamiento vigente. Ejecutar antes de desplegar más de una
+-- instancia con la versión que toma el arrendamiento.
+
+USE tinderstandin_db;
+
+CREATE TABLE IF NOT EXISTS arrendamientos (
+    nombre VARCHAR(60) PRIMARY KEY,
+    propietario VARCHAR(36) NOT NULL,
+    vence DATETIME NOT NULL
+);
@@ -0,0 +1,40 @@
+-- Migración: carga inicial de los contadores por usuario a partir de los datos
+-- existentes, incluidos los likes y matches archivados.
+-- Ejecutar con ms-social detenido: los incrementos que el servicio aún no
+-- haya escrito se sumarían sobre un recuento que ya los incluye. Con el
+-- servicio en marcha, los contadores se recuentan por rangos de usuarios con
+-- la reconciliación (POST /api/social/interno/reconciliacion/iniciar), que
+-- solo corrige los descuadres que se mantienen entre dos recuentos.
+-- Requiere las tablas de archivo (script_migracion_archivo_tarjetas.sql).
+
+USE tinderstandin_db;
+
+CREATE TABLE IF NOT EXISTS contadores_usuario (
+    usuario_id BIGINT PRIMARY KEY,
+    likes_recibidos BIGINT NOT NULL DEFAULT 0,
+    likes_enviados BIGINT NOT NULL DEFAULT 0,
+    matches BIGINT NOT NULL DEFAULT 0
+);
+
+DELETE FROM contadores_usuario;
+
+INSERT INTO contadores_usuario (usuario_id, likes_recibidos, likes_enviados, matches)
+SELECT usuario_id, SUM(recibidos), SUM(enviados), SUM(con_match)
+FROM (
+    SELECT usuario_destino_id AS usuario_id, 1 AS recibidos, 0 AS enviados, 0 AS con_match FROM likes
+    UNION ALL
+    SELECT usuario_destino_id, 1, 0, 0 FROM likes_archivo
+    UNION ALL
+    SELECT usuario_origen_id, 0, 1, 0 FROM likes
+    UNION ALL
+    SELECT usuario_origen_id, 0, 1, 0 FROM likes_archivo
+    UNION ALL
+    SELECT usuario1_id, 0, 0, 1 FROM matches
+    UNION ALL
+    SELECT usuario2_id, 0, 0, 1 FROM matches
+    UNION ALL
+    SELECT usuario1_id, 0, 0, 1 FROM matches_archivo
+    UNION ALL
+    SELECT usuario2_id, 0, 0, 1 FROM matches_archivo
+) AS conteos
+GROUP BY usuario_id;
@@ -0,0 +1,15 @@
+-- Migración: las notificaciones en tiempo real se difunden a todas las
+-- instancias de ms-social por esta tabla. Ejecutar antes de desplegar la
+-- versión que difunde las notificaciones.
+
+USE tinderstandin_db;
+
+CREATE TABLE IF NOT EXISTS notificaciones_difusion (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha DATETIME NOT NULL,
+    fecha_registro DATETIME(3) NOT NULL,
+    INDEX idx_notificaciones_difusion_registro (fecha_registro)
+);
@@ -0,0 +1,9 @@
+-- Migración: las claves de idempotencia se reclaman antes de ejecutar la
+-- escritura, con la fila en curso (sin código de estado) hasta guardar la
+-- respuesta. Ejecutar antes de desplegar la versión que reclama las claves.
+
+USE tinderstandin_db;
+
+ALTER TABLE claves_idempotencia
+    ADD COLUMN propietario VARCHAR(36) AFTER huella,
+    MODIFY COLUMN codigo_estado INT NULL;
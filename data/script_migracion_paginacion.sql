@@ -0,0 +1,13 @@
+-- Migración: índices compuestos para la paginación por clave (fecha_creacion, id)
+
+USE tinderstandin_db;
+
+ALTER TABLE likes
+    ADD INDEX idx_likes_destino_fecha (usuario_destino_id, fecha_creacion, id),
+    DROP INDEX idx_likes_destino;
+
+ALTER TABLE matches
+    ADD INDEX idx_matches_usuario1_fecha (usuario1_id, fecha_creacion, id),
+    ADD INDEX idx_matches_usuario2_fecha (usuario2_id, fecha_creacion, id),
+    DROP INDEX idx_matches_usuario1,
+    DROP INDEX idx_matches_usuario2;
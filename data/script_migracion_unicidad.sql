@@ -0,0 +1,22 @@
+-- Migración: índices únicos de likes y matches para bases de datos existentes
+-- Elimina primero los duplicados (conserva la fila más antigua de cada par)
+
+USE tinderstandin_db;
+
+DELETE l FROM likes l
+JOIN likes o
+  ON o.usuario_origen_id = l.usuario_origen_id
+ AND o.usuario_destino_id = l.usuario_destino_id
+ AND o.id < l.id;
+
+DELETE m FROM matches m
+JOIN matches o
+  ON o.usuario1_id = m.usuario1_id
+ AND o.usuario2_id = m.usuario2_id
+ AND o.id < m.id;
+
+ALTER TABLE likes
+    ADD UNIQUE KEY uk_likes_origen_destino (usuario_origen_id, usuario_destino_id);
+
+ALTER TABLE matches
+    ADD UNIQUE KEY uk_matches_par (usuario1_id, usuario2_id);
@@ -47,8 +47,9 @@ CREATE TABLE IF NOT EXISTS likes (
     usuario_origen_id BIGINT NOT NULL,
     usuario_destino_id BIGINT NOT NULL,
     fecha_creacion DATETIME NOT NULL,
+    UNIQUE KEY uk_likes_origen_destino (usuario_origen_id, usuario_destino_id),
     INDEX idx_likes_origen (usuario_origen_id),
-    INDEX idx_likes_destino (usuario_destino_id)
+    INDEX idx_likes_destino_fecha (usuario_destino_id, fecha_creacion, id)
 );
 
 -- Tabla de matches
@@ -58,8 +59,116 @@ CREATE TABLE IF NOT EXISTS matches (
     usuario2_id BIGINT NOT NULL,
     fecha_creacion DATETIME NOT NULL,
     activo TINYINT(1) NOT NULL DEFAULT 1,
-    INDEX idx_matches_usuario1 (usuario1_id),
-    INDEX idx_matches_usuario2 (usuario2_id)
+    UNIQUE KEY uk_matches_par (usuario1_id, usuario2_id),
+    INDEX idx_matches_usuario1_fecha (usuario1_id, fecha_creacion, id),
+    INDEX idx_matches_usuario2_fecha (usuario2_id, fecha_creacion, id)
+);
+
+-- Tabla de salida de eventos de dominio (outbox) de ms-social
+CREATE TABLE IF NOT EXISTS eventos_salida (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    clave_orden VARCHAR(50) NOT NULL,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    intentos INT NOT NULL DEFAULT 0,
+    proximo_intento DATETIME NOT NULL,
+    ultimo_error VARCHAR(500),
+    INDEX idx_eventos_estado_intento (estado, proximo_intento, id)
+);
+
+-- Contadores de likes y matches por usuario de ms-social
+CREATE TABLE IF NOT EXISTS contadores_usuario (
+    usuario_id BIGINT PRIMARY KEY,
+    likes_recibidos BIGINT NOT NULL DEFAULT 0,
+    likes_enviados BIGINT NOT NULL DEFAULT 0,
+    matches BIGINT NOT NULL DEFAULT 0
+);
+
+-- Respuestas guardadas por clave de idempotencia (likes y fotos)
+CREATE TABLE IF NOT EXISTS claves_idempotencia (
+    clave VARCHAR(160) PRIMARY KEY,
+    huella VARCHAR(64) NOT NULL,
+    propietario VARCHAR(36),
+    codigo_estado INT,
+    cuerpo TEXT,
+    fecha_creacion DATETIME NOT NULL,
+    INDEX idx_claves_idempotencia_fecha (fecha_creacion)
+);
+
+-- Arrendamientos de tareas que solo debe ejecutar una instancia (despacho del outbox)
+CREATE TABLE IF NOT EXISTS arrendamientos (
+    nombre VARCHAR(60) PRIMARY KEY,
+    propietario VARCHAR(36) NOT NULL,
+    vence DATETIME NOT NULL
+);
+
+-- Canal de difusión de notificaciones en tiempo real entre instancias de ms-social
+CREATE TABLE IF NOT EXISTS notificaciones_difusion (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha DATETIME NOT NULL,
+    fecha_registro DATETIME(3) NOT NULL,
+    INDEX idx_notificaciones_difusion_registro (fecha_registro)
+);
+
+-- Likes archivados de ms-social (fuera de la tabla caliente)
+CREATE TABLE IF NOT EXISTS likes_archivo (
+    id BIGINT PRIMARY KEY,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    fecha_archivado DATETIME NOT NULL,
+    UNIQUE KEY uk_likes_archivo_origen_destino (usuario_origen_id, usuario_destino_id),
+    INDEX idx_likes_archivo_destino_fecha (usuario_destino_id, fecha_creacion, id)
+);
+
+-- Matches archivados de ms-social
+CREATE TABLE IF NOT EXISTS matches_archivo (
+    id BIGINT PRIMARY KEY,
+    usuario1_id BIGINT NOT NULL,
+    usuario2_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    activo TINYINT(1) NOT NULL,
+    fecha_archivado DATETIME NOT NULL,
+    UNIQUE KEY uk_matches_archivo_par (usuario1_id, usuario2_id),
+    INDEX idx_matches_archivo_usuario1_fecha (usuario1_id, fecha_creacion, id),
+    INDEX idx_matches_archivo_usuario2_fecha (usuario2_id, fecha_creacion, id)
+);
+
+-- Rangos de usuarios ya revisados por la reconciliación de ms-social
+CREATE TABLE IF NOT EXISTS reconciliacion_puntos_control (
+    rango_inicio BIGINT PRIMARY KEY,
+    rango_fin BIGINT NOT NULL,
+    likes_duplicados INT NOT NULL,
+    matches_duplicados INT NOT NULL,
+    matches_faltantes INT NOT NULL,
+    fecha_completado DATETIME NOT NULL
+);
+
+-- Tarjetas de match de ms-social (una por usuario y match, con los datos de la contraparte)
+CREATE TABLE IF NOT EXISTS tarjetas_match (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    match_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    contraparte_id BIGINT NOT NULL,
+    fecha_match DATETIME NOT NULL,
+    activo TINYINT(1) NOT NULL,
+    username VARCHAR(100),
+    nombre_completo VARCHAR(200),
+    genero VARCHAR(30),
+    ciudad VARCHAR(100),
+    foto_url VARCHAR(500),
+    fecha_actualizacion DATETIME,
+    UNIQUE KEY uk_tarjetas_usuario_contraparte (usuario_id, contraparte_id),
+    INDEX idx_tarjetas_usuario_fecha (usuario_id, fecha_match, match_id),
+    INDEX idx_tarjetas_contraparte (contraparte_id),
+    INDEX idx_tarjetas_match (match_id),
+    INDEX idx_tarjetas_pendientes (fecha_actualizacion, contraparte_id)
 );
 
 -- Tabla de fotos
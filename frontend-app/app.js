@@ -34,6 +34,30 @@
     return { ok: response.ok, status: response.status, data };
   }
 
+  // Recorre un listado paginado de ms-social siguiendo la cabecera
+  // X-Siguiente-Cursor hasta la última página y devuelve todos los elementos.
+  async function fetchTodasLasPaginas(url) {
+    const elementos = [];
+    let cursor = null;
+    do {
+      const separador = url.includes("?") ? "&" : "?";
+      const pagina = cursor ? `${url}${separador}cursor=${encodeURIComponent(cursor)}` : url;
+      const response = await fetch(pagina);
+      const contentType = response.headers.get("content-type") || "";
+      if (!response.ok || !contentType.includes("application/json")) {
+        const data = contentType.includes("application/json") ? await response.json() : undefined;
+        return { ok: false, status: response.status, data };
+      }
+      const data = await response.json();
+      if (!Array.isArray(data)) {
+        return { ok: response.ok, status: response.status, data };
+      }
+      elementos.push(...data);
+      cursor = response.headers.get("X-Siguiente-Cursor");
+    } while (cursor);
+    return { ok: true, status: 200, data: elementos };
+  }
+
   function initAuthPage() {
     const formRegistro = document.getElementById("form-registro");
     const formLogin = document.getElementById("form-login");
@@ -143,9 +167,28 @@
     indiceActual: 0,
   };
 
+  let fuenteEventos = null;
+
+  // Suscripción a eventos en tiempo real de ms-social (likes recibidos y matches).
+  // EventSource se reconecta solo si el servidor cierra la conexión.
+  function suscribirEventos(usuarioId) {
+    if (fuenteEventos) {
+      fuenteEventos.close();
+    }
+    fuenteEventos = new EventSource(`${BASE_SOCIAL}/api/social/eventos/${usuarioId}`);
+    fuenteEventos.addEventListener("MATCH_CREADO", (e) => {
+      const evento = JSON.parse(e.data);
+      setMensaje("mensaje-swiping", `¡Nuevo match con el usuario #${evento.usuarioOrigenId}!`, "ok");
+    });
+    fuenteEventos.addEventListener("LIKE_RECIBIDO", (e) => {
+      const evento = JSON.parse(e.data);
+      setMensaje("mensaje-swiping", `El usuario #${evento.usuarioOrigenId} te dio like`, "ok");
+    });
+  }
+
   async function cargarLikesParaSwiping(usuarioId) {
     setMensaje("mensaje-swiping", "Cargando perfiles...", "");
-    const res = await fetchJson(`${BASE_SOCIAL}/api/social/likes/recibidos/${usuarioId}`);
+    const res = await fetchTodasLasPaginas(`${BASE_SOCIAL}/api/social/likes/recibidos/${usuarioId}`);
     if (!res.ok || !Array.isArray(res.data) || res.data.length === 0) {
       setMensaje("mensaje-swiping", "No hay perfiles disponibles para swiping", "error");
       const tarjeta = document.getElementById("tarjeta-swiping");
@@ -275,6 +318,7 @@
           setMensaje("mensaje-swiping", "ID de usuario inválido", "error");
           return;
         }
+        suscribirEventos(usuarioId);
         await cargarLikesParaSwiping(usuarioId);
       });
     }
@@ -337,7 +381,7 @@
         contenedor.innerHTML = "Cargando matches...";
 
         try {
-          const res = await fetchJson(`${BASE_SOCIAL}/api/social/matches/${usuarioId}`);
+          const res = await fetchTodasLasPaginas(`${BASE_SOCIAL}/api/social/matches/${usuarioId}`);
           if (res.ok && Array.isArray(res.data)) {
             if (res.data.length === 0) {
               contenedor.textContent = "Sin matches por ahora";
@@ -347,7 +391,10 @@
             res.data.forEach((m) => {
               const div = document.createElement("div");
               div.className = "item";
-              div.textContent = `Match #${m.id} entre ${m.usuario1Id} y ${m.usuario2Id}`;
+              const otro = m.usuarioInfo && m.usuarioInfo.nombreCompleto
+                ? ` (${m.usuarioInfo.nombreCompleto})`
+                : "";
+              div.textContent = `Match #${m.id} entre ${m.usuario1Id} y ${m.usuario2Id}${otro}`;
               contenedor.appendChild(div);
             });
           } else {
@@ -372,7 +419,7 @@
         contenedor.innerHTML = "Cargando likes...";
 
         try {
-          const res = await fetchJson(
+          const res = await fetchTodasLasPaginas(
             `${BASE_SOCIAL}/api/social/likes/recibidos/${usuarioId}`
           );
           if (res.ok && Array.isArray(res.data)) {
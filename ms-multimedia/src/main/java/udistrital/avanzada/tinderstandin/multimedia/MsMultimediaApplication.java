@@ -2,6 +2,9 @@ package udistrital.avanzada.tinderstandin.multimedia;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestTemplate;
 
 /**
  * Aplicación principal del microservicio de Multimedia.
@@ -10,8 +13,14 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @author AndGar03
  */
 @SpringBootApplication
+@EnableScheduling
 public class MsMultimediaApplication {
     public static void main(String[] args) {
         SpringApplication.run(MsMultimediaApplication.class, args);
     }
+    
+    @Bean
+    public RestTemplate restTemplate() {
+        return new RestTemplate();
+    }
 }
@@ -1,16 +1,23 @@
 package udistrital.avanzada.tinderstandin.multimedia.controladores;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import udistrital.avanzada.tinderstandin.multimedia.dto.CrearFotoDTO;
 import udistrital.avanzada.tinderstandin.multimedia.dto.FotoResponseDTO;
 import udistrital.avanzada.tinderstandin.multimedia.dto.MensajeRespuesta;
+import udistrital.avanzada.tinderstandin.multimedia.idempotencia.RegistroIdempotencia;
 import udistrital.avanzada.tinderstandin.multimedia.servicios.ServicioFoto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -28,16 +35,37 @@ import java.util.Map;
 public class ControladorFoto {
     
     private final ServicioFoto servicioFoto;
+    private final ObjectMapper objectMapper;
+    private final RegistroIdempotencia registroIdempotencia;
     
     /**
      * Crea una nueva foto en el sistema.
+     * Con la cabecera Idempotency-Key, un reintento con la misma clave recibe
+     * la respuesta original sin volver a crear la foto.
      *
      * @param crearFotoDTO Datos de la foto a crear
+     * @param claveIdempotencia Clave de idempotencia opcional
      * @return ResponseEntity con la foto creada
      */
     @PostMapping
-    public ResponseEntity<FotoResponseDTO> crearFoto(@Valid @RequestBody CrearFotoDTO crearFotoDTO) {
+    public ResponseEntity<?> crearFoto(
+            @Valid @RequestBody CrearFotoDTO crearFotoDTO,
+            @RequestHeader(value = RegistroIdempotencia.CABECERA, required = false) String claveIdempotencia) {
         log.info("Solicitud de creación de foto para usuario: {}", crearFotoDTO.getUsuarioId());
+        if (claveIdempotencia == null) {
+            return procesarCreacion(crearFotoDTO);
+        }
+        return registroIdempotencia.ejecutar("fotos:" + crearFotoDTO.getUsuarioId(), claveIdempotencia,
+                crearFotoDTO.getUrl(), () -> procesarCreacion(crearFotoDTO));
+    }
+    
+    /**
+     * Crea la foto y construye la respuesta HTTP.
+     *
+     * @param crearFotoDTO Datos de la foto a crear
+     * @return ResponseEntity con la foto creada
+     */
+    private ResponseEntity<?> procesarCreacion(CrearFotoDTO crearFotoDTO) {
         try {
             FotoResponseDTO fotoCreada = servicioFoto.crearFoto(crearFotoDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(fotoCreada);
@@ -49,20 +77,47 @@ public class ControladorFoto {
     
     /**
      * Obtiene todas las fotos de un usuario específico.
+     * El arreglo JSON se escribe a medida que se leen las fotos, sin armar
+     * antes la lista completa en memoria.
      *
      * @param usuarioId ID del usuario
-     * @return ResponseEntity con la lista de fotos del usuario
+     * @return ResponseEntity con el arreglo de fotos del usuario
      */
     @GetMapping("/usuario/{usuarioId}")
-    public ResponseEntity<List<FotoResponseDTO>> obtenerFotosPorUsuario(@PathVariable Long usuarioId) {
+    public ResponseEntity<StreamingResponseBody> obtenerFotosPorUsuario(@PathVariable Long usuarioId) {
         log.info("Solicitud de obtención de fotos del usuario: {}", usuarioId);
-        try {
-            List<FotoResponseDTO> fotos = servicioFoto.obtenerFotosPorUsuario(usuarioId);
-            return ResponseEntity.ok(fotos);
-        } catch (Exception e) {
-            log.error("Error al obtener fotos del usuario {}: {}", usuarioId, e.getMessage());
-            throw new RuntimeException("Error al obtener las fotos: " + e.getMessage());
-        }
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+                // La respuesta cierra su propio flujo al terminar
+                generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generador.writeStartArray();
+                servicioFoto.recorrerFotosPorUsuario(usuarioId, foto -> {
+                    try {
+                        generador.writeObject(foto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generador.writeEndArray();
+            } catch (RuntimeException e) {
+                log.error("Error al obtener fotos del usuario {}: {}", usuarioId, e.getMessage());
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+    
+    /**
+     * Obtiene la foto principal (la primera que subió) de varios usuarios en
+     * una sola consulta. Los usuarios sin fotos no aparecen en la respuesta.
+     *
+     * @param usuarioIds IDs de los usuarios
+     * @return ResponseEntity con la foto principal de cada usuario
+     */
+    @PostMapping("/principales")
+    public ResponseEntity<List<FotoResponseDTO>> obtenerFotosPrincipales(@RequestBody List<Long> usuarioIds) {
+        log.info("Solicitud de fotos principales de {} usuarios", usuarioIds.size());
+        return ResponseEntity.ok(servicioFoto.obtenerFotosPrincipales(usuarioIds));
     }
     
     /**
@@ -0,0 +1,328 @@
+package udistrital.avanzada.tinderstandin.multimedia.idempotencia;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import udistrital.avanzada.tinderstandin.multimedia.dto.MensajeRespuesta;
+import udistrital.avanzada.tinderstandin.multimedia.repositorios.ClaveIdempotenciaRepositorio;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Repite la respuesta original cuando un cliente reintenta una escritura con
+ * la misma cabecera {@code Idempotency-Key}, sin volver a invocar el servicio.
+ *
+ * <p>Antes de ejecutar la escritura la clave se reclama insertando su fila en
+ * {@code claves_idempotencia}; la clave primaria decide qué petición la
+ * ejecuta aunque los reintentos lleguen a instancias distintas. La escritura
+ * y el guardado de su respuesta van en la misma transacción, así que una
+ * caída entre ambos no deja una escritura sin respuesta guardada. Un
+ * reintento que encuentra la clave en curso espera a que se complete; si el
+ * reclamo lleva más del plazo de abandono sin completarse (la instancia cayó
+ * y su escritura se deshizo) lo retoma. Solo se guardan respuestas exitosas:
+ * tras un error (que puede ser transitorio) la clave se libera y un reintento
+ * vuelve a ejecutar la escritura. Las respuestas recientes también quedan en
+ * una caché en memoria acotada y con caducidad.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class RegistroIdempotencia {
+
+    /**
+     * Cabecera con la clave de idempotencia enviada por el cliente.
+     */
+    public static final String CABECERA = "Idempotency-Key";
+
+    /**
+     * Cabecera que marca una respuesta repetida.
+     */
+    static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+
+    private static final int LONGITUD_MAXIMA_CLAVE = 100;
+
+    // Pausa entre consultas mientras otra instancia completa la misma clave
+    private static final long INTERVALO_SONDEO_MS = 50;
+
+    private final ClaveIdempotenciaRepositorio claveIdempotenciaRepositorio;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaccion;
+    private final Cache<String, Entrada> entradas;
+    private final Duration vigencia;
+    private final Duration abandono;
+    private final long esperaMs;
+
+    public RegistroIdempotencia(ClaveIdempotenciaRepositorio claveIdempotenciaRepositorio,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${multimedia.idempotencia.vigencia-horas:24}") long vigenciaHoras,
+                                @Value("${multimedia.idempotencia.maximo-entradas:100000}") long maximoEntradas,
+                                @Value("${multimedia.idempotencia.espera-ms:5000}") long esperaMs,
+                                @Value("${multimedia.idempotencia.abandono-ms:60000}") long abandonoMs) {
+        this.claveIdempotenciaRepositorio = claveIdempotenciaRepositorio;
+        this.objectMapper = objectMapper;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.vigencia = Duration.ofHours(vigenciaHoras);
+        this.abandono = Duration.ofMillis(abandonoMs);
+        this.esperaMs = esperaMs;
+        this.entradas = Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfterWrite(vigencia)
+                .build();
+    }
+
+    /**
+     * Ejecuta una escritura una sola vez por clave.
+     *
+     * @param ambito Operación y usuario a los que pertenece la clave (p. ej. "fotos:7")
+     * @param clave Clave de idempotencia enviada por el cliente
+     * @param peticion Descripción de la petición, para detectar la misma clave con otro contenido
+     * @param accion Escritura a ejecutar si la clave es nueva
+     * @return Respuesta de la escritura, o la original si la clave ya se usó
+     */
+    public ResponseEntity<?> ejecutar(String ambito, String clave, String peticion,
+                                      Supplier<ResponseEntity<?>> accion) {
+        if (clave.isBlank() || clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            return ResponseEntity.badRequest().body(new MensajeRespuesta(
+                    "La cabecera " + CABECERA + " debe tener entre 1 y " + LONGITUD_MAXIMA_CLAVE + " caracteres"));
+        }
+        String claveCompleta = ambito + ":" + clave;
+        String huella = calcularHuella(peticion);
+
+        Entrada nueva = new Entrada(huella, new CompletableFuture<>());
+        Entrada existente = entradas.asMap().putIfAbsent(claveCompleta, nueva);
+        if (existente != null) {
+            return repetir(existente, huella);
+        }
+
+        String propietario = UUID.randomUUID().toString();
+        ClaveIdempotenciaRepositorio.ClaveRegistrada ajena;
+        try {
+            ajena = reclamar(claveCompleta, huella, propietario);
+        } catch (DataAccessException e) {
+            log.warn("No se pudo reclamar la clave de idempotencia {}: {}", claveCompleta, e.getMessage());
+            descartar(claveCompleta, nueva);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new MensajeRespuesta("No se pudo registrar la petición, intenta de nuevo"));
+        }
+        if (ajena != null) {
+            if (ajena.respuesta() != null) {
+                nueva.resultado().complete(ajena.respuesta());
+                return repetir(nueva, huella);
+            }
+            descartar(claveCompleta, nueva);
+            if (!ajena.huella().equals(huella)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                        .body(new MensajeRespuesta("La clave de idempotencia ya se usó con otra petición"));
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MensajeRespuesta("Hay una petición en curso con la misma clave, intenta de nuevo"));
+        }
+
+        Ejecucion ejecucion;
+        try {
+            ejecucion = transaccion.execute(estado -> {
+                ResponseEntity<?> respuesta = accion.get();
+                if (!respuesta.getStatusCode().is2xxSuccessful()) {
+                    estado.setRollbackOnly();
+                    return new Ejecucion(respuesta, null);
+                }
+                RespuestaIdempotente resultado = new RespuestaIdempotente(
+                        huella, respuesta.getStatusCode().value(), serializar(respuesta.getBody()));
+                if (!claveIdempotenciaRepositorio.completar(claveCompleta, propietario, resultado)) {
+                    // Otra petición retomó la clave por abandonada: esta escritura no se confirma
+                    estado.setRollbackOnly();
+                    return new Ejecucion(ResponseEntity.status(HttpStatus.CONFLICT).body(new MensajeRespuesta(
+                            "Hay una petición en curso con la misma clave, intenta de nuevo")), null);
+                }
+                return new Ejecucion(respuesta, resultado);
+            });
+        } catch (RuntimeException e) {
+            liberar(claveCompleta, propietario, nueva);
+            throw e;
+        }
+        if (ejecucion.guardada() == null) {
+            liberar(claveCompleta, propietario, nueva);
+            return ejecucion.respuesta();
+        }
+        nueva.resultado().complete(ejecucion.guardada());
+        return ejecucion.respuesta();
+    }
+
+    /**
+     * Elimina de la tabla las claves vencidas.
+     */
+    @Scheduled(fixedDelayString = "${multimedia.idempotencia.intervalo-purga-ms:3600000}")
+    public void purgarVencidas() {
+        try {
+            int eliminadas = claveIdempotenciaRepositorio.eliminarAnterioresA(LocalDateTime.now().minus(vigencia));
+            if (eliminadas > 0) {
+                log.info("Eliminadas {} claves de idempotencia vencidas", eliminadas);
+            }
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron purgar las claves de idempotencia: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Responde a un reintento con el resultado de la petición original,
+     * esperándolo si aún está en curso.
+     */
+    private ResponseEntity<?> repetir(Entrada entrada, String huella) {
+        RespuestaIdempotente original;
+        try {
+            original = entrada.resultado().get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MensajeRespuesta("Hay una petición en curso con la misma clave, intenta de nuevo"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new MensajeRespuesta("Petición interrumpida"));
+        } catch (ExecutionException e) {
+            // No ocurre: el futuro solo se completa con un valor
+            throw new IllegalStateException(e.getCause());
+        }
+        if (original == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MensajeRespuesta("La petición original con esta clave falló, intenta de nuevo"));
+        }
+        if (!original.huella().equals(huella)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(new MensajeRespuesta("La clave de idempotencia ya se usó con otra petición"));
+        }
+        ResponseEntity.BodyBuilder repetida = ResponseEntity.status(original.codigoEstado())
+                .header(CABECERA_REPETIDA, "true");
+        return original.cuerpo() == null
+                ? repetida.build()
+                : repetida.contentType(MediaType.APPLICATION_JSON).body(original.cuerpo());
+    }
+
+    /**
+     * Reclama la clave en la tabla. Si ya la tiene otra petición, espera
+     * hasta el máximo configurado a que se complete, y la retoma si el
+     * reclamo está abandonado o se libera mientras tanto.
+     *
+     * @return null si la clave quedó reclamada por esta petición; si no, el
+     *         registro de la otra petición (completado, en curso o con otra huella)
+     */
+    private ClaveIdempotenciaRepositorio.ClaveRegistrada reclamar(String claveCompleta, String huella,
+                                                                   String propietario) {
+        long limite = System.currentTimeMillis() + esperaMs;
+        while (true) {
+            LocalDateTime ahora = LocalDateTime.now();
+            if (claveIdempotenciaRepositorio.reclamar(claveCompleta, huella, propietario, ahora)) {
+                return null;
+            }
+            Optional<ClaveIdempotenciaRepositorio.ClaveRegistrada> registrada =
+                    claveIdempotenciaRepositorio.buscar(claveCompleta);
+            if (registrada.isEmpty()) {
+                // La petición original falló y liberó la clave: se vuelve a reclamar
+                if (System.currentTimeMillis() >= limite) {
+                    throw new ConcurrencyFailureException("No se pudo reclamar la clave " + claveCompleta);
+                }
+                continue;
+            }
+            ClaveIdempotenciaRepositorio.ClaveRegistrada otra = registrada.get();
+            if (otra.respuesta() != null || !otra.huella().equals(huella)) {
+                return otra;
+            }
+            if (otra.fechaReclamo().isBefore(ahora.minus(abandono))
+                    && claveIdempotenciaRepositorio.retomar(claveCompleta, otra.propietario(), propietario, ahora)) {
+                log.warn("Clave de idempotencia {} retomada tras un reclamo abandonado", claveCompleta);
+                return null;
+            }
+            if (System.currentTimeMillis() >= limite) {
+                return otra;
+            }
+            try {
+                Thread.sleep(INTERVALO_SONDEO_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return otra;
+            }
+        }
+    }
+
+    /**
+     * Libera en la tabla la clave de una escritura fallida o deshecha y la
+     * descarta en memoria.
+     */
+    private void liberar(String claveCompleta, String propietario, Entrada entrada) {
+        try {
+            claveIdempotenciaRepositorio.liberar(claveCompleta, propietario);
+        } catch (DataAccessException e) {
+            // La clave queda en curso hasta que un reintento la retome por abandonada
+            log.warn("No se pudo liberar la clave de idempotencia {}: {}", claveCompleta, e.getMessage());
+        }
+        descartar(claveCompleta, entrada);
+    }
+
+    /**
+     * Libera la clave en memoria para que un reintento vuelva a intentarla
+     * y avisa a los reintentos que esperaban.
+     */
+    private void descartar(String claveCompleta, Entrada entrada) {
+        entradas.asMap().remove(claveCompleta, entrada);
+        entrada.resultado().complete(null);
+    }
+
+    private String serializar(Object cuerpo) {
+        if (cuerpo == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(cuerpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta idempotente", e);
+        }
+    }
+
+    private static String calcularHuella(String peticion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(peticion.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Petición registrada con una clave: su huella y el resultado, que se
+     * completa al terminar (null si no se guardó).
+     */
+    private record Entrada(String huella, CompletableFuture<RespuestaIdempotente> resultado) {
+    }
+
+    /**
+     * Resultado de la transacción de la escritura: la respuesta y, si se
+     * confirmó, la respuesta guardada.
+     */
+    private record Ejecucion(ResponseEntity<?> respuesta, RespuestaIdempotente guardada) {
+    }
+}
@@ -13,7 +13,11 @@ import java.time.LocalDateTime;
  * @author AndGar03
  */
 @Entity
-@Table(name = "fotos")
+@Table(name = "fotos",
+       indexes = {
+           @Index(name = "idx_fotos_usuario", columnList = "usuario_id, id")
+       })
+@EntityListeners(EscuchaCambiosFoto.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
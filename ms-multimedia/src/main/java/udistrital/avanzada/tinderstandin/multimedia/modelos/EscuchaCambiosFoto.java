@@ -0,0 +1,30 @@
+package udistrital.avanzada.tinderstandin.multimedia.modelos;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import udistrital.avanzada.tinderstandin.multimedia.servicios.NotificadorCambiosFoto;
+
+/**
+ * Listener JPA que detecta cambios en las fotos y los notifica
+ * a los demás microservicios.
+ * 
+ * @author AndGar03
+ */
+@Component
+public class EscuchaCambiosFoto {
+    
+    private final NotificadorCambiosFoto notificadorCambiosFoto;
+    
+    public EscuchaCambiosFoto(NotificadorCambiosFoto notificadorCambiosFoto) {
+        this.notificadorCambiosFoto = notificadorCambiosFoto;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void alCambiar(EntidadFoto foto) {
+        notificadorCambiosFoto.notificarCambio(foto.getUsuarioId());
+    }
+}
@@ -0,0 +1,102 @@
+package udistrital.avanzada.tinderstandin.multimedia.replicacion;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Garantiza que un usuario lea sus propias escrituras aunque las réplicas
+ * vayan atrasadas: durante una ventana tras cada escritura confirmada, sus
+ * transacciones de solo lectura se atienden desde el primario.
+ *
+ * <p>Es opcional ({@code multimedia.replicacion.ventana-lectura-propia-ms}, 0 la
+ * desactiva) y no tiene efecto sin réplicas habilitadas.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+public class VentanaLecturaPropia {
+
+    private static final ThreadLocal<Boolean> PRIMARIO_FORZADO = new ThreadLocal<>();
+
+    // Instante (System.nanoTime) hasta el que cada usuario lee del primario
+    private final Map<Long, Long> limitesPorUsuario = new ConcurrentHashMap<>();
+    private final long ventanaNanos;
+
+    public VentanaLecturaPropia(@Value("${multimedia.replicacion.habilitada:false}") boolean replicacionHabilitada,
+                                @Value("${multimedia.replicacion.ventana-lectura-propia-ms:0}") long ventanaMs) {
+        this.ventanaNanos = replicacionHabilitada ? TimeUnit.MILLISECONDS.toNanos(ventanaMs) : 0;
+    }
+
+    /**
+     * Indica si la transacción actual debe leer del primario.
+     *
+     * @return true si se forzó el primario para la transacción actual
+     */
+    static boolean primarioForzado() {
+        return Boolean.TRUE.equals(PRIMARIO_FORZADO.get());
+    }
+
+    /**
+     * Abre la ventana de lectura propia del usuario cuando la transacción actual se confirme.
+     *
+     * @param usuarioId ID del usuario que escribió
+     */
+    public void registrarEscritura(Long usuarioId) {
+        if (ventanaNanos == 0 || usuarioId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            limitesPorUsuario.put(usuarioId, System.nanoTime() + ventanaNanos);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                limitesPorUsuario.put(usuarioId, System.nanoTime() + ventanaNanos);
+            }
+        });
+    }
+
+    /**
+     * Envía la transacción de lectura actual al primario si el usuario escribió
+     * hace menos de la ventana. Debe llamarse antes de la primera consulta de
+     * la transacción, que es cuando se obtiene la conexión.
+     *
+     * @param usuarioId ID del usuario que lee
+     */
+    public void aplicarA(Long usuarioId) {
+        if (ventanaNanos == 0 || usuarioId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long limite = limitesPorUsuario.get(usuarioId);
+        if (limite == null || limite - System.nanoTime() <= 0) {
+            return;
+        }
+        PRIMARIO_FORZADO.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                PRIMARIO_FORZADO.remove();
+            }
+        });
+    }
+
+    /**
+     * Descarta las ventanas vencidas.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purgarVencidas() {
+        if (ventanaNanos == 0) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        limitesPorUsuario.values().removeIf(limite -> limite - ahora <= 0);
+    }
+}
@@ -1,10 +1,19 @@
 package udistrital.avanzada.tinderstandin.multimedia.repositorios;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.multimedia.dto.FotoResponseDTO;
 import udistrital.avanzada.tinderstandin.multimedia.modelos.EntidadFoto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Foto.
@@ -22,6 +31,46 @@ public interface RepositorioFoto extends JpaRepository<EntidadFoto, Long> {
      */
     List<EntidadFoto> findByUsuarioId(Long usuarioId);
     
+    /**
+     * Recorre las fotos de un usuario proyectadas directamente en el DTO de
+     * respuesta, sin cargar entidades en el contexto de persistencia.
+     * El tamaño de lectura Integer.MIN_VALUE hace que el driver de MySQL
+     * entregue las filas a medida que llegan en lugar de cargarlas todas.
+     * El flujo debe cerrarse y consumirse dentro de una transacción.
+     * 
+     * @param usuarioId ID del usuario
+     * @return Flujo de fotos del usuario
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.multimedia.dto.FotoResponseDTO(" +
+           "f.id, f.url, f.usuarioId, f.fechaCreacion) " +
+           "FROM EntidadFoto f WHERE f.usuarioId = :usuarioId ORDER BY f.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<FotoResponseDTO> recorrerPorUsuario(@Param("usuarioId") Long usuarioId);
+    
+    /**
+     * Busca una foto proyectada directamente en el DTO de respuesta.
+     * 
+     * @param id ID de la foto
+     * @return Optional con la foto si existe
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.multimedia.dto.FotoResponseDTO(" +
+           "f.id, f.url, f.usuarioId, f.fechaCreacion) " +
+           "FROM EntidadFoto f WHERE f.id = :id")
+    Optional<FotoResponseDTO> buscarDtoPorId(@Param("id") Long id);
+    
+    /**
+     * Busca la foto principal (la primera que subió) de cada uno de varios
+     * usuarios, con un recorrido del índice (usuario_id, id) por usuario.
+     * 
+     * @param usuarioIds IDs de los usuarios
+     * @return Foto principal de cada usuario que tenga al menos una
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.multimedia.dto.FotoResponseDTO(" +
+           "f.id, f.url, f.usuarioId, f.fechaCreacion) " +
+           "FROM EntidadFoto f WHERE f.id IN (" +
+           "SELECT MIN(p.id) FROM EntidadFoto p WHERE p.usuarioId IN :usuarioIds GROUP BY p.usuarioId)")
+    List<FotoResponseDTO> buscarPrincipales(@Param("usuarioIds") Collection<Long> usuarioIds);
+    
     /**
      * Verifica si un usuario tiene alguna foto.
      * 
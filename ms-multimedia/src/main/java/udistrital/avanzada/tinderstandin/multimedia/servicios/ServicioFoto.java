@@ -3,7 +3,9 @@ package udistrital.avanzada.tinderstandin.multimedia.servicios;
 import udistrital.avanzada.tinderstandin.multimedia.dto.CrearFotoDTO;
 import udistrital.avanzada.tinderstandin.multimedia.dto.FotoResponseDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz del servicio para gestión de fotos.
@@ -21,12 +23,21 @@ public interface ServicioFoto {
     FotoResponseDTO crearFoto(CrearFotoDTO crearFotoDTO);
     
     /**
-     * Obtiene todas las fotos de un usuario específico.
+     * Recorre todas las fotos de un usuario específico, entregándolas una a una
+     * a medida que se leen de la base de datos.
      *
      * @param usuarioId ID del usuario
-     * @return Lista de fotos del usuario
+     * @param consumidor Receptor de cada foto
      */
-    List<FotoResponseDTO> obtenerFotosPorUsuario(Long usuarioId);
+    void recorrerFotosPorUsuario(Long usuarioId, Consumer<FotoResponseDTO> consumidor);
+    
+    /**
+     * Obtiene la foto principal (la primera que subió) de varios usuarios.
+     *
+     * @param usuarioIds IDs de los usuarios
+     * @return Foto principal de cada usuario que tenga al menos una
+     */
+    List<FotoResponseDTO> obtenerFotosPrincipales(Collection<Long> usuarioIds);
     
     /**
      * Obtiene una foto por su ID.
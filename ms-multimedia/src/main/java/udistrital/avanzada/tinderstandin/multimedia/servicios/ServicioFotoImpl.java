@@ -7,10 +7,13 @@ import org.springframework.transaction.annotation.Transactional;
 import udistrital.avanzada.tinderstandin.multimedia.dto.CrearFotoDTO;
 import udistrital.avanzada.tinderstandin.multimedia.dto.FotoResponseDTO;
 import udistrital.avanzada.tinderstandin.multimedia.modelos.EntidadFoto;
+import udistrital.avanzada.tinderstandin.multimedia.replicacion.VentanaLecturaPropia;
 import udistrital.avanzada.tinderstandin.multimedia.repositorios.RepositorioFoto;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio para gestión de fotos.
@@ -23,6 +26,7 @@ import java.util.stream.Collectors;
 public class ServicioFotoImpl implements ServicioFoto {
     
     private final RepositorioFoto repositorioFoto;
+    private final VentanaLecturaPropia ventanaLecturaPropia;
     
     /**
      * {@inheritDoc}
@@ -38,6 +42,7 @@ public class ServicioFotoImpl implements ServicioFoto {
         
         EntidadFoto fotoGuardada = repositorioFoto.save(foto);
         log.info("Foto creada con ID: {}", fotoGuardada.getId());
+        ventanaLecturaPropia.registrarEscritura(fotoGuardada.getUsuarioId());
         
         return convertirADTO(fotoGuardada);
     }
@@ -47,12 +52,27 @@ public class ServicioFotoImpl implements ServicioFoto {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<FotoResponseDTO> obtenerFotosPorUsuario(Long usuarioId) {
+    public void recorrerFotosPorUsuario(Long usuarioId, Consumer<FotoResponseDTO> consumidor) {
         log.info("Obteniendo fotos del usuario {}", usuarioId);
-        List<EntidadFoto> fotos = repositorioFoto.findByUsuarioId(usuarioId);
-        return fotos.stream()
-                .map(this::convertirADTO)
-                .collect(Collectors.toList());
+        ventanaLecturaPropia.aplicarA(usuarioId);
+        try (Stream<FotoResponseDTO> fotos = repositorioFoto.recorrerPorUsuario(usuarioId)) {
+            fotos.forEach(consumidor);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<FotoResponseDTO> obtenerFotosPrincipales(Collection<Long> usuarioIds) {
+        log.debug("Obteniendo fotos principales de {} usuarios", usuarioIds.size());
+        if (usuarioIds.isEmpty()) {
+            return List.of();
+        }
+        // Quien consulta suele hacerlo justo después de un cambio de foto
+        usuarioIds.forEach(ventanaLecturaPropia::aplicarA);
+        return repositorioFoto.buscarPrincipales(usuarioIds);
     }
     
     /**
@@ -62,9 +82,8 @@ public class ServicioFotoImpl implements ServicioFoto {
     @Transactional(readOnly = true)
     public FotoResponseDTO obtenerFotoPorId(Long id) {
         log.info("Obteniendo foto con ID: {}", id);
-        EntidadFoto foto = repositorioFoto.findById(id)
+        return repositorioFoto.buscarDtoPorId(id)
                 .orElseThrow(() -> new RuntimeException("Foto no encontrada con ID: " + id));
-        return convertirADTO(foto);
     }
     
     /**
@@ -80,6 +99,7 @@ public class ServicioFotoImpl implements ServicioFoto {
         foto.setUrl(nuevaUrl);
         EntidadFoto fotoActualizada = repositorioFoto.save(foto);
         log.info("Foto actualizada exitosamente");
+        ventanaLecturaPropia.registrarEscritura(fotoActualizada.getUsuarioId());
         
         return convertirADTO(fotoActualizada);
     }
@@ -2,23 +2,26 @@ package udistrital.avanzada.tinderstandin.social;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal del microservicio de interacción social.
+ * R2DBC solo se usa en el modo reactivo ({@code MsSocialReactivaApplication});
+ * sus autoconfiguraciones se excluyen por nombre porque sin el perfil de Maven
+ * {@code reactivo} R2DBC no está en el classpath.
  * 
  * @author AndGar03
  */
-@SpringBootApplication
+@SpringBootApplication(excludeName = {
+        "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+        "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration",
+        "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration",
+        "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration"
+})
+@EnableScheduling
 public class MsSocialApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(MsSocialApplication.class, args);
     }
-    
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
 }
@@ -0,0 +1,280 @@
+package udistrital.avanzada.tinderstandin.social.archivo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasArchivoDTO;
+import udistrital.avanzada.tinderstandin.social.fragmentacion.EnrutadorFragmentos;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Mueve a las tablas de archivo los likes más antiguos que el horizonte
+ * configurado y los matches inactivos, para que las tablas de likes y matches
+ * (y sus índices) solo contengan la actividad reciente.
+ *
+ * <p>Trabaja por lotes pequeños recorriendo la clave primaria, con una pausa
+ * entre lotes y un máximo de lotes por ejecución; la siguiente ejecución
+ * retoma desde la última posición. Cada lote se copia con INSERT IGNORE y se
+ * borra del origen en la misma transacción, así que un lote interrumpido no
+ * deja registros perdidos ni duplicados y, tras un reinicio, volver a empezar
+ * desde el principio solo encuentra lo que falta por mover. Como los IDs de
+ * likes crecen con su fecha, el recorrido de likes termina en el primer lote
+ * que no tiene ninguno anterior al horizonte. Con fragmentación se recorre
+ * cada fragmento por separado.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class ArchivadorSocial {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<EnrutadorFragmentos> enrutador;
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    // Posición de cada recorrido por fragmento, solo se modifica con enCurso tomado
+    private final Map<Integer, Long> posicionLikes = new HashMap<>();
+    private final Map<Integer, Long> posicionMatches = new HashMap<>();
+
+    private final LongAdder likesArchivados = new LongAdder();
+    private final LongAdder matchesArchivados = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private volatile LocalDateTime ultimaEjecucion;
+    private volatile long ultimaDuracionMs;
+
+    @Value("${social.archivo.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${social.archivo.horizonte-likes-dias:180}")
+    private long horizonteLikesDias;
+
+    @Value("${social.archivo.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${social.archivo.pausa-entre-lotes-ms:200}")
+    private long pausaEntreLotesMs;
+
+    @Value("${social.archivo.maximo-lotes-por-ejecucion:200}")
+    private int maximoLotesPorEjecucion;
+
+    public ArchivadorSocial(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                            TransactionTemplate transactionTemplate, Optional<EnrutadorFragmentos> enrutador) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enrutador = enrutador;
+    }
+
+    /**
+     * Ejecución periódica del archivado, si está habilitado.
+     */
+    @Scheduled(fixedDelayString = "${social.archivo.intervalo-ms:600000}")
+    public void archivarPeriodicamente() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            archivar();
+        } catch (IllegalStateException e) {
+            log.debug("Archivado omitido: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error al archivar likes y matches: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ejecuta una pasada de archivado hasta terminar o alcanzar el máximo de lotes.
+     *
+     * @return Número de likes y matches archivados en esta pasada, por tabla
+     * @throws IllegalStateException si ya hay un archivado en curso
+     */
+    public Map<String, Long> archivar() {
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay un archivado en curso");
+        }
+        long inicio = System.currentTimeMillis();
+        try {
+            LocalDateTime horizonte = LocalDateTime.now().minusDays(horizonteLikesDias);
+            int[] lotesRestantes = {maximoLotesPorEjecucion};
+            long likes = 0;
+            long matches = 0;
+            for (int fragmento = 0; fragmento < cantidadFragmentos(); fragmento++) {
+                likes += archivarLikes(fragmento, horizonte, lotesRestantes);
+                matches += archivarMatches(fragmento, lotesRestantes);
+            }
+            if (likes > 0 || matches > 0) {
+                log.info("Archivados {} likes y {} matches inactivos", likes, matches);
+            }
+            return Map.of("likes", likes, "matches", matches);
+        } finally {
+            ultimaEjecucion = LocalDateTime.now();
+            ultimaDuracionMs = System.currentTimeMillis() - inicio;
+            enCurso.set(false);
+        }
+    }
+
+    /**
+     * Obtiene las métricas del archivado.
+     *
+     * @return DTO con las métricas
+     */
+    public EstadisticasArchivoDTO obtenerEstadisticas() {
+        return new EstadisticasArchivoDTO(
+                habilitado,
+                enCurso.get(),
+                horizonteLikesDias,
+                likesArchivados.sum(),
+                matchesArchivados.sum(),
+                lotes.sum(),
+                ultimaEjecucion,
+                ultimaDuracionMs
+        );
+    }
+
+    private long archivarLikes(int fragmento, LocalDateTime horizonte, int[] lotesRestantes) {
+        long archivados = 0;
+        long desdeId = posicionLikes.getOrDefault(fragmento, 0L);
+        while (lotesRestantes[0] > 0) {
+            long desde = desdeId;
+            List<Object[]> filas = enFragmento(fragmento, () -> jdbcTemplate.query(
+                    "SELECT id, fecha_creacion FROM likes WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()},
+                    desde, tamanoLote));
+            List<Long> antiguos = filas.stream()
+                    .filter(fila -> ((LocalDateTime) fila[1]).isBefore(horizonte))
+                    .map(fila -> (Long) fila[0])
+                    .toList();
+            if (antiguos.isEmpty()) {
+                // El resto de la tabla es posterior al horizonte: la próxima pasada empieza de nuevo
+                posicionLikes.put(fragmento, 0L);
+                return archivados;
+            }
+            int movidos = moverLote(fragmento,
+                    "INSERT IGNORE INTO likes_archivo " +
+                    "(id, usuario_origen_id, usuario_destino_id, fecha_creacion, fecha_archivado) " +
+                    "SELECT id, usuario_origen_id, usuario_destino_id, fecha_creacion, :ahora " +
+                    "FROM likes WHERE id IN (:ids)",
+                    "DELETE FROM likes WHERE id IN (:ids)",
+                    antiguos);
+            archivados += movidos;
+            likesArchivados.add(movidos);
+            desdeId = (Long) filas.get(filas.size() - 1)[0];
+            posicionLikes.put(fragmento, desdeId);
+            lotesRestantes[0]--;
+            pausar();
+        }
+        return archivados;
+    }
+
+    private long archivarMatches(int fragmento, int[] lotesRestantes) {
+        long archivados = 0;
+        long desdeId = posicionMatches.getOrDefault(fragmento, 0L);
+        while (lotesRestantes[0] > 0) {
+            long desde = desdeId;
+            List<Object[]> filas = enFragmento(fragmento, () -> jdbcTemplate.query(
+                    "SELECT id, activo FROM matches WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getBoolean(2)},
+                    desde, tamanoLote));
+            if (filas.isEmpty()) {
+                posicionMatches.put(fragmento, 0L);
+                break;
+            }
+            List<Long> inactivos = filas.stream()
+                    .filter(fila -> !(Boolean) fila[1])
+                    .map(fila -> (Long) fila[0])
+                    .toList();
+            if (!inactivos.isEmpty()) {
+                // Se vuelve a comprobar activo por si el match se reactivó tras leerlo
+                int movidos = moverLote(fragmento,
+                        "INSERT IGNORE INTO matches_archivo " +
+                        "(id, usuario1_id, usuario2_id, fecha_creacion, activo, fecha_archivado) " +
+                        "SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo, :ahora " +
+                        "FROM matches WHERE id IN (:ids) AND activo = FALSE",
+                        "DELETE FROM matches WHERE id IN (:ids) AND activo = FALSE",
+                        inactivos,
+                        limpiezaTarjetas());
+                archivados += movidos;
+                matchesArchivados.add(movidos);
+                pausar();
+            }
+            desdeId = (Long) filas.get(filas.size() - 1)[0];
+            posicionMatches.put(fragmento, desdeId);
+            lotesRestantes[0]--;
+        }
+        return archivados;
+    }
+
+    /**
+     * Copia un lote al archivo y lo borra del origen en una sola transacción,
+     * junto con las sentencias de limpieza indicadas.
+     *
+     * @return Número de registros borrados del origen
+     */
+    private int moverLote(int fragmento, String copia, String borrado, List<Long> ids, String... limpiezas) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("ahora", Timestamp.valueOf(LocalDateTime.now()));
+        int movidos = enTransaccion(fragmento, () -> {
+            namedJdbcTemplate.update(copia, parametros);
+            int borrados = namedJdbcTemplate.update(borrado, parametros);
+            for (String limpieza : limpiezas) {
+                namedJdbcTemplate.update(limpieza, parametros);
+            }
+            return borrados;
+        });
+        lotes.increment();
+        return movidos;
+    }
+
+    /**
+     * Borra las tarjetas de los matches archivados del lote, que ya no se
+     * listan desde las tarjetas. Las tarjetas solo existen sin fragmentación.
+     */
+    private String[] limpiezaTarjetas() {
+        return enrutador.isPresent() ? new String[0] : new String[]{
+                "DELETE FROM tarjetas_match WHERE match_id IN (:ids) " +
+                "AND NOT EXISTS (SELECT 1 FROM matches m WHERE m.id = tarjetas_match.match_id)"};
+    }
+
+    private void pausar() {
+        if (pausaEntreLotesMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pausaEntreLotesMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Archivado interrumpido");
+        }
+    }
+
+    private int cantidadFragmentos() {
+        return enrutador.map(EnrutadorFragmentos::cantidadFragmentos).orElse(1);
+    }
+
+    private <T> T enFragmento(int fragmento, Supplier<T> operacion) {
+        return enrutador.isPresent() ? enrutador.get().enFragmento(fragmento, operacion) : operacion.get();
+    }
+
+    private <T> T enTransaccion(int fragmento, Supplier<T> operacion) {
+        return enrutador.isPresent()
+                ? enrutador.get().enTransaccion(fragmento, operacion)
+                : transactionTemplate.execute(estado -> operacion.get());
+    }
+}
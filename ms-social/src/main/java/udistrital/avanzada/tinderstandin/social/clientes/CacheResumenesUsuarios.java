@@ -0,0 +1,103 @@
+package udistrital.avanzada.tinderstandin.social.clientes;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasCacheDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResumenUsuarioDTO;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Caché local de resúmenes de usuario consultados a ms-usuarios.
+ * Tamaño acotado con desalojo W-TinyLFU (Caffeine), expiración por TTL
+ * y registro de aciertos/fallos. ms-usuarios invalida las entradas
+ * cuando cambia un perfil.
+ *
+ * <p>Aparte guarda el último resumen conocido de cada usuario por más tiempo,
+ * solo como respaldo cuando ms-usuarios no responde.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+public class CacheResumenesUsuarios {
+
+    private final Cache<Long, ResumenUsuarioDTO> cache;
+    private final Cache<Long, ResumenUsuarioDTO> ultimosConocidos;
+
+    public CacheResumenesUsuarios(
+            @Value("${ms.usuarios.cache.tamano-maximo:10000}") long tamanoMaximo,
+            @Value("${ms.usuarios.cache.ttl-segundos:300}") long ttlSegundos,
+            @Value("${ms.usuarios.cache.ultimos-conocidos-tamano:100000}") long tamanoUltimosConocidos,
+            @Value("${ms.usuarios.cache.ultimos-conocidos-horas:24}") long horasUltimosConocidos) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        this.ultimosConocidos = Caffeine.newBuilder()
+                .maximumSize(tamanoUltimosConocidos)
+                .expireAfterWrite(Duration.ofHours(horasUltimosConocidos))
+                .build();
+    }
+
+    /**
+     * Obtiene los resúmenes que ya están en caché.
+     *
+     * @param usuarioIds IDs de los usuarios
+     * @return Mapa con los resúmenes encontrados
+     */
+    public Map<Long, ResumenUsuarioDTO> obtenerPresentes(Collection<Long> usuarioIds) {
+        return cache.getAllPresent(usuarioIds);
+    }
+
+    /**
+     * Guarda resúmenes en la caché.
+     *
+     * @param resumenes Mapa de ID de usuario a su resumen
+     */
+    public void guardar(Map<Long, ResumenUsuarioDTO> resumenes) {
+        cache.putAll(resumenes);
+        ultimosConocidos.putAll(resumenes);
+    }
+
+    /**
+     * Obtiene el último resumen conocido de los usuarios, aunque haya vencido
+     * o se haya invalidado en la caché principal.
+     *
+     * @param usuarioIds IDs de los usuarios
+     * @return Mapa con los resúmenes encontrados
+     */
+    public Map<Long, ResumenUsuarioDTO> obtenerUltimosConocidos(Collection<Long> usuarioIds) {
+        return ultimosConocidos.getAllPresent(usuarioIds);
+    }
+
+    /**
+     * Elimina de la caché el resumen de un usuario.
+     *
+     * @param usuarioId ID del usuario cuyo perfil cambió
+     */
+    public void invalidar(Long usuarioId) {
+        cache.invalidate(usuarioId);
+    }
+
+    /**
+     * Obtiene las estadísticas de uso de la caché.
+     *
+     * @return DTO con aciertos, fallos, desalojos y tamaño actual
+     */
+    public EstadisticasCacheDTO obtenerEstadisticas() {
+        CacheStats stats = cache.stats();
+        return new EstadisticasCacheDTO(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                cache.estimatedSize()
+        );
+    }
+}
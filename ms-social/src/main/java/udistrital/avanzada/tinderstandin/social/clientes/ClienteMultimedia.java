@@ -0,0 +1,65 @@
+package udistrital.avanzada.tinderstandin.social.clientes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import udistrital.avanzada.tinderstandin.social.dto.FotoPrincipalDTO;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cliente para las consultas de ms-social hacia el microservicio de
+ * multimedia. Cada llamada pasa por el circuito y el límite de concurrencia
+ * de ms-multimedia.
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class ClienteMultimedia {
+
+    private final RestTemplate restTemplate;
+    private final ClienteProtegido proteccionMultimedia;
+
+    @Value("${ms.multimedia.url}")
+    private String msMultimediaUrl;
+
+    @Value("${ms.multimedia.tamano-lote:200}")
+    private int tamanoLote;
+
+    public ClienteMultimedia(RestTemplate restTemplate,
+                             @Qualifier("proteccionMultimedia") ClienteProtegido proteccionMultimedia) {
+        this.restTemplate = restTemplate;
+        this.proteccionMultimedia = proteccionMultimedia;
+    }
+
+    /**
+     * Obtiene la URL de la foto principal de varios usuarios, por lotes.
+     *
+     * @param usuarioIds IDs de los usuarios
+     * @return Mapa de ID de usuario a la URL de su foto; los usuarios sin fotos no aparecen
+     * @throws RuntimeException si ms-multimedia falla o la llamada se rechaza
+     */
+    public Map<Long, String> obtenerFotosPrincipales(Collection<Long> usuarioIds) {
+        List<Long> ids = List.copyOf(usuarioIds);
+        Map<Long, String> fotos = new HashMap<>();
+        String url = msMultimediaUrl + "/api/fotos/principales";
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanoLote) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + tamanoLote, ids.size()));
+            log.debug("Consultando fotos principales de {} usuarios en: {}", lote.size(), url);
+            FotoPrincipalDTO[] respuesta = proteccionMultimedia.ejecutar(
+                    () -> restTemplate.postForObject(url, lote, FotoPrincipalDTO[].class));
+            if (respuesta != null) {
+                for (FotoPrincipalDTO foto : respuesta) {
+                    fotos.put(foto.getUsuarioId(), foto.getUrl());
+                }
+            }
+        }
+        return fotos;
+    }
+}
@@ -0,0 +1,269 @@
+package udistrital.avanzada.tinderstandin.social.clientes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasClienteDTO;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Protege las llamadas hacia otro microservicio con un circuito y un límite
+ * de llamadas simultáneas, y mide su latencia y tasa de error.
+ *
+ * <p>El circuito se abre cuando la proporción de fallos en la ventana de las
+ * últimas llamadas supera el umbral; mientras está abierto las llamadas se
+ * rechazan sin salir de la JVM. Pasado el tiempo de apertura se deja pasar
+ * una sola llamada de prueba que lo cierra o lo vuelve a abrir. El límite de
+ * concurrencia cuenta las llamadas en vuelo y en cola, de modo que un destino
+ * lento no acumula trabajo pendiente. Las respuestas 4xx no cuentan como fallo.</p>
+ *
+ * @author AndGar03
+ */
+@Slf4j
+public class ClienteProtegido {
+
+    private enum EstadoCircuito { CERRADO, ABIERTO, SEMIABIERTO }
+
+    // Número de latencias recientes usadas para las métricas
+    private static final int MUESTRAS_LATENCIA = 512;
+
+    private final String destino;
+    private final int maximoConcurrentes;
+    private final Semaphore permisos;
+    private final int minimoLlamadas;
+    private final double umbralFallos;
+    private final long aperturaNanos;
+
+    // Ventana circular de resultados recientes (true = fallo), protegida por this
+    private final boolean[] ventana;
+    private int posicionVentana;
+    private int registrados;
+    private int fallosEnVentana;
+    private EstadoCircuito estado = EstadoCircuito.CERRADO;
+    private long abiertoHasta;
+    private boolean pruebaEnCurso;
+
+    private final long[] latencias = new long[MUESTRAS_LATENCIA];
+    private int posicionLatencia;
+    private int latenciasRegistradas;
+
+    private final LongAdder llamadas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder rechazadasPorCircuito = new LongAdder();
+    private final LongAdder rechazadasPorConcurrencia = new LongAdder();
+
+    /**
+     * @param destino Nombre del microservicio de destino
+     * @param maximoConcurrentes Máximo de llamadas en vuelo o en cola
+     * @param tamanoVentana Número de llamadas recientes evaluadas por el circuito
+     * @param minimoLlamadas Llamadas mínimas en la ventana antes de poder abrir el circuito
+     * @param umbralFallos Proporción de fallos que abre el circuito (0 a 1)
+     * @param aperturaMs Tiempo que el circuito permanece abierto antes de probar
+     */
+    public ClienteProtegido(String destino, int maximoConcurrentes, int tamanoVentana,
+                            int minimoLlamadas, double umbralFallos, long aperturaMs) {
+        this.destino = destino;
+        this.maximoConcurrentes = maximoConcurrentes;
+        this.permisos = new Semaphore(maximoConcurrentes);
+        this.ventana = new boolean[tamanoVentana];
+        this.minimoLlamadas = Math.min(minimoLlamadas, tamanoVentana);
+        this.umbralFallos = umbralFallos;
+        this.aperturaNanos = TimeUnit.MILLISECONDS.toNanos(aperturaMs);
+    }
+
+    /**
+     * Ejecuta una llamada en el hilo actual.
+     *
+     * @param llamada Llamada al microservicio
+     * @return Resultado de la llamada
+     * @throws LlamadaRechazadaException si el circuito está abierto o no hay capacidad
+     */
+    public <T> T ejecutar(Supplier<T> llamada) {
+        adquirir();
+        return ejecutarAdquirida(llamada);
+    }
+
+    /**
+     * Ejecuta una llamada en el ejecutor indicado. La capacidad se reserva en
+     * el hilo que llama, así que el rechazo es inmediato y no ocupa la cola.
+     *
+     * @param llamada Llamada al microservicio
+     * @param ejecutor Ejecutor donde se hace la llamada
+     * @return Futuro con el resultado
+     * @throws LlamadaRechazadaException si el circuito está abierto o no hay capacidad
+     */
+    public <T> CompletableFuture<T> ejecutarAsync(Supplier<T> llamada, Executor ejecutor) {
+        adquirir();
+        try {
+            return CompletableFuture.supplyAsync(() -> ejecutarAdquirida(llamada), ejecutor);
+        } catch (RejectedExecutionException e) {
+            liberarSinResultado();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene las métricas de las llamadas a este destino.
+     *
+     * @return DTO con las métricas
+     */
+    public EstadisticasClienteDTO obtenerEstadisticas() {
+        String estadoActual;
+        double tasaError;
+        synchronized (this) {
+            estadoActual = estado.name();
+            tasaError = registrados == 0 ? 0 : (double) fallosEnVentana / registrados;
+        }
+        long[] muestras;
+        synchronized (latencias) {
+            muestras = Arrays.copyOf(latencias, latenciasRegistradas);
+        }
+        Arrays.sort(muestras);
+        double promedio = muestras.length == 0 ? 0 : Arrays.stream(muestras).average().orElse(0);
+        double p95 = muestras.length == 0 ? 0 : muestras[(int) Math.ceil(muestras.length * 0.95) - 1];
+        double maxima = muestras.length == 0 ? 0 : muestras[muestras.length - 1];
+        return new EstadisticasClienteDTO(
+                destino,
+                estadoActual,
+                llamadas.sum(),
+                errores.sum(),
+                tasaError,
+                rechazadasPorCircuito.sum(),
+                rechazadasPorConcurrencia.sum(),
+                maximoConcurrentes - permisos.availablePermits(),
+                promedio / 1_000_000.0,
+                p95 / 1_000_000.0,
+                maxima / 1_000_000.0
+        );
+    }
+
+    /**
+     * Reserva capacidad y pide permiso al circuito, en ese orden para que una
+     * llamada de prueba nunca quede sin ejecutarse.
+     */
+    private void adquirir() {
+        if (!permisos.tryAcquire()) {
+            rechazadasPorConcurrencia.increment();
+            throw new LlamadaRechazadaException("Máximo de llamadas simultáneas alcanzado hacia " + destino);
+        }
+        if (!permitirLlamada()) {
+            permisos.release();
+            rechazadasPorCircuito.increment();
+            throw new LlamadaRechazadaException("Circuito abierto hacia " + destino);
+        }
+    }
+
+    private <T> T ejecutarAdquirida(Supplier<T> llamada) {
+        long inicio = System.nanoTime();
+        boolean fallo = true;
+        try {
+            T resultado = llamada.get();
+            fallo = false;
+            return resultado;
+        } catch (HttpClientErrorException e) {
+            // El destino respondió: un 4xx es un error de la petición, no del servicio
+            fallo = false;
+            throw e;
+        } finally {
+            permisos.release();
+            llamadas.increment();
+            if (fallo) {
+                errores.increment();
+            }
+            registrarLatencia(System.nanoTime() - inicio);
+            registrarResultado(fallo);
+        }
+    }
+
+    /**
+     * Devuelve la capacidad de una llamada que no llegó a ejecutarse.
+     */
+    private void liberarSinResultado() {
+        permisos.release();
+        synchronized (this) {
+            if (estado == EstadoCircuito.SEMIABIERTO) {
+                pruebaEnCurso = false;
+            }
+        }
+    }
+
+    private synchronized boolean permitirLlamada() {
+        switch (estado) {
+            case CERRADO:
+                return true;
+            case ABIERTO:
+                if (System.nanoTime() - abiertoHasta < 0) {
+                    return false;
+                }
+                estado = EstadoCircuito.SEMIABIERTO;
+                pruebaEnCurso = true;
+                return true;
+            default:
+                if (pruebaEnCurso) {
+                    return false;
+                }
+                pruebaEnCurso = true;
+                return true;
+        }
+    }
+
+    private synchronized void registrarResultado(boolean fallo) {
+        if (estado == EstadoCircuito.SEMIABIERTO) {
+            pruebaEnCurso = false;
+            if (fallo) {
+                abrir();
+            } else {
+                log.info("Circuito hacia {} cerrado", destino);
+                estado = EstadoCircuito.CERRADO;
+                Arrays.fill(ventana, false);
+                posicionVentana = 0;
+                registrados = 0;
+                fallosEnVentana = 0;
+            }
+            return;
+        }
+        if (estado == EstadoCircuito.ABIERTO) {
+            // Llamadas iniciadas antes de abrir el circuito
+            return;
+        }
+        if (registrados == ventana.length) {
+            if (ventana[posicionVentana]) {
+                fallosEnVentana--;
+            }
+        } else {
+            registrados++;
+        }
+        ventana[posicionVentana] = fallo;
+        if (fallo) {
+            fallosEnVentana++;
+        }
+        posicionVentana = (posicionVentana + 1) % ventana.length;
+        if (registrados >= minimoLlamadas && (double) fallosEnVentana / registrados >= umbralFallos) {
+            abrir();
+        }
+    }
+
+    private void abrir() {
+        log.warn("Circuito hacia {} abierto: {} fallos en {} llamadas recientes",
+                destino, fallosEnVentana, registrados);
+        estado = EstadoCircuito.ABIERTO;
+        abiertoHasta = System.nanoTime() + aperturaNanos;
+    }
+
+    private void registrarLatencia(long nanos) {
+        synchronized (latencias) {
+            latencias[posicionLatencia] = nanos;
+            posicionLatencia = (posicionLatencia + 1) % latencias.length;
+            if (latenciasRegistradas < latencias.length) {
+                latenciasRegistradas++;
+            }
+        }
+    }
+}
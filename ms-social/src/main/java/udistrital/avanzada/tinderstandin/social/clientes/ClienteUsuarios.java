@@ -0,0 +1,165 @@
+package udistrital.avanzada.tinderstandin.social.clientes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import udistrital.avanzada.tinderstandin.social.config.FiltroSecretoInterno;
+import udistrital.avanzada.tinderstandin.social.dto.ResumenUsuarioDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cliente para las consultas de ms-social hacia el microservicio de usuarios.
+ * Divide los IDs en lotes, lanza los lotes en paralelo sobre un pool acotado
+ * y espera como máximo un plazo global: la latencia queda limitada por el lote
+ * más lento (o por el plazo), no por la suma de todas las llamadas.
+ * Los resúmenes ya presentes en la caché local no salen de la JVM.
+ * Cada llamada pasa por el circuito y el límite de concurrencia de
+ * ms-usuarios; si falla o se rechaza, se responde con el último resumen
+ * conocido de cada usuario.
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class ClienteUsuarios {
+
+    private final RestTemplate restTemplate;
+    private final AsyncTaskExecutor ejecutorUsuarios;
+    private final CacheResumenesUsuarios cacheResumenes;
+    private final ClienteProtegido proteccionUsuarios;
+
+    @Value("${ms.usuarios.url}")
+    private String msUsuariosUrl;
+
+    @Value("${social.interno.secreto}")
+    private String secretoInterno;
+
+    @Value("${ms.usuarios.tamano-lote:200}")
+    private int tamanoLote;
+
+    @Value("${ms.usuarios.plazo-ms:800}")
+    private long plazoMs;
+
+    public ClienteUsuarios(RestTemplate restTemplate,
+                           @Qualifier("ejecutorUsuarios") AsyncTaskExecutor ejecutorUsuarios,
+                           CacheResumenesUsuarios cacheResumenes,
+                           @Qualifier("proteccionUsuarios") ClienteProtegido proteccionUsuarios) {
+        this.restTemplate = restTemplate;
+        this.ejecutorUsuarios = ejecutorUsuarios;
+        this.cacheResumenes = cacheResumenes;
+        this.proteccionUsuarios = proteccionUsuarios;
+    }
+
+    /**
+     * Obtiene el resumen de varios usuarios. Los lotes que fallen, se
+     * rechacen o no respondan dentro del plazo se completan con el último
+     * resumen conocido y el resultado se marca como degradado en lugar de
+     * bloquear la respuesta completa.
+     *
+     * @param usuarioIds IDs de los usuarios
+     * @return Resúmenes obtenidos y marca de degradación
+     */
+    public ResultadoResumenes obtenerResumenes(Collection<Long> usuarioIds) {
+        if (usuarioIds.isEmpty()) {
+            return new ResultadoResumenes(Map.of(), false);
+        }
+
+        Map<Long, ResumenUsuarioDTO> resumenes = new HashMap<>(cacheResumenes.obtenerPresentes(usuarioIds));
+        List<Long> ids = usuarioIds.stream()
+                .filter(id -> !resumenes.containsKey(id))
+                .toList();
+        if (ids.isEmpty()) {
+            return new ResultadoResumenes(resumenes, false);
+        }
+
+        List<CompletableFuture<Map<Long, ResumenUsuarioDTO>>> llamadas = new ArrayList<>();
+        boolean degradado = false;
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanoLote) {
+            List<Long> lote = List.copyOf(ids.subList(inicio, Math.min(inicio + tamanoLote, ids.size())));
+            try {
+                llamadas.add(proteccionUsuarios.ejecutarAsync(() -> consultarLote(lote), ejecutorUsuarios));
+            } catch (LlamadaRechazadaException | RejectedExecutionException e) {
+                degradado = true;
+            }
+        }
+
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(plazoMs);
+        for (CompletableFuture<Map<Long, ResumenUsuarioDTO>> llamada : llamadas) {
+            try {
+                resumenes.putAll(llamada.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                degradado = true;
+            } catch (ExecutionException e) {
+                log.error("Error al consultar ms-usuarios: {}", e.getCause().getMessage());
+                degradado = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                degradado = true;
+            }
+        }
+
+        if (degradado) {
+            List<Long> faltantes = ids.stream().filter(id -> !resumenes.containsKey(id)).toList();
+            Map<Long, ResumenUsuarioDTO> respaldo = cacheResumenes.obtenerUltimosConocidos(faltantes);
+            resumenes.putAll(respaldo);
+            log.warn("Consulta a ms-usuarios degradada: {} de {} usuarios obtenidos en {} ms ({} del último valor conocido)",
+                    resumenes.size(), usuarioIds.size(), plazoMs, respaldo.size());
+        }
+        return new ResultadoResumenes(resumenes, degradado);
+    }
+
+    /**
+     * Obtiene una página de IDs de usuario posteriores a uno dado, en orden
+     * ascendente, del endpoint interno de ms-usuarios.
+     *
+     * @param despuesDe ID a partir del cual se listan los usuarios (exclusivo)
+     * @param tamano Número de IDs solicitados
+     * @return IDs de los usuarios (vacío si no hay más)
+     */
+    public List<Long> obtenerIdsDespuesDe(long despuesDe, int tamano) {
+        String url = msUsuariosUrl + "/api/usuarios/interno/ids?despuesDe={despuesDe}&tamano={tamano}";
+        HttpHeaders cabeceras = new HttpHeaders();
+        cabeceras.set(FiltroSecretoInterno.CABECERA, secretoInterno);
+        Long[] respuesta = proteccionUsuarios.ejecutar(() -> restTemplate.exchange(
+                url, HttpMethod.GET, new HttpEntity<>(cabeceras), Long[].class, despuesDe, tamano).getBody());
+        return respuesta == null ? List.of() : List.of(respuesta);
+    }
+
+    /**
+     * Consulta un lote de usuarios al endpoint masivo de ms-usuarios y guarda
+     * el resultado en caché, aunque llegue después del plazo de la petición.
+     *
+     * @param lote IDs del lote
+     * @return Mapa de ID de usuario a su resumen
+     */
+    private Map<Long, ResumenUsuarioDTO> consultarLote(List<Long> lote) {
+        String url = msUsuariosUrl + "/api/auth/usuarios/resumen";
+        log.debug("Consultando {} usuarios en: {}", lote.size(), url);
+        ResumenUsuarioDTO[] respuesta = restTemplate.postForObject(url, lote, ResumenUsuarioDTO[].class);
+
+        Map<Long, ResumenUsuarioDTO> obtenidos = new HashMap<>();
+        if (respuesta != null) {
+            for (ResumenUsuarioDTO resumen : respuesta) {
+                obtenidos.put(resumen.getId(), resumen);
+            }
+            cacheResumenes.guardar(obtenidos);
+        }
+        return obtenidos;
+    }
+}
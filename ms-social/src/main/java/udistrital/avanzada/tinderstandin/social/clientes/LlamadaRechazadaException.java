@@ -0,0 +1,14 @@
+package udistrital.avanzada.tinderstandin.social.clientes;
+
+/**
+ * Indica que una llamada a otro microservicio no se hizo porque su circuito
+ * está abierto o porque se alcanzó el máximo de llamadas simultáneas.
+ *
+ * @author AndGar03
+ */
+public class LlamadaRechazadaException extends RuntimeException {
+
+    public LlamadaRechazadaException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,17 @@
+package udistrital.avanzada.tinderstandin.social.clientes;
+
+import udistrital.avanzada.tinderstandin.social.dto.ResumenUsuarioDTO;
+
+import java.util.Map;
+
+/**
+ * Resultado de una consulta masiva de resúmenes de usuario.
+ * Si alguna llamada falló o no terminó dentro del plazo, el resultado
+ * es parcial y queda marcado como degradado.
+ *
+ * @param resumenes Mapa de ID de usuario a su resumen
+ * @param degradado true si faltan resúmenes por fallo o por plazo vencido
+ * @author AndGar03
+ */
+public record ResultadoResumenes(Map<Long, ResumenUsuarioDTO> resumenes, boolean degradado) {
+}
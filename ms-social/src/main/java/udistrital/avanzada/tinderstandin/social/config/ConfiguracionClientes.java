@@ -0,0 +1,114 @@
+package udistrital.avanzada.tinderstandin.social.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+import udistrital.avanzada.tinderstandin.social.clientes.ClienteProtegido;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de las llamadas salientes hacia otros microservicios.
+ * Todas comparten un cliente HTTP del JDK, que reutiliza conexiones
+ * persistentes y puede negociar HTTP/2; cada destino tiene su propio
+ * circuito y límite de concurrencia.
+ *
+ * @author AndGar03
+ */
+@Configuration
+public class ConfiguracionClientes {
+
+    /**
+     * RestTemplate respaldado por el cliente HTTP del JDK con plazos de
+     * conexión y de lectura. Con el formato binario activo, los cuerpos de
+     * objetos se envían en CBOR y se pide CBOR antes que JSON; un destino
+     * que no lo soporte sigue respondiendo en JSON.
+     *
+     * @param conversorCbor Conversor CBOR configurado por la aplicación
+     * @param timeoutConexionMs Plazo para establecer la conexión
+     * @param timeoutLecturaMs Plazo para recibir la respuesta
+     * @param versionHttp Versión HTTP preferida (HTTP_1_1 o HTTP_2)
+     * @param formatoBinario Si se prefiere CBOR a JSON
+     * @return RestTemplate para las llamadas entre microservicios
+     */
+    @Bean
+    public RestTemplate restTemplate(
+            MappingJackson2CborHttpMessageConverter conversorCbor,
+            @Value("${social.clientes-http.timeout-conexion-ms:300}") long timeoutConexionMs,
+            @Value("${social.clientes-http.timeout-lectura-ms:1000}") long timeoutLecturaMs,
+            @Value("${social.clientes-http.version:HTTP_1_1}") HttpClient.Version versionHttp,
+            @Value("${social.clientes-http.formato-binario:true}") boolean formatoBinario) {
+        HttpClient clienteHttp = HttpClient.newBuilder()
+                .version(versionHttp)
+                .connectTimeout(Duration.ofMillis(timeoutConexionMs))
+                .build();
+        JdkClientHttpRequestFactory fabrica = new JdkClientHttpRequestFactory(clienteHttp);
+        fabrica.setReadTimeout(Duration.ofMillis(timeoutLecturaMs));
+        RestTemplate restTemplate = new RestTemplate(fabrica);
+
+        // El conversor CBOR va justo antes del de JSON para que Strings y
+        // bytes sigan usando sus propios conversores
+        List<HttpMessageConverter<?>> conversores = new ArrayList<>(restTemplate.getMessageConverters());
+        conversores.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        if (formatoBinario) {
+            int posicionJson = 0;
+            while (posicionJson < conversores.size()
+                    && !(conversores.get(posicionJson) instanceof MappingJackson2HttpMessageConverter)) {
+                posicionJson++;
+            }
+            conversores.add(posicionJson, conversorCbor);
+        }
+        restTemplate.setMessageConverters(conversores);
+        return restTemplate;
+    }
+
+    /**
+     * Protección de las llamadas a ms-usuarios.
+     *
+     * @param maximoConcurrentes Máximo de llamadas en vuelo o en cola
+     * @param tamanoVentana Llamadas recientes evaluadas por el circuito
+     * @param minimoLlamadas Llamadas mínimas antes de poder abrir el circuito
+     * @param umbralFallos Proporción de fallos que abre el circuito
+     * @param aperturaMs Tiempo que el circuito permanece abierto
+     * @return Cliente protegido hacia ms-usuarios
+     */
+    @Bean
+    public ClienteProtegido proteccionUsuarios(
+            @Value("${ms.usuarios.max-concurrentes:32}") int maximoConcurrentes,
+            @Value("${ms.usuarios.circuito.ventana:20}") int tamanoVentana,
+            @Value("${ms.usuarios.circuito.minimo-llamadas:10}") int minimoLlamadas,
+            @Value("${ms.usuarios.circuito.umbral-fallos:0.5}") double umbralFallos,
+            @Value("${ms.usuarios.circuito.apertura-ms:5000}") long aperturaMs) {
+        return new ClienteProtegido("ms-usuarios", maximoConcurrentes, tamanoVentana,
+                minimoLlamadas, umbralFallos, aperturaMs);
+    }
+
+    /**
+     * Protección de las llamadas a ms-multimedia.
+     *
+     * @param maximoConcurrentes Máximo de llamadas en vuelo o en cola
+     * @param tamanoVentana Llamadas recientes evaluadas por el circuito
+     * @param minimoLlamadas Llamadas mínimas antes de poder abrir el circuito
+     * @param umbralFallos Proporción de fallos que abre el circuito
+     * @param aperturaMs Tiempo que el circuito permanece abierto
+     * @return Cliente protegido hacia ms-multimedia
+     */
+    @Bean
+    public ClienteProtegido proteccionMultimedia(
+            @Value("${ms.multimedia.max-concurrentes:16}") int maximoConcurrentes,
+            @Value("${ms.multimedia.circuito.ventana:20}") int tamanoVentana,
+            @Value("${ms.multimedia.circuito.minimo-llamadas:10}") int minimoLlamadas,
+            @Value("${ms.multimedia.circuito.umbral-fallos:0.5}") double umbralFallos,
+            @Value("${ms.multimedia.circuito.apertura-ms:5000}") long aperturaMs) {
+        return new ClienteProtegido("ms-multimedia", maximoConcurrentes, tamanoVentana,
+                minimoLlamadas, umbralFallos, aperturaMs);
+    }
+}
@@ -0,0 +1,100 @@
+package udistrital.avanzada.tinderstandin.social.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Configuración de los ejecutores usados para las llamadas salientes
+ * hacia otros microservicios, el despacho de eventos de dominio y el
+ * envío de eventos en tiempo real.
+ *
+ * @author AndGar03
+ */
+@Configuration
+public class ConfiguracionConcurrencia {
+
+    /**
+     * Pool acotado para las consultas a ms-usuarios. El número de hilos
+     * define el máximo de llamadas en vuelo; las que excedan ese número
+     * esperan en la cola en lugar de abrir más conexiones.
+     *
+     * @param maxEnVuelo Máximo de llamadas simultáneas
+     * @param capacidadCola Capacidad de la cola de espera
+     * @return Ejecutor para las consultas a ms-usuarios
+     */
+    @Bean(name = "ejecutorUsuarios")
+    public ThreadPoolTaskExecutor ejecutorUsuarios(
+            @Value("${ms.usuarios.max-en-vuelo:8}") int maxEnVuelo,
+            @Value("${ms.usuarios.capacidad-cola:500}") int capacidadCola) {
+        ThreadPoolTaskExecutor ejecutor = new ThreadPoolTaskExecutor();
+        ejecutor.setCorePoolSize(maxEnVuelo);
+        ejecutor.setMaxPoolSize(maxEnVuelo);
+        ejecutor.setQueueCapacity(capacidadCola);
+        ejecutor.setThreadNamePrefix("ms-usuarios-");
+        ejecutor.setWaitForTasksToCompleteOnShutdown(false);
+        ejecutor.initialize();
+        return ejecutor;
+    }
+
+    /**
+     * Pool pequeño que vacía los buffers de las conexiones de eventos.
+     * Las conexiones abiertas no ocupan hilos; solo se usan mientras
+     * hay eventos por enviar.
+     *
+     * @param hilos Número de hilos de envío
+     * @return Ejecutor para el envío de eventos
+     */
+    @Bean(name = "ejecutorEventos")
+    public ThreadPoolTaskExecutor ejecutorEventos(
+            @Value("${social.eventos.hilos-envio:4}") int hilos) {
+        ThreadPoolTaskExecutor ejecutor = new ThreadPoolTaskExecutor();
+        ejecutor.setCorePoolSize(hilos);
+        ejecutor.setMaxPoolSize(hilos);
+        ejecutor.setThreadNamePrefix("eventos-");
+        ejecutor.setWaitForTasksToCompleteOnShutdown(false);
+        ejecutor.initialize();
+        return ejecutor;
+    }
+
+    /**
+     * Pool para los manejadores de eventos de dominio. Cada tarea procesa
+     * en orden los eventos de un par de usuarios.
+     *
+     * @param hilos Número de hilos de despacho
+     * @return Ejecutor para el despacho de eventos de dominio
+     */
+    @Bean(name = "ejecutorOutbox")
+    public ThreadPoolTaskExecutor ejecutorOutbox(
+            @Value("${social.outbox.hilos:4}") int hilos) {
+        ThreadPoolTaskExecutor ejecutor = new ThreadPoolTaskExecutor();
+        ejecutor.setCorePoolSize(hilos);
+        ejecutor.setMaxPoolSize(hilos);
+        ejecutor.setThreadNamePrefix("outbox-");
+        ejecutor.setWaitForTasksToCompleteOnShutdown(true);
+        ejecutor.initialize();
+        return ejecutor;
+    }
+
+    /**
+     * Pool de fork/join para la reconciliación de likes y matches. El
+     * paralelismo es el máximo de rangos revisados a la vez y, por tanto,
+     * de consultas simultáneas de la reconciliación contra la base de datos.
+     *
+     * @param paralelismo Número de hilos
+     * @return Pool para la reconciliación
+     */
+    @Bean(name = "ejecutorReconciliacion", destroyMethod = "shutdownNow")
+    public ForkJoinPool ejecutorReconciliacion(
+            @Value("${social.reconciliacion.paralelismo:4}") int paralelismo) {
+        return new ForkJoinPool(paralelismo, pool -> {
+            ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            hilo.setName("reconciliacion-" + hilo.getPoolIndex());
+            return hilo;
+        }, null, false);
+    }
+}
@@ -0,0 +1,38 @@
+package udistrital.avanzada.tinderstandin.social.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración del acceso a los endpoints internos, que solo deben invocar
+ * otros microservicios y los operadores: volcados, rebalanceo de fragmentos,
+ * archivo, reconciliación, reconstrucción de tarjetas e invalidaciones.
+ *
+ * @author AndGar03
+ */
+@Configuration
+public class ConfiguracionSeguridadInterna {
+
+    /**
+     * Registra el filtro del secreto compartido sobre {@code /api/social/interno/*}.
+     *
+     * @param secreto Secreto compartido por los microservicios
+     * @return Registro del filtro
+     * @throws IllegalStateException si el secreto está vacío
+     */
+    @Bean
+    public FilterRegistrationBean<FiltroSecretoInterno> filtroSecretoInterno(
+            @Value("${social.interno.secreto}") String secreto) {
+        if (secreto.isBlank()) {
+            throw new IllegalStateException("social.interno.secreto no puede estar vacío");
+        }
+        FilterRegistrationBean<FiltroSecretoInterno> registro =
+                new FilterRegistrationBean<>(new FiltroSecretoInterno(secreto));
+        registro.addUrlPatterns("/api/social/interno/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+}
@@ -0,0 +1,180 @@
+package udistrital.avanzada.tinderstandin.social.contadores;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import udistrital.avanzada.tinderstandin.social.repositorios.ContadorRepositorio;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Acumulador en memoria de los contadores de likes y matches por usuario.
+ *
+ * <p>Los incrementos se registran cuando confirma la transacción del like o
+ * del match y se suman en un mapa concurrente, cuyo bloqueo por segmento
+ * evita que los usuarios con mucha actividad serialicen a los demás. Una
+ * tarea periódica retira los incrementos acumulados y los suma a la tabla
+ * de contadores en un solo lote. Si la escritura falla, los incrementos se
+ * devuelven al acumulador para el siguiente ciclo.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class AcumuladorContadores {
+
+    private final ContadorRepositorio contadorRepositorio;
+    private final ConcurrentHashMap<Long, long[]> pendientes = new ConcurrentHashMap<>();
+
+    private static final int LIKES_RECIBIDOS = 0;
+    private static final int LIKES_ENVIADOS = 1;
+    private static final int MATCHES = 2;
+
+    public AcumuladorContadores(ContadorRepositorio contadorRepositorio) {
+        this.contadorRepositorio = contadorRepositorio;
+    }
+
+    /**
+     * Registra tras el commit los likes de un usuario hacia varios destinos.
+     *
+     * @param usuarioOrigenId ID del usuario que dio los likes
+     * @param usuariosDestinoIds IDs de los usuarios que los recibieron
+     */
+    public void registrarLikesTrasCommit(Long usuarioOrigenId, Collection<Long> usuariosDestinoIds) {
+        if (usuariosDestinoIds.isEmpty()) {
+            return;
+        }
+        List<Long> destinos = List.copyOf(usuariosDestinoIds);
+        trasCommit(() -> {
+            sumar(usuarioOrigenId, LIKES_ENVIADOS, destinos.size());
+            destinos.forEach(destino -> sumar(destino, LIKES_RECIBIDOS, 1));
+        });
+    }
+
+    /**
+     * Registra tras el commit los matches de un usuario con varios otros.
+     *
+     * @param usuarioId ID del usuario
+     * @param otrosUsuariosIds IDs de los otros usuarios de cada match
+     */
+    public void registrarMatchesTrasCommit(Long usuarioId, Collection<Long> otrosUsuariosIds) {
+        if (otrosUsuariosIds.isEmpty()) {
+            return;
+        }
+        List<Long> otros = List.copyOf(otrosUsuariosIds);
+        trasCommit(() -> {
+            sumar(usuarioId, MATCHES, otros.size());
+            otros.forEach(otro -> sumar(otro, MATCHES, 1));
+        });
+    }
+
+    /**
+     * Descuenta tras el commit likes eliminados por estar repetidos.
+     *
+     * @param usuarioOrigenId ID del usuario que dio los likes
+     * @param usuariosDestinoIds IDs de los usuarios que los recibieron
+     */
+    public void descontarLikesTrasCommit(Long usuarioOrigenId, Collection<Long> usuariosDestinoIds) {
+        if (usuariosDestinoIds.isEmpty()) {
+            return;
+        }
+        List<Long> destinos = List.copyOf(usuariosDestinoIds);
+        trasCommit(() -> {
+            sumar(usuarioOrigenId, LIKES_ENVIADOS, -destinos.size());
+            destinos.forEach(destino -> sumar(destino, LIKES_RECIBIDOS, -1));
+        });
+    }
+
+    /**
+     * Descuenta tras el commit matches eliminados por estar repetidos.
+     *
+     * @param usuarioId ID del usuario
+     * @param otrosUsuariosIds IDs de los otros usuarios de cada match
+     */
+    public void descontarMatchesTrasCommit(Long usuarioId, Collection<Long> otrosUsuariosIds) {
+        if (otrosUsuariosIds.isEmpty()) {
+            return;
+        }
+        List<Long> otros = List.copyOf(otrosUsuariosIds);
+        trasCommit(() -> {
+            sumar(usuarioId, MATCHES, -otros.size());
+            otros.forEach(otro -> sumar(otro, MATCHES, -1));
+        });
+    }
+
+    /**
+     * Obtiene los incrementos aún no escritos de un usuario.
+     *
+     * @param usuarioId ID del usuario
+     * @return Incrementos pendientes (en cero si no hay)
+     */
+    public DeltaContadores obtenerPendientes(Long usuarioId) {
+        long[] copia = new long[3];
+        pendientes.computeIfPresent(usuarioId, (id, valores) -> {
+            System.arraycopy(valores, 0, copia, 0, copia.length);
+            return valores;
+        });
+        return aDelta(usuarioId, copia);
+    }
+
+    /**
+     * Escribe en la tabla de contadores los incrementos acumulados.
+     */
+    @Scheduled(fixedDelayString = "${social.contadores.intervalo-escritura-ms:1000}")
+    @PreDestroy
+    public void escribirPendientes() {
+        List<DeltaContadores> lote = new ArrayList<>();
+        for (Long usuarioId : pendientes.keySet()) {
+            // Retirar la entrada de forma atómica respecto a los incrementos concurrentes
+            pendientes.computeIfPresent(usuarioId, (id, valores) -> {
+                lote.add(aDelta(id, valores));
+                return null;
+            });
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            contadorRepositorio.sumarDeltas(lote);
+            log.debug("Contadores de {} usuarios actualizados", lote.size());
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron escribir los contadores, se reintentará: {}", e.getMessage());
+            lote.forEach(delta -> {
+                sumar(delta.usuarioId(), LIKES_RECIBIDOS, delta.likesRecibidos());
+                sumar(delta.usuarioId(), LIKES_ENVIADOS, delta.likesEnviados());
+                sumar(delta.usuarioId(), MATCHES, delta.matches());
+            });
+        }
+    }
+
+    private void sumar(Long usuarioId, int contador, long cantidad) {
+        pendientes.compute(usuarioId, (id, valores) -> {
+            long[] actuales = valores == null ? new long[3] : valores;
+            actuales[contador] += cantidad;
+            return actuales;
+        });
+    }
+
+    private static DeltaContadores aDelta(Long usuarioId, long[] valores) {
+        return new DeltaContadores(usuarioId, valores[LIKES_RECIBIDOS], valores[LIKES_ENVIADOS], valores[MATCHES]);
+    }
+
+    private static void trasCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package udistrital.avanzada.tinderstandin.social.contadores;
+
+/**
+ * Incrementos pendientes de los contadores de un usuario.
+ *
+ * @param usuarioId ID del usuario
+ * @param likesRecibidos Likes recibidos pendientes de sumar
+ * @param likesEnviados Likes enviados pendientes de sumar
+ * @param matches Matches pendientes de sumar
+ * @author AndGar03
+ */
+public record DeltaContadores(Long usuarioId, long likesRecibidos, long likesEnviados, long matches) {
+}
@@ -0,0 +1,44 @@
+package udistrital.avanzada.tinderstandin.social.controladores;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import udistrital.avanzada.tinderstandin.social.dto.MensajeRespuesta;
+import udistrital.avanzada.tinderstandin.social.notificaciones.CentralNotificaciones;
+
+/**
+ * Controlador REST para la suscripción a eventos sociales en tiempo real
+ * (likes recibidos y matches) mediante Server-Sent Events.
+ *
+ * @author AndGar03
+ */
+@RestController
+@RequestMapping("/api/social/eventos")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RequiredArgsConstructor
+@Slf4j
+public class ControladorEventos {
+
+    private final CentralNotificaciones centralNotificaciones;
+
+    /**
+     * Abre un flujo de eventos para un usuario.
+     */
+    @GetMapping(value = "/{usuarioId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> suscribir(@PathVariable Long usuarioId) {
+        log.info("Usuario {} suscribiéndose a eventos", usuarioId);
+        try {
+            SseEmitter emisor = centralNotificaciones.suscribir(usuarioId);
+            return ResponseEntity.ok(emisor);
+        } catch (IllegalStateException e) {
+            log.warn("Suscripción rechazada para usuario {}: {}", usuarioId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+}
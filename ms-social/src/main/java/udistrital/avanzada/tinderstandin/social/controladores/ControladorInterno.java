@@ -0,0 +1,274 @@
+package udistrital.avanzada.tinderstandin.social.controladores;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import udistrital.avanzada.tinderstandin.social.archivo.ArchivadorSocial;
+import udistrital.avanzada.tinderstandin.social.clientes.CacheResumenesUsuarios;
+import udistrital.avanzada.tinderstandin.social.clientes.ClienteProtegido;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasArchivoDTO;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasBloqueosDTO;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasCacheDTO;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasClienteDTO;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasOutboxDTO;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasReconciliacionDTO;
+import udistrital.avanzada.tinderstandin.social.dto.EstadoReplicaDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResultadoVolcadoDTO;
+import udistrital.avanzada.tinderstandin.social.eventos.DespachadorEventos;
+import udistrital.avanzada.tinderstandin.social.fragmentacion.RebalanceadorFragmentos;
+import udistrital.avanzada.tinderstandin.social.grafo.BloqueosPares;
+import udistrital.avanzada.tinderstandin.social.reconciliacion.ReconciliadorSocial;
+import udistrital.avanzada.tinderstandin.social.replicacion.SelectorReplicas;
+import udistrital.avanzada.tinderstandin.social.tarjetas.ServicioTarjetasMatch;
+import udistrital.avanzada.tinderstandin.social.volcado.FormatoVolcado;
+import udistrital.avanzada.tinderstandin.social.volcado.ServicioVolcado;
+import udistrital.avanzada.tinderstandin.social.volcado.TablaVolcado;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import udistrital.avanzada.tinderstandin.social.dto.MensajeRespuesta;
+
+/**
+ * Controlador REST para operaciones internas invocadas por otros
+ * microservicios (invalidación de cachés y métricas).
+ *
+ * @author AndGar03
+ */
+@RestController
+@RequestMapping("/api/social/interno")
+@RequiredArgsConstructor
+@Slf4j
+public class ControladorInterno {
+
+    private final CacheResumenesUsuarios cacheResumenesUsuarios;
+    private final List<ClienteProtegido> clientesProtegidos;
+    private final DespachadorEventos despachadorEventos;
+    private final BloqueosPares bloqueosPares;
+    private final Optional<RebalanceadorFragmentos> rebalanceadorFragmentos;
+    private final Optional<SelectorReplicas> selectorReplicas;
+    private final ArchivadorSocial archivadorSocial;
+    private final ServicioVolcado servicioVolcado;
+    private final Optional<ReconciliadorSocial> reconciliadorSocial;
+    private final Optional<ServicioTarjetasMatch> servicioTarjetasMatch;
+
+    /**
+     * Notifica que el perfil de un usuario cambió en ms-usuarios.
+     */
+    @PostMapping("/usuarios/{usuarioId}/invalidar")
+    public ResponseEntity<MensajeRespuesta> invalidarUsuario(@PathVariable Long usuarioId) {
+        log.info("Invalidando información en caché del usuario {}", usuarioId);
+        cacheResumenesUsuarios.invalidar(usuarioId);
+        servicioTarjetasMatch.ifPresent(servicio -> servicio.registrarCambioPerfil(usuarioId));
+        return ResponseEntity.ok(new MensajeRespuesta("Usuario invalidado"));
+    }
+
+    /**
+     * Notifica que las fotos de un usuario cambiaron en ms-multimedia.
+     */
+    @PostMapping("/usuarios/{usuarioId}/fotos-cambiadas")
+    public ResponseEntity<MensajeRespuesta> notificarCambioFotos(@PathVariable Long usuarioId) {
+        log.info("Fotos del usuario {} cambiadas", usuarioId);
+        servicioTarjetasMatch.ifPresent(servicio -> servicio.registrarCambioPerfil(usuarioId));
+        return ResponseEntity.ok(new MensajeRespuesta("Cambio de fotos registrado"));
+    }
+
+    /**
+     * Obtiene las estadísticas de la caché de resúmenes de usuario.
+     */
+    @GetMapping("/cache/usuarios")
+    public ResponseEntity<EstadisticasCacheDTO> obtenerEstadisticasCacheUsuarios() {
+        return ResponseEntity.ok(cacheResumenesUsuarios.obtenerEstadisticas());
+    }
+
+    /**
+     * Obtiene la latencia, la tasa de error y el estado del circuito de cada
+     * microservicio al que llama ms-social.
+     */
+    @GetMapping("/clientes")
+    public ResponseEntity<List<EstadisticasClienteDTO>> obtenerEstadisticasClientes() {
+        return ResponseEntity.ok(clientesProtegidos.stream().map(ClienteProtegido::obtenerEstadisticas).toList());
+    }
+
+    /**
+     * Obtiene las métricas de espera de los candados por par de usuarios.
+     */
+    @GetMapping("/bloqueos")
+    public ResponseEntity<EstadisticasBloqueosDTO> obtenerEstadisticasBloqueos() {
+        return ResponseEntity.ok(bloqueosPares.obtenerEstadisticas());
+    }
+
+    /**
+     * Obtiene las métricas de la tabla de salida de eventos, incluido su retraso.
+     */
+    @GetMapping("/outbox")
+    public ResponseEntity<EstadisticasOutboxDTO> obtenerEstadisticasOutbox() {
+        return ResponseEntity.ok(despachadorEventos.obtenerEstadisticas());
+    }
+
+    /**
+     * Mueve a su fragmento los likes y matches mal ubicados (solo con fragmentación).
+     */
+    @PostMapping("/fragmentos/rebalancear")
+    public ResponseEntity<?> rebalancearFragmentos() {
+        if (rebalanceadorFragmentos.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MensajeRespuesta("La fragmentación no está habilitada"));
+        }
+        try {
+            return ResponseEntity.ok(rebalanceadorFragmentos.get().rebalancear());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    /**
+     * Ejecuta una pasada de archivado de likes antiguos y matches inactivos.
+     */
+    @PostMapping("/archivo/ejecutar")
+    public ResponseEntity<?> ejecutarArchivado() {
+        try {
+            return ResponseEntity.ok(archivadorSocial.archivar());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtiene las métricas del archivado de likes y matches.
+     */
+    @GetMapping("/archivo")
+    public ResponseEntity<EstadisticasArchivoDTO> obtenerEstadisticasArchivo() {
+        return ResponseEntity.ok(archivadorSocial.obtenerEstadisticas());
+    }
+
+    /**
+     * Exporta una tabla (likes, matches, likes-archivo o matches-archivo) como
+     * volcado comprimido con gzip, escrito a la respuesta a medida que se lee.
+     */
+    @GetMapping("/volcado/{tabla}")
+    public ResponseEntity<?> exportarVolcado(@PathVariable String tabla,
+                                             @RequestParam(value = "formato", defaultValue = "csv") String formato,
+                                             HttpServletResponse respuesta) {
+        TablaVolcado tablaVolcado;
+        FormatoVolcado formatoVolcado;
+        try {
+            tablaVolcado = TablaVolcado.desde(tabla);
+            formatoVolcado = FormatoVolcado.desde(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage()));
+        }
+        respuesta.setContentType("application/gzip");
+        respuesta.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" +
+                tablaVolcado.getNombre() + "." + formatoVolcado.getExtension() + ".gz\"");
+        try {
+            servicioVolcado.exportar(tablaVolcado, formatoVolcado, respuesta.getOutputStream());
+            return null;
+        } catch (IllegalStateException e) {
+            respuesta.reset();
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MensajeRespuesta(e.getMessage()));
+        } catch (IOException e) {
+            // La respuesta ya empezó a enviarse; el cliente recibe un gzip truncado
+            log.error("Error al exportar {}: {}", tablaVolcado.getNombre(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Importa en una tabla un volcado comprimido con gzip recibido como cuerpo
+     * de la petición (application/gzip u application/octet-stream). Por defecto
+     * la base de datos asigna los IDs de likes y matches; con conservarIds=true
+     * se conservan los del volcado, lo que se rechaza si viene de varios fragmentos.
+     */
+    @PostMapping(value = "/volcado/{tabla}", consumes = {"application/gzip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> importarVolcado(@PathVariable String tabla,
+                                             @RequestParam(value = "formato", defaultValue = "csv") String formato,
+                                             @RequestParam(value = "conservarIds", defaultValue = "false") boolean conservarIds,
+                                             InputStream cuerpo) {
+        try {
+            return ResponseEntity.ok(servicioVolcado.importar(
+                    TablaVolcado.desde(tabla), FormatoVolcado.desde(formato), cuerpo, conservarIds));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtiene el avance del volcado en curso o el resultado del último.
+     */
+    @GetMapping("/volcado")
+    public ResponseEntity<ResultadoVolcadoDTO> obtenerEstadoVolcado() {
+        return servicioVolcado.obtenerEstado()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Inicia en segundo plano una pasada de reconciliación de likes, matches
+     * y contadores. Con modoPrueba=true solo cuenta las inconsistencias.
+     */
+    @PostMapping("/reconciliacion/iniciar")
+    public ResponseEntity<?> iniciarReconciliacion(
+            @RequestParam(value = "modoPrueba", defaultValue = "false") boolean modoPrueba) {
+        if (reconciliadorSocial.isEmpty()) {
+            return ResponseEntity.badRequest().body(
+                    new MensajeRespuesta("La reconciliación no está disponible con fragmentación"));
+        }
+        try {
+            return ResponseEntity.accepted().body(reconciliadorSocial.get().iniciar(modoPrueba));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    /**
+     * Pide detener la pasada de reconciliación en curso.
+     */
+    @PostMapping("/reconciliacion/detener")
+    public ResponseEntity<MensajeRespuesta> detenerReconciliacion() {
+        boolean enCurso = reconciliadorSocial.map(ReconciliadorSocial::detener).orElse(false);
+        return ResponseEntity.ok(new MensajeRespuesta(
+                enCurso ? "Reconciliación detenida tras los rangos en curso" : "No hay una reconciliación en curso"));
+    }
+
+    /**
+     * Obtiene el avance de la reconciliación en curso o el resultado de la última.
+     */
+    @GetMapping("/reconciliacion")
+    public ResponseEntity<EstadisticasReconciliacionDTO> obtenerEstadisticasReconciliacion() {
+        return ResponseEntity.ok(reconciliadorSocial.map(ReconciliadorSocial::obtenerEstadisticas)
+                .orElseGet(EstadisticasReconciliacionDTO::new));
+    }
+
+    /**
+     * Crea las tarjetas de match de todos los matches existentes y completa
+     * las que no tengan datos de la otra persona.
+     */
+    @PostMapping("/tarjetas/reconstruir")
+    public ResponseEntity<?> reconstruirTarjetas() {
+        if (servicioTarjetasMatch.isEmpty()) {
+            return ResponseEntity.badRequest().body(
+                    new MensajeRespuesta("Las tarjetas de match no están disponibles con fragmentación"));
+        }
+        try {
+            return ResponseEntity.ok(servicioTarjetasMatch.get().reconstruir());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtiene el estado de las réplicas de lectura (vacío sin replicación).
+     */
+    @GetMapping("/replicas")
+    public ResponseEntity<List<EstadoReplicaDTO>> obtenerEstadoReplicas() {
+        return ResponseEntity.ok(selectorReplicas.map(SelectorReplicas::obtenerEstados).orElse(List.of()));
+    }
+}
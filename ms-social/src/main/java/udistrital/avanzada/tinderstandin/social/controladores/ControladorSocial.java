@@ -3,16 +3,27 @@ package udistrital.avanzada.tinderstandin.social.controladores;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import udistrital.avanzada.tinderstandin.social.dto.ContadoresUsuarioDTO;
 import udistrital.avanzada.tinderstandin.social.dto.CrearLikeDTO;
+import udistrital.avanzada.tinderstandin.social.dto.CrearLikesLoteDTO;
 import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
 import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
 import udistrital.avanzada.tinderstandin.social.dto.MensajeRespuesta;
+import udistrital.avanzada.tinderstandin.social.dto.PaginaDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResultadoLikeLoteDTO;
+import udistrital.avanzada.tinderstandin.social.fragmentacion.ServicioSocialFragmentado;
+import udistrital.avanzada.tinderstandin.social.idempotencia.RegistroIdempotencia;
+import udistrital.avanzada.tinderstandin.social.ingesta.ServicioIngestaLikes;
+import udistrital.avanzada.tinderstandin.social.servicios.ServicioCandidatos;
+import udistrital.avanzada.tinderstandin.social.servicios.ServicioContadores;
 import udistrital.avanzada.tinderstandin.social.servicios.ServicioSocial;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Controlador REST para operaciones sociales: likes y matches.
@@ -22,25 +33,59 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/social")
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = ControladorSocial.CABECERA_SIGUIENTE_CURSOR)
 @RequiredArgsConstructor
 @Slf4j
 public class ControladorSocial {
 
+    public static final String CABECERA_SIGUIENTE_CURSOR = "X-Siguiente-Cursor";
+
     private final ServicioSocial servicioSocial;
+    private final ServicioContadores servicioContadores;
+    private final ServicioCandidatos servicioCandidatos;
+    private final Optional<ServicioIngestaLikes> servicioIngestaLikes;
+    private final Optional<ServicioSocialFragmentado> servicioSocialFragmentado;
+    private final RegistroIdempotencia registroIdempotencia;
 
     /**
      * Crea un nuevo like desde un usuario origen hacia un usuario destino.
      * El ID de origen se recibe como parámetro y el de destino en el cuerpo.
+     * En modo de ingesta diferida el like se acepta (202) en cuanto es durable
+     * en la bitácora local; el match se notifica después por eventos.
+     * Con la cabecera Idempotency-Key, un reintento con la misma clave recibe
+     * la respuesta original sin volver a crear el like.
      */
     @PostMapping("/likes")
     public ResponseEntity<?> crearLike(
             @RequestParam("usuarioOrigenId") Long usuarioOrigenId,
-            @Valid @RequestBody CrearLikeDTO crearLikeDTO) {
+            @Valid @RequestBody CrearLikeDTO crearLikeDTO,
+            @RequestHeader(value = RegistroIdempotencia.CABECERA, required = false) String claveIdempotencia) {
         log.info("Usuario {} enviando like a {}", usuarioOrigenId, crearLikeDTO.getUsuarioDestinoId());
+        if (claveIdempotencia == null) {
+            return procesarLike(usuarioOrigenId, crearLikeDTO);
+        }
+        return registroIdempotencia.ejecutar("likes:" + usuarioOrigenId, claveIdempotencia,
+                String.valueOf(crearLikeDTO.getUsuarioDestinoId()),
+                () -> procesarLike(usuarioOrigenId, crearLikeDTO));
+    }
+
+    /**
+     * Crea el like y traduce el resultado a la respuesta HTTP.
+     */
+    private ResponseEntity<?> procesarLike(Long usuarioOrigenId, CrearLikeDTO crearLikeDTO) {
         try {
-            LikeResponseDTO response = servicioSocial.crearLike(usuarioOrigenId, crearLikeDTO.getUsuarioDestinoId());
+            if (servicioIngestaLikes.isPresent()) {
+                servicioIngestaLikes.get().registrarLike(usuarioOrigenId, crearLikeDTO.getUsuarioDestinoId());
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(new MensajeRespuesta("Like recibido"));
+            }
+            LikeResponseDTO response = servicioSocialFragmentado.isPresent()
+                    ? servicioSocialFragmentado.get().crearLike(usuarioOrigenId, crearLikeDTO.getUsuarioDestinoId())
+                    : servicioSocial.crearLike(usuarioOrigenId, crearLikeDTO.getUsuarioDestinoId());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (ConcurrencyFailureException e) {
+            log.warn("Conflicto concurrente al crear like: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MensajeRespuesta("Conflicto al registrar el like, intenta de nuevo"));
         } catch (RuntimeException e) {
             log.error("Error al crear like: {}", e.getMessage());
             return ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage()));
@@ -52,22 +97,111 @@ public class ControladorSocial {
     }
 
     /**
-     * Obtiene todos los matches de un usuario.
+     * Crea varios likes de un usuario origen en una sola petición.
+     * Devuelve el resultado de cada destino: creado, duplicado, match o inválido.
+     */
+    @PostMapping("/likes/batch")
+    public ResponseEntity<?> crearLikesEnLote(
+            @RequestParam("usuarioOrigenId") Long usuarioOrigenId,
+            @Valid @RequestBody CrearLikesLoteDTO crearLikesLoteDTO) {
+        log.info("Usuario {} enviando {} likes en lote", usuarioOrigenId,
+                crearLikesLoteDTO.getUsuariosDestinoIds().size());
+        try {
+            List<ResultadoLikeLoteDTO> resultados = servicioSocialFragmentado.isPresent()
+                    ? servicioSocialFragmentado.get().crearLikesEnLote(
+                            usuarioOrigenId, crearLikesLoteDTO.getUsuariosDestinoIds())
+                    : servicioSocial.crearLikesEnLote(usuarioOrigenId, crearLikesLoteDTO.getUsuariosDestinoIds());
+            return ResponseEntity.ok(resultados);
+        } catch (ConcurrencyFailureException e) {
+            log.warn("Conflicto concurrente al crear likes en lote: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MensajeRespuesta("Conflicto al registrar los likes, intenta de nuevo"));
+        } catch (RuntimeException e) {
+            log.error("Error al crear likes en lote: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtiene una página de matches de un usuario.
+     * El token de la siguiente página se devuelve en la cabecera X-Siguiente-Cursor.
+     * Con incluirArchivo=true también se devuelven los matches inactivos archivados.
      */
     @GetMapping("/matches/{usuarioId}")
-    public ResponseEntity<List<MatchResponseDTO>> obtenerMatches(@PathVariable Long usuarioId) {
+    public ResponseEntity<?> obtenerMatches(
+            @PathVariable Long usuarioId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamano", defaultValue = "50") int tamano,
+            @RequestParam(value = "incluirArchivo", defaultValue = "false") boolean incluirArchivo) {
         log.info("Obteniendo matches para usuario {}", usuarioId);
-        List<MatchResponseDTO> matches = servicioSocial.obtenerMatchesDeUsuario(usuarioId);
-        return ResponseEntity.ok(matches);
+        try {
+            PaginaDTO<MatchResponseDTO> pagina = servicioSocialFragmentado.isPresent()
+                    ? servicioSocialFragmentado.get().obtenerMatchesDeUsuario(usuarioId, cursor, tamano, incluirArchivo)
+                    : servicioSocial.obtenerMatchesDeUsuario(usuarioId, cursor, tamano, incluirArchivo);
+            return responderPagina(pagina);
+        } catch (RuntimeException e) {
+            log.error("Error al obtener matches: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage()));
+        }
     }
 
     /**
-     * Obtiene todos los likes recibidos por un usuario.
+     * Obtiene una página de likes recibidos por un usuario.
+     * El token de la siguiente página se devuelve en la cabecera X-Siguiente-Cursor.
+     * Con incluirArchivo=true también se devuelven los likes archivados.
      */
     @GetMapping("/likes/recibidos/{usuarioId}")
-    public ResponseEntity<List<LikeResponseDTO>> obtenerLikesRecibidos(@PathVariable Long usuarioId) {
+    public ResponseEntity<?> obtenerLikesRecibidos(
+            @PathVariable Long usuarioId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamano", defaultValue = "50") int tamano,
+            @RequestParam(value = "incluirArchivo", defaultValue = "false") boolean incluirArchivo) {
         log.info("Obteniendo likes recibidos para usuario {}", usuarioId);
-        List<LikeResponseDTO> likes = servicioSocial.obtenerLikesRecibidos(usuarioId);
-        return ResponseEntity.ok(likes);
+        try {
+            PaginaDTO<LikeResponseDTO> pagina = servicioSocialFragmentado.isPresent()
+                    ? servicioSocialFragmentado.get().obtenerLikesRecibidos(usuarioId, cursor, tamano, incluirArchivo)
+                    : servicioSocial.obtenerLikesRecibidos(usuarioId, cursor, tamano, incluirArchivo);
+            return responderPagina(pagina);
+        } catch (RuntimeException e) {
+            log.error("Error al obtener likes recibidos: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtiene los contadores de likes recibidos, likes enviados y matches de un usuario.
+     */
+    @GetMapping("/contadores/{usuarioId}")
+    public ResponseEntity<ContadoresUsuarioDTO> obtenerContadores(@PathVariable Long usuarioId) {
+        return ResponseEntity.ok(servicioContadores.obtenerContadores(usuarioId));
+    }
+
+    /**
+     * Obtiene la siguiente página de candidatos para swiping de un usuario:
+     * excluye al propio usuario, a quienes ya dio like y a sus matches.
+     */
+    @GetMapping("/candidatos/{usuarioId}")
+    public ResponseEntity<?> obtenerCandidatos(
+            @PathVariable Long usuarioId,
+            @RequestParam(value = "tamano", defaultValue = "20") int tamano) {
+        log.info("Obteniendo candidatos para usuario {}", usuarioId);
+        try {
+            return ResponseEntity.ok(servicioCandidatos.obtenerCandidatos(usuarioId, tamano));
+        } catch (RuntimeException e) {
+            log.error("Error al obtener candidatos: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    /**
+     * Construye la respuesta de una página: los elementos en el cuerpo y,
+     * si hay más resultados, el token de continuación en la cabecera.
+     */
+    private <T> ResponseEntity<List<T>> responderPagina(PaginaDTO<T> pagina) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.getSiguienteCursor() != null) {
+            respuesta.header(CABECERA_SIGUIENTE_CURSOR, pagina.getSiguienteCursor());
+        }
+        return respuesta.body(pagina.getElementos());
     }
 }
@@ -0,0 +1,21 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con los contadores de likes y matches de un usuario.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadoresUsuarioDTO {
+    
+    private Long usuarioId;
+    private long likesRecibidos;
+    private long likesEnviados;
+    private long matches;
+}
@@ -0,0 +1,26 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * DTO para la creación de varios likes de un mismo usuario en una sola petición.
+ * 
+ * @author AndGar03
+ */
+public class CrearLikesLoteDTO {
+    
+    @NotEmpty(message = "Debe indicar al menos un usuario destino")
+    private List<@NotNull(message = "Los IDs de usuario destino no pueden ser nulos") Long> usuariosDestinoIds;
+
+    // Getters y Setters
+    public List<Long> getUsuariosDestinoIds() {
+        return usuariosDestinoIds;
+    }
+
+    public void setUsuariosDestinoIds(List<Long> usuariosDestinoIds) {
+        this.usuariosDestinoIds = usuariosDestinoIds;
+    }
+}
@@ -0,0 +1,58 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con las métricas del archivado de likes y matches.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasArchivoDTO {
+
+    /**
+     * Indica si el archivado periódico está habilitado.
+     */
+    private boolean habilitado;
+
+    /**
+     * Indica si hay una pasada de archivado en curso.
+     */
+    private boolean enCurso;
+
+    /**
+     * Antigüedad en días a partir de la cual se archivan los likes.
+     */
+    private long horizonteLikesDias;
+
+    /**
+     * Likes movidos al archivo desde el arranque.
+     */
+    private long likesArchivados;
+
+    /**
+     * Matches inactivos movidos al archivo desde el arranque.
+     */
+    private long matchesArchivados;
+
+    /**
+     * Lotes movidos desde el arranque.
+     */
+    private long lotes;
+
+    /**
+     * Fin de la última pasada, o null si no ha habido ninguna.
+     */
+    private LocalDateTime ultimaEjecucion;
+
+    /**
+     * Duración de la última pasada en milisegundos.
+     */
+    private long ultimaDuracionMs;
+}
@@ -0,0 +1,51 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con las métricas de los candados por par de usuarios.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasBloqueosDTO {
+
+    /**
+     * Número fijo de franjas de candados.
+     */
+    private int franjas;
+
+    /**
+     * Franjas bloqueadas en este momento.
+     */
+    private int franjasOcupadas;
+
+    /**
+     * Candados obtenidos desde el arranque.
+     */
+    private long adquisiciones;
+
+    /**
+     * Adquisiciones que tuvieron que esperar a otra operación.
+     */
+    private long contendidas;
+
+    /**
+     * Esperas que superaron el máximo y se rechazaron.
+     */
+    private long esperasAgotadas;
+
+    /**
+     * Espera promedio de las adquisiciones contendidas en milisegundos.
+     */
+    private double esperaPromedioMs;
+
+    /**
+     * Espera máxima observada en milisegundos.
+     */
+    private double esperaMaximaMs;
+}
@@ -0,0 +1,41 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con las estadísticas de uso de una caché local.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasCacheDTO {
+    
+    /**
+     * Número de consultas resueltas desde la caché.
+     */
+    private long aciertos;
+    
+    /**
+     * Número de consultas que no estaban en la caché.
+     */
+    private long fallos;
+    
+    /**
+     * Proporción de aciertos sobre el total de consultas.
+     */
+    private double tasaAciertos;
+    
+    /**
+     * Número de entradas desalojadas por tamaño.
+     */
+    private long desalojos;
+    
+    /**
+     * Número aproximado de entradas actuales.
+     */
+    private long tamano;
+}
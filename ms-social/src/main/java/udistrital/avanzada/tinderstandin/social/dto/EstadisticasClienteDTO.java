@@ -0,0 +1,71 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con las métricas de las llamadas hacia otro microservicio.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasClienteDTO {
+
+    /**
+     * Microservicio de destino.
+     */
+    private String destino;
+
+    /**
+     * Estado del circuito: CERRADO, ABIERTO o SEMIABIERTO.
+     */
+    private String estadoCircuito;
+
+    /**
+     * Llamadas realizadas desde el arranque.
+     */
+    private long llamadas;
+
+    /**
+     * Llamadas que fallaron por error del servidor, de red o por tiempo.
+     */
+    private long errores;
+
+    /**
+     * Proporción de fallos en la ventana reciente del circuito.
+     */
+    private double tasaErrorReciente;
+
+    /**
+     * Llamadas no realizadas por estar el circuito abierto.
+     */
+    private long rechazadasPorCircuito;
+
+    /**
+     * Llamadas no realizadas por alcanzar el máximo de llamadas simultáneas.
+     */
+    private long rechazadasPorConcurrencia;
+
+    /**
+     * Llamadas en vuelo o en cola en este momento.
+     */
+    private int enVuelo;
+
+    /**
+     * Latencia promedio de las llamadas recientes en milisegundos.
+     */
+    private double latenciaPromedioMs;
+
+    /**
+     * Percentil 95 de latencia de las llamadas recientes en milisegundos.
+     */
+    private double latenciaP95Ms;
+
+    /**
+     * Latencia máxima de las llamadas recientes en milisegundos.
+     */
+    private double latenciaMaximaMs;
+}
@@ -0,0 +1,51 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con las métricas del despacho de la tabla de salida de eventos.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasOutboxDTO {
+    
+    /**
+     * Número de eventos pendientes de despacho.
+     */
+    private long pendientes;
+    
+    /**
+     * Número de eventos descartados tras agotar los reintentos.
+     */
+    private long fallidosEnTabla;
+    
+    /**
+     * Antigüedad en milisegundos del evento pendiente más antiguo.
+     */
+    private long retrasoMs;
+    
+    /**
+     * Eventos despachados desde el arranque.
+     */
+    private long despachados;
+    
+    /**
+     * Reintentos programados desde el arranque.
+     */
+    private long reintentos;
+    
+    /**
+     * Eventos descartados desde el arranque.
+     */
+    private long fallidos;
+    
+    /**
+     * Duración en milisegundos del último lote despachado.
+     */
+    private long duracionUltimoLoteMs;
+}
@@ -0,0 +1,98 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el avance de la pasada de reconciliación en curso o de la última.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasReconciliacionDTO {
+
+    /**
+     * Indica si hay una pasada en curso.
+     */
+    private boolean enCurso;
+
+    /**
+     * Indica si la pasada solo detecta, sin reparar ni guardar puntos de control.
+     */
+    private boolean modoPrueba;
+
+    /**
+     * Rangos de IDs de usuario de la pasada.
+     */
+    private long rangosTotales;
+
+    /**
+     * Rangos revisados en esta pasada.
+     */
+    private long rangosCompletados;
+
+    /**
+     * Rangos omitidos por estar ya revisados en una pasada interrumpida.
+     */
+    private long rangosOmitidos;
+
+    /**
+     * Rangos que fallaron; se reintentan en la siguiente pasada.
+     */
+    private long rangosFallidos;
+
+    /**
+     * Likes repetidos encontrados (en la tabla de likes o también en su archivo).
+     */
+    private long likesDuplicados;
+
+    /**
+     * Likes repetidos eliminados.
+     */
+    private long likesEliminados;
+
+    /**
+     * Matches repetidos encontrados (en la tabla de matches o también en su archivo).
+     */
+    private long matchesDuplicados;
+
+    /**
+     * Matches repetidos eliminados.
+     */
+    private long matchesEliminados;
+
+    /**
+     * Pares con likes recíprocos y sin match.
+     */
+    private long matchesFaltantes;
+
+    /**
+     * Matches faltantes creados.
+     */
+    private long matchesCreados;
+
+    /**
+     * Usuarios cuyos contadores no coincidían con el recuento de sus likes y matches.
+     */
+    private long contadoresDescuadrados;
+
+    /**
+     * Usuarios con contadores corregidos (descuadre que se mantuvo entre dos recuentos).
+     */
+    private long contadoresCorregidos;
+
+    /**
+     * Fecha de inicio de la pasada, o null si no ha habido ninguna.
+     */
+    private LocalDateTime inicio;
+
+    /**
+     * Tiempo transcurrido de la pasada en milisegundos.
+     */
+    private long duracionMs;
+}
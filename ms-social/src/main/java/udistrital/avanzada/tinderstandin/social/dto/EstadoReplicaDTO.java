@@ -0,0 +1,31 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el estado de una réplica de lectura.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoReplicaDTO {
+    
+    /**
+     * Nombre de la réplica.
+     */
+    private String nombre;
+    
+    /**
+     * Si la réplica está recibiendo lecturas.
+     */
+    private boolean disponible;
+    
+    /**
+     * Último retraso de replicación observado en segundos (-1 si se desconoce).
+     */
+    private long retrasoSegundos;
+}
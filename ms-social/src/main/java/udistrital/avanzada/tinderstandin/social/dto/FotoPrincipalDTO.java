@@ -0,0 +1,31 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con la foto principal de un usuario obtenida desde ms-multimedia.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FotoPrincipalDTO {
+
+    /**
+     * ID de la foto.
+     */
+    private Long id;
+
+    /**
+     * URL de la foto almacenada.
+     */
+    private String url;
+
+    /**
+     * ID del usuario propietario.
+     */
+    private Long usuarioId;
+}
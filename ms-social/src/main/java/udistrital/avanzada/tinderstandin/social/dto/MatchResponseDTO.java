@@ -14,6 +14,8 @@ public class MatchResponseDTO {
     private Long usuario2Id;
     private LocalDateTime fechaCreacion;
     private boolean hayMatch;
+    private ResumenUsuarioDTO usuarioInfo;
+    private boolean infoDegradada;
     
     // Getters y Setters
     public Long getId() {
@@ -55,4 +57,20 @@ public class MatchResponseDTO {
     public void setHayMatch(boolean hayMatch) {
         this.hayMatch = hayMatch;
     }
+
+    public ResumenUsuarioDTO getUsuarioInfo() {
+        return usuarioInfo;
+    }
+
+    public void setUsuarioInfo(ResumenUsuarioDTO usuarioInfo) {
+        this.usuarioInfo = usuarioInfo;
+    }
+
+    public boolean isInfoDegradada() {
+        return infoDegradada;
+    }
+
+    public void setInfoDegradada(boolean infoDegradada) {
+        this.infoDegradada = infoDegradada;
+    }
 }
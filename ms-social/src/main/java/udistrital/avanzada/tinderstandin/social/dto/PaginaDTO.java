@@ -0,0 +1,29 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con una página de resultados y el token para pedir la siguiente.
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    
+    /**
+     * Elementos de la página.
+     */
+    private List<T> elementos;
+    
+    /**
+     * Token opaco para pedir la siguiente página, null si no hay más.
+     */
+    private String siguienteCursor;
+}
@@ -0,0 +1,36 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de un like dentro de una petición por lotes.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLikeLoteDTO {
+    
+    /**
+     * Posibles resultados de cada like del lote.
+     */
+    public enum Estado {
+        CREADO,
+        DUPLICADO,
+        MATCH,
+        INVALIDO
+    }
+    
+    /**
+     * ID del usuario que recibe el like.
+     */
+    private Long usuarioDestinoId;
+    
+    /**
+     * Resultado del like.
+     */
+    private Estado estado;
+}
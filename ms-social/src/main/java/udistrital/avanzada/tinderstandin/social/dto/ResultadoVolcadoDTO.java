@@ -0,0 +1,63 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el avance o el resultado de una exportación o importación de una
+ * tabla del grafo social.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoVolcadoDTO {
+
+    /**
+     * EXPORTACION o IMPORTACION.
+     */
+    private String operacion;
+
+    /**
+     * Tabla volcada.
+     */
+    private String tabla;
+
+    /**
+     * Formato del volcado: CSV o BINARIO.
+     */
+    private String formato;
+
+    /**
+     * Indica si la operación sigue en curso.
+     */
+    private boolean enCurso;
+
+    /**
+     * Filas escritas (exportación) o insertadas (importación).
+     */
+    private long filas;
+
+    /**
+     * Filas del volcado que INSERT IGNORE descartó por una clave repetida
+     * (importación); siempre 0 al exportar.
+     */
+    private long filasDescartadas;
+
+    /**
+     * Tiempo transcurrido en milisegundos.
+     */
+    private long duracionMs;
+
+    /**
+     * Filas por segundo desde el inicio.
+     */
+    private double filasPorSegundo;
+
+    /**
+     * Mensaje de error si la operación falló, o null.
+     */
+    private String error;
+}
@@ -0,0 +1,46 @@
+package udistrital.avanzada.tinderstandin.social.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resumen público de un usuario obtenido desde ms-usuarios.
+ *
+ * @author AndGar03
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumenUsuarioDTO {
+    
+    /**
+     * ID del usuario.
+     */
+    private Long id;
+    
+    /**
+     * Nombre de usuario.
+     */
+    private String username;
+    
+    /**
+     * Nombre completo del usuario.
+     */
+    private String nombreCompleto;
+    
+    /**
+     * Género del usuario.
+     */
+    private String genero;
+    
+    /**
+     * Ciudad del usuario.
+     */
+    private String ciudad;
+    
+    /**
+     * URL de la foto de perfil.
+     */
+    private String fotoPerfil;
+}
@@ -0,0 +1,193 @@
+package udistrital.avanzada.tinderstandin.social.eventos;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasOutboxDTO;
+import udistrital.avanzada.tinderstandin.social.repositorios.ArrendamientoRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.EventoSalidaRepositorio;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Despachador de la tabla de salida (outbox). Lee los eventos pendientes por
+ * lotes y los entrega a todos los {@link ManejadorEventos} registrados.
+ *
+ * <p>Los eventos de un mismo par de usuarios se procesan en orden en una
+ * sola tarea; pares distintos se procesan en paralelo. Si un evento falla,
+ * se reprograma con espera exponencial y los siguientes de su par no se
+ * despachan hasta que se resuelva. Tras el máximo de intentos el evento
+ * queda como FALLIDO para revisión manual.</p>
+ *
+ * <p>Con varias instancias de ms-social solo despacha la que tiene el
+ * arrendamiento {@value #ARRENDAMIENTO} de la tabla {@code arrendamientos};
+ * las demás dejan pasar la ronda. El arrendamiento se renueva al inicio de
+ * cada ronda, por lo que su duración debe superar la del lote más lento más
+ * el desfase de relojes entre instancias. Si la instancia cae a mitad de un
+ * lote, la siguiente lo retoma al vencer el arrendamiento y puede repetir
+ * eventos ya entregados, como cualquier reintento.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class DespachadorEventos {
+
+    static final String ARRENDAMIENTO = "despacho-outbox";
+
+    private final EventoSalidaRepositorio eventoSalidaRepositorio;
+    private final List<ManejadorEventos> manejadores;
+    private final TaskExecutor ejecutorOutbox;
+    private final ArrendamientoRepositorio arrendamientoRepositorio;
+    private final String propietario = UUID.randomUUID().toString();
+
+    private final LongAdder despachados = new LongAdder();
+    private final LongAdder reintentos = new LongAdder();
+    private final LongAdder fallidos = new LongAdder();
+    private volatile long duracionUltimoLoteMs;
+
+    @Value("${social.outbox.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${social.outbox.maximo-intentos:8}")
+    private int maximoIntentos;
+
+    @Value("${social.outbox.espera-base-ms:500}")
+    private long esperaBaseMs;
+
+    @Value("${social.outbox.espera-maxima-ms:300000}")
+    private long esperaMaximaMs;
+
+    @Value("${social.outbox.arrendamiento-ms:30000}")
+    private long arrendamientoMs;
+
+    public DespachadorEventos(EventoSalidaRepositorio eventoSalidaRepositorio,
+                              List<ManejadorEventos> manejadores,
+                              @Qualifier("ejecutorOutbox") TaskExecutor ejecutorOutbox,
+                              ArrendamientoRepositorio arrendamientoRepositorio) {
+        this.eventoSalidaRepositorio = eventoSalidaRepositorio;
+        this.manejadores = manejadores;
+        this.ejecutorOutbox = ejecutorOutbox;
+        this.arrendamientoRepositorio = arrendamientoRepositorio;
+    }
+
+    /**
+     * Despacha un lote de eventos pendientes. Cada ronda espera a que termine
+     * el lote anterior, por lo que el orden por par se mantiene entre rondas.
+     * No hace nada si otra instancia tiene el arrendamiento del despacho.
+     */
+    @Scheduled(fixedDelayString = "${social.outbox.intervalo-ms:200}")
+    public void despachar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (!arrendamientoRepositorio.adquirir(ARRENDAMIENTO, propietario, ahora,
+                ahora.plus(Duration.ofMillis(arrendamientoMs)))) {
+            return;
+        }
+        List<EventoDominio> eventos = eventoSalidaRepositorio.buscarPendientes(ahora, tamanoLote);
+        if (eventos.isEmpty()) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+
+        // Pares con un evento anterior esperando reintento: no se adelantan
+        Set<String> clavesEnEspera = eventoSalidaRepositorio.buscarClavesEnEspera(ahora);
+        Map<String, List<EventoDominio>> porClave = new LinkedHashMap<>();
+        for (EventoDominio evento : eventos) {
+            if (!clavesEnEspera.contains(evento.claveOrden())) {
+                porClave.computeIfAbsent(evento.claveOrden(), k -> new ArrayList<>()).add(evento);
+            }
+        }
+
+        CompletableFuture<?>[] tareas = porClave.values().stream()
+                .map(grupo -> CompletableFuture.runAsync(() -> procesarEnOrden(grupo), ejecutorOutbox))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tareas).join();
+
+        duracionUltimoLoteMs = System.currentTimeMillis() - inicio;
+        log.debug("Lote de {} eventos despachado en {} ms", eventos.size(), duracionUltimoLoteMs);
+    }
+
+    /**
+     * Libera el arrendamiento al detenerse para que otra instancia siga
+     * despachando sin esperar a que venza.
+     */
+    @PreDestroy
+    public void liberarArrendamiento() {
+        try {
+            arrendamientoRepositorio.liberar(ARRENDAMIENTO, propietario);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo liberar el arrendamiento del despacho: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene las métricas del despacho, incluido el retraso del evento
+     * pendiente más antiguo.
+     *
+     * @return Estadísticas de la tabla de salida
+     */
+    public EstadisticasOutboxDTO obtenerEstadisticas() {
+        LocalDateTime masAntiguo = eventoSalidaRepositorio.buscarFechaPendienteMasAntigua();
+        long retrasoMs = masAntiguo == null ? 0 : Duration.between(masAntiguo, LocalDateTime.now()).toMillis();
+        return new EstadisticasOutboxDTO(
+                eventoSalidaRepositorio.contarPorEstado(EventoSalidaRepositorio.ESTADO_PENDIENTE),
+                eventoSalidaRepositorio.contarPorEstado(EventoSalidaRepositorio.ESTADO_FALLIDO),
+                retrasoMs,
+                despachados.sum(),
+                reintentos.sum(),
+                fallidos.sum(),
+                duracionUltimoLoteMs
+        );
+    }
+
+    private void procesarEnOrden(List<EventoDominio> grupo) {
+        List<Long> procesados = new ArrayList<>(grupo.size());
+        for (EventoDominio evento : grupo) {
+            try {
+                for (ManejadorEventos manejador : manejadores) {
+                    if (manejador.acepta(evento.tipo())) {
+                        manejador.manejar(evento);
+                    }
+                }
+                procesados.add(evento.id());
+                despachados.increment();
+            } catch (RuntimeException e) {
+                registrarFallo(evento, e);
+                break;
+            }
+        }
+        if (!procesados.isEmpty()) {
+            eventoSalidaRepositorio.eliminar(procesados);
+        }
+    }
+
+    private void registrarFallo(EventoDominio evento, RuntimeException error) {
+        int intentos = evento.intentos() + 1;
+        String mensaje = String.valueOf(error.getMessage());
+        if (intentos >= maximoIntentos) {
+            log.error("Evento {} descartado tras {} intentos: {}", evento.id(), intentos, mensaje);
+            eventoSalidaRepositorio.marcarFallido(evento.id(), intentos, mensaje);
+            fallidos.increment();
+            return;
+        }
+        long espera = Math.min(esperaMaximaMs, esperaBaseMs << Math.min(intentos - 1, 30));
+        log.warn("Evento {} falló (intento {}), se reintentará en {} ms: {}",
+                evento.id(), intentos, espera, mensaje);
+        eventoSalidaRepositorio.programarReintento(
+                evento.id(), intentos, LocalDateTime.now().plus(Duration.ofMillis(espera)), mensaje);
+        reintentos.increment();
+    }
+}
@@ -0,0 +1,43 @@
+package udistrital.avanzada.tinderstandin.social.eventos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de dominio leído de la tabla de salida (outbox) para su despacho.
+ *
+ * @param id ID del evento en la tabla de salida
+ * @param tipo Tipo de evento
+ * @param claveOrden Clave del par de usuarios; los eventos con la misma clave se despachan en orden
+ * @param usuarioOrigenId ID del usuario que originó el evento
+ * @param usuarioDestinoId ID del otro usuario del evento
+ * @param fechaCreacion Fecha en que se registró el evento
+ * @param intentos Número de intentos de despacho fallidos
+ * @author AndGar03
+ */
+public record EventoDominio(Long id, Tipo tipo, String claveOrden, Long usuarioOrigenId,
+                            Long usuarioDestinoId, LocalDateTime fechaCreacion, int intentos) {
+
+    /**
+     * Tipos de eventos de dominio.
+     */
+    public enum Tipo {
+        LIKE_CREADO,
+        MATCH_CREADO,
+        /**
+         * Cambió el perfil o la foto principal de un usuario; el origen y el
+         * destino son el mismo usuario.
+         */
+        PERFIL_ACTUALIZADO
+    }
+
+    /**
+     * Calcula la clave de orden de un par de usuarios, independiente del sentido.
+     *
+     * @param usuarioA ID de un usuario
+     * @param usuarioB ID del otro usuario
+     * @return Clave canónica del par
+     */
+    public static String claveDelPar(Long usuarioA, Long usuarioB) {
+        return Math.min(usuarioA, usuarioB) + ":" + Math.max(usuarioA, usuarioB);
+    }
+}
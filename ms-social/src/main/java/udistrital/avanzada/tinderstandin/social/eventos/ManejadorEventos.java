@@ -0,0 +1,31 @@
+package udistrital.avanzada.tinderstandin.social.eventos;
+
+/**
+ * Manejador de eventos de dominio despachados desde la tabla de salida.
+ * Cada bean que implemente esta interfaz recibe los eventos fuera de la
+ * transacción y del hilo de la petición que los generó.
+ *
+ * <p>La entrega es al menos una vez: si un manejador falla, el evento se
+ * reintenta para todos los manejadores, por lo que deben ser idempotentes.</p>
+ *
+ * @author AndGar03
+ */
+public interface ManejadorEventos {
+
+    /**
+     * Indica si el manejador procesa un tipo de evento.
+     *
+     * @param tipo Tipo de evento
+     * @return true si el manejador debe recibir el evento
+     */
+    default boolean acepta(EventoDominio.Tipo tipo) {
+        return true;
+    }
+
+    /**
+     * Procesa un evento. Una excepción provoca el reintento del evento.
+     *
+     * @param evento Evento a procesar
+     */
+    void manejar(EventoDominio evento);
+}
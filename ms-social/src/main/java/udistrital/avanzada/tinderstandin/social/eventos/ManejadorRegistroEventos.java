@@ -0,0 +1,21 @@
+package udistrital.avanzada.tinderstandin.social.eventos;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Manejador que deja constancia de los eventos de dominio en el log de
+ * analítica, separado del log de la aplicación.
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j(topic = "udistrital.avanzada.tinderstandin.social.analitica")
+public class ManejadorRegistroEventos implements ManejadorEventos {
+
+    @Override
+    public void manejar(EventoDominio evento) {
+        log.info("{} origen={} destino={} fecha={}",
+                evento.tipo(), evento.usuarioOrigenId(), evento.usuarioDestinoId(), evento.fechaCreacion());
+    }
+}
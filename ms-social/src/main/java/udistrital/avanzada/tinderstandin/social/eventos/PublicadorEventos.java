@@ -0,0 +1,50 @@
+package udistrital.avanzada.tinderstandin.social.eventos;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import udistrital.avanzada.tinderstandin.social.repositorios.EventoSalidaRepositorio;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Registra eventos de dominio en la tabla de salida dentro de la misma
+ * transacción que guarda los likes y matches, de modo que un evento existe
+ * si y solo si su cambio se confirmó.
+ *
+ * @author AndGar03
+ */
+@Component
+@RequiredArgsConstructor
+public class PublicadorEventos {
+
+    private final EventoSalidaRepositorio eventoSalidaRepositorio;
+
+    /**
+     * Registra un evento entre dos usuarios.
+     *
+     * @param tipo Tipo de evento
+     * @param usuarioOrigenId ID del usuario que originó el evento
+     * @param usuarioDestinoId ID del otro usuario
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(EventoDominio.Tipo tipo, Long usuarioOrigenId, Long usuarioDestinoId) {
+        eventoSalidaRepositorio.insertar(tipo, usuarioOrigenId, List.of(usuarioDestinoId), LocalDateTime.now());
+    }
+
+    /**
+     * Registra un evento del mismo tipo entre un usuario y varios otros.
+     *
+     * @param tipo Tipo de evento
+     * @param usuarioOrigenId ID del usuario que originó los eventos
+     * @param usuariosDestinoIds IDs de los otros usuarios
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarVarios(EventoDominio.Tipo tipo, Long usuarioOrigenId, List<Long> usuariosDestinoIds) {
+        if (!usuariosDestinoIds.isEmpty()) {
+            eventoSalidaRepositorio.insertar(tipo, usuarioOrigenId, usuariosDestinoIds, LocalDateTime.now());
+        }
+    }
+}
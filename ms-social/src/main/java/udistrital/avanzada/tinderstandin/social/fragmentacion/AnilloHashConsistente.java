@@ -0,0 +1,70 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hash consistente que asigna claves numéricas a fragmentos.
+ * Cada fragmento ocupa varios nodos virtuales calculados a partir de su
+ * nombre, de modo que al agregar un fragmento solo se mueve hacia él una
+ * parte proporcional de las claves y el resto conserva su ubicación.
+ *
+ * @author AndGar03
+ */
+public class AnilloHashConsistente {
+
+    private final TreeMap<Long, Integer> anillo = new TreeMap<>();
+
+    /**
+     * Construye el anillo.
+     *
+     * @param nombresFragmentos Nombres de los fragmentos; el índice en la lista es el número de fragmento
+     * @param nodosVirtuales Nodos virtuales por fragmento
+     */
+    public AnilloHashConsistente(List<String> nombresFragmentos, int nodosVirtuales) {
+        if (nombresFragmentos.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un fragmento");
+        }
+        for (int fragmento = 0; fragmento < nombresFragmentos.size(); fragmento++) {
+            long base = hashTexto(nombresFragmentos.get(fragmento));
+            for (int nodo = 0; nodo < nodosVirtuales; nodo++) {
+                anillo.put(mezclar(base + nodo), fragmento);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el fragmento de una clave.
+     *
+     * @param clave Clave a ubicar
+     * @return Número de fragmento
+     */
+    public int fragmentoDe(long clave) {
+        Map.Entry<Long, Integer> entrada = anillo.ceilingEntry(mezclar(clave));
+        return (entrada != null ? entrada : anillo.firstEntry()).getValue();
+    }
+
+    /**
+     * Mezcla de 64 bits (finalizador de SplitMix64) para repartir claves consecutivas.
+     */
+    static long mezclar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits de un texto.
+     */
+    private static long hashTexto(String texto) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : texto.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+}
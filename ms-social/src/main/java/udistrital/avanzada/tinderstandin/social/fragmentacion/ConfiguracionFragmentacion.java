@@ -0,0 +1,103 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración del datasource fragmentado de likes y matches.
+ * Se activa con {@code social.fragmentacion.habilitada=true} y reemplaza al
+ * datasource único: cada fragmento tiene su propio pool y el primero es el
+ * principal (tablas no fragmentadas y conexiones sin fragmento fijado).
+ *
+ * <p>El índice de likes en memoria y la ingesta diferida asumen una sola base
+ * de datos, por lo que deben estar deshabilitados con la fragmentación, y la
+ * sesión JPA no debe abarcar toda la petición (open-in-view). Si alguno está
+ * activo, la aplicación no arranca.</p>
+ *
+ * @author AndGar03
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "social.fragmentacion", name = "habilitada", havingValue = "true")
+@EnableConfigurationProperties(PropiedadesFragmentacion.class)
+@Slf4j
+public class ConfiguracionFragmentacion {
+
+    /**
+     * Crea el datasource enrutado con un pool por fragmento.
+     *
+     * @param propiedades Propiedades de la fragmentación
+     * @param indiceHabilitado Si el índice de likes en memoria está habilitado
+     * @param modoIngesta Modo de ingesta de likes
+     * @param sesionEnVista Si la sesión JPA permanece abierta durante toda la petición
+     * @return Datasource enrutado
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(PropiedadesFragmentacion propiedades,
+                                 @Value("${social.indice-likes.habilitado:true}") boolean indiceHabilitado,
+                                 @Value("${social.ingesta.modo:sincrono}") String modoIngesta,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean sesionEnVista) {
+        if (propiedades.getFragmentos().isEmpty()) {
+            throw new IllegalStateException("La fragmentación requiere al menos un fragmento configurado");
+        }
+        if (indiceHabilitado || !"sincrono".equals(modoIngesta)) {
+            throw new IllegalStateException("La fragmentación requiere social.indice-likes.habilitado=false "
+                    + "y social.ingesta.modo=sincrono");
+        }
+        if (sesionEnVista) {
+            // Con la sesión abierta en toda la petición, Hibernate conserva la primera conexión
+            throw new IllegalStateException("La fragmentación requiere spring.jpa.open-in-view=false");
+        }
+
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < propiedades.getFragmentos().size(); i++) {
+            PropiedadesFragmentacion.Fragmento fragmento = propiedades.getFragmentos().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(fragmento.getUrl())
+                    .username(fragmento.getUsuario())
+                    .password(fragmento.getContrasena())
+                    .driverClassName(fragmento.getDriver())
+                    .build();
+            pool.setPoolName("fragmento-" + fragmento.getNombre());
+            if (propiedades.getScriptEsquema() != null && !propiedades.getScriptEsquema().isBlank()) {
+                new ResourceDatabasePopulator(new DefaultResourceLoader().getResource(propiedades.getScriptEsquema()))
+                        .execute(pool);
+            }
+            destinos.put(i, pool);
+        }
+
+        DataSourceFragmentado enrutado = new DataSourceFragmentado();
+        enrutado.setTargetDataSources(destinos);
+        enrutado.setDefaultTargetDataSource(destinos.get(0));
+        enrutado.afterPropertiesSet();
+        log.info("Fragmentación activa con {} fragmentos", destinos.size());
+        return enrutado;
+    }
+
+    /**
+     * Crea el anillo de hash consistente con los fragmentos configurados.
+     *
+     * @param propiedades Propiedades de la fragmentación
+     * @return Anillo de hash
+     */
+    @Bean
+    public AnilloHashConsistente anilloHashConsistente(PropiedadesFragmentacion propiedades) {
+        return new AnilloHashConsistente(
+                propiedades.getFragmentos().stream().map(PropiedadesFragmentacion.Fragmento::getNombre).toList(),
+                propiedades.getNodosVirtuales());
+    }
+}
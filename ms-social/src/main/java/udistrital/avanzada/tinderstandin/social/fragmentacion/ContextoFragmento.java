@@ -0,0 +1,49 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import java.util.function.Supplier;
+
+/**
+ * Fragmento de base de datos asociado al hilo actual. El datasource
+ * enrutado lo consulta al abrir cada conexión, por lo que debe fijarse
+ * antes de iniciar la transacción.
+ *
+ * @author AndGar03
+ */
+public final class ContextoFragmento {
+
+    private static final ThreadLocal<Integer> FRAGMENTO_ACTUAL = new ThreadLocal<>();
+
+    private ContextoFragmento() {
+    }
+
+    /**
+     * Obtiene el fragmento del hilo actual.
+     *
+     * @return Número de fragmento, o null para el fragmento principal
+     */
+    public static Integer actual() {
+        return FRAGMENTO_ACTUAL.get();
+    }
+
+    /**
+     * Ejecuta una operación con un fragmento fijado y restaura el anterior al terminar.
+     *
+     * @param fragmento Número de fragmento
+     * @param operacion Operación a ejecutar
+     * @param <T> Tipo del resultado
+     * @return Resultado de la operación
+     */
+    public static <T> T ejecutarEn(int fragmento, Supplier<T> operacion) {
+        Integer anterior = FRAGMENTO_ACTUAL.get();
+        FRAGMENTO_ACTUAL.set(fragmento);
+        try {
+            return operacion.get();
+        } finally {
+            if (anterior == null) {
+                FRAGMENTO_ACTUAL.remove();
+            } else {
+                FRAGMENTO_ACTUAL.set(anterior);
+            }
+        }
+    }
+}
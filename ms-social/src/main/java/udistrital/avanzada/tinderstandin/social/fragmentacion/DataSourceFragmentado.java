@@ -0,0 +1,18 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Datasource que entrega conexiones del fragmento fijado en
+ * {@link ContextoFragmento}. Sin fragmento fijado se usa el fragmento
+ * principal, que también guarda las tablas no fragmentadas.
+ *
+ * @author AndGar03
+ */
+public class DataSourceFragmentado extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoFragmento.actual();
+    }
+}
@@ -0,0 +1,99 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Enrutador de operaciones a los fragmentos de likes y matches.
+ * Los likes se ubican por el usuario destino (sus likes recibidos quedan
+ * juntos) y los matches por el par canónico de usuarios. Las transacciones
+ * se abren de forma programática después de fijar el fragmento, ya que la
+ * conexión se elige al iniciar cada transacción. Siempre son transacciones
+ * nuevas: unirse a una transacción ya abierta (por ejemplo la de una clave de
+ * idempotencia) usaría la conexión de otro fragmento.
+ *
+ * @author AndGar03
+ */
+@Component
+@ConditionalOnProperty(prefix = "social.fragmentacion", name = "habilitada", havingValue = "true")
+public class EnrutadorFragmentos {
+
+    /**
+     * Fragmento principal, que guarda las tablas no fragmentadas.
+     */
+    public static final int FRAGMENTO_PRINCIPAL = 0;
+
+    private final AnilloHashConsistente anillo;
+    private final PropiedadesFragmentacion propiedades;
+    private final TransactionTemplate transaccion;
+    private final TransactionTemplate transaccionLectura;
+
+    public EnrutadorFragmentos(AnilloHashConsistente anillo, PropiedadesFragmentacion propiedades,
+                               PlatformTransactionManager transactionManager) {
+        this.anillo = anillo;
+        this.propiedades = propiedades;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transaccionLectura.setReadOnly(true);
+    }
+
+    /**
+     * Obtiene el número de fragmentos configurados.
+     *
+     * @return Número de fragmentos
+     */
+    public int cantidadFragmentos() {
+        return propiedades.getFragmentos().size();
+    }
+
+    /**
+     * Obtiene el fragmento de los likes recibidos por un usuario.
+     *
+     * @param usuarioDestinoId ID del usuario que recibe los likes
+     * @return Número de fragmento
+     */
+    public int fragmentoDeLikesRecibidos(long usuarioDestinoId) {
+        return anillo.fragmentoDe(usuarioDestinoId);
+    }
+
+    /**
+     * Obtiene el fragmento del match entre dos usuarios.
+     *
+     * @param usuarioA ID de un usuario
+     * @param usuarioB ID del otro usuario
+     * @return Número de fragmento
+     */
+    public int fragmentoDePar(long usuarioA, long usuarioB) {
+        long menor = Math.min(usuarioA, usuarioB);
+        long mayor = Math.max(usuarioA, usuarioB);
+        return anillo.fragmentoDe(menor ^ AnilloHashConsistente.mezclar(mayor));
+    }
+
+    /**
+     * Ejecuta una operación con un fragmento fijado, sin abrir transacción.
+     */
+    public <T> T enFragmento(int fragmento, Supplier<T> operacion) {
+        return ContextoFragmento.ejecutarEn(fragmento, operacion);
+    }
+
+    /**
+     * Ejecuta una operación en una transacción de escritura sobre un fragmento.
+     */
+    public <T> T enTransaccion(int fragmento, Supplier<T> operacion) {
+        return ContextoFragmento.ejecutarEn(fragmento, () -> transaccion.execute(estado -> operacion.get()));
+    }
+
+    /**
+     * Ejecuta una operación en una transacción de solo lectura sobre un fragmento.
+     */
+    public <T> T enTransaccionLectura(int fragmento, Supplier<T> operacion) {
+        return ContextoFragmento.ejecutarEn(fragmento, () -> transaccionLectura.execute(estado -> operacion.get()));
+    }
+}
@@ -0,0 +1,53 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades de la fragmentación de likes y matches ({@code social.fragmentacion.*}).
+ *
+ * @author AndGar03
+ */
+@Data
+@ConfigurationProperties(prefix = "social.fragmentacion")
+public class PropiedadesFragmentacion {
+
+    /**
+     * Activa el enrutamiento de likes y matches entre varios fragmentos.
+     */
+    private boolean habilitada;
+
+    /**
+     * Nodos virtuales por fragmento en el anillo de hash.
+     */
+    private int nodosVirtuales = 128;
+
+    /**
+     * Script opcional de esquema que se ejecuta en cada fragmento al arrancar.
+     */
+    private String scriptEsquema;
+
+    /**
+     * Fragmentos configurados; el primero es el principal.
+     */
+    private List<Fragmento> fragmentos = new ArrayList<>();
+
+    /**
+     * Conexión a un fragmento.
+     */
+    @Data
+    public static class Fragmento {
+
+        /**
+         * Nombre estable del fragmento, usado para ubicarlo en el anillo.
+         */
+        private String nombre;
+        private String url;
+        private String usuario;
+        private String contrasena;
+        private String driver;
+    }
+}
@@ -0,0 +1,164 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Herramienta de rebalanceo y carga inicial de los fragmentos.
+ *
+ * <p>Recorre cada fragmento por rangos de ID y mueve al fragmento que les
+ * corresponde según el anillo actual los likes y matches mal ubicados: sirve
+ * para repartir una base de datos única existente (el fragmento principal)
+ * y para redistribuir tras agregar un fragmento. Cada lote se copia primero
+ * con INSERT IGNORE y después se borra del origen, así que una ejecución
+ * interrumpida se completa volviéndola a lanzar. Mientras corre, una lectura
+ * puede ver temporalmente un registro en ambos fragmentos.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@ConditionalOnProperty(prefix = "social.fragmentacion", name = "habilitada", havingValue = "true")
+@Slf4j
+public class RebalanceadorFragmentos implements ApplicationRunner {
+
+    private final EnrutadorFragmentos enrutador;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    @Value("${social.fragmentacion.rebalancear-al-iniciar:false}")
+    private boolean rebalancearAlIniciar;
+
+    @Value("${social.fragmentacion.tamano-lote-rebalanceo:1000}")
+    private int tamanoLote;
+
+    public RebalanceadorFragmentos(EnrutadorFragmentos enrutador, JdbcTemplate jdbcTemplate,
+                                   NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.enrutador = enrutador;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments argumentos) {
+        if (rebalancearAlIniciar) {
+            rebalancear();
+        }
+    }
+
+    /**
+     * Mueve a su fragmento los likes y matches mal ubicados.
+     *
+     * @return Número de likes y matches movidos, por tabla
+     * @throws IllegalStateException si ya hay un rebalanceo en curso
+     */
+    public Map<String, Long> rebalancear() {
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay un rebalanceo en curso");
+        }
+        try {
+            long likes = 0;
+            long matches = 0;
+            for (int fragmento = 0; fragmento < enrutador.cantidadFragmentos(); fragmento++) {
+                likes += moverLikes(fragmento);
+                matches += moverMatches(fragmento);
+            }
+            log.info("Rebalanceo terminado: {} likes y {} matches movidos", likes, matches);
+            return Map.of("likes", likes, "matches", matches);
+        } finally {
+            enCurso.set(false);
+        }
+    }
+
+    private long moverLikes(int origen) {
+        long movidos = 0;
+        long desdeId = 0;
+        while (true) {
+            long desde = desdeId;
+            List<Object[]> filas = enrutador.enFragmento(origen, () -> jdbcTemplate.query(
+                    "SELECT id, usuario_origen_id, usuario_destino_id, fecha_creacion FROM likes " +
+                    "WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getTimestamp(4)},
+                    desde, tamanoLote));
+            if (filas.isEmpty()) {
+                return movidos;
+            }
+            Map<Integer, List<Object[]>> porDestino = new HashMap<>();
+            for (Object[] fila : filas) {
+                int correcto = enrutador.fragmentoDeLikesRecibidos((Long) fila[2]);
+                if (correcto != origen) {
+                    porDestino.computeIfAbsent(correcto, k -> new ArrayList<>()).add(fila);
+                }
+            }
+            for (Map.Entry<Integer, List<Object[]>> entrada : porDestino.entrySet()) {
+                enrutador.enFragmento(entrada.getKey(), () -> jdbcTemplate.batchUpdate(
+                        "INSERT IGNORE INTO likes (usuario_origen_id, usuario_destino_id, fecha_creacion) VALUES (?, ?, ?)",
+                        entrada.getValue(), tamanoLote,
+                        (ps, fila) -> {
+                            ps.setLong(1, (Long) fila[1]);
+                            ps.setLong(2, (Long) fila[2]);
+                            ps.setTimestamp(3, (Timestamp) fila[3]);
+                        }));
+                movidos += borrar(origen, "likes", entrada.getValue());
+            }
+            desdeId = (Long) filas.get(filas.size() - 1)[0];
+        }
+    }
+
+    private long moverMatches(int origen) {
+        long movidos = 0;
+        long desdeId = 0;
+        while (true) {
+            long desde = desdeId;
+            List<Object[]> filas = enrutador.enFragmento(origen, () -> jdbcTemplate.query(
+                    "SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                    "WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                            rs.getTimestamp(4), rs.getBoolean(5)},
+                    desde, tamanoLote));
+            if (filas.isEmpty()) {
+                return movidos;
+            }
+            Map<Integer, List<Object[]>> porDestino = new HashMap<>();
+            for (Object[] fila : filas) {
+                int correcto = enrutador.fragmentoDePar((Long) fila[1], (Long) fila[2]);
+                if (correcto != origen) {
+                    porDestino.computeIfAbsent(correcto, k -> new ArrayList<>()).add(fila);
+                }
+            }
+            for (Map.Entry<Integer, List<Object[]>> entrada : porDestino.entrySet()) {
+                enrutador.enFragmento(entrada.getKey(), () -> jdbcTemplate.batchUpdate(
+                        "INSERT IGNORE INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) VALUES (?, ?, ?, ?)",
+                        entrada.getValue(), tamanoLote,
+                        (ps, fila) -> {
+                            ps.setLong(1, (Long) fila[1]);
+                            ps.setLong(2, (Long) fila[2]);
+                            ps.setTimestamp(3, (Timestamp) fila[3]);
+                            ps.setBoolean(4, (Boolean) fila[4]);
+                        }));
+                movidos += borrar(origen, "matches", entrada.getValue());
+            }
+            desdeId = (Long) filas.get(filas.size() - 1)[0];
+        }
+    }
+
+    private int borrar(int fragmento, String tabla, List<Object[]> filas) {
+        List<Long> ids = filas.stream().map(fila -> (Long) fila[0]).toList();
+        return enrutador.enFragmento(fragmento, () -> namedJdbcTemplate.update(
+                "DELETE FROM " + tabla + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids)));
+    }
+}
@@ -0,0 +1,254 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import udistrital.avanzada.tinderstandin.social.contadores.AcumuladorContadores;
+import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.PaginaDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResultadoLikeLoteDTO;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+import udistrital.avanzada.tinderstandin.social.eventos.PublicadorEventos;
+import udistrital.avanzada.tinderstandin.social.grafo.BloqueosPares;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeArchivadoRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeLoteRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.MatchRepositorio;
+import udistrital.avanzada.tinderstandin.social.servicios.CursorPaginacion;
+import udistrital.avanzada.tinderstandin.social.servicios.LikeDuplicadoException;
+import udistrital.avanzada.tinderstandin.social.servicios.ServicioSocial;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Operaciones sociales sobre likes y matches fragmentados.
+ *
+ * <p>Un like se escribe en el fragmento de su destino; a continuación se
+ * busca el like recíproco en el fragmento del origen y, si existe, se crea
+ * el match en el fragmento del par. Cada paso confirma por separado: como
+ * ambos likes de un par se confirman antes de buscar el recíproco, al menos
+ * uno de los dos ve al otro, y el índice único del par evita duplicarlo. Si
+ * el proceso cae entre el like y el match, el reintento encuentra el like
+ * como duplicado pero igual busca el recíproco y crea el match antes de
+ * informar el duplicado, así que el match no se pierde. Los eventos de
+ * dominio se registran después en el fragmento principal.</p>
+ *
+ * <p>Los likes recibidos se leen de un solo fragmento; los matches de un
+ * usuario se reparten entre todos y se combinan por fecha.</p>
+ *
+ * @author AndGar03
+ */
+@Service
+@ConditionalOnProperty(prefix = "social.fragmentacion", name = "habilitada", havingValue = "true")
+@Slf4j
+public class ServicioSocialFragmentado {
+
+    private final EnrutadorFragmentos enrutador;
+    private final LikeRepositorio likeRepositorio;
+    private final LikeArchivadoRepositorio likeArchivadoRepositorio;
+    private final LikeLoteRepositorio likeLoteRepositorio;
+    private final MatchRepositorio matchRepositorio;
+    private final ServicioSocial servicioSocial;
+    private final PublicadorEventos publicadorEventos;
+    private final AcumuladorContadores acumuladorContadores;
+    private final BloqueosPares bloqueosPares;
+
+    public ServicioSocialFragmentado(EnrutadorFragmentos enrutador, LikeRepositorio likeRepositorio,
+                                     LikeArchivadoRepositorio likeArchivadoRepositorio,
+                                     LikeLoteRepositorio likeLoteRepositorio,
+                                     MatchRepositorio matchRepositorio, ServicioSocial servicioSocial,
+                                     PublicadorEventos publicadorEventos,
+                                     AcumuladorContadores acumuladorContadores,
+                                     BloqueosPares bloqueosPares) {
+        this.enrutador = enrutador;
+        this.likeRepositorio = likeRepositorio;
+        this.likeArchivadoRepositorio = likeArchivadoRepositorio;
+        this.likeLoteRepositorio = likeLoteRepositorio;
+        this.matchRepositorio = matchRepositorio;
+        this.servicioSocial = servicioSocial;
+        this.publicadorEventos = publicadorEventos;
+        this.acumuladorContadores = acumuladorContadores;
+        this.bloqueosPares = bloqueosPares;
+    }
+
+    /**
+     * Crea un like y, si hay like recíproco, el match. El par queda bloqueado
+     * en memoria mientras tanto, de modo que dos likes recíprocos simultáneos
+     * se atienden uno después del otro.
+     *
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuarioDestinoId ID del usuario que recibe el like
+     * @return DTO con información del like creado y si generó match
+     * @throws LikeDuplicadoException si el like ya existía (el match se crea igual si falta)
+     */
+    public LikeResponseDTO crearLike(Long usuarioOrigenId, Long usuarioDestinoId) {
+        log.info("Usuario {} dando like a usuario {} (fragmentado)", usuarioOrigenId, usuarioDestinoId);
+        if (usuarioOrigenId.equals(usuarioDestinoId)) {
+            throw new RuntimeException("No puedes dar like a ti mismo");
+        }
+        return bloqueosPares.ejecutarBloqueado(usuarioOrigenId, usuarioDestinoId,
+                () -> crearLikeBloqueado(usuarioOrigenId, usuarioDestinoId));
+    }
+
+    private LikeResponseDTO crearLikeBloqueado(Long usuarioOrigenId, Long usuarioDestinoId) {
+        LocalDateTime fechaCreacion = LocalDateTime.now();
+        Long likeId;
+        try {
+            // La misma sentencia descarta los pares archivados, que el índice único no cubre
+            likeId = enrutador.enTransaccion(enrutador.fragmentoDeLikesRecibidos(usuarioDestinoId),
+                    () -> likeLoteRepositorio.insertarLike(usuarioOrigenId, usuarioDestinoId, fechaCreacion)
+                            .orElse(null));
+        } catch (DataIntegrityViolationException e) {
+            likeId = null;
+        }
+        // Si el like ya existía, un intento anterior pudo caer antes de crear el match: se busca igual
+        boolean duplicado = likeId == null;
+
+        // El like recíproco (destino -> origen) vive en el fragmento del origen
+        boolean hayReciproco = enrutador.enTransaccionLectura(
+                enrutador.fragmentoDeLikesRecibidos(usuarioOrigenId),
+                () -> likeRepositorio.existsByUsuarioOrigenIdAndUsuarioDestinoId(usuarioDestinoId, usuarioOrigenId)
+                        || likeArchivadoRepositorio.existsByUsuarioOrigenIdAndUsuarioDestinoId(
+                                usuarioDestinoId, usuarioOrigenId));
+        boolean esMatch = hayReciproco && enrutador.enTransaccion(
+                enrutador.fragmentoDePar(usuarioOrigenId, usuarioDestinoId),
+                () -> matchRepositorio.insertarMatchSiNoExiste(
+                        Math.min(usuarioOrigenId, usuarioDestinoId),
+                        Math.max(usuarioOrigenId, usuarioDestinoId),
+                        LocalDateTime.now()) > 0);
+        if (esMatch) {
+            log.info("¡Match creado entre {} y {}!", usuarioOrigenId, usuarioDestinoId);
+        }
+
+        enrutador.enTransaccion(EnrutadorFragmentos.FRAGMENTO_PRINCIPAL, () -> {
+            if (!duplicado) {
+                publicadorEventos.registrar(EventoDominio.Tipo.LIKE_CREADO, usuarioOrigenId, usuarioDestinoId);
+                acumuladorContadores.registrarLikesTrasCommit(usuarioOrigenId, List.of(usuarioDestinoId));
+            }
+            if (esMatch) {
+                publicadorEventos.registrar(EventoDominio.Tipo.MATCH_CREADO, usuarioOrigenId, usuarioDestinoId);
+                acumuladorContadores.registrarMatchesTrasCommit(usuarioOrigenId, List.of(usuarioDestinoId));
+            }
+            return null;
+        });
+
+        if (duplicado) {
+            throw new LikeDuplicadoException();
+        }
+        return new LikeResponseDTO(
+                likeId,
+                usuarioOrigenId,
+                usuarioDestinoId,
+                fechaCreacion,
+                esMatch
+        );
+    }
+
+    /**
+     * Crea varios likes de un usuario, uno por destino, ya que cada destino
+     * puede vivir en un fragmento distinto. Solo los duplicados se informan
+     * por destino; cualquier otro error (espera de candado agotada, fragmento
+     * caído) interrumpe el lote. Los likes anteriores ya quedaron confirmados
+     * y al reintentar el lote se informan como duplicados.
+     *
+     * @param usuarioOrigenId ID del usuario que da los likes
+     * @param usuariosDestinoIds IDs de los usuarios que reciben los likes, en orden
+     * @return Resultado de cada like en el mismo orden de la petición
+     * @throws RuntimeException si un like falla por un motivo distinto a ser duplicado
+     */
+    public List<ResultadoLikeLoteDTO> crearLikesEnLote(Long usuarioOrigenId, List<Long> usuariosDestinoIds) {
+        List<ResultadoLikeLoteDTO> resultados = new ArrayList<>(usuariosDestinoIds.size());
+        for (Long destino : usuariosDestinoIds) {
+            ResultadoLikeLoteDTO.Estado estado;
+            if (destino.equals(usuarioOrigenId)) {
+                estado = ResultadoLikeLoteDTO.Estado.INVALIDO;
+            } else {
+                try {
+                    estado = crearLike(usuarioOrigenId, destino).isEsMatch()
+                            ? ResultadoLikeLoteDTO.Estado.MATCH
+                            : ResultadoLikeLoteDTO.Estado.CREADO;
+                } catch (LikeDuplicadoException e) {
+                    estado = ResultadoLikeLoteDTO.Estado.DUPLICADO;
+                }
+            }
+            resultados.add(new ResultadoLikeLoteDTO(destino, estado));
+        }
+        return resultados;
+    }
+
+    /**
+     * Obtiene una página de likes recibidos desde el fragmento del usuario.
+     *
+     * @param usuarioId ID del usuario
+     * @param cursor Token de continuación, o null para la primera página
+     * @param tamano Tamaño de página solicitado
+     * @param incluirArchivo true para incluir los likes archivados
+     * @return Página de likes recibidos
+     */
+    public PaginaDTO<LikeResponseDTO> obtenerLikesRecibidos(Long usuarioId, String cursor, int tamano,
+                                                            boolean incluirArchivo) {
+        return enrutador.enFragmento(enrutador.fragmentoDeLikesRecibidos(usuarioId),
+                () -> servicioSocial.obtenerLikesRecibidos(usuarioId, cursor, tamano, incluirArchivo));
+    }
+
+    /**
+     * Obtiene una página de matches de un usuario consultando todos los
+     * fragmentos con el mismo cursor y combinando los resultados por fecha.
+     * Los datos de las otras personas se piden una sola vez, solo para los
+     * matches de la página combinada. Los IDs son locales a cada fragmento,
+     * por lo que el desempate del cursor entre matches de fragmentos
+     * distintos con la misma fecha es aproximado.
+     *
+     * @param usuarioId ID del usuario
+     * @param cursor Token de continuación, o null para la primera página
+     * @param tamano Tamaño de página solicitado
+     * @param incluirArchivo true para incluir los matches inactivos archivados
+     * @return Página de matches con información de usuarios
+     */
+    public PaginaDTO<MatchResponseDTO> obtenerMatchesDeUsuario(Long usuarioId, String cursor, int tamano,
+                                                               boolean incluirArchivo) {
+        Comparator<MatchResponseDTO> recientesPrimero = Comparator
+                .comparing(MatchResponseDTO::getFechaCreacion)
+                .thenComparing(MatchResponseDTO::getId)
+                .reversed();
+        List<MatchResponseDTO> combinados = new ArrayList<>();
+        MatchResponseDTO frontera = null;
+        for (int fragmento = 0; fragmento < enrutador.cantidadFragmentos(); fragmento++) {
+            PaginaDTO<MatchResponseDTO> pagina = enrutador.enFragmento(fragmento,
+                    () -> servicioSocial.obtenerPaginaMatches(usuarioId, cursor, tamano, incluirArchivo));
+            combinados.addAll(pagina.getElementos());
+            // Un fragmento con más resultados limita hasta dónde la combinación es completa
+            if (pagina.getSiguienteCursor() != null) {
+                MatchResponseDTO ultimo = pagina.getElementos().get(pagina.getElementos().size() - 1);
+                if (frontera == null || recientesPrimero.compare(ultimo, frontera) < 0) {
+                    frontera = ultimo;
+                }
+            }
+        }
+        combinados.sort(recientesPrimero);
+        
+        boolean hayMas = frontera != null;
+        if (hayMas) {
+            MatchResponseDTO limiteCompleto = frontera;
+            combinados.removeIf(match -> recientesPrimero.compare(match, limiteCompleto) > 0);
+        }
+        int limite = Math.max(1, tamano);
+        if (combinados.size() > limite) {
+            combinados = combinados.subList(0, limite);
+            hayMas = true;
+        }
+        String siguienteCursor = null;
+        if (hayMas && !combinados.isEmpty()) {
+            MatchResponseDTO ultimo = combinados.get(combinados.size() - 1);
+            siguienteCursor = new CursorPaginacion(ultimo.getFechaCreacion(), ultimo.getId()).codificar();
+        }
+        List<MatchResponseDTO> elementos = new ArrayList<>(combinados);
+        servicioSocial.completarDatosContrapartes(usuarioId, elementos);
+        return new PaginaDTO<>(elementos, siguienteCursor);
+    }
+}
@@ -0,0 +1,191 @@
+package udistrital.avanzada.tinderstandin.social.grafo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasBloqueosDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa en memoria las operaciones sobre un mismo par de usuarios, sin
+ * importar el sentido del like: (A, B) y (B, A) usan el mismo candado.
+ *
+ * <p>Los candados se reparten en un número fijo de franjas; pares distintos
+ * pueden compartir franja, lo que solo añade espera, nunca un error. Dentro de
+ * una transacción el candado se libera al terminarla, después de que el índice
+ * de likes registre lo confirmado, así que el siguiente like del par ya ve el
+ * anterior sin depender de bloqueos de la base de datos.</p>
+ *
+ * <p>Solo serializa las escrituras de esta instancia. Entre instancias los
+ * índices únicos solo evitan likes y matches duplicados; no garantizan que dos
+ * likes recíprocos simultáneos en instancias distintas creen el match, que
+ * depende de los bloqueos de la base de datos.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+public class BloqueosPares {
+
+    private final ReentrantLock[] franjas;
+    private final long esperaMaximaNanos;
+
+    private final LongAdder adquisiciones = new LongAdder();
+    private final LongAdder contendidas = new LongAdder();
+    private final LongAdder esperasAgotadas = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final AtomicLong esperaMaximaObservadaNanos = new AtomicLong();
+
+    public BloqueosPares(@Value("${social.bloqueos-pares.franjas:1024}") int numeroFranjas,
+                         @Value("${social.bloqueos-pares.espera-maxima-ms:2000}") long esperaMaximaMs) {
+        this.franjas = new ReentrantLock[numeroFranjas];
+        for (int i = 0; i < numeroFranjas; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+    }
+
+    /**
+     * Bloquea el par hasta que termine la transacción actual.
+     *
+     * @param usuarioA ID de uno de los usuarios
+     * @param usuarioB ID del otro usuario
+     * @throws CannotAcquireLockException si el par sigue ocupado tras la espera máxima
+     */
+    public void bloquearHastaFinDeTransaccion(Long usuarioA, Long usuarioB) {
+        bloquearVariosHastaFinDeTransaccion(usuarioA, List.of(usuarioB));
+    }
+
+    /**
+     * Bloquea los pares de un usuario con varios destinos hasta que termine la
+     * transacción actual. Las franjas se toman en orden ascendente para que
+     * dos lotes no se bloqueen mutuamente.
+     *
+     * @param usuarioId ID del usuario común a todos los pares
+     * @param otrosIds IDs de los demás usuarios
+     * @throws CannotAcquireLockException si algún par sigue ocupado tras la espera máxima
+     */
+    public void bloquearVariosHastaFinDeTransaccion(Long usuarioId, Collection<Long> otrosIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Los pares solo se bloquean dentro de una transacción");
+        }
+        TreeSet<Integer> indices = new TreeSet<>();
+        for (Long otroId : otrosIds) {
+            indices.add(franjaDe(usuarioId, otroId));
+        }
+        List<ReentrantLock> tomados = new ArrayList<>(indices.size());
+        try {
+            for (int indice : indices) {
+                adquirir(franjas[indice]);
+                tomados.add(franjas[indice]);
+            }
+        } catch (RuntimeException e) {
+            liberar(tomados);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                liberar(tomados);
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una operación con el par bloqueado, para flujos que manejan
+     * varias transacciones por su cuenta.
+     *
+     * @param usuarioA ID de uno de los usuarios
+     * @param usuarioB ID del otro usuario
+     * @param operacion Operación a ejecutar
+     * @return Resultado de la operación
+     * @throws CannotAcquireLockException si el par sigue ocupado tras la espera máxima
+     */
+    public <T> T ejecutarBloqueado(Long usuarioA, Long usuarioB, Supplier<T> operacion) {
+        ReentrantLock candado = franjas[franjaDe(usuarioA, usuarioB)];
+        adquirir(candado);
+        try {
+            return operacion.get();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Obtiene las métricas de espera de los candados.
+     *
+     * @return DTO con las métricas
+     */
+    public EstadisticasBloqueosDTO obtenerEstadisticas() {
+        int ocupadas = 0;
+        for (ReentrantLock franja : franjas) {
+            if (franja.isLocked()) {
+                ocupadas++;
+            }
+        }
+        long total = adquisiciones.sum();
+        long conEspera = contendidas.sum();
+        return new EstadisticasBloqueosDTO(
+                franjas.length,
+                ocupadas,
+                total,
+                conEspera,
+                esperasAgotadas.sum(),
+                conEspera == 0 ? 0 : esperaTotalNanos.sum() / 1_000_000.0 / conEspera,
+                esperaMaximaObservadaNanos.get() / 1_000_000.0
+        );
+    }
+
+    private void adquirir(ReentrantLock candado) {
+        if (candado.tryLock()) {
+            adquisiciones.increment();
+            return;
+        }
+        contendidas.increment();
+        long inicio = System.nanoTime();
+        boolean obtenido;
+        try {
+            obtenido = candado.tryLock(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Operación interrumpida, intenta de nuevo", e);
+        }
+        long espera = System.nanoTime() - inicio;
+        esperaTotalNanos.add(espera);
+        esperaMaximaObservadaNanos.accumulateAndGet(espera, Math::max);
+        if (!obtenido) {
+            esperasAgotadas.increment();
+            throw new CannotAcquireLockException("Hay otra operación en curso sobre estos usuarios, intenta de nuevo");
+        }
+        adquisiciones.increment();
+    }
+
+    private static void liberar(List<ReentrantLock> tomados) {
+        for (int i = tomados.size() - 1; i >= 0; i--) {
+            tomados.get(i).unlock();
+        }
+    }
+
+    /**
+     * Calcula la franja del par canónico (menor, mayor).
+     */
+    private int franjaDe(Long usuarioA, Long usuarioB) {
+        long menor = Math.min(usuarioA, usuarioB);
+        long mayor = Math.max(usuarioA, usuarioB);
+        long mezcla = (menor * 0x9E3779B97F4A7C15L) ^ mayor;
+        mezcla ^= mezcla >>> 32;
+        mezcla *= 0xD6E8FEB86659FD93L;
+        mezcla ^= mezcla >>> 32;
+        return (int) Math.floorMod(mezcla, (long) franjas.length);
+    }
+}
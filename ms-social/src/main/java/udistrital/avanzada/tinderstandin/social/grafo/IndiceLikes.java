@@ -0,0 +1,368 @@
+package udistrital.avanzada.tinderstandin.social.grafo;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeArchivadoRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeRepositorio;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Índice en memoria del grafo de likes: para cada usuario origen guarda el
+ * arreglo ordenado de IDs a los que dio like. Permite resolver "¿A ya dio like
+ * a B?" y "¿B dio like a A?" con una búsqueda binaria, sin ir a la base de datos.
+ *
+ * <p>Se carga al arrancar desde {@link LikeRepositorio} y
+ * {@link LikeArchivadoRepositorio} por rangos de ID y se actualiza tras el commit de cada like; archivar un
+ * like no lo quita del índice. Opcionalmente se guarda en un archivo
+ * mapeado en memoria al detener el servicio; al reiniciar se lee ese archivo y
+ * solo se consultan los likes con ID posterior al último guardado.</p>
+ *
+ * <p>Mientras la carga no termina, {@link #estaListo()} devuelve false y las
+ * validaciones deben hacerse contra la base de datos. El índice solo ve los
+ * likes que esta instancia confirmó o leyó al cargar; los escritos por otras
+ * instancias, por el modo reactivo o por una importación no aparecen. Por eso
+ * solo sirve para respuestas positivas ("el like existe"): su ausencia no
+ * prueba que el like no exista.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class IndiceLikes {
+
+    private static final int MAGICO = 0x4C494B45;
+    private static final int VERSION = 1;
+    private static final int TAMANO_CABECERA = Integer.BYTES * 3 + Long.BYTES;
+
+    private final LikeRepositorio likeRepositorio;
+    private final LikeArchivadoRepositorio likeArchivadoRepositorio;
+    private final ConcurrentHashMap<Long, long[]> destinosPorOrigen = new ConcurrentHashMap<>();
+    private final AtomicLong ultimoId = new AtomicLong();
+    private volatile boolean listo = false;
+
+    @Value("${social.indice-likes.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${social.indice-likes.snapshot:}")
+    private String rutaSnapshot;
+
+    @Value("${social.indice-likes.tamano-lote-carga:10000}")
+    private int tamanoLoteCarga;
+
+    public IndiceLikes(LikeRepositorio likeRepositorio, LikeArchivadoRepositorio likeArchivadoRepositorio) {
+        this.likeRepositorio = likeRepositorio;
+        this.likeArchivadoRepositorio = likeArchivadoRepositorio;
+    }
+
+    /**
+     * Inicia la carga del índice en segundo plano cuando la aplicación está lista.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarCarga() {
+        if (!habilitado) {
+            log.info("Índice de likes en memoria deshabilitado");
+            return;
+        }
+        Thread hilo = new Thread(this::cargar, "carga-indice-likes");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Indica si el índice terminó de cargarse y puede usarse para las validaciones.
+     *
+     * @return true si el índice está completo
+     */
+    public boolean estaListo() {
+        return listo;
+    }
+
+    /**
+     * Verifica si un usuario dio like a otro.
+     *
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuarioDestinoId ID del usuario que recibe el like
+     * @return true si el like existe en el índice
+     */
+    public boolean contiene(long usuarioOrigenId, long usuarioDestinoId) {
+        long[] destinos = destinosPorOrigen.get(usuarioOrigenId);
+        return destinos != null && Arrays.binarySearch(destinos, usuarioDestinoId) >= 0;
+    }
+
+    /**
+     * Obtiene una copia del arreglo ordenado de usuarios a los que un usuario dio like.
+     *
+     * @param usuarioOrigenId ID del usuario que da like
+     * @return IDs de los destinos en orden ascendente (vacío si no hay)
+     */
+    public long[] obtenerDestinos(long usuarioOrigenId) {
+        long[] destinos = destinosPorOrigen.get(usuarioOrigenId);
+        return destinos == null ? new long[0] : destinos.clone();
+    }
+
+    /**
+     * Registra un like en el índice.
+     *
+     * @param id ID del like
+     * @param usuarioOrigenId ID del usuario que dio like
+     * @param usuarioDestinoId ID del usuario que recibió el like
+     */
+    public void registrar(long id, long usuarioOrigenId, long usuarioDestinoId) {
+        destinosPorOrigen.merge(usuarioOrigenId, new long[]{usuarioDestinoId}, IndiceLikes::unir);
+        ultimoId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Registra un like en el índice cuando la transacción actual confirma,
+     * para no reflejar likes que luego se revierten.
+     *
+     * @param id ID del like
+     * @param usuarioOrigenId ID del usuario que dio like
+     * @param usuarioDestinoId ID del usuario que recibió el like
+     */
+    public void registrarTrasCommit(long id, long usuarioOrigenId, long usuarioDestinoId) {
+        if (!habilitado) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrar(id, usuarioOrigenId, usuarioDestinoId);
+                }
+            });
+        } else {
+            registrar(id, usuarioOrigenId, usuarioDestinoId);
+        }
+    }
+
+    /**
+     * Registra tras el commit varios likes de un mismo usuario insertados por lotes.
+     * Sus IDs no se conocen, por lo que no avanzan el último ID del snapshot:
+     * en el peor caso se vuelven a leer de la base de datos al reiniciar.
+     *
+     * @param usuarioOrigenId ID del usuario que dio los likes
+     * @param usuariosDestinoIds IDs de los usuarios que recibieron los likes
+     */
+    public void registrarVariosTrasCommit(long usuarioOrigenId, Collection<Long> usuariosDestinoIds) {
+        if (!habilitado || usuariosDestinoIds.isEmpty()) {
+            return;
+        }
+        long[] destinos = usuariosDestinoIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        Runnable registro = () -> destinosPorOrigen.merge(usuarioOrigenId, unir(destinos, new long[0]), IndiceLikes::unir);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registro.run();
+                }
+            });
+        } else {
+            registro.run();
+        }
+    }
+
+    /**
+     * Carga el índice desde el snapshot (si existe) y desde la base de datos.
+     * Los likes registrados mientras dura la carga se conservan y se combinan.
+     */
+    private void cargar() {
+        long inicio = System.currentTimeMillis();
+        try {
+            Map<Long, AcumuladorDestinos> cargados = new HashMap<>();
+            long desdeSnapshot = leerSnapshot(cargados);
+
+            // Primero la tabla de likes y después la de archivo: un like que se
+            // archiva durante la carga aparece en alguna de las dos lecturas
+            long[] leidos = new long[1];
+            long desdeId = cargarPares(desdeSnapshot, likeRepositorio::buscarParesDesde, cargados, leidos);
+            long desdeArchivo = cargarPares(desdeSnapshot, likeArchivadoRepositorio::buscarParesDesde, cargados, leidos);
+
+            cargados.forEach((origen, acumulador) ->
+                    destinosPorOrigen.merge(origen, acumulador.ordenados(), IndiceLikes::unir));
+            ultimoId.accumulateAndGet(Math.max(desdeId, desdeArchivo), Math::max);
+            listo = true;
+            log.info("Índice de likes cargado: {} usuarios, {} likes leídos de la base de datos en {} ms",
+                    destinosPorOrigen.size(), leidos[0], System.currentTimeMillis() - inicio);
+        } catch (Exception e) {
+            log.error("Error al cargar el índice de likes, se usará la base de datos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lee por rangos de ID los pares de una tabla y los acumula.
+     *
+     * @param desdeId ID a partir del cual (exclusivo) se leen los likes
+     * @param consulta Consulta de un lote de pares a partir de un ID
+     * @param cargados Mapa donde se acumulan los destinos leídos
+     * @param leidos Contador de likes leídos
+     * @return Último ID leído, o desdeId si no había likes
+     */
+    private long cargarPares(long desdeId, BiFunction<Long, Pageable, List<ParLike>> consulta,
+                             Map<Long, AcumuladorDestinos> cargados, long[] leidos) {
+        List<ParLike> lote;
+        do {
+            lote = consulta.apply(desdeId, PageRequest.of(0, tamanoLoteCarga));
+            for (ParLike par : lote) {
+                cargados.computeIfAbsent(par.usuarioOrigenId(), k -> new AcumuladorDestinos())
+                        .agregar(par.usuarioDestinoId());
+                desdeId = par.id();
+            }
+            leidos[0] += lote.size();
+        } while (lote.size() == tamanoLoteCarga);
+        return desdeId;
+    }
+
+    /**
+     * Lee el snapshot mapeándolo en memoria.
+     *
+     * @param cargados Mapa donde se acumulan los destinos leídos
+     * @return Último ID de like incluido en el snapshot, o 0 si no hay snapshot
+     */
+    private long leerSnapshot(Map<Long, AcumuladorDestinos> cargados) throws IOException {
+        if (rutaSnapshot.isBlank() || !Files.exists(Path.of(rutaSnapshot))) {
+            return 0;
+        }
+        try (FileChannel canal = FileChannel.open(Path.of(rutaSnapshot), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (buffer.getInt() != MAGICO || buffer.getInt() != VERSION) {
+                log.warn("Snapshot de likes {} con formato no reconocido, se ignora", rutaSnapshot);
+                return 0;
+            }
+            long ultimoIdSnapshot = buffer.getLong();
+            int usuarios = buffer.getInt();
+            for (int i = 0; i < usuarios; i++) {
+                long origen = buffer.getLong();
+                long[] destinos = new long[buffer.getInt()];
+                LongBuffer vista = buffer.asLongBuffer();
+                vista.get(destinos);
+                buffer.position(buffer.position() + destinos.length * Long.BYTES);
+                cargados.put(origen, new AcumuladorDestinos(destinos));
+            }
+            log.info("Snapshot de likes leído: {} usuarios hasta el like {}", usuarios, ultimoIdSnapshot);
+            return ultimoIdSnapshot;
+        }
+    }
+
+    /**
+     * Guarda el índice en el archivo de snapshot al detener el servicio.
+     * Se escribe en un archivo temporal que luego reemplaza al anterior.
+     */
+    @PreDestroy
+    public void guardarSnapshot() {
+        if (!listo || rutaSnapshot.isBlank()) {
+            return;
+        }
+        long ultimoIdSnapshot = ultimoId.get();
+        Map<Long, long[]> copia = new HashMap<>(destinosPorOrigen);
+        long tamano = TAMANO_CABECERA;
+        for (long[] destinos : copia.values()) {
+            tamano += Long.BYTES + Integer.BYTES + (long) destinos.length * Long.BYTES;
+        }
+        if (tamano > Integer.MAX_VALUE) {
+            log.warn("El índice de likes ocupa {} bytes y supera el tamaño máximo de snapshot", tamano);
+            return;
+        }
+
+        Path destino = Path.of(rutaSnapshot);
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+            buffer.putInt(MAGICO).putInt(VERSION).putLong(ultimoIdSnapshot).putInt(copia.size());
+            for (Map.Entry<Long, long[]> entrada : copia.entrySet()) {
+                buffer.putLong(entrada.getKey()).putInt(entrada.getValue().length);
+                buffer.asLongBuffer().put(entrada.getValue());
+                buffer.position(buffer.position() + entrada.getValue().length * Long.BYTES);
+            }
+            buffer.force();
+        } catch (IOException e) {
+            log.error("Error al guardar el snapshot de likes: {}", e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Snapshot de likes guardado: {} usuarios hasta el like {}", copia.size(), ultimoIdSnapshot);
+        } catch (IOException e) {
+            log.error("Error al reemplazar el snapshot de likes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Une dos arreglos ordenados sin duplicados en un nuevo arreglo ordenado.
+     */
+    private static long[] unir(long[] a, long[] b) {
+        long[] resultado = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length || j < b.length) {
+            long siguiente;
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                siguiente = a[i++];
+            } else {
+                siguiente = b[j++];
+            }
+            if (k == 0 || resultado[k - 1] != siguiente) {
+                resultado[k++] = siguiente;
+            }
+        }
+        return k == resultado.length ? resultado : Arrays.copyOf(resultado, k);
+    }
+
+    /**
+     * Arreglo de longs que crece bajo demanda, usado durante la carga
+     * para no copiar el arreglo del usuario en cada like leído.
+     */
+    private static final class AcumuladorDestinos {
+
+        private long[] valores;
+        private int tamano;
+
+        AcumuladorDestinos() {
+            this.valores = new long[4];
+        }
+
+        AcumuladorDestinos(long[] ordenados) {
+            this.valores = ordenados;
+            this.tamano = ordenados.length;
+        }
+
+        void agregar(long valor) {
+            if (tamano == valores.length) {
+                valores = Arrays.copyOf(valores, Math.max(4, tamano * 2));
+            }
+            valores[tamano++] = valor;
+        }
+
+        long[] ordenados() {
+            long[] resultado = Arrays.copyOf(valores, tamano);
+            Arrays.sort(resultado);
+            return unir(resultado, new long[0]);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package udistrital.avanzada.tinderstandin.social.grafo;
+
+/**
+ * Proyección mínima de un like usada para construir el índice en memoria.
+ *
+ * @param id ID del like
+ * @param usuarioOrigenId ID del usuario que dio like
+ * @param usuarioDestinoId ID del usuario que recibió el like
+ * @author AndGar03
+ */
+public record ParLike(Long id, Long usuarioOrigenId, Long usuarioDestinoId) {
+}
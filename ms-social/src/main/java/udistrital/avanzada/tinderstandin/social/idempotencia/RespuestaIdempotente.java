@@ -0,0 +1,12 @@
+package udistrital.avanzada.tinderstandin.social.idempotencia;
+
+/**
+ * Respuesta guardada de una petición con clave de idempotencia.
+ *
+ * @param huella Huella SHA-256 de la petición original
+ * @param codigoEstado Código HTTP de la respuesta
+ * @param cuerpo Cuerpo de la respuesta serializado en JSON (null si no tenía)
+ * @author AndGar03
+ */
+public record RespuestaIdempotente(String huella, int codigoEstado, String cuerpo) {
+}
@@ -0,0 +1,318 @@
+package udistrital.avanzada.tinderstandin.social.ingesta;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Bitácora local de solo anexado para los likes recibidos en modo diferido.
+ *
+ * <p>Cada like ocupa un registro de tamaño fijo (origen, destino y CRC32).
+ * Un único hilo escritor agrupa los likes encolados, los escribe con una sola
+ * llamada y hace un solo fsync por grupo (group commit); la confirmación al
+ * cliente se completa después del fsync. Un archivo de checkpoint guarda la
+ * posición hasta la que los likes ya se escribieron en la base de datos: al
+ * arrancar se descarta un posible registro incompleto al final y todo lo que
+ * está después del checkpoint se vuelve a procesar. Cuando la bitácora queda
+ * totalmente procesada y supera cierto tamaño, se trunca.</p>
+ *
+ * @author AndGar03
+ */
+@Slf4j
+public class BitacoraLikes implements Closeable {
+
+    static final int TAMANO_REGISTRO = Long.BYTES * 2 + Integer.BYTES;
+
+    private final FileChannel canal;
+    private final FileChannel canalCheckpoint;
+    private final BlockingQueue<Pendiente> cola;
+    private final int maximoPorGrupo;
+    private final long umbralCompactacion;
+    private final ReentrantLock candadoArchivo = new ReentrantLock();
+    private final Thread escritor;
+    private volatile long posicionDurable;
+    private volatile long checkpoint;
+    private volatile boolean activa = true;
+
+    /**
+     * Abre (o crea) la bitácora en un directorio y recupera su estado.
+     *
+     * @param directorio Directorio de la bitácora y del checkpoint
+     * @param capacidadCola Likes que pueden esperar a ser escritos
+     * @param maximoPorGrupo Máximo de likes por escritura y fsync
+     * @param umbralCompactacion Tamaño en bytes a partir del cual se trunca una bitácora ya procesada
+     * @throws IOException si no se pueden abrir los archivos
+     */
+    public BitacoraLikes(Path directorio, int capacidadCola, int maximoPorGrupo, long umbralCompactacion)
+            throws IOException {
+        Files.createDirectories(directorio);
+        this.canal = FileChannel.open(directorio.resolve("likes.log"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.canalCheckpoint = FileChannel.open(directorio.resolve("likes.checkpoint"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+        this.maximoPorGrupo = maximoPorGrupo;
+        this.umbralCompactacion = umbralCompactacion;
+
+        this.checkpoint = leerCheckpoint();
+        this.posicionDurable = recuperarFinValido();
+        canal.position(posicionDurable);
+
+        this.escritor = new Thread(this::escribirGrupos, "bitacora-likes");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Encola un like para su escritura en la bitácora.
+     *
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuarioDestinoId ID del usuario que recibe el like
+     * @return Futuro que se completa cuando el like es durable en disco
+     * @throws IllegalStateException si la cola está llena o la bitácora está cerrada
+     */
+    public CompletableFuture<Void> agregar(long usuarioOrigenId, long usuarioDestinoId) {
+        if (!activa) {
+            throw new IllegalStateException("La bitácora de likes está cerrada");
+        }
+        Pendiente pendiente = new Pendiente(usuarioOrigenId, usuarioDestinoId, new CompletableFuture<>());
+        if (!cola.offer(pendiente)) {
+            throw new IllegalStateException("La bitácora de likes está saturada");
+        }
+        return pendiente.confirmacion();
+    }
+
+    /**
+     * Lee los likes durables que aún no se han escrito en la base de datos.
+     *
+     * @param maximo Máximo de likes a leer
+     * @return Likes leídos y posición hasta la que llega la lectura
+     * @throws IOException si falla la lectura
+     */
+    public LecturaBitacora leerPendientes(int maximo) throws IOException {
+        candadoArchivo.lock();
+        try {
+            long desde = checkpoint;
+            long hasta = Math.min(posicionDurable, desde + (long) maximo * TAMANO_REGISTRO);
+            List<long[]> likes = new ArrayList<>((int) ((hasta - desde) / TAMANO_REGISTRO));
+            ByteBuffer buffer = ByteBuffer.allocate((int) (hasta - desde));
+            while (buffer.hasRemaining()) {
+                if (canal.read(buffer, desde + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            while (buffer.remaining() >= TAMANO_REGISTRO) {
+                long origen = buffer.getLong();
+                long destino = buffer.getLong();
+                buffer.getInt();
+                likes.add(new long[]{origen, destino});
+            }
+            return new LecturaBitacora(likes, hasta);
+        } finally {
+            candadoArchivo.unlock();
+        }
+    }
+
+    /**
+     * Marca como escritos en la base de datos los likes hasta una posición.
+     *
+     * @param posicion Posición final devuelta por {@link #leerPendientes(int)}
+     * @throws IOException si no se puede guardar el checkpoint
+     */
+    public void confirmarHasta(long posicion) throws IOException {
+        candadoArchivo.lock();
+        try {
+            escribirCheckpoint(posicion);
+        } finally {
+            candadoArchivo.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de likes durables pendientes de escribir en la base de datos.
+     *
+     * @return Likes pendientes
+     */
+    public long contarPendientes() {
+        return (posicionDurable - checkpoint) / TAMANO_REGISTRO;
+    }
+
+    /**
+     * Escribe los likes que quedan en la cola y cierra los archivos.
+     */
+    @Override
+    public void close() throws IOException {
+        activa = false;
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+        canalCheckpoint.close();
+    }
+
+    /**
+     * Bucle del hilo escritor: agrupa, escribe y sincroniza los likes encolados.
+     */
+    private void escribirGrupos() {
+        List<Pendiente> grupo = new ArrayList<>(maximoPorGrupo);
+        ByteBuffer buffer = ByteBuffer.allocate(maximoPorGrupo * TAMANO_REGISTRO);
+        CRC32 crc = new CRC32();
+        while (activa || !cola.isEmpty()) {
+            Pendiente primero;
+            try {
+                primero = cola.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (primero == null) {
+                compactarSiProcede();
+                continue;
+            }
+            grupo.add(primero);
+            cola.drainTo(grupo, maximoPorGrupo - 1);
+
+            buffer.clear();
+            for (Pendiente pendiente : grupo) {
+                buffer.putLong(pendiente.usuarioOrigenId()).putLong(pendiente.usuarioDestinoId());
+                crc.reset();
+                crc.update(buffer.array(), buffer.position() - Long.BYTES * 2, Long.BYTES * 2);
+                buffer.putInt((int) crc.getValue());
+            }
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(false);
+                posicionDurable = canal.position();
+                grupo.forEach(pendiente -> pendiente.confirmacion().complete(null));
+            } catch (IOException e) {
+                log.error("Error al escribir en la bitácora de likes: {}", e.getMessage());
+                grupo.forEach(pendiente -> pendiente.confirmacion().completeExceptionally(e));
+                descartarEscrituraParcial();
+            }
+            grupo.clear();
+        }
+    }
+
+    /**
+     * Trunca la bitácora cuando todo su contenido ya está en la base de datos.
+     * El archivo se trunca antes de reiniciar el checkpoint; si el proceso cae
+     * entre ambos pasos, la recuperación ajusta el checkpoint al tamaño real.
+     */
+    private void compactarSiProcede() {
+        if (posicionDurable < umbralCompactacion || checkpoint != posicionDurable) {
+            return;
+        }
+        candadoArchivo.lock();
+        try {
+            if (checkpoint == posicionDurable) {
+                canal.truncate(0);
+                canal.position(0);
+                posicionDurable = 0;
+                escribirCheckpoint(0);
+                log.debug("Bitácora de likes compactada");
+            }
+        } catch (IOException e) {
+            log.error("Error al compactar la bitácora de likes: {}", e.getMessage());
+        } finally {
+            candadoArchivo.unlock();
+        }
+    }
+
+    private void descartarEscrituraParcial() {
+        try {
+            canal.truncate(posicionDurable);
+            canal.position(posicionDurable);
+        } catch (IOException e) {
+            log.error("No se pudo descartar la escritura parcial de la bitácora: {}", e.getMessage());
+        }
+    }
+
+    private long leerCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        while (buffer.hasRemaining()) {
+            if (canalCheckpoint.read(buffer, buffer.position()) < 0) {
+                return 0;
+            }
+        }
+        return Math.min(buffer.flip().getLong(), canal.size());
+    }
+
+    private void escribirCheckpoint(long posicion) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(posicion).flip();
+        while (buffer.hasRemaining()) {
+            canalCheckpoint.write(buffer, buffer.position());
+        }
+        canalCheckpoint.force(false);
+        checkpoint = posicion;
+    }
+
+    /**
+     * Recorre los registros posteriores al checkpoint validando su CRC y trunca
+     * el archivo en el primer registro incompleto o corrupto.
+     *
+     * @return Posición final de los registros válidos
+     */
+    private long recuperarFinValido() throws IOException {
+        long tamano = canal.size();
+        long posicion = checkpoint;
+        ByteBuffer registro = ByteBuffer.allocate(TAMANO_REGISTRO);
+        CRC32 crc = new CRC32();
+        long pendientes = 0;
+        while (posicion + TAMANO_REGISTRO <= tamano) {
+            registro.clear();
+            while (registro.hasRemaining()) {
+                canal.read(registro, posicion + registro.position());
+            }
+            crc.reset();
+            crc.update(registro.array(), 0, Long.BYTES * 2);
+            if (registro.getInt(Long.BYTES * 2) != (int) crc.getValue()) {
+                break;
+            }
+            posicion += TAMANO_REGISTRO;
+            pendientes++;
+        }
+        if (posicion < tamano) {
+            log.warn("Bitácora de likes: se descartan {} bytes incompletos o corruptos al final", tamano - posicion);
+            canal.truncate(posicion);
+            canal.force(false);
+        }
+        if (pendientes > 0) {
+            log.info("Bitácora de likes: {} likes pendientes de escribir en la base de datos", pendientes);
+        }
+        return posicion;
+    }
+
+    /**
+     * Like en espera de ser escrito en la bitácora.
+     */
+    private record Pendiente(long usuarioOrigenId, long usuarioDestinoId, CompletableFuture<Void> confirmacion) {
+    }
+
+    /**
+     * Resultado de una lectura de likes pendientes.
+     *
+     * @param likes Pares (origen, destino) leídos, en orden de llegada
+     * @param posicionFinal Posición hasta la que llega la lectura
+     */
+    public record LecturaBitacora(List<long[]> likes, long posicionFinal) {
+    }
+}
@@ -0,0 +1,179 @@
+package udistrital.avanzada.tinderstandin.social.ingesta;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import udistrital.avanzada.tinderstandin.social.grafo.IndiceLikes;
+import udistrital.avanzada.tinderstandin.social.servicios.ServicioSocial;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ingesta diferida de likes (modo {@code social.ingesta.modo=diferido}).
+ *
+ * <p>Cada like se valida, se anexa a la {@link BitacoraLikes} y se confirma al
+ * cliente cuando es durable en disco, sin abrir una transacción. Un hilo de
+ * volcado lee los likes pendientes por lotes grandes, los agrupa por usuario
+ * origen y los escribe con {@link ServicioSocial#crearLikesEnLote}, una
+ * transacción por origen, que también detecta los matches y publica los
+ * eventos. Cada transacción confirma antes de la siguiente, así que un like
+ * recíproco del mismo lote ya ve al anterior, y solo retiene los candados de
+ * sus propios pares. El checkpoint de la bitácora solo avanza cuando todo el
+ * lote confirmó, por lo que un like aceptado nunca se pierde: tras una caída
+ * o un error el lote se vuelve a procesar, y los likes ya escritos se
+ * descartan como duplicados.</p>
+ *
+ * @author AndGar03
+ */
+@Service
+@ConditionalOnProperty(prefix = "social.ingesta", name = "modo", havingValue = "diferido")
+@Slf4j
+public class ServicioIngestaLikes {
+
+    private final ServicioSocial servicioSocial;
+    private final IndiceLikes indiceLikes;
+    private BitacoraLikes bitacora;
+    private Thread volcador;
+    private volatile boolean activo = true;
+
+    @Value("${social.ingesta.directorio:./datos-ingesta}")
+    private String directorio;
+
+    @Value("${social.ingesta.capacidad-cola:10000}")
+    private int capacidadCola;
+
+    @Value("${social.ingesta.maximo-por-fsync:1000}")
+    private int maximoPorFsync;
+
+    @Value("${social.ingesta.plazo-confirmacion-ms:1000}")
+    private long plazoConfirmacionMs;
+
+    @Value("${social.ingesta.tamano-lote-volcado:5000}")
+    private int tamanoLoteVolcado;
+
+    @Value("${social.ingesta.intervalo-volcado-ms:200}")
+    private long intervaloVolcadoMs;
+
+    @Value("${social.ingesta.umbral-compactacion-bytes:67108864}")
+    private long umbralCompactacion;
+
+    @Value("${social.likes.maximo-por-lote:500}")
+    private int maximoLikesPorLote;
+
+    public ServicioIngestaLikes(ServicioSocial servicioSocial, IndiceLikes indiceLikes) {
+        this.servicioSocial = servicioSocial;
+        this.indiceLikes = indiceLikes;
+    }
+
+    /**
+     * Abre la bitácora (recuperando los likes no volcados) e inicia el volcado.
+     */
+    @PostConstruct
+    public void iniciar() throws IOException {
+        bitacora = new BitacoraLikes(Path.of(directorio), capacidadCola, maximoPorFsync, umbralCompactacion);
+        volcador = new Thread(this::volcarContinuamente, "volcado-likes");
+        volcador.setDaemon(true);
+        volcador.start();
+        log.info("Ingesta diferida de likes activa en {}", directorio);
+    }
+
+    /**
+     * Registra un like en la bitácora y espera a que sea durable.
+     *
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuarioDestinoId ID del usuario que recibe el like
+     * @throws RuntimeException si el like es inválido, duplicado o no pudo guardarse
+     */
+    public void registrarLike(Long usuarioOrigenId, Long usuarioDestinoId) {
+        if (usuarioOrigenId.equals(usuarioDestinoId)) {
+            throw new RuntimeException("No puedes dar like a ti mismo");
+        }
+        if (indiceLikes.estaListo() && indiceLikes.contiene(usuarioOrigenId, usuarioDestinoId)) {
+            throw new RuntimeException("Ya existe un like de este usuario");
+        }
+        try {
+            bitacora.agregar(usuarioOrigenId, usuarioDestinoId).get(plazoConfirmacionMs, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            throw new RuntimeException(e.getMessage());
+        } catch (TimeoutException | ExecutionException e) {
+            log.error("No se pudo confirmar el like de {} a {}: {}", usuarioOrigenId, usuarioDestinoId, e.getMessage());
+            throw new RuntimeException("No se pudo registrar el like, intenta de nuevo");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("No se pudo registrar el like, intenta de nuevo");
+        }
+    }
+
+    /**
+     * Detiene el volcado y cierra la bitácora. Los likes no volcados se
+     * procesan en el siguiente arranque.
+     */
+    @PreDestroy
+    public void detener() throws IOException {
+        activo = false;
+        volcador.interrupt();
+        try {
+            volcador.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        bitacora.close();
+        log.info("Ingesta diferida detenida con {} likes pendientes de volcar", bitacora.contarPendientes());
+    }
+
+    private void volcarContinuamente() {
+        while (activo) {
+            try {
+                if (!volcarLote()) {
+                    Thread.sleep(intervaloVolcadoMs);
+                }
+            } catch (InterruptedException e) {
+                // Detención solicitada: se evalúa la condición del bucle
+            } catch (IOException | RuntimeException e) {
+                log.error("Error al volcar likes a la base de datos, se reintentará: {}", e.getMessage());
+                try {
+                    Thread.sleep(intervaloVolcadoMs * 10);
+                } catch (InterruptedException ignorada) {
+                    // Detención solicitada
+                }
+            }
+        }
+    }
+
+    /**
+     * Vuelca un lote de likes pendientes, con una transacción por usuario
+     * origen (y por cada tramo del máximo de likes por lote).
+     *
+     * @return true si había likes para volcar
+     */
+    private boolean volcarLote() throws IOException {
+        BitacoraLikes.LecturaBitacora lectura = bitacora.leerPendientes(tamanoLoteVolcado);
+        if (lectura.likes().isEmpty()) {
+            return false;
+        }
+        Map<Long, List<Long>> destinosPorOrigen = new LinkedHashMap<>();
+        for (long[] like : lectura.likes()) {
+            destinosPorOrigen.computeIfAbsent(like[0], k -> new ArrayList<>()).add(like[1]);
+        }
+        destinosPorOrigen.forEach((origen, destinos) -> {
+            for (int inicio = 0; inicio < destinos.size(); inicio += maximoLikesPorLote) {
+                servicioSocial.crearLikesEnLote(origen,
+                        destinos.subList(inicio, Math.min(inicio + maximoLikesPorLote, destinos.size())));
+            }
+        });
+        bitacora.confirmarHasta(lectura.posicionFinal());
+        log.debug("Volcados {} likes de {} usuarios", lectura.likes().size(), destinosPorOrigen.size());
+        return true;
+    }
+}
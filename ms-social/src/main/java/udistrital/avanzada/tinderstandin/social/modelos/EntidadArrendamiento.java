@@ -0,0 +1,39 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad con el arrendamiento de una tarea que solo debe ejecutar una
+ * instancia de ms-social a la vez, como el despacho del outbox.
+ * 
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "arrendamientos")
+@Getter
+@Setter
+public class EntidadArrendamiento {
+    
+    /**
+     * Nombre de la tarea arrendada.
+     */
+    @Id
+    @Column(name = "nombre", length = 60)
+    private String nombre;
+    
+    /**
+     * Instancia que tiene el arrendamiento.
+     */
+    @Column(name = "propietario", nullable = false, length = 36)
+    private String propietario;
+    
+    /**
+     * Fecha en que vence el arrendamiento si no se renueva.
+     */
+    @Column(name = "vence", nullable = false)
+    private LocalDateTime vence;
+}
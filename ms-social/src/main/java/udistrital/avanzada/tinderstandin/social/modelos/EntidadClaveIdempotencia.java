@@ -0,0 +1,54 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad con la respuesta guardada de una petición con clave de idempotencia,
+ * para repetirla si el cliente reintenta con la misma clave. La fila se crea
+ * al reclamar la clave, sin código de estado mientras la petición está en curso.
+ * 
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "claves_idempotencia", indexes = {
+    @Index(name = "idx_claves_idempotencia_fecha", columnList = "fecha_creacion")
+})
+@Getter
+@Setter
+public class EntidadClaveIdempotencia {
+    
+    /**
+     * Clave con su ámbito (operación y usuario) como prefijo.
+     */
+    @Id
+    @Column(name = "clave", length = 160)
+    private String clave;
+    
+    /**
+     * Huella SHA-256 de la petición original.
+     */
+    @Column(name = "huella", nullable = false, length = 64)
+    private String huella;
+    
+    /**
+     * Petición que reclamó la clave.
+     */
+    @Column(name = "propietario", length = 36)
+    private String propietario;
+    
+    /**
+     * Código HTTP de la respuesta; null mientras la petición está en curso.
+     */
+    @Column(name = "codigo_estado")
+    private Integer codigoEstado;
+    
+    @Column(name = "cuerpo", columnDefinition = "TEXT")
+    private String cuerpo;
+    
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+}
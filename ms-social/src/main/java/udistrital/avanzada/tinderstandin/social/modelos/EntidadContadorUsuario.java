@@ -0,0 +1,32 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+
+/**
+ * Entidad con los contadores de likes y matches de un usuario,
+ * mantenidos de forma incremental.
+ * 
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "contadores_usuario")
+@Getter
+@Setter
+public class EntidadContadorUsuario {
+    
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+    
+    @Column(name = "likes_recibidos", nullable = false)
+    private long likesRecibidos;
+    
+    @Column(name = "likes_enviados", nullable = false)
+    private long likesEnviados;
+    
+    @Column(name = "matches", nullable = false)
+    private long matches;
+}
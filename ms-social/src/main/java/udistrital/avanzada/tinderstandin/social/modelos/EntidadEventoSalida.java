@@ -0,0 +1,55 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad de la tabla de salida (outbox) de eventos de dominio.
+ * Las filas se escriben en la misma transacción que los likes y matches y
+ * se eliminan una vez despachadas.
+ * 
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "eventos_salida",
+       indexes = {
+           @Index(name = "idx_eventos_estado_intento", columnList = "estado, proximo_intento, id")
+       })
+@Getter
+@Setter
+public class EntidadEventoSalida {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "tipo", nullable = false, length = 30)
+    private String tipo;
+    
+    @Column(name = "clave_orden", nullable = false, length = 50)
+    private String claveOrden;
+    
+    @Column(name = "usuario_origen_id", nullable = false)
+    private Long usuarioOrigenId;
+    
+    @Column(name = "usuario_destino_id", nullable = false)
+    private Long usuarioDestinoId;
+    
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+    
+    @Column(name = "estado", nullable = false, length = 20)
+    private String estado;
+    
+    @Column(name = "intentos", nullable = false)
+    private int intentos;
+    
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+    
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+}
@@ -12,7 +12,14 @@ import java.time.LocalDateTime;
  * @author AndGar03
  */
 @Entity
-@Table(name = "likes")
+@Table(name = "likes",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_likes_origen_destino",
+                             columnNames = {"usuario_origen_id", "usuario_destino_id"})
+       },
+       indexes = {
+           @Index(name = "idx_likes_destino_fecha", columnList = "usuario_destino_id, fecha_creacion, id")
+       })
 @Getter
 @Setter
 public class EntidadLike {
@@ -0,0 +1,42 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Like movido a la tabla de archivo por antigüedad. Conserva el ID y la fecha
+ * que tenía en la tabla de likes.
+ * 
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "likes_archivo",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_likes_archivo_origen_destino",
+                             columnNames = {"usuario_origen_id", "usuario_destino_id"})
+       },
+       indexes = {
+           @Index(name = "idx_likes_archivo_destino_fecha", columnList = "usuario_destino_id, fecha_creacion, id")
+       })
+@Getter
+@Setter
+public class EntidadLikeArchivado {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "usuario_origen_id", nullable = false)
+    private Long usuarioOrigenId;
+    
+    @Column(name = "usuario_destino_id", nullable = false)
+    private Long usuarioDestinoId;
+    
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+    
+    @Column(name = "fecha_archivado", nullable = false, updatable = false)
+    private LocalDateTime fechaArchivado;
+}
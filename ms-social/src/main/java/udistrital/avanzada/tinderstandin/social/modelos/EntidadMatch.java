@@ -8,11 +8,19 @@ import java.time.LocalDateTime;
 
 /**
  * Entidad que representa un "match" entre usuarios.
+ * El par se guarda de forma canónica: usuario1Id es siempre el menor de los dos IDs.
  * 
  * @author AndGar03
  */
 @Entity
-@Table(name = "matches")
+@Table(name = "matches",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_matches_par", columnNames = {"usuario1_id", "usuario2_id"})
+       },
+       indexes = {
+           @Index(name = "idx_matches_usuario1_fecha", columnList = "usuario1_id, fecha_creacion, id"),
+           @Index(name = "idx_matches_usuario2_fecha", columnList = "usuario2_id, fecha_creacion, id")
+       })
 @Getter
 @Setter
 public class EntidadMatch {
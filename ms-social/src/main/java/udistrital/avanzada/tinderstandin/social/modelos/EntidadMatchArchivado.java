@@ -0,0 +1,45 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Match inactivo movido a la tabla de archivo. Conserva el ID, el par
+ * canónico y la fecha que tenía en la tabla de matches.
+ * 
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "matches_archivo",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_matches_archivo_par", columnNames = {"usuario1_id", "usuario2_id"})
+       },
+       indexes = {
+           @Index(name = "idx_matches_archivo_usuario1_fecha", columnList = "usuario1_id, fecha_creacion, id"),
+           @Index(name = "idx_matches_archivo_usuario2_fecha", columnList = "usuario2_id, fecha_creacion, id")
+       })
+@Getter
+@Setter
+public class EntidadMatchArchivado {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "usuario1_id", nullable = false)
+    private Long usuario1Id;
+    
+    @Column(name = "usuario2_id", nullable = false)
+    private Long usuario2Id;
+    
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+    
+    @Column(name = "activo", nullable = false)
+    private boolean activo;
+    
+    @Column(name = "fecha_archivado", nullable = false, updatable = false)
+    private LocalDateTime fechaArchivado;
+}
@@ -0,0 +1,49 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad del canal de difusión de notificaciones en tiempo real. Cada
+ * instancia de ms-social lee todas las filas y las envía a sus propias
+ * conexiones; se eliminan al pasar el tiempo de retención.
+ * 
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "notificaciones_difusion", indexes = {
+    @Index(name = "idx_notificaciones_difusion_registro", columnList = "fecha_registro")
+})
+@Getter
+@Setter
+public class EntidadNotificacionDifusion {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "tipo", nullable = false, length = 30)
+    private String tipo;
+    
+    @Column(name = "usuario_origen_id", nullable = false)
+    private Long usuarioOrigenId;
+    
+    /**
+     * Usuario que recibe la notificación.
+     */
+    @Column(name = "usuario_destino_id", nullable = false)
+    private Long usuarioDestinoId;
+    
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+    
+    /**
+     * Momento en que se registró la fila, con milisegundos, según el reloj de
+     * la base de datos.
+     */
+    @Column(name = "fecha_registro", nullable = false, columnDefinition = "DATETIME(3)")
+    private LocalDateTime fechaRegistro;
+}
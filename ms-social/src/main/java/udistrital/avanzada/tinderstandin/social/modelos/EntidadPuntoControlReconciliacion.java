@@ -0,0 +1,39 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Rango de IDs de usuario ya revisado por la pasada de reconciliación en
+ * curso, para retomarla tras una interrupción sin repetir lo hecho.
+ * 
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "reconciliacion_puntos_control")
+@Getter
+@Setter
+public class EntidadPuntoControlReconciliacion {
+    
+    @Id
+    @Column(name = "rango_inicio")
+    private Long rangoInicio;
+    
+    @Column(name = "rango_fin", nullable = false)
+    private Long rangoFin;
+    
+    @Column(name = "likes_duplicados", nullable = false)
+    private Integer likesDuplicados;
+    
+    @Column(name = "matches_duplicados", nullable = false)
+    private Integer matchesDuplicados;
+    
+    @Column(name = "matches_faltantes", nullable = false)
+    private Integer matchesFaltantes;
+    
+    @Column(name = "fecha_completado", nullable = false)
+    private LocalDateTime fechaCompletado;
+}
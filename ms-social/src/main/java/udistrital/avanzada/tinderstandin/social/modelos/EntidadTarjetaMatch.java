@@ -0,0 +1,69 @@
+package udistrital.avanzada.tinderstandin.social.modelos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Tarjeta de un match vista por uno de sus usuarios: copia desnormalizada del
+ * match y de los datos de la otra persona (nombre, ciudad y foto principal)
+ * para listar los matches con una sola lectura por índice. Cada match tiene
+ * dos tarjetas, una por usuario. Los datos de la otra persona son nulos hasta
+ * que se obtienen de ms-usuarios y ms-multimedia.
+ *
+ * @author AndGar03
+ */
+@Entity
+@Table(name = "tarjetas_match",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_tarjetas_usuario_contraparte", columnNames = {"usuario_id", "contraparte_id"})
+       },
+       indexes = {
+           @Index(name = "idx_tarjetas_usuario_fecha", columnList = "usuario_id, fecha_match, match_id"),
+           @Index(name = "idx_tarjetas_contraparte", columnList = "contraparte_id"),
+           @Index(name = "idx_tarjetas_match", columnList = "match_id"),
+           @Index(name = "idx_tarjetas_pendientes", columnList = "fecha_actualizacion, contraparte_id")
+       })
+@Getter
+@Setter
+public class EntidadTarjetaMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(name = "contraparte_id", nullable = false)
+    private Long contraparteId;
+
+    @Column(name = "fecha_match", nullable = false)
+    private LocalDateTime fechaMatch;
+
+    @Column(name = "activo", nullable = false)
+    private boolean activo;
+
+    @Column(name = "username", length = 100)
+    private String username;
+
+    @Column(name = "nombre_completo", length = 200)
+    private String nombreCompleto;
+
+    @Column(name = "genero", length = 30)
+    private String genero;
+
+    @Column(name = "ciudad", length = 100)
+    private String ciudad;
+
+    @Column(name = "foto_url", length = 500)
+    private String fotoUrl;
+
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+}
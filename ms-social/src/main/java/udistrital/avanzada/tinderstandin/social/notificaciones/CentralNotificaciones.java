@@ -0,0 +1,183 @@
+package udistrital.avanzada.tinderstandin.social.notificaciones;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Central de notificaciones en tiempo real mediante Server-Sent Events.
+ * Mantiene las conexiones abiertas por usuario de esta instancia y les envía
+ * los eventos de likes y matches que lee del canal de difusión
+ * ({@link DifusionNotificaciones}), compartido por todas las instancias.
+ *
+ * <p>Las conexiones no ocupan un hilo: el servlet queda en modo asíncrono y
+ * un pool pequeño vacía el buffer acotado de cada conexión solo cuando hay
+ * eventos. Si un cliente no consume, se descartan sus eventos más antiguos.
+ * Un latido periódico mantiene viva la conexión y detecta clientes caídos, y
+ * las conexiones sin eventos durante demasiado tiempo se cierran (el
+ * EventSource del navegador se reconecta solo).</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class CentralNotificaciones {
+
+    private final TaskExecutor ejecutorEventos;
+    private final ConcurrentHashMap<Long, Set<Conexion>> conexionesPorUsuario = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConexiones = new AtomicInteger();
+    private final LongAdder eventosDescartados = new LongAdder();
+
+    @Value("${social.eventos.maximo-conexiones:20000}")
+    private int maximoConexiones;
+
+    @Value("${social.eventos.capacidad-buffer:32}")
+    private int capacidadBuffer;
+
+    @Value("${social.eventos.inactividad-maxima-ms:600000}")
+    private long inactividadMaximaMs;
+
+    public CentralNotificaciones(@Qualifier("ejecutorEventos") TaskExecutor ejecutorEventos) {
+        this.ejecutorEventos = ejecutorEventos;
+    }
+
+    /**
+     * Abre una conexión de eventos para un usuario.
+     *
+     * @param usuarioId ID del usuario que se conecta
+     * @return Emisor SSE de la conexión
+     * @throws IllegalStateException si se alcanzó el máximo de conexiones del nodo
+     */
+    public SseEmitter suscribir(Long usuarioId) {
+        if (totalConexiones.incrementAndGet() > maximoConexiones) {
+            totalConexiones.decrementAndGet();
+            throw new IllegalStateException("Se alcanzó el máximo de conexiones de eventos");
+        }
+        // Sin timeout del contenedor: la inactividad la controla el barrido periódico
+        SseEmitter emisor = new SseEmitter(0L);
+        Conexion conexion = new Conexion(usuarioId, emisor);
+        conexionesPorUsuario.computeIfAbsent(usuarioId, k -> ConcurrentHashMap.newKeySet()).add(conexion);
+        emisor.onCompletion(conexion::liberar);
+        emisor.onTimeout(conexion::liberar);
+        emisor.onError(e -> conexion.liberar());
+        log.debug("Usuario {} conectado a eventos ({} conexiones)", usuarioId, totalConexiones.get());
+        return emisor;
+    }
+
+    /**
+     * Encola un evento en todas las conexiones abiertas de un usuario.
+     *
+     * @param usuarioId ID del usuario
+     * @param evento Evento a enviar
+     */
+    public void publicar(Long usuarioId, EventoSocial evento) {
+        Set<Conexion> conexiones = conexionesPorUsuario.get(usuarioId);
+        if (conexiones != null) {
+            conexiones.forEach(conexion -> conexion.encolar(evento));
+        }
+    }
+
+    /**
+     * Programa un latido en todas las conexiones y cierra las inactivas. Los
+     * latidos se escriben en el pool de envío, como los eventos, para no
+     * ocupar el planificador compartido con escrituras a clientes lentos.
+     */
+    @Scheduled(fixedRateString = "${social.eventos.latido-ms:15000}")
+    public void enviarLatidos() {
+        long limite = System.currentTimeMillis() - inactividadMaximaMs;
+        conexionesPorUsuario.values().forEach(conexiones -> conexiones.forEach(conexion -> {
+            if (conexion.ultimoEvento < limite) {
+                conexion.emisor.complete();
+            } else {
+                conexion.programarLatido();
+            }
+        }));
+        if (eventosDescartados.sum() > 0) {
+            log.warn("Eventos descartados por buffers llenos: {}", eventosDescartados.sumThenReset());
+        }
+    }
+
+    /**
+     * Conexión SSE de un usuario con su buffer acotado de eventos pendientes.
+     */
+    private final class Conexion {
+
+        private final Long usuarioId;
+        private final SseEmitter emisor;
+        private final ArrayBlockingQueue<EventoSocial> pendientes;
+        private final AtomicBoolean enEnvio = new AtomicBoolean();
+        private final AtomicBoolean latidoPendiente = new AtomicBoolean();
+        private final AtomicBoolean liberada = new AtomicBoolean();
+        private volatile long ultimoEvento = System.currentTimeMillis();
+
+        Conexion(Long usuarioId, SseEmitter emisor) {
+            this.usuarioId = usuarioId;
+            this.emisor = emisor;
+            this.pendientes = new ArrayBlockingQueue<>(capacidadBuffer);
+        }
+
+        void encolar(EventoSocial evento) {
+            while (!pendientes.offer(evento)) {
+                pendientes.poll();
+                eventosDescartados.increment();
+            }
+            programarEnvio();
+        }
+
+        void programarLatido() {
+            latidoPendiente.set(true);
+            programarEnvio();
+        }
+
+        void programarEnvio() {
+            if (enEnvio.compareAndSet(false, true)) {
+                ejecutorEventos.execute(this::enviarPendientes);
+            }
+        }
+
+        void enviarPendientes() {
+            try {
+                boolean enviado = false;
+                EventoSocial evento;
+                while ((evento = pendientes.poll()) != null) {
+                    emisor.send(SseEmitter.event().name(evento.tipo().name()).data(evento));
+                    ultimoEvento = System.currentTimeMillis();
+                    enviado = true;
+                }
+                // Un evento enviado ya sirve de latido
+                if (latidoPendiente.getAndSet(false) && !enviado) {
+                    emisor.send(SseEmitter.event().comment("latido"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                emisor.completeWithError(e);
+            } finally {
+                enEnvio.set(false);
+                if ((!pendientes.isEmpty() || latidoPendiente.get()) && !liberada.get()) {
+                    programarEnvio();
+                }
+            }
+        }
+
+        void liberar() {
+            if (liberada.compareAndSet(false, true)) {
+                conexionesPorUsuario.computeIfPresent(usuarioId, (id, conexiones) -> {
+                    conexiones.remove(this);
+                    return conexiones.isEmpty() ? null : conexiones;
+                });
+                totalConexiones.decrementAndGet();
+            }
+        }
+    }
+}
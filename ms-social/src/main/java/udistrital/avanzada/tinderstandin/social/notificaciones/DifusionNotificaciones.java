@@ -0,0 +1,94 @@
+package udistrital.avanzada.tinderstandin.social.notificaciones;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import udistrital.avanzada.tinderstandin.social.repositorios.NotificacionDifusionRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.NotificacionDifusionRepositorio.NotificacionDifundida;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Canal de difusión de las notificaciones entre instancias de ms-social.
+ * Solo la instancia con el arrendamiento del outbox despacha los eventos,
+ * pero los usuarios pueden estar conectados a cualquiera: el manejador
+ * registra cada notificación en la tabla {@code notificaciones_difusion} y
+ * cada instancia la lee y la entrega a sus propias conexiones.
+ *
+ * <p>Cada instancia empieza a leer desde la última fila existente al
+ * arrancar, así que no repite notificaciones antiguas. Solo se leen filas
+ * con cierta antigüedad para no saltar inserciones concurrentes que tomaron
+ * un ID menor y aún no se habían confirmado. Como el resto de eventos en
+ * tiempo real, la entrega es de mejor esfuerzo.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class DifusionNotificaciones {
+
+    private final NotificacionDifusionRepositorio notificacionDifusionRepositorio;
+    private final CentralNotificaciones centralNotificaciones;
+    private volatile long ultimoId;
+
+    @Value("${social.eventos.difusion.margen-ms:500}")
+    private long margenMs;
+
+    @Value("${social.eventos.difusion.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${social.eventos.difusion.retencion-ms:300000}")
+    private long retencionMs;
+
+    public DifusionNotificaciones(NotificacionDifusionRepositorio notificacionDifusionRepositorio,
+                                  CentralNotificaciones centralNotificaciones) {
+        this.notificacionDifusionRepositorio = notificacionDifusionRepositorio;
+        this.centralNotificaciones = centralNotificaciones;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        ultimoId = notificacionDifusionRepositorio.buscarUltimoId();
+    }
+
+    /**
+     * Registra notificaciones para que las entreguen todas las instancias.
+     *
+     * @param eventos Eventos a difundir; cada uno va a su usuario destino
+     */
+    public void difundir(List<EventoSocial> eventos) {
+        notificacionDifusionRepositorio.insertar(eventos);
+    }
+
+    /**
+     * Lee las notificaciones nuevas y las encola en las conexiones de esta
+     * instancia.
+     */
+    @Scheduled(fixedDelayString = "${social.eventos.difusion.intervalo-ms:200}")
+    public void leer() {
+        List<NotificacionDifundida> notificaciones;
+        do {
+            notificaciones = notificacionDifusionRepositorio.buscarDesde(ultimoId, margenMs, tamanoLote);
+            for (NotificacionDifundida notificacion : notificaciones) {
+                centralNotificaciones.publicar(notificacion.evento().usuarioDestinoId(), notificacion.evento());
+                ultimoId = notificacion.id();
+            }
+        } while (!notificaciones.isEmpty() && notificaciones.size() == tamanoLote);
+    }
+
+    /**
+     * Elimina las notificaciones que todas las instancias ya leyeron.
+     */
+    @Scheduled(fixedDelayString = "${social.eventos.difusion.limpieza-ms:60000}")
+    public void limpiar() {
+        int eliminadas = notificacionDifusionRepositorio.eliminarAnterioresA(
+                LocalDateTime.now().minus(Duration.ofMillis(retencionMs)));
+        if (eliminadas > 0) {
+            log.debug("Notificaciones difundidas eliminadas: {}", eliminadas);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package udistrital.avanzada.tinderstandin.social.notificaciones;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento social enviado en tiempo real a los usuarios conectados.
+ *
+ * @param tipo Tipo de evento
+ * @param usuarioOrigenId ID del usuario que originó el evento
+ * @param usuarioDestinoId ID del usuario que recibe el evento
+ * @param fecha Fecha del evento
+ * @author AndGar03
+ */
+public record EventoSocial(Tipo tipo, Long usuarioOrigenId, Long usuarioDestinoId, LocalDateTime fecha) {
+
+    /**
+     * Tipos de eventos sociales.
+     */
+    public enum Tipo {
+        LIKE_RECIBIDO,
+        MATCH_CREADO
+    }
+}
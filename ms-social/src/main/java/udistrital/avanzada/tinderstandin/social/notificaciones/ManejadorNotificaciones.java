@@ -0,0 +1,41 @@
+package udistrital.avanzada.tinderstandin.social.notificaciones;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+import udistrital.avanzada.tinderstandin.social.eventos.ManejadorEventos;
+
+import java.util.List;
+
+/**
+ * Manejador que envía los eventos de dominio a los usuarios conectados
+ * por Server-Sent Events. Los difunde a todas las instancias, porque el
+ * usuario puede estar conectado a una distinta de la que despacha.
+ *
+ * @author AndGar03
+ */
+@Component
+@RequiredArgsConstructor
+public class ManejadorNotificaciones implements ManejadorEventos {
+
+    private final DifusionNotificaciones difusionNotificaciones;
+
+    @Override
+    public boolean acepta(EventoDominio.Tipo tipo) {
+        return tipo == EventoDominio.Tipo.LIKE_CREADO || tipo == EventoDominio.Tipo.MATCH_CREADO;
+    }
+
+    @Override
+    public void manejar(EventoDominio evento) {
+        Long origen = evento.usuarioOrigenId();
+        Long destino = evento.usuarioDestinoId();
+        if (evento.tipo() == EventoDominio.Tipo.LIKE_CREADO) {
+            difusionNotificaciones.difundir(List.of(new EventoSocial(
+                    EventoSocial.Tipo.LIKE_RECIBIDO, origen, destino, evento.fechaCreacion())));
+        } else {
+            difusionNotificaciones.difundir(List.of(
+                    new EventoSocial(EventoSocial.Tipo.MATCH_CREADO, destino, origen, evento.fechaCreacion()),
+                    new EventoSocial(EventoSocial.Tipo.MATCH_CREADO, origen, destino, evento.fechaCreacion())));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import udistrital.avanzada.tinderstandin.social.clientes.CacheResumenesUsuarios;
+import udistrital.avanzada.tinderstandin.social.clientes.ResultadoResumenes;
+import udistrital.avanzada.tinderstandin.social.dto.ResumenUsuarioDTO;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versión no bloqueante de {@code ClienteUsuarios}: consulta los resúmenes
+ * que no están en caché por lotes con WebClient, con un máximo de lotes en
+ * vuelo y un plazo global. Los lotes que fallan o vencen se completan con el
+ * último resumen conocido y el resultado se marca como degradado.
+ *
+ * @author AndGar03
+ */
+@Component
+@Profile(MsSocialReactivaApplication.PERFIL)
+@Slf4j
+public class ClienteUsuariosReactivo {
+
+    private final WebClient clienteWebUsuarios;
+    private final CacheResumenesUsuarios cacheResumenes;
+
+    @Value("${ms.usuarios.tamano-lote:200}")
+    private int tamanoLote;
+
+    @Value("${ms.usuarios.max-en-vuelo:8}")
+    private int maxEnVuelo;
+
+    @Value("${ms.usuarios.plazo-ms:800}")
+    private long plazoMs;
+
+    public ClienteUsuariosReactivo(@Qualifier("clienteWebUsuarios") WebClient clienteWebUsuarios,
+                                   CacheResumenesUsuarios cacheResumenes) {
+        this.clienteWebUsuarios = clienteWebUsuarios;
+        this.cacheResumenes = cacheResumenes;
+    }
+
+    /**
+     * Obtiene el resumen de varios usuarios.
+     *
+     * @param usuarioIds IDs de los usuarios
+     * @return Resúmenes obtenidos y marca de degradación
+     */
+    public Mono<ResultadoResumenes> obtenerResumenes(Collection<Long> usuarioIds) {
+        if (usuarioIds.isEmpty()) {
+            return Mono.just(new ResultadoResumenes(Map.of(), false));
+        }
+        Map<Long, ResumenUsuarioDTO> presentes = cacheResumenes.obtenerPresentes(usuarioIds);
+        List<Long> ids = usuarioIds.stream()
+                .filter(id -> !presentes.containsKey(id))
+                .toList();
+        if (ids.isEmpty()) {
+            return Mono.just(new ResultadoResumenes(presentes, false));
+        }
+
+        List<List<Long>> lotes = new ArrayList<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanoLote) {
+            lotes.add(List.copyOf(ids.subList(inicio, Math.min(inicio + tamanoLote, ids.size()))));
+        }
+        return Flux.fromIterable(lotes)
+                .flatMap(this::consultarLote, maxEnVuelo)
+                .take(Duration.ofMillis(plazoMs))
+                .collectList()
+                .map(respuestas -> combinar(usuarioIds, ids, presentes, respuestas, lotes.size()));
+    }
+
+    /**
+     * Consulta un lote al endpoint masivo de ms-usuarios. Un lote fallido no
+     * emite resultado, para no cancelar los demás.
+     */
+    private Mono<Map<Long, ResumenUsuarioDTO>> consultarLote(List<Long> lote) {
+        return clienteWebUsuarios.post()
+                .uri("/api/auth/usuarios/resumen")
+                .bodyValue(lote)
+                .retrieve()
+                .bodyToFlux(ResumenUsuarioDTO.class)
+                .collectMap(ResumenUsuarioDTO::getId)
+                .doOnNext(cacheResumenes::guardar)
+                .onErrorResume(e -> {
+                    log.error("Error al consultar ms-usuarios: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private ResultadoResumenes combinar(Collection<Long> usuarioIds, List<Long> consultados,
+                                        Map<Long, ResumenUsuarioDTO> presentes,
+                                        List<Map<Long, ResumenUsuarioDTO>> respuestas, int totalLotes) {
+        Map<Long, ResumenUsuarioDTO> resumenes = new HashMap<>(presentes);
+        respuestas.forEach(resumenes::putAll);
+        boolean degradado = respuestas.size() < totalLotes;
+        if (degradado) {
+            List<Long> faltantes = consultados.stream().filter(id -> !resumenes.containsKey(id)).toList();
+            Map<Long, ResumenUsuarioDTO> respaldo = cacheResumenes.obtenerUltimosConocidos(faltantes);
+            resumenes.putAll(respaldo);
+            log.warn("Consulta a ms-usuarios degradada: {} de {} usuarios obtenidos en {} ms ({} del último valor conocido)",
+                    resumenes.size(), usuarioIds.size(), plazoMs, respaldo.size());
+        }
+        return new ResultadoResumenes(resumenes, degradado);
+    }
+}
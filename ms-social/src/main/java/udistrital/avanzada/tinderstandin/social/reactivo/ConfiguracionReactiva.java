@@ -0,0 +1,74 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import udistrital.avanzada.tinderstandin.social.clientes.CacheResumenesUsuarios;
+
+import java.time.Duration;
+
+/**
+ * Configuración del modo reactivo: servidor Netty, cliente WebClient hacia
+ * ms-usuarios y la misma caché local de resúmenes que usa el modo bloqueante.
+ *
+ * @author AndGar03
+ */
+@Configuration
+@Profile(MsSocialReactivaApplication.PERFIL)
+public class ConfiguracionReactiva {
+
+    /**
+     * Servidor Netty con un hilo de eventos por núcleo. Se declara
+     * explícitamente porque Tomcat también está en el classpath.
+     *
+     * @return Fábrica del servidor web reactivo
+     */
+    @Bean
+    public NettyReactiveWebServerFactory servidorNetty() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Caché de resúmenes de usuario, con la misma configuración que en el
+     * modo bloqueante.
+     */
+    @Bean
+    public CacheResumenesUsuarios cacheResumenesUsuarios(
+            @Value("${ms.usuarios.cache.tamano-maximo:10000}") long tamanoMaximo,
+            @Value("${ms.usuarios.cache.ttl-segundos:300}") long ttlSegundos,
+            @Value("${ms.usuarios.cache.ultimos-conocidos-tamano:100000}") long tamanoUltimosConocidos,
+            @Value("${ms.usuarios.cache.ultimos-conocidos-horas:24}") long horasUltimosConocidos) {
+        return new CacheResumenesUsuarios(tamanoMaximo, ttlSegundos, tamanoUltimosConocidos, horasUltimosConocidos);
+    }
+
+    /**
+     * WebClient hacia ms-usuarios sobre Reactor Netty, con plazos de
+     * conexión y de respuesta.
+     *
+     * @param builder Constructor de WebClient configurado por Spring Boot
+     * @param msUsuariosUrl URL base de ms-usuarios
+     * @param timeoutConexionMs Plazo para establecer la conexión
+     * @param timeoutLecturaMs Plazo para recibir la respuesta
+     * @return WebClient para ms-usuarios
+     */
+    @Bean
+    public WebClient clienteWebUsuarios(
+            WebClient.Builder builder,
+            @Value("${ms.usuarios.url}") String msUsuariosUrl,
+            @Value("${social.clientes-http.timeout-conexion-ms:300}") int timeoutConexionMs,
+            @Value("${social.clientes-http.timeout-lectura-ms:1000}") long timeoutLecturaMs) {
+        HttpClient clienteHttp = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutConexionMs)
+                .responseTimeout(Duration.ofMillis(timeoutLecturaMs));
+        return builder
+                .baseUrl(msUsuariosUrl)
+                .clientConnector(new ReactorClientHttpConnector(clienteHttp))
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import udistrital.avanzada.tinderstandin.social.clientes.CacheResumenesUsuarios;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasCacheDTO;
+import udistrital.avanzada.tinderstandin.social.dto.MensajeRespuesta;
+
+/**
+ * Endpoints internos del modo reactivo para la caché de resúmenes de usuario.
+ *
+ * @author AndGar03
+ */
+@RestController
+@RequestMapping("/api/social/interno")
+@Profile(MsSocialReactivaApplication.PERFIL)
+@RequiredArgsConstructor
+@Slf4j
+public class ControladorInternoReactivo {
+
+    private final CacheResumenesUsuarios cacheResumenesUsuarios;
+
+    /**
+     * Notifica que el perfil de un usuario cambió en ms-usuarios.
+     */
+    @PostMapping("/usuarios/{usuarioId}/invalidar")
+    public ResponseEntity<MensajeRespuesta> invalidarUsuario(@PathVariable Long usuarioId) {
+        log.info("Invalidando información en caché del usuario {}", usuarioId);
+        cacheResumenesUsuarios.invalidar(usuarioId);
+        return ResponseEntity.ok(new MensajeRespuesta("Usuario invalidado"));
+    }
+
+    /**
+     * Obtiene las estadísticas de la caché de resúmenes de usuario.
+     */
+    @GetMapping("/cache/usuarios")
+    public ResponseEntity<EstadisticasCacheDTO> obtenerEstadisticasCacheUsuarios() {
+        return ResponseEntity.ok(cacheResumenesUsuarios.obtenerEstadisticas());
+    }
+}
@@ -0,0 +1,103 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import udistrital.avanzada.tinderstandin.social.controladores.ControladorSocial;
+import udistrital.avanzada.tinderstandin.social.dto.CrearLikeDTO;
+import udistrital.avanzada.tinderstandin.social.dto.MensajeRespuesta;
+import udistrital.avanzada.tinderstandin.social.dto.PaginaDTO;
+
+import java.util.List;
+
+/**
+ * Controlador REST del modo reactivo con el mismo contrato que
+ * {@link ControladorSocial} para crear likes y consultar matches y likes
+ * recibidos. Ningún método bloquea el hilo de eventos.
+ *
+ * <p>Los lotes de likes, contadores, candidatos e idempotencia siguen
+ * atendiéndose solo en el modo bloqueante.</p>
+ *
+ * @author AndGar03
+ */
+@RestController
+@RequestMapping("/api/social")
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = ControladorSocial.CABECERA_SIGUIENTE_CURSOR)
+@Profile(MsSocialReactivaApplication.PERFIL)
+@RequiredArgsConstructor
+@Slf4j
+public class ControladorSocialReactivo {
+
+    private final ServicioSocialReactivo servicioSocial;
+
+    /**
+     * Crea un nuevo like desde un usuario origen hacia un usuario destino.
+     */
+    @PostMapping("/likes")
+    public Mono<ResponseEntity<?>> crearLike(
+            @RequestParam("usuarioOrigenId") Long usuarioOrigenId,
+            @Valid @RequestBody CrearLikeDTO crearLikeDTO) {
+        log.info("Usuario {} enviando like a {}", usuarioOrigenId, crearLikeDTO.getUsuarioDestinoId());
+        return servicioSocial.crearLike(usuarioOrigenId, crearLikeDTO.getUsuarioDestinoId())
+                .<ResponseEntity<?>>map(like -> ResponseEntity.status(HttpStatus.CREATED).body(like))
+                .onErrorResume(ConcurrencyFailureException.class, e -> {
+                    log.warn("Conflicto concurrente al crear like: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(new MensajeRespuesta("Conflicto al registrar el like, intenta de nuevo")));
+                })
+                .onErrorResume(RuntimeException.class, e -> {
+                    log.error("Error al crear like: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage())));
+                });
+    }
+
+    /**
+     * Obtiene una página de matches de un usuario.
+     * El token de la siguiente página se devuelve en la cabecera X-Siguiente-Cursor.
+     */
+    @GetMapping("/matches/{usuarioId}")
+    public Mono<ResponseEntity<?>> obtenerMatches(
+            @PathVariable Long usuarioId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamano", defaultValue = "50") int tamano) {
+        log.info("Obteniendo matches para usuario {}", usuarioId);
+        return servicioSocial.obtenerMatchesDeUsuario(usuarioId, cursor, tamano)
+                .<ResponseEntity<?>>map(this::responderPagina)
+                .onErrorResume(RuntimeException.class, e -> {
+                    log.error("Error al obtener matches: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage())));
+                });
+    }
+
+    /**
+     * Obtiene una página de likes recibidos por un usuario.
+     * El token de la siguiente página se devuelve en la cabecera X-Siguiente-Cursor.
+     */
+    @GetMapping("/likes/recibidos/{usuarioId}")
+    public Mono<ResponseEntity<?>> obtenerLikesRecibidos(
+            @PathVariable Long usuarioId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamano", defaultValue = "50") int tamano) {
+        log.info("Obteniendo likes recibidos para usuario {}", usuarioId);
+        return servicioSocial.obtenerLikesRecibidos(usuarioId, cursor, tamano)
+                .<ResponseEntity<?>>map(this::responderPagina)
+                .onErrorResume(RuntimeException.class, e -> {
+                    log.error("Error al obtener likes recibidos: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage())));
+                });
+    }
+
+    private <T> ResponseEntity<List<T>> responderPagina(PaginaDTO<T> pagina) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.getSiguienteCursor() != null) {
+            respuesta.header(ControladorSocial.CABECERA_SIGUIENTE_CURSOR, pagina.getSiguienteCursor());
+        }
+        return respuesta.body(pagina.getElementos());
+    }
+}
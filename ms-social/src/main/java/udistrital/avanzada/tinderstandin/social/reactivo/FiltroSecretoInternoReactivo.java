@@ -0,0 +1,57 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import udistrital.avanzada.tinderstandin.social.config.FiltroSecretoInterno;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Filtro de los endpoints internos del modo reactivo. Como en el modo
+ * bloqueante, exige el secreto compartido en la cabecera
+ * {@value FiltroSecretoInterno#CABECERA} y responde 401 sin él.
+ *
+ * @author AndGar03
+ */
+@Component
+@Profile(MsSocialReactivaApplication.PERFIL)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class FiltroSecretoInternoReactivo implements WebFilter {
+
+    private static final String PREFIJO_INTERNO = "/api/social/interno/";
+
+    private final byte[] secreto;
+
+    public FiltroSecretoInternoReactivo(@Value("${social.interno.secreto}") String secreto) {
+        if (secreto.isBlank()) {
+            throw new IllegalStateException("social.interno.secreto no puede estar vacío");
+        }
+        this.secreto = secreto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith(PREFIJO_INTERNO)) {
+            return chain.filter(exchange);
+        }
+        String recibido = exchange.getRequest().getHeaders().getFirst(FiltroSecretoInterno.CABECERA);
+        if (recibido == null || !MessageDigest.isEqual(secreto, recibido.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Petición interna rechazada sin secreto válido: {} {}",
+                    exchange.getRequest().getMethod(), exchange.getRequest().getPath());
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,44 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Clase principal de ms-social en modo reactivo: WebFlux sobre Netty,
+ * R2DBC para likes y matches y WebClient hacia ms-usuarios, sin hilos
+ * bloqueados mientras se espera a la base de datos o a otro servicio.
+ *
+ * <p>Atiende el mismo contrato que el modo bloqueante para crear likes y
+ * consultar matches y likes recibidos. Solo escanea este paquete; los
+ * componentes del modo bloqueante no se cargan. Se elige con el perfil de
+ * Maven {@code reactivo}, que activa también el perfil de Spring del mismo
+ * nombre.</p>
+ *
+ * @author AndGar03
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class
+})
+@Profile(MsSocialReactivaApplication.PERFIL)
+public class MsSocialReactivaApplication {
+
+    /**
+     * Perfil de Spring del modo reactivo. Los componentes de este paquete
+     * lo exigen para que la aplicación bloqueante no los registre.
+     */
+    public static final String PERFIL = "reactivo";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(MsSocialReactivaApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PERFIL)
+                .run(args);
+    }
+}
@@ -0,0 +1,100 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio R2DBC de la tabla likes para el modo reactivo.
+ *
+ * @author AndGar03
+ */
+@Repository
+@Profile(MsSocialReactivaApplication.PERFIL)
+public class RepositorioLikesReactivo {
+
+    private final DatabaseClient databaseClient;
+
+    public RepositorioLikesReactivo(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserta un like si el par no está archivado. El índice único (origen,
+     * destino) rechaza los duplicados con una DataIntegrityViolationException.
+     *
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuarioDestinoId ID del usuario que recibe el like
+     * @param fechaCreacion Fecha del like
+     * @return ID generado del like, o vacío si el par ya estaba archivado
+     */
+    public Mono<Long> insertar(Long usuarioOrigenId, Long usuarioDestinoId, LocalDateTime fechaCreacion) {
+        return databaseClient.sql(
+                        "INSERT INTO likes (usuario_origen_id, usuario_destino_id, fecha_creacion) " +
+                        "SELECT :origen, :destino, :fecha FROM DUAL WHERE NOT EXISTS (" +
+                        "SELECT 1 FROM likes_archivo WHERE usuario_origen_id = :origen AND usuario_destino_id = :destino)")
+                .bind("origen", usuarioOrigenId)
+                .bind("destino", usuarioDestinoId)
+                .bind("fecha", fechaCreacion)
+                .filter(sentencia -> sentencia.returnGeneratedValues("id"))
+                .map(fila -> fila.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Obtiene la primera página de likes recibidos, del más reciente al más antiguo.
+     *
+     * @param usuarioDestinoId ID del usuario que recibió los likes
+     * @param limite Número máximo de likes
+     * @return Likes de la página
+     */
+    public Flux<LikeResponseDTO> buscarRecibidos(Long usuarioDestinoId, int limite) {
+        return databaseClient.sql(
+                        "SELECT id, usuario_origen_id, usuario_destino_id, fecha_creacion FROM likes " +
+                        "WHERE usuario_destino_id = :destino " +
+                        "ORDER BY fecha_creacion DESC, id DESC LIMIT :limite")
+                .bind("destino", usuarioDestinoId)
+                .bind("limite", limite)
+                .map(RepositorioLikesReactivo::mapear)
+                .all();
+    }
+
+    /**
+     * Obtiene la página de likes recibidos que sigue a la posición (fecha, id) indicada.
+     *
+     * @param usuarioDestinoId ID del usuario que recibió los likes
+     * @param fechaCreacion Fecha del último like entregado
+     * @param id ID del último like entregado
+     * @param limite Número máximo de likes
+     * @return Likes de la página
+     */
+    public Flux<LikeResponseDTO> buscarRecibidosDespuesDe(Long usuarioDestinoId, LocalDateTime fechaCreacion,
+                                                          Long id, int limite) {
+        return databaseClient.sql(
+                        "SELECT id, usuario_origen_id, usuario_destino_id, fecha_creacion FROM likes " +
+                        "WHERE usuario_destino_id = :destino " +
+                        "AND (fecha_creacion < :fecha OR (fecha_creacion = :fecha AND id < :id)) " +
+                        "ORDER BY fecha_creacion DESC, id DESC LIMIT :limite")
+                .bind("destino", usuarioDestinoId)
+                .bind("fecha", fechaCreacion)
+                .bind("id", id)
+                .bind("limite", limite)
+                .map(RepositorioLikesReactivo::mapear)
+                .all();
+    }
+
+    private static LikeResponseDTO mapear(Readable fila) {
+        return new LikeResponseDTO(
+                fila.get("id", Long.class),
+                fila.get("usuario_origen_id", Long.class),
+                fila.get("usuario_destino_id", Long.class),
+                fila.get("fecha_creacion", LocalDateTime.class),
+                false);
+    }
+}
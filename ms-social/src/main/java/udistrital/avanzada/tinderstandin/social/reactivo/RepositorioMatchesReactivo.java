@@ -0,0 +1,121 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio R2DBC de la tabla matches para el modo reactivo. Las consultas
+ * son las mismas que en {@code MatchLecturaRepositorio}.
+ *
+ * @author AndGar03
+ */
+@Repository
+@Profile(MsSocialReactivaApplication.PERFIL)
+public class RepositorioMatchesReactivo {
+
+    private final DatabaseClient databaseClient;
+
+    public RepositorioMatchesReactivo(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Crea el match canónico solo si existe el like recíproco (en la tabla de
+     * likes o en su archivo), en una única sentencia; el índice único del par
+     * descarta el match si ya existía.
+     *
+     * @param usuarioOrigenId ID del usuario que acaba de dar like
+     * @param usuarioDestinoId ID del usuario que recibió el like
+     * @param fechaCreacion Fecha del match
+     * @return 1 si se creó el match, 0 si no hay like recíproco o ya existía
+     */
+    public Mono<Long> crearMatchSiHayLikeReciproco(Long usuarioOrigenId, Long usuarioDestinoId,
+                                                   LocalDateTime fechaCreacion) {
+        return databaseClient.sql(
+                        "INSERT IGNORE INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) " +
+                        "SELECT :menor, :mayor, :fecha, TRUE FROM DUAL " +
+                        "WHERE EXISTS (SELECT 1 FROM likes " +
+                        "WHERE usuario_origen_id = :destino AND usuario_destino_id = :origen) " +
+                        "OR EXISTS (SELECT 1 FROM likes_archivo " +
+                        "WHERE usuario_origen_id = :destino AND usuario_destino_id = :origen)")
+                .bind("menor", Math.min(usuarioOrigenId, usuarioDestinoId))
+                .bind("mayor", Math.max(usuarioOrigenId, usuarioDestinoId))
+                .bind("fecha", fechaCreacion)
+                .bind("origen", usuarioOrigenId)
+                .bind("destino", usuarioDestinoId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Obtiene la primera página de matches de un usuario, del más reciente al más antiguo.
+     *
+     * @param usuarioId ID del usuario
+     * @param limite Número máximo de matches
+     * @return Matches de la página, sin información de usuarios
+     */
+    public Flux<MatchResponseDTO> buscarPagina(Long usuarioId, int limite) {
+        return databaseClient.sql(
+                        "SELECT * FROM (" +
+                        "(SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                        "WHERE usuario1_id = :usuarioId " +
+                        "ORDER BY fecha_creacion DESC, id DESC LIMIT :limite) " +
+                        "UNION ALL " +
+                        "(SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                        "WHERE usuario2_id = :usuarioId " +
+                        "ORDER BY fecha_creacion DESC, id DESC LIMIT :limite)" +
+                        ") m ORDER BY fecha_creacion DESC, id DESC LIMIT :limite")
+                .bind("usuarioId", usuarioId)
+                .bind("limite", limite)
+                .map(RepositorioMatchesReactivo::mapear)
+                .all();
+    }
+
+    /**
+     * Obtiene la página de matches de un usuario que sigue a la posición (fecha, id) indicada.
+     *
+     * @param usuarioId ID del usuario
+     * @param fechaCreacion Fecha del último match entregado
+     * @param id ID del último match entregado
+     * @param limite Número máximo de matches
+     * @return Matches de la página, sin información de usuarios
+     */
+    public Flux<MatchResponseDTO> buscarPaginaDespuesDe(Long usuarioId, LocalDateTime fechaCreacion,
+                                                        Long id, int limite) {
+        return databaseClient.sql(
+                        "SELECT * FROM (" +
+                        "(SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                        "WHERE usuario1_id = :usuarioId " +
+                        "AND (fecha_creacion < :fecha OR (fecha_creacion = :fecha AND id < :id)) " +
+                        "ORDER BY fecha_creacion DESC, id DESC LIMIT :limite) " +
+                        "UNION ALL " +
+                        "(SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                        "WHERE usuario2_id = :usuarioId " +
+                        "AND (fecha_creacion < :fecha OR (fecha_creacion = :fecha AND id < :id)) " +
+                        "ORDER BY fecha_creacion DESC, id DESC LIMIT :limite)" +
+                        ") m ORDER BY fecha_creacion DESC, id DESC LIMIT :limite")
+                .bind("usuarioId", usuarioId)
+                .bind("fecha", fechaCreacion)
+                .bind("id", id)
+                .bind("limite", limite)
+                .map(RepositorioMatchesReactivo::mapear)
+                .all();
+    }
+
+    private static MatchResponseDTO mapear(Readable fila) {
+        MatchResponseDTO dto = new MatchResponseDTO();
+        dto.setId(fila.get("id", Long.class));
+        dto.setUsuario1Id(fila.get("usuario1_id", Long.class));
+        dto.setUsuario2Id(fila.get("usuario2_id", Long.class));
+        dto.setFechaCreacion(fila.get("fecha_creacion", LocalDateTime.class));
+        dto.setHayMatch(Boolean.TRUE.equals(fila.get("activo", Boolean.class)));
+        return dto;
+    }
+}
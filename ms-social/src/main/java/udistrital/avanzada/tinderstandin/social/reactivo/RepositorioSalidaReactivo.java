@@ -0,0 +1,75 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+import udistrital.avanzada.tinderstandin.social.repositorios.EventoSalidaRepositorio;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio R2DBC de los efectos derivados de un like en el modo reactivo:
+ * los eventos de la tabla de salida y los contadores por usuario. Se escriben
+ * en la misma transacción que el like.
+ *
+ * @author AndGar03
+ */
+@Repository
+@Profile(MsSocialReactivaApplication.PERFIL)
+public class RepositorioSalidaReactivo {
+
+    private final DatabaseClient databaseClient;
+
+    public RepositorioSalidaReactivo(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Registra un evento pendiente de despacho entre dos usuarios.
+     *
+     * @param tipo Tipo de evento
+     * @param usuarioOrigenId ID del usuario que originó el evento
+     * @param usuarioDestinoId ID del otro usuario
+     * @param fechaCreacion Fecha del evento
+     * @return Señal de término
+     */
+    public Mono<Void> insertarEvento(EventoDominio.Tipo tipo, Long usuarioOrigenId, Long usuarioDestinoId,
+                                     LocalDateTime fechaCreacion) {
+        return databaseClient.sql(
+                        "INSERT INTO eventos_salida (tipo, clave_orden, usuario_origen_id, usuario_destino_id, " +
+                        "fecha_creacion, estado, intentos, proximo_intento) " +
+                        "VALUES (:tipo, :clave, :origen, :destino, :fecha, :estado, 0, :fecha)")
+                .bind("tipo", tipo.name())
+                .bind("clave", EventoDominio.claveDelPar(usuarioOrigenId, usuarioDestinoId))
+                .bind("origen", usuarioOrigenId)
+                .bind("destino", usuarioDestinoId)
+                .bind("fecha", fechaCreacion)
+                .bind("estado", EventoSalidaRepositorio.ESTADO_PENDIENTE)
+                .then();
+    }
+
+    /**
+     * Suma incrementos a los contadores de un usuario, creando la fila si no existe.
+     *
+     * @param usuarioId ID del usuario
+     * @param likesRecibidos Incremento de likes recibidos
+     * @param likesEnviados Incremento de likes enviados
+     * @param matches Incremento de matches
+     * @return Señal de término
+     */
+    public Mono<Void> sumarContadores(Long usuarioId, long likesRecibidos, long likesEnviados, long matches) {
+        return databaseClient.sql(
+                        "INSERT INTO contadores_usuario (usuario_id, likes_recibidos, likes_enviados, matches) " +
+                        "VALUES (:usuarioId, :recibidos, :enviados, :matches) ON DUPLICATE KEY UPDATE " +
+                        "likes_recibidos = likes_recibidos + VALUES(likes_recibidos), " +
+                        "likes_enviados = likes_enviados + VALUES(likes_enviados), " +
+                        "matches = matches + VALUES(matches)")
+                .bind("usuarioId", usuarioId)
+                .bind("recibidos", likesRecibidos)
+                .bind("enviados", likesEnviados)
+                .bind("matches", matches)
+                .then();
+    }
+}
@@ -0,0 +1,184 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.PaginaDTO;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+import udistrital.avanzada.tinderstandin.social.servicios.CursorPaginacion;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Versión no bloqueante de la lógica de likes y matches.
+ *
+ * <p>El like, el match, los eventos de la tabla de salida y los contadores se
+ * escriben en una sola transacción R2DBC. A diferencia del modo bloqueante no
+ * hay índice de likes en memoria ni acumulador de contadores: el duplicado lo
+ * detecta el índice único y el like recíproco se comprueba en la misma
+ * sentencia que crea el match. Los eventos quedan pendientes en la tabla de
+ * salida para el despachador de una instancia en modo bloqueante.</p>
+ *
+ * @author AndGar03
+ */
+@Service
+@Profile(MsSocialReactivaApplication.PERFIL)
+@Slf4j
+public class ServicioSocialReactivo {
+
+    private final RepositorioLikesReactivo repositorioLikes;
+    private final RepositorioMatchesReactivo repositorioMatches;
+    private final RepositorioSalidaReactivo repositorioSalida;
+    private final ClienteUsuariosReactivo clienteUsuarios;
+    private final TransactionalOperator transaccion;
+
+    @Value("${social.paginacion.tamano-maximo:200}")
+    private int tamanoMaximoPagina;
+
+    public ServicioSocialReactivo(RepositorioLikesReactivo repositorioLikes,
+                                  RepositorioMatchesReactivo repositorioMatches,
+                                  RepositorioSalidaReactivo repositorioSalida,
+                                  ClienteUsuariosReactivo clienteUsuarios,
+                                  TransactionalOperator transaccion) {
+        this.repositorioLikes = repositorioLikes;
+        this.repositorioMatches = repositorioMatches;
+        this.repositorioSalida = repositorioSalida;
+        this.clienteUsuarios = clienteUsuarios;
+        this.transaccion = transaccion;
+    }
+
+    /**
+     * Crea un like de un usuario hacia otro y, si existe el like recíproco, el match.
+     *
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuarioDestinoId ID del usuario que recibe el like
+     * @return DTO con información del like creado y si generó match
+     */
+    public Mono<LikeResponseDTO> crearLike(Long usuarioOrigenId, Long usuarioDestinoId) {
+        log.info("Usuario {} dando like a usuario {} (reactivo)", usuarioOrigenId, usuarioDestinoId);
+        if (usuarioOrigenId.equals(usuarioDestinoId)) {
+            return Mono.error(new RuntimeException("No puedes dar like a ti mismo"));
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        // La inserción descarta los pares archivados, que el índice único no cubre
+        Mono<LikeResponseDTO> operacion = repositorioLikes.insertar(usuarioOrigenId, usuarioDestinoId, ahora)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Ya existe un like de este usuario")))
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new RuntimeException("Ya existe un like de este usuario"))
+                .flatMap(likeId -> repositorioMatches
+                        .crearMatchSiHayLikeReciproco(usuarioOrigenId, usuarioDestinoId, ahora)
+                        .map(creados -> creados > 0)
+                        .flatMap(esMatch -> registrarEfectos(usuarioOrigenId, usuarioDestinoId, esMatch, ahora)
+                                .thenReturn(new LikeResponseDTO(
+                                        likeId, usuarioOrigenId, usuarioDestinoId, ahora, esMatch))));
+        return transaccion.transactional(operacion)
+                .doOnNext(like -> {
+                    if (like.isEsMatch()) {
+                        log.info("¡Match creado entre {} y {}!", usuarioOrigenId, usuarioDestinoId);
+                    }
+                });
+    }
+
+    /**
+     * Escribe los eventos y contadores del like y, si lo hubo, del match.
+     * Las sentencias van una tras otra porque comparten la conexión de la transacción.
+     */
+    private Mono<Void> registrarEfectos(Long usuarioOrigenId, Long usuarioDestinoId, boolean esMatch,
+                                        LocalDateTime ahora) {
+        Mono<Void> efectosLike = repositorioSalida
+                .insertarEvento(EventoDominio.Tipo.LIKE_CREADO, usuarioOrigenId, usuarioDestinoId, ahora)
+                .then(repositorioSalida.sumarContadores(usuarioOrigenId, 0, 1, esMatch ? 1 : 0))
+                .then(repositorioSalida.sumarContadores(usuarioDestinoId, 1, 0, esMatch ? 1 : 0));
+        if (!esMatch) {
+            return efectosLike;
+        }
+        return efectosLike.then(repositorioSalida
+                .insertarEvento(EventoDominio.Tipo.MATCH_CREADO, usuarioOrigenId, usuarioDestinoId, ahora));
+    }
+
+    /**
+     * Obtiene una página de matches de un usuario con la información de la
+     * otra persona de cada match, consultada a ms-usuarios por lotes.
+     *
+     * @param usuarioId ID del usuario
+     * @param cursor Token de continuación de la página anterior, o null para la primera
+     * @param tamano Tamaño de página solicitado (se limita al máximo configurado)
+     * @return Página de matches con información de usuarios
+     */
+    public Mono<PaginaDTO<MatchResponseDTO>> obtenerMatchesDeUsuario(Long usuarioId, String cursor, int tamano) {
+        return Mono.defer(() -> {
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+            int limite = limitarTamanoPagina(tamano);
+            Flux<MatchResponseDTO> filas = posicion == null
+                    ? repositorioMatches.buscarPagina(usuarioId, limite + 1)
+                    : repositorioMatches.buscarPaginaDespuesDe(
+                            usuarioId, posicion.fechaCreacion(), posicion.id(), limite + 1);
+            return filas.collectList().flatMap(todos -> {
+                List<MatchResponseDTO> matches = todos.size() > limite ? todos.subList(0, limite) : todos;
+                String siguienteCursor = todos.size() > limite
+                        ? cursorDe(matches.get(limite - 1).getFechaCreacion(), matches.get(limite - 1).getId())
+                        : null;
+                Set<Long> contrapartes = matches.stream()
+                        .map(match -> obtenerContraparte(match, usuarioId))
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                return clienteUsuarios.obtenerResumenes(contrapartes).map(resultado -> {
+                    for (MatchResponseDTO match : matches) {
+                        match.setUsuarioInfo(resultado.resumenes().get(obtenerContraparte(match, usuarioId)));
+                        match.setInfoDegradada(resultado.degradado() && match.getUsuarioInfo() == null);
+                    }
+                    return new PaginaDTO<>(matches, siguienteCursor);
+                });
+            });
+        });
+    }
+
+    /**
+     * Obtiene una página de likes recibidos por un usuario, del más reciente al más antiguo.
+     *
+     * @param usuarioId ID del usuario
+     * @param cursor Token de continuación de la página anterior, o null para la primera
+     * @param tamano Tamaño de página solicitado (se limita al máximo configurado)
+     * @return Página de likes recibidos
+     */
+    public Mono<PaginaDTO<LikeResponseDTO>> obtenerLikesRecibidos(Long usuarioId, String cursor, int tamano) {
+        return Mono.defer(() -> {
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+            int limite = limitarTamanoPagina(tamano);
+            Flux<LikeResponseDTO> filas = posicion == null
+                    ? repositorioLikes.buscarRecibidos(usuarioId, limite + 1)
+                    : repositorioLikes.buscarRecibidosDespuesDe(
+                            usuarioId, posicion.fechaCreacion(), posicion.id(), limite + 1);
+            return filas.collectList().map(todos -> {
+                if (todos.size() <= limite) {
+                    return new PaginaDTO<>(todos, null);
+                }
+                List<LikeResponseDTO> likes = todos.subList(0, limite);
+                LikeResponseDTO ultimo = likes.get(limite - 1);
+                return new PaginaDTO<>(likes, cursorDe(ultimo.getFechaCreacion(), ultimo.getId()));
+            });
+        });
+    }
+
+    private Long obtenerContraparte(MatchResponseDTO match, Long usuarioId) {
+        return match.getUsuario1Id().equals(usuarioId) ? match.getUsuario2Id() : match.getUsuario1Id();
+    }
+
+    private static String cursorDe(LocalDateTime fechaCreacion, Long id) {
+        return new CursorPaginacion(fechaCreacion, id).codificar();
+    }
+
+    private int limitarTamanoPagina(int tamano) {
+        return Math.max(1, Math.min(tamano, tamanoMaximoPagina));
+    }
+}
@@ -0,0 +1,589 @@
+package udistrital.avanzada.tinderstandin.social.reconciliacion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import udistrital.avanzada.tinderstandin.social.contadores.AcumuladorContadores;
+import udistrital.avanzada.tinderstandin.social.contadores.DeltaContadores;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasReconciliacionDTO;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+import udistrital.avanzada.tinderstandin.social.eventos.PublicadorEventos;
+import udistrital.avanzada.tinderstandin.social.repositorios.ContadorRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.TarjetaMatchRepositorio;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Reconciliación de likes y matches: busca y repara las inconsistencias que
+ * dejaron escrituras concurrentes anteriores a los candados por par.
+ *
+ * <ul>
+ *   <li>Likes repetidos: el mismo par en la tabla de likes más de una vez, o
+ *   también en su archivo. Se conserva el más antiguo (el archivado, si lo
+ *   hay) y se descuenta el repetido de los contadores.</li>
+ *   <li>Matches repetidos: igual que los likes, con el par canónico; las
+ *   tarjetas del repetido pasan al match conservado.</li>
+ *   <li>Matches faltantes: pares con likes recíprocos (en likes o en su
+ *   archivo) sin match en ninguna de las dos tablas de matches. Se crea el
+ *   match con INSERT IGNORE y, si se insertó, su evento y sus contadores,
+ *   como si lo hubiera creado el segundo like.</li>
+ *   <li>Contadores descuadrados: usuarios cuyos contadores no coinciden con
+ *   el recuento de sus likes y matches, contando también los archivados. El
+ *   recuento se repite tras una espera mayor que el intervalo de escritura
+ *   del acumulador, y solo se corrige la diferencia que se mantuvo igual en
+ *   ambos: la que solo refleja incrementos aún no escritos (en este nodo o en
+ *   otro) cambia o desaparece entre un recuento y otro. La corrección se suma
+ *   como un incremento más, sin pisar los que se escriban entretanto.</li>
+ * </ul>
+ *
+ * <p>El espacio de IDs de usuario se divide en rangos de tamaño fijo que un
+ * pool de fork/join revisa en paralelo; cada rango se detecta con consultas
+ * sobre conjuntos y se repara por lotes, cada uno en su transacción y con una
+ * pausa entre lotes. El paralelismo, el tamaño de lote y la pausa acotan la
+ * carga sobre la base de datos mientras atiende tráfico real. Cada rango
+ * reparado se guarda como punto de control: una pasada interrumpida o con
+ * rangos fallidos se retoma en la siguiente ejecución, y una pasada completa
+ * borra los puntos de control para que la siguiente empiece de cero. En modo
+ * de prueba solo se cuenta lo encontrado, sin reparar ni guardar puntos de
+ * control.</p>
+ *
+ * <p>Con fragmentación los likes recíprocos y su match pueden estar en
+ * fragmentos distintos, así que la reconciliación solo se registra sin ella.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@ConditionalOnProperty(prefix = "social.fragmentacion", name = "habilitada", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class ReconciliadorSocial {
+
+    private static final String LIKES_DUPLICADOS =
+            "SELECT l.id, l.usuario_origen_id, l.usuario_destino_id FROM likes l " +
+            "WHERE l.usuario_origen_id >= :desde AND l.usuario_origen_id < :hasta " +
+            "AND (EXISTS (SELECT 1 FROM likes o WHERE o.usuario_origen_id = l.usuario_origen_id " +
+            "AND o.usuario_destino_id = l.usuario_destino_id AND o.id < l.id) " +
+            "OR EXISTS (SELECT 1 FROM likes_archivo a WHERE a.usuario_origen_id = l.usuario_origen_id " +
+            "AND a.usuario_destino_id = l.usuario_destino_id))";
+
+    private static final String MATCHES_DUPLICADOS =
+            "SELECT m.id, m.usuario1_id, m.usuario2_id FROM matches m " +
+            "WHERE m.usuario1_id >= :desde AND m.usuario1_id < :hasta " +
+            "AND (EXISTS (SELECT 1 FROM matches o WHERE o.usuario1_id = m.usuario1_id " +
+            "AND o.usuario2_id = m.usuario2_id AND o.id < m.id) " +
+            "OR EXISTS (SELECT 1 FROM matches_archivo a WHERE a.usuario1_id = m.usuario1_id " +
+            "AND a.usuario2_id = m.usuario2_id))";
+
+    // Cada par se revisa desde el like de su usuario menor, que cae en el rango
+    private static final String MATCHES_FALTANTES =
+            "SELECT DISTINCT l.usuario_origen_id, l.usuario_destino_id FROM (" +
+            "SELECT usuario_origen_id, usuario_destino_id FROM likes " +
+            "WHERE usuario_origen_id >= :desde AND usuario_origen_id < :hasta " +
+            "UNION ALL " +
+            "SELECT usuario_origen_id, usuario_destino_id FROM likes_archivo " +
+            "WHERE usuario_origen_id >= :desde AND usuario_origen_id < :hasta) l " +
+            "WHERE l.usuario_origen_id < l.usuario_destino_id " +
+            "AND (EXISTS (SELECT 1 FROM likes r WHERE r.usuario_origen_id = l.usuario_destino_id " +
+            "AND r.usuario_destino_id = l.usuario_origen_id) " +
+            "OR EXISTS (SELECT 1 FROM likes_archivo r WHERE r.usuario_origen_id = l.usuario_destino_id " +
+            "AND r.usuario_destino_id = l.usuario_origen_id)) " +
+            "AND NOT EXISTS (SELECT 1 FROM matches m WHERE m.usuario1_id = l.usuario_origen_id " +
+            "AND m.usuario2_id = l.usuario_destino_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM matches_archivo m WHERE m.usuario1_id = l.usuario_origen_id " +
+            "AND m.usuario2_id = l.usuario_destino_id)";
+
+    // Diferencia entre el recuento real y los contadores guardados de cada
+    // usuario del rango; la fila en cero de contadores_usuario hace aparecer a
+    // los usuarios con contadores pero sin likes ni matches
+    private static final String CONTADORES_DESCUADRADOS =
+            "SELECT r.usuario_id, " +
+            "r.recibidos - COALESCE(c.likes_recibidos, 0), " +
+            "r.enviados - COALESCE(c.likes_enviados, 0), " +
+            "r.con_match - COALESCE(c.matches, 0) FROM (" +
+            "SELECT usuario_id, SUM(recibidos) AS recibidos, SUM(enviados) AS enviados, " +
+            "SUM(con_match) AS con_match FROM (" +
+            "SELECT usuario_destino_id AS usuario_id, 1 AS recibidos, 0 AS enviados, 0 AS con_match FROM likes " +
+            "WHERE usuario_destino_id >= :desde AND usuario_destino_id < :hasta " +
+            "UNION ALL SELECT usuario_destino_id, 1, 0, 0 FROM likes_archivo " +
+            "WHERE usuario_destino_id >= :desde AND usuario_destino_id < :hasta " +
+            "UNION ALL SELECT usuario_origen_id, 0, 1, 0 FROM likes " +
+            "WHERE usuario_origen_id >= :desde AND usuario_origen_id < :hasta " +
+            "UNION ALL SELECT usuario_origen_id, 0, 1, 0 FROM likes_archivo " +
+            "WHERE usuario_origen_id >= :desde AND usuario_origen_id < :hasta " +
+            "UNION ALL SELECT usuario1_id, 0, 0, 1 FROM matches " +
+            "WHERE usuario1_id >= :desde AND usuario1_id < :hasta " +
+            "UNION ALL SELECT usuario2_id, 0, 0, 1 FROM matches " +
+            "WHERE usuario2_id >= :desde AND usuario2_id < :hasta " +
+            "UNION ALL SELECT usuario1_id, 0, 0, 1 FROM matches_archivo " +
+            "WHERE usuario1_id >= :desde AND usuario1_id < :hasta " +
+            "UNION ALL SELECT usuario2_id, 0, 0, 1 FROM matches_archivo " +
+            "WHERE usuario2_id >= :desde AND usuario2_id < :hasta " +
+            "UNION ALL SELECT usuario_id, 0, 0, 0 FROM contadores_usuario " +
+            "WHERE usuario_id >= :desde AND usuario_id < :hasta" +
+            ") conteos GROUP BY usuario_id) r " +
+            "LEFT JOIN contadores_usuario c ON c.usuario_id = r.usuario_id " +
+            "WHERE r.recibidos <> COALESCE(c.likes_recibidos, 0) " +
+            "OR r.enviados <> COALESCE(c.likes_enviados, 0) " +
+            "OR r.con_match <> COALESCE(c.matches, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PublicadorEventos publicadorEventos;
+    private final AcumuladorContadores acumuladorContadores;
+    private final TarjetaMatchRepositorio tarjetaMatchRepositorio;
+    private final ContadorRepositorio contadorRepositorio;
+    private final ForkJoinPool ejecutorReconciliacion;
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+    private volatile boolean detenido;
+    private volatile Pasada pasada;
+
+    @Value("${social.reconciliacion.habilitada:false}")
+    private boolean habilitada;
+
+    @Value("${social.reconciliacion.tamano-rango:10000}")
+    private long tamanoRango;
+
+    @Value("${social.reconciliacion.tamano-lote:200}")
+    private int tamanoLote;
+
+    @Value("${social.reconciliacion.pausa-entre-lotes-ms:50}")
+    private long pausaEntreLotesMs;
+
+    @Value("${social.reconciliacion.espera-contadores-ms:5000}")
+    private long esperaContadoresMs;
+
+    public ReconciliadorSocial(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                               TransactionTemplate transactionTemplate, PublicadorEventos publicadorEventos,
+                               AcumuladorContadores acumuladorContadores,
+                               TarjetaMatchRepositorio tarjetaMatchRepositorio,
+                               ContadorRepositorio contadorRepositorio,
+                               @Qualifier("ejecutorReconciliacion") ForkJoinPool ejecutorReconciliacion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.publicadorEventos = publicadorEventos;
+        this.acumuladorContadores = acumuladorContadores;
+        this.tarjetaMatchRepositorio = tarjetaMatchRepositorio;
+        this.contadorRepositorio = contadorRepositorio;
+        this.ejecutorReconciliacion = ejecutorReconciliacion;
+    }
+
+    /**
+     * Ejecución periódica de la reconciliación, si está habilitada.
+     */
+    @Scheduled(fixedDelayString = "${social.reconciliacion.intervalo-ms:86400000}",
+               initialDelayString = "${social.reconciliacion.intervalo-ms:86400000}")
+    public void reconciliarPeriodicamente() {
+        if (!habilitada) {
+            return;
+        }
+        try {
+            iniciar(false);
+        } catch (IllegalStateException e) {
+            log.debug("Reconciliación omitida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Inicia una pasada de reconciliación en segundo plano, retomando la
+     * anterior si quedó incompleta.
+     *
+     * @param modoPrueba true para solo contar las inconsistencias, sin repararlas
+     * @return Estado de la pasada recién iniciada
+     * @throws IllegalStateException si ya hay una reconciliación en curso
+     */
+    public EstadisticasReconciliacionDTO iniciar(boolean modoPrueba) {
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay una reconciliación en curso");
+        }
+        detenido = false;
+        pasada = new Pasada(modoPrueba);
+        try {
+            ejecutorReconciliacion.execute(new TareaPasada(pasada));
+        } catch (RuntimeException e) {
+            pasada.terminar();
+            enCurso.set(false);
+            throw e;
+        }
+        log.info("Reconciliación iniciada{}", modoPrueba ? " en modo de prueba" : "");
+        return obtenerEstadisticas();
+    }
+
+    /**
+     * Pide detener la pasada en curso. Los rangos ya reparados quedan como
+     * puntos de control y la siguiente pasada continúa desde ahí.
+     *
+     * @return true si había una pasada en curso
+     */
+    public boolean detener() {
+        detenido = true;
+        return enCurso.get();
+    }
+
+    /**
+     * Obtiene el avance de la pasada en curso o el resultado de la última.
+     *
+     * @return DTO con las métricas
+     */
+    public EstadisticasReconciliacionDTO obtenerEstadisticas() {
+        Pasada actual = pasada;
+        if (actual == null) {
+            return new EstadisticasReconciliacionDTO();
+        }
+        return actual.estadisticas(enCurso.get());
+    }
+
+    /**
+     * Revisa un rango de IDs de usuario y, fuera del modo de prueba, repara
+     * lo encontrado y guarda el punto de control.
+     */
+    private void reconciliarRango(Pasada actual, long desde, long hasta) {
+        MapSqlParameterSource rango = new MapSqlParameterSource()
+                .addValue("desde", desde)
+                .addValue("hasta", hasta);
+        List<long[]> likesRepetidos = namedJdbcTemplate.query(LIKES_DUPLICADOS, rango,
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+        List<long[]> matchesRepetidos = namedJdbcTemplate.query(MATCHES_DUPLICADOS, rango,
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+        List<long[]> faltantes = namedJdbcTemplate.query(MATCHES_FALTANTES, rango,
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        actual.likesDuplicados.add(likesRepetidos.size());
+        actual.matchesDuplicados.add(matchesRepetidos.size());
+        actual.matchesFaltantes.add(faltantes.size());
+        if (actual.modoPrueba) {
+            actual.contadoresDescuadrados.add(buscarContadoresDescuadrados(rango).size());
+            return;
+        }
+
+        for (List<long[]> lote : enLotes(likesRepetidos)) {
+            actual.likesEliminados.add(eliminar("likes", lote, eliminadas ->
+                    agruparPorPrimerUsuario(eliminadas).forEach(acumuladorContadores::descontarLikesTrasCommit)));
+            pausar();
+        }
+        for (List<long[]> lote : enLotes(matchesRepetidos)) {
+            actual.matchesEliminados.add(eliminar("matches", lote, eliminadas -> {
+                agruparPorPrimerUsuario(eliminadas).forEach(acumuladorContadores::descontarMatchesTrasCommit);
+                tarjetaMatchRepositorio.reasignarMatchesEliminados(eliminadas);
+            }));
+            pausar();
+        }
+        for (List<long[]> lote : enLotes(faltantes)) {
+            actual.matchesCreados.add(crearMatches(lote));
+            pausar();
+        }
+        actual.contadoresCorregidos.add(corregirContadores(actual, rango));
+        jdbcTemplate.update(
+                "INSERT INTO reconciliacion_puntos_control " +
+                "(rango_inicio, rango_fin, likes_duplicados, matches_duplicados, matches_faltantes, fecha_completado) " +
+                "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE rango_fin = VALUES(rango_fin), " +
+                "likes_duplicados = VALUES(likes_duplicados), matches_duplicados = VALUES(matches_duplicados), " +
+                "matches_faltantes = VALUES(matches_faltantes), fecha_completado = VALUES(fecha_completado)",
+                desde, hasta, likesRepetidos.size(), matchesRepetidos.size(), faltantes.size(),
+                Timestamp.valueOf(LocalDateTime.now()));
+        if (!likesRepetidos.isEmpty() || !matchesRepetidos.isEmpty() || !faltantes.isEmpty()) {
+            log.info("Rango [{}, {}) reconciliado: {} likes repetidos, {} matches repetidos, {} matches faltantes",
+                    desde, hasta, likesRepetidos.size(), matchesRepetidos.size(), faltantes.size());
+        }
+    }
+
+    /**
+     * Borra un lote de filas repetidas de likes o matches y aplica los efectos
+     * (contadores, tarjetas) solo a las que seguían ahí (el archivado pudo
+     * moverlas entretanto). Filas: id, primer usuario, segundo usuario.
+     */
+    private int eliminar(String tabla, List<long[]> filas, Consumer<List<long[]>> alEliminar) {
+        return transactionTemplate.execute(estado -> {
+            int[] resultados = jdbcTemplate.batchUpdate("DELETE FROM " + tabla + " WHERE id = ?",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement sentencia, int i) throws SQLException {
+                            sentencia.setLong(1, filas.get(i)[0]);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return filas.size();
+                        }
+                    });
+            List<long[]> eliminadas = new ArrayList<>();
+            for (int i = 0; i < resultados.length; i++) {
+                if (resultados[i] > 0 || resultados[i] == Statement.SUCCESS_NO_INFO) {
+                    eliminadas.add(filas.get(i));
+                }
+            }
+            alEliminar.accept(eliminadas);
+            return eliminadas.size();
+        });
+    }
+
+    /**
+     * Crea los matches faltantes de un lote; los que el tráfico real haya
+     * creado entretanto se descartan por el índice único y no generan evento.
+     * Filas: usuario menor, usuario mayor.
+     */
+    private int crearMatches(List<long[]> pares) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return transactionTemplate.execute(estado -> {
+            Map<Long, List<Long>> creados = new LinkedHashMap<>();
+            int total = 0;
+            for (long[] par : pares) {
+                int insertados = jdbcTemplate.update(
+                        "INSERT IGNORE INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) " +
+                        "VALUES (?, ?, ?, 1)", par[0], par[1], Timestamp.valueOf(ahora));
+                if (insertados > 0) {
+                    creados.computeIfAbsent(par[0], k -> new ArrayList<>()).add(par[1]);
+                    total++;
+                }
+            }
+            creados.forEach((usuarioId, otros) -> {
+                publicadorEventos.registrarVarios(EventoDominio.Tipo.MATCH_CREADO, usuarioId, otros);
+                acumuladorContadores.registrarMatchesTrasCommit(usuarioId, otros);
+            });
+            return total;
+        });
+    }
+
+    /**
+     * Corrige los contadores descuadrados de un rango de usuarios: recuenta,
+     * espera a que los acumuladores escriban sus incrementos y vuelve a
+     * recontar, y suma la diferencia solo a los usuarios cuyo descuadre se
+     * mantuvo igual. Las diferencias se calculan después de reparar el rango,
+     * así que ya incluyen los descuentos de los repetidos eliminados.
+     *
+     * @return Usuarios corregidos
+     */
+    private int corregirContadores(Pasada actual, MapSqlParameterSource rango) {
+        Map<Long, DeltaContadores> primero = buscarContadoresDescuadrados(rango);
+        actual.contadoresDescuadrados.add(primero.size());
+        if (primero.isEmpty()) {
+            return 0;
+        }
+        esperar(esperaContadoresMs);
+        List<DeltaContadores> correcciones = new ArrayList<>();
+        buscarContadoresDescuadrados(rango).forEach((usuarioId, diferencia) -> {
+            if (diferencia.equals(primero.get(usuarioId))) {
+                correcciones.add(diferencia);
+            }
+        });
+        for (int inicio = 0; inicio < correcciones.size(); inicio += tamanoLote) {
+            contadorRepositorio.sumarDeltas(
+                    correcciones.subList(inicio, Math.min(inicio + tamanoLote, correcciones.size())));
+            pausar();
+        }
+        return correcciones.size();
+    }
+
+    /**
+     * Diferencias entre el recuento real y los contadores guardados, por
+     * usuario del rango.
+     */
+    private Map<Long, DeltaContadores> buscarContadoresDescuadrados(MapSqlParameterSource rango) {
+        Map<Long, DeltaContadores> diferencias = new LinkedHashMap<>();
+        namedJdbcTemplate.query(CONTADORES_DESCUADRADOS, rango, rs -> {
+            diferencias.put(rs.getLong(1),
+                    new DeltaContadores(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+        });
+        return diferencias;
+    }
+
+    /**
+     * Agrupa filas (id, usuario, otro usuario) por el primer usuario.
+     */
+    private static Map<Long, List<Long>> agruparPorPrimerUsuario(List<long[]> filas) {
+        Map<Long, List<Long>> grupos = new LinkedHashMap<>();
+        for (long[] fila : filas) {
+            grupos.computeIfAbsent(fila[1], k -> new ArrayList<>()).add(fila[2]);
+        }
+        return grupos;
+    }
+
+    private List<List<long[]>> enLotes(List<long[]> filas) {
+        List<List<long[]>> lotes = new ArrayList<>();
+        for (int inicio = 0; inicio < filas.size(); inicio += tamanoLote) {
+            lotes.add(filas.subList(inicio, Math.min(inicio + tamanoLote, filas.size())));
+        }
+        return lotes;
+    }
+
+    private void pausar() {
+        esperar(pausaEntreLotesMs);
+    }
+
+    private static void esperar(long milisegundos) {
+        if (milisegundos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Reconciliación interrumpida");
+        }
+    }
+
+    /**
+     * Calcula los rangos de la pasada, reparte los pendientes en el pool y,
+     * si no quedó ninguno sin revisar, borra los puntos de control.
+     */
+    private final class TareaPasada extends RecursiveAction {
+
+        private final Pasada actual;
+
+        TareaPasada(Pasada actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                Long maximo = jdbcTemplate.queryForObject(
+                        "SELECT MAX(id) FROM (" +
+                        "SELECT MAX(usuario_origen_id) AS id FROM likes " +
+                        "UNION ALL SELECT MAX(usuario_origen_id) FROM likes_archivo " +
+                        "UNION ALL SELECT MAX(usuario_destino_id) FROM likes " +
+                        "UNION ALL SELECT MAX(usuario_destino_id) FROM likes_archivo " +
+                        "UNION ALL SELECT MAX(usuario2_id) FROM matches " +
+                        "UNION ALL SELECT MAX(usuario2_id) FROM matches_archivo " +
+                        "UNION ALL SELECT MAX(usuario_id) FROM contadores_usuario) maximos", Long.class);
+                long cantidadRangos = maximo == null ? 0 : maximo / tamanoRango + 1;
+                Set<Long> revisados = actual.modoPrueba ? Set.of() : new HashSet<>(jdbcTemplate.queryForList(
+                        "SELECT rango_inicio FROM reconciliacion_puntos_control WHERE rango_fin = rango_inicio + ?",
+                        Long.class, tamanoRango));
+                actual.rangosTotales = cantidadRangos;
+                invokeAll(new TareaRangos(actual, 0, cantidadRangos, revisados));
+
+                if (actual.modoPrueba || detenido || actual.rangosFallidos.sum() > 0) {
+                    log.info("Reconciliación terminada sin completar la pasada: {}", obtenerEstadisticas());
+                } else {
+                    jdbcTemplate.update("DELETE FROM reconciliacion_puntos_control");
+                    log.info("Reconciliación completa: {}", obtenerEstadisticas());
+                }
+            } catch (RuntimeException e) {
+                log.error("Error en la reconciliación: {}", e.getMessage());
+            } finally {
+                actual.terminar();
+                enCurso.set(false);
+            }
+        }
+    }
+
+    /**
+     * Revisa los rangos [primero, ultimo) dividiéndolos a la mitad hasta
+     * llegar a uno solo.
+     */
+    private final class TareaRangos extends RecursiveAction {
+
+        private final Pasada actual;
+        private final long primero;
+        private final long ultimo;
+        private final Set<Long> revisados;
+
+        TareaRangos(Pasada actual, long primero, long ultimo, Set<Long> revisados) {
+            this.actual = actual;
+            this.primero = primero;
+            this.ultimo = ultimo;
+            this.revisados = revisados;
+        }
+
+        @Override
+        protected void compute() {
+            if (ultimo - primero > 1) {
+                long medio = (primero + ultimo) >>> 1;
+                invokeAll(new TareaRangos(actual, primero, medio, revisados),
+                          new TareaRangos(actual, medio, ultimo, revisados));
+                return;
+            }
+            if (ultimo == primero || detenido) {
+                return;
+            }
+            long desde = primero * tamanoRango;
+            if (revisados.contains(desde)) {
+                actual.rangosOmitidos.increment();
+                return;
+            }
+            try {
+                reconciliarRango(actual, desde, desde + tamanoRango);
+                actual.rangosCompletados.increment();
+            } catch (RuntimeException e) {
+                actual.rangosFallidos.increment();
+                log.error("Error al reconciliar el rango [{}, {}): {}", desde, desde + tamanoRango, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Métricas de una pasada, actualizadas por los hilos del pool.
+     */
+    private static final class Pasada {
+
+        private final boolean modoPrueba;
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private final long inicioNanos = System.nanoTime();
+        private volatile long finNanos;
+        private volatile long rangosTotales;
+        private final LongAdder rangosCompletados = new LongAdder();
+        private final LongAdder rangosOmitidos = new LongAdder();
+        private final LongAdder rangosFallidos = new LongAdder();
+        private final LongAdder likesDuplicados = new LongAdder();
+        private final LongAdder likesEliminados = new LongAdder();
+        private final LongAdder matchesDuplicados = new LongAdder();
+        private final LongAdder matchesEliminados = new LongAdder();
+        private final LongAdder matchesFaltantes = new LongAdder();
+        private final LongAdder matchesCreados = new LongAdder();
+        private final LongAdder contadoresDescuadrados = new LongAdder();
+        private final LongAdder contadoresCorregidos = new LongAdder();
+
+        Pasada(boolean modoPrueba) {
+            this.modoPrueba = modoPrueba;
+        }
+
+        void terminar() {
+            finNanos = System.nanoTime();
+        }
+
+        EstadisticasReconciliacionDTO estadisticas(boolean enCurso) {
+            long fin = finNanos;
+            return new EstadisticasReconciliacionDTO(
+                    enCurso,
+                    modoPrueba,
+                    rangosTotales,
+                    rangosCompletados.sum(),
+                    rangosOmitidos.sum(),
+                    rangosFallidos.sum(),
+                    likesDuplicados.sum(),
+                    likesEliminados.sum(),
+                    matchesDuplicados.sum(),
+                    matchesEliminados.sum(),
+                    matchesFaltantes.sum(),
+                    matchesCreados.sum(),
+                    contadoresDescuadrados.sum(),
+                    contadoresCorregidos.sum(),
+                    inicio,
+                    ((fin == 0 ? System.nanoTime() : fin) - inicioNanos) / 1_000_000
+            );
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package udistrital.avanzada.tinderstandin.social.replicacion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import udistrital.avanzada.tinderstandin.social.dto.EstadoReplicaDTO;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Elige la réplica que atiende cada transacción de solo lectura.
+ * Reparte por turnos entre las réplicas disponibles; una verificación
+ * periódica descarta las que no responden o cuyo retraso de replicación
+ * supera el máximo, y las reincorpora cuando se recuperan.
+ *
+ * @author AndGar03
+ */
+@Slf4j
+public class SelectorReplicas {
+
+    // Segundos de espera al validar una conexión de réplica
+    private static final int ESPERA_VALIDACION_SEGUNDOS = 2;
+
+    private final List<EstadoReplica> replicas = new ArrayList<>();
+    private final AtomicInteger turno = new AtomicInteger();
+    private final long retrasoMaximoSegundos;
+    private final boolean verificarRetraso;
+
+    /**
+     * @param dataSources Datasources de las réplicas por nombre
+     * @param retrasoMaximoSegundos Retraso de replicación máximo tolerado
+     * @param verificarRetraso Si se consulta el retraso de replicación
+     */
+    public SelectorReplicas(Map<String, DataSource> dataSources, long retrasoMaximoSegundos, boolean verificarRetraso) {
+        dataSources.forEach((nombre, dataSource) -> replicas.add(new EstadoReplica(nombre, dataSource)));
+        this.retrasoMaximoSegundos = retrasoMaximoSegundos;
+        this.verificarRetraso = verificarRetraso;
+    }
+
+    /**
+     * Elige la siguiente réplica disponible.
+     *
+     * @return Nombre de la réplica, o null si ninguna está disponible
+     */
+    public String elegir() {
+        int total = replicas.size();
+        int inicio = Math.floorMod(turno.getAndIncrement(), Math.max(total, 1));
+        for (int i = 0; i < total; i++) {
+            EstadoReplica replica = replicas.get((inicio + i) % total);
+            if (replica.disponible) {
+                return replica.nombre;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Verifica la conexión y el retraso de cada réplica.
+     */
+    @Scheduled(fixedDelayString = "${social.replicacion.intervalo-salud-ms:5000}",
+            initialDelayString = "${social.replicacion.intervalo-salud-ms:5000}")
+    public void verificarReplicas() {
+        for (EstadoReplica replica : replicas) {
+            boolean disponible;
+            String motivo = null;
+            try (Connection conexion = replica.dataSource.getConnection()) {
+                if (!conexion.isValid(ESPERA_VALIDACION_SEGUNDOS)) {
+                    disponible = false;
+                    motivo = "conexión inválida";
+                } else if (verificarRetraso) {
+                    Long retraso = consultarRetraso(conexion);
+                    replica.retrasoSegundos = retraso == null ? -1 : retraso;
+                    disponible = retraso != null && retraso <= retrasoMaximoSegundos;
+                    motivo = retraso == null ? "replicación detenida" : "retraso de " + retraso + " s";
+                } else {
+                    disponible = true;
+                }
+            } catch (SQLException e) {
+                disponible = false;
+                motivo = e.getMessage();
+            }
+            if (disponible != replica.disponible) {
+                if (disponible) {
+                    log.info("Réplica {} disponible para lecturas", replica.nombre);
+                } else {
+                    log.warn("Réplica {} fuera de servicio para lecturas: {}", replica.nombre, motivo);
+                }
+            }
+            replica.disponible = disponible;
+        }
+    }
+
+    /**
+     * Obtiene los datasources de las réplicas por nombre.
+     *
+     * @return Datasources de las réplicas
+     */
+    public Map<String, DataSource> obtenerDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.nombre, replica.dataSource));
+        return dataSources;
+    }
+
+    /**
+     * Obtiene el estado actual de las réplicas.
+     *
+     * @return Estado de cada réplica
+     */
+    public List<EstadoReplicaDTO> obtenerEstados() {
+        return replicas.stream()
+                .map(r -> new EstadoReplicaDTO(r.nombre, r.disponible, r.retrasoSegundos))
+                .toList();
+    }
+
+    /**
+     * Lee el retraso de replicación de MySQL. Un servidor sin replicación
+     * configurada se considera al día; una replicación detenida no tiene retraso conocido.
+     */
+    private Long consultarRetraso(Connection conexion) throws SQLException {
+        try (Statement sentencia = conexion.createStatement();
+             ResultSet resultado = sentencia.executeQuery("SHOW REPLICA STATUS")) {
+            if (!resultado.next()) {
+                return 0L;
+            }
+            long retraso = resultado.getLong("Seconds_Behind_Source");
+            return resultado.wasNull() ? null : retraso;
+        }
+    }
+
+    private static class EstadoReplica {
+
+        private final String nombre;
+        private final DataSource dataSource;
+        private volatile boolean disponible;
+        private volatile long retrasoSegundos = -1;
+
+        private EstadoReplica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+    }
+}
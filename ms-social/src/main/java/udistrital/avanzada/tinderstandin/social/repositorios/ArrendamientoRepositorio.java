@@ -0,0 +1,59 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio JDBC de los arrendamientos de tareas exclusivas. Una instancia
+ * tiene la tarea mientras su arrendamiento no venza; cada sentencia es
+ * atómica, así que dos instancias no pueden tomarla a la vez.
+ *
+ * @author AndGar03
+ */
+@Repository
+public class ArrendamientoRepositorio {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArrendamientoRepositorio(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Toma o renueva el arrendamiento de una tarea. Se concede si nadie lo
+     * tiene, si ya era de este propietario o si el anterior venció.
+     *
+     * @param nombre Nombre de la tarea
+     * @param propietario Identificador de la instancia
+     * @param ahora Fecha actual
+     * @param vence Nueva fecha de vencimiento
+     * @return true si la instancia tiene el arrendamiento hasta la fecha indicada
+     */
+    public boolean adquirir(String nombre, String propietario, LocalDateTime ahora, LocalDateTime vence) {
+        int renovados = jdbcTemplate.update(
+                "UPDATE arrendamientos SET propietario = ?, vence = ? " +
+                "WHERE nombre = ? AND (propietario = ? OR vence < ?)",
+                propietario, Timestamp.valueOf(vence), nombre, propietario, Timestamp.valueOf(ahora));
+        if (renovados > 0) {
+            return true;
+        }
+        return jdbcTemplate.update(
+                "INSERT IGNORE INTO arrendamientos (nombre, propietario, vence) VALUES (?, ?, ?)",
+                nombre, propietario, Timestamp.valueOf(vence)) > 0;
+    }
+
+    /**
+     * Libera el arrendamiento de una tarea para que otra instancia lo tome
+     * sin esperar a que venza.
+     *
+     * @param nombre Nombre de la tarea
+     * @param propietario Identificador de la instancia
+     */
+    public void liberar(String nombre, String propietario) {
+        jdbcTemplate.update("DELETE FROM arrendamientos WHERE nombre = ? AND propietario = ?",
+                nombre, propietario);
+    }
+}
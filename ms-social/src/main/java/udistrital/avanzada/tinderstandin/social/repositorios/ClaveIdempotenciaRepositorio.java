@@ -0,0 +1,133 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.social.idempotencia.RespuestaIdempotente;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio JDBC de las claves de idempotencia. Cada clave se reclama
+ * insertando su fila antes de ejecutar la escritura (sin código de estado
+ * mientras está en curso), así que la clave primaria decide qué instancia la
+ * ejecuta; la respuesta se completa después en la misma transacción que la
+ * escritura.
+ *
+ * @author AndGar03
+ */
+@Repository
+public class ClaveIdempotenciaRepositorio {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClaveIdempotenciaRepositorio(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Busca el registro de una clave, en curso o completado.
+     *
+     * @param clave Clave con su ámbito
+     * @return Registro de la clave, si existe
+     */
+    public Optional<ClaveRegistrada> buscar(String clave) {
+        return jdbcTemplate.query(
+                "SELECT huella, propietario, codigo_estado, cuerpo, fecha_creacion " +
+                "FROM claves_idempotencia WHERE clave = ?",
+                (fila, numero) -> {
+                    int codigoEstado = fila.getInt("codigo_estado");
+                    RespuestaIdempotente respuesta = fila.wasNull()
+                            ? null
+                            : new RespuestaIdempotente(fila.getString("huella"), codigoEstado, fila.getString("cuerpo"));
+                    return new ClaveRegistrada(fila.getString("huella"), fila.getString("propietario"),
+                            fila.getTimestamp("fecha_creacion").toLocalDateTime(), respuesta);
+                },
+                clave).stream().findFirst();
+    }
+
+    /**
+     * Reclama una clave nueva dejándola en curso.
+     *
+     * @param clave Clave con su ámbito
+     * @param huella Huella de la petición
+     * @param propietario Identificador de este reclamo
+     * @param fecha Fecha del reclamo
+     * @return true si la clave no existía y quedó reclamada
+     */
+    public boolean reclamar(String clave, String huella, String propietario, LocalDateTime fecha) {
+        return jdbcTemplate.update(
+                "INSERT IGNORE INTO claves_idempotencia (clave, huella, propietario, fecha_creacion) " +
+                "VALUES (?, ?, ?, ?)",
+                clave, huella, propietario, Timestamp.valueOf(fecha)) > 0;
+    }
+
+    /**
+     * Retoma una clave que quedó en curso, por ejemplo porque la instancia que
+     * la reclamó cayó antes de confirmar la escritura.
+     *
+     * @param clave Clave con su ámbito
+     * @param propietarioAnterior Reclamo abandonado
+     * @param propietario Identificador del nuevo reclamo
+     * @param fecha Fecha del nuevo reclamo
+     * @return true si la clave seguía en curso con el reclamo anterior y quedó retomada
+     */
+    public boolean retomar(String clave, String propietarioAnterior, String propietario, LocalDateTime fecha) {
+        return jdbcTemplate.update(
+                "UPDATE claves_idempotencia SET propietario = ?, fecha_creacion = ? " +
+                "WHERE clave = ? AND propietario = ? AND codigo_estado IS NULL",
+                propietario, Timestamp.valueOf(fecha), clave, propietarioAnterior) > 0;
+    }
+
+    /**
+     * Guarda la respuesta de una clave en curso. Debe ejecutarse en la misma
+     * transacción que la escritura para que ambas se confirmen juntas.
+     *
+     * @param clave Clave con su ámbito
+     * @param propietario Reclamo que ejecutó la escritura
+     * @param respuesta Respuesta a guardar
+     * @return true si el reclamo seguía vigente y la respuesta quedó guardada
+     */
+    public boolean completar(String clave, String propietario, RespuestaIdempotente respuesta) {
+        return jdbcTemplate.update(
+                "UPDATE claves_idempotencia SET codigo_estado = ?, cuerpo = ? " +
+                "WHERE clave = ? AND propietario = ? AND codigo_estado IS NULL",
+                respuesta.codigoEstado(), respuesta.cuerpo(), clave, propietario) > 0;
+    }
+
+    /**
+     * Libera una clave en curso cuya escritura falló, para que un reintento
+     * la vuelva a ejecutar.
+     *
+     * @param clave Clave con su ámbito
+     * @param propietario Reclamo que falló
+     */
+    public void liberar(String clave, String propietario) {
+        jdbcTemplate.update(
+                "DELETE FROM claves_idempotencia WHERE clave = ? AND propietario = ? AND codigo_estado IS NULL",
+                clave, propietario);
+    }
+
+    /**
+     * Elimina las claves creadas antes de la fecha indicada.
+     *
+     * @param limite Fecha límite (exclusiva)
+     * @return Número de claves eliminadas
+     */
+    public int eliminarAnterioresA(LocalDateTime limite) {
+        return jdbcTemplate.update("DELETE FROM claves_idempotencia WHERE fecha_creacion < ?", Timestamp.valueOf(limite));
+    }
+
+    /**
+     * Registro de una clave.
+     *
+     * @param huella Huella de la petición que la reclamó
+     * @param propietario Reclamo vigente
+     * @param fechaReclamo Fecha del reclamo vigente
+     * @param respuesta Respuesta guardada, o null si la escritura sigue en curso
+     */
+    public record ClaveRegistrada(String huella, String propietario, LocalDateTime fechaReclamo,
+                                  RespuestaIdempotente respuesta) {
+    }
+}
@@ -0,0 +1,62 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.social.contadores.DeltaContadores;
+
+import java.util.List;
+
+/**
+ * Repositorio JDBC de la tabla de contadores por usuario.
+ *
+ * @author AndGar03
+ */
+@Repository
+public class ContadorRepositorio {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${social.likes.tamano-lote-jdbc:100}")
+    private int tamanoLoteJdbc;
+    
+    public ContadorRepositorio(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Suma los incrementos a los contadores de cada usuario, creando la fila si no existe.
+     * 
+     * @param deltas Incrementos por usuario
+     */
+    public void sumarDeltas(List<DeltaContadores> deltas) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO contadores_usuario (usuario_id, likes_recibidos, likes_enviados, matches) " +
+                "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                "likes_recibidos = likes_recibidos + VALUES(likes_recibidos), " +
+                "likes_enviados = likes_enviados + VALUES(likes_enviados), " +
+                "matches = matches + VALUES(matches)",
+                deltas, tamanoLoteJdbc,
+                (ps, delta) -> {
+                    ps.setLong(1, delta.usuarioId());
+                    ps.setLong(2, delta.likesRecibidos());
+                    ps.setLong(3, delta.likesEnviados());
+                    ps.setLong(4, delta.matches());
+                });
+    }
+    
+    /**
+     * Obtiene los contadores guardados de un usuario.
+     * 
+     * @param usuarioId ID del usuario
+     * @return Contadores del usuario (en cero si no tiene fila)
+     */
+    public DeltaContadores buscarPorUsuario(Long usuarioId) {
+        List<DeltaContadores> filas = jdbcTemplate.query(
+                "SELECT likes_recibidos, likes_enviados, matches FROM contadores_usuario WHERE usuario_id = ?",
+                (rs, fila) -> new DeltaContadores(usuarioId,
+                        rs.getLong("likes_recibidos"), rs.getLong("likes_enviados"), rs.getLong("matches")),
+                usuarioId);
+        return filas.isEmpty() ? new DeltaContadores(usuarioId, 0, 0, 0) : filas.get(0);
+    }
+}
@@ -0,0 +1,166 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repositorio JDBC de la tabla de salida de eventos de dominio.
+ * Las inserciones se envían como lotes JDBC dentro de la transacción
+ * que las origina.
+ *
+ * @author AndGar03
+ */
+@Repository
+public class EventoSalidaRepositorio {
+    
+    public static final String ESTADO_PENDIENTE = "PENDIENTE";
+    public static final String ESTADO_FALLIDO = "FALLIDO";
+    
+    private static final int LONGITUD_MAXIMA_ERROR = 500;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    @Value("${social.likes.tamano-lote-jdbc:100}")
+    private int tamanoLoteJdbc;
+    
+    public EventoSalidaRepositorio(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+    
+    /**
+     * Inserta eventos de un mismo tipo entre un usuario y varios otros.
+     * 
+     * @param tipo Tipo de evento
+     * @param usuarioOrigenId ID del usuario que originó los eventos
+     * @param usuariosDestinoIds IDs de los otros usuarios
+     * @param fechaCreacion Fecha de los eventos
+     */
+    public void insertar(EventoDominio.Tipo tipo, Long usuarioOrigenId,
+                         List<Long> usuariosDestinoIds, LocalDateTime fechaCreacion) {
+        Timestamp fecha = Timestamp.valueOf(fechaCreacion);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO eventos_salida (tipo, clave_orden, usuario_origen_id, usuario_destino_id, " +
+                "fecha_creacion, estado, intentos, proximo_intento) VALUES (?, ?, ?, ?, ?, ?, 0, ?)",
+                usuariosDestinoIds, tamanoLoteJdbc,
+                (ps, destino) -> {
+                    ps.setString(1, tipo.name());
+                    ps.setString(2, EventoDominio.claveDelPar(usuarioOrigenId, destino));
+                    ps.setLong(3, usuarioOrigenId);
+                    ps.setLong(4, destino);
+                    ps.setTimestamp(5, fecha);
+                    ps.setString(6, ESTADO_PENDIENTE);
+                    ps.setTimestamp(7, fecha);
+                });
+    }
+    
+    /**
+     * Obtiene los eventos pendientes listos para despacho, en orden de inserción.
+     * 
+     * @param ahora Fecha actual
+     * @param limite Número máximo de eventos
+     * @return Eventos pendientes
+     */
+    public List<EventoDominio> buscarPendientes(LocalDateTime ahora, int limite) {
+        return jdbcTemplate.query(
+                "SELECT id, tipo, clave_orden, usuario_origen_id, usuario_destino_id, fecha_creacion, intentos " +
+                "FROM eventos_salida WHERE estado = ? AND proximo_intento <= ? ORDER BY id LIMIT ?",
+                (rs, fila) -> new EventoDominio(
+                        rs.getLong("id"),
+                        EventoDominio.Tipo.valueOf(rs.getString("tipo")),
+                        rs.getString("clave_orden"),
+                        rs.getLong("usuario_origen_id"),
+                        rs.getLong("usuario_destino_id"),
+                        rs.getTimestamp("fecha_creacion").toLocalDateTime(),
+                        rs.getInt("intentos")),
+                ESTADO_PENDIENTE, Timestamp.valueOf(ahora), limite);
+    }
+    
+    /**
+     * Obtiene las claves de orden con algún evento pendiente esperando reintento.
+     * 
+     * @param ahora Fecha actual
+     * @return Claves de orden bloqueadas
+     */
+    public Set<String> buscarClavesEnEspera(LocalDateTime ahora) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT clave_orden FROM eventos_salida WHERE estado = ? AND proximo_intento > ?",
+                String.class, ESTADO_PENDIENTE, Timestamp.valueOf(ahora)));
+    }
+    
+    /**
+     * Elimina los eventos ya despachados.
+     * 
+     * @param ids IDs de los eventos
+     */
+    public void eliminar(Collection<Long> ids) {
+        namedJdbcTemplate.update("DELETE FROM eventos_salida WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+    
+    /**
+     * Programa un nuevo intento de despacho de un evento.
+     * 
+     * @param id ID del evento
+     * @param intentos Número de intentos fallidos
+     * @param proximoIntento Fecha del siguiente intento
+     * @param error Mensaje del último error
+     */
+    public void programarReintento(Long id, int intentos, LocalDateTime proximoIntento, String error) {
+        jdbcTemplate.update(
+                "UPDATE eventos_salida SET intentos = ?, proximo_intento = ?, ultimo_error = ? WHERE id = ?",
+                intentos, Timestamp.valueOf(proximoIntento), recortar(error), id);
+    }
+    
+    /**
+     * Marca un evento como fallido para que no se vuelva a despachar.
+     * 
+     * @param id ID del evento
+     * @param intentos Número de intentos fallidos
+     * @param error Mensaje del último error
+     */
+    public void marcarFallido(Long id, int intentos, String error) {
+        jdbcTemplate.update(
+                "UPDATE eventos_salida SET estado = ?, intentos = ?, ultimo_error = ? WHERE id = ?",
+                ESTADO_FALLIDO, intentos, recortar(error), id);
+    }
+    
+    /**
+     * Cuenta los eventos en un estado.
+     * 
+     * @param estado Estado de los eventos
+     * @return Número de eventos
+     */
+    public long contarPorEstado(String estado) {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM eventos_salida WHERE estado = ?", Long.class, estado);
+        return total == null ? 0 : total;
+    }
+    
+    /**
+     * Obtiene la fecha del evento pendiente más antiguo.
+     * 
+     * @return Fecha del evento, o null si no hay pendientes
+     */
+    public LocalDateTime buscarFechaPendienteMasAntigua() {
+        Timestamp fecha = jdbcTemplate.queryForObject(
+                "SELECT MIN(fecha_creacion) FROM eventos_salida WHERE estado = ?", Timestamp.class, ESTADO_PENDIENTE);
+        return fecha == null ? null : fecha.toLocalDateTime();
+    }
+    
+    private String recortar(String error) {
+        return error.length() > LONGITUD_MAXIMA_ERROR ? error.substring(0, LONGITUD_MAXIMA_ERROR) : error;
+    }
+}
@@ -0,0 +1,91 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
+import udistrital.avanzada.tinderstandin.social.grafo.ParLike;
+import udistrital.avanzada.tinderstandin.social.modelos.EntidadLikeArchivado;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para los likes archivados. Sus consultas reflejan las de
+ * {@link LikeRepositorio} y solo se usan cuando la lectura pide incluir el
+ * archivo o cuando hay que validar un par sin el índice en memoria.
+ * 
+ * @author AndGar03
+ */
+@Repository
+public interface LikeArchivadoRepositorio extends JpaRepository<EntidadLikeArchivado, Long> {
+    
+    /**
+     * Verifica si existe un like archivado entre dos usuarios.
+     * 
+     * @param usuarioOrigenId ID del usuario que dio like
+     * @param usuarioDestinoId ID del usuario que recibió like
+     * @return true si existe el like archivado
+     */
+    boolean existsByUsuarioOrigenIdAndUsuarioDestinoId(Long usuarioOrigenId, Long usuarioDestinoId);
+    
+    /**
+     * Obtiene la primera página de likes archivados recibidos por un usuario,
+     * del más reciente al más antiguo.
+     *
+     * @param usuarioDestinoId ID del usuario que recibe likes
+     * @param pagina Tamaño de la página
+     * @return Likes archivados de la página
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO(" +
+           "l.id, l.usuarioOrigenId, l.usuarioDestinoId, l.fechaCreacion, false) " +
+           "FROM EntidadLikeArchivado l WHERE l.usuarioDestinoId = :usuarioDestinoId " +
+           "ORDER BY l.fechaCreacion DESC, l.id DESC")
+    List<LikeResponseDTO> buscarRecibidos(@Param("usuarioDestinoId") Long usuarioDestinoId, Pageable pagina);
+    
+    /**
+     * Obtiene la página de likes archivados recibidos que sigue a la posición
+     * (fecha, id) indicada.
+     *
+     * @param usuarioDestinoId ID del usuario que recibe likes
+     * @param fechaCreacion Fecha del último like entregado
+     * @param id ID del último like entregado
+     * @param pagina Tamaño de la página
+     * @return Likes archivados de la página
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO(" +
+           "l.id, l.usuarioOrigenId, l.usuarioDestinoId, l.fechaCreacion, false) " +
+           "FROM EntidadLikeArchivado l WHERE l.usuarioDestinoId = :usuarioDestinoId " +
+           "AND (l.fechaCreacion < :fechaCreacion OR (l.fechaCreacion = :fechaCreacion AND l.id < :id)) " +
+           "ORDER BY l.fechaCreacion DESC, l.id DESC")
+    List<LikeResponseDTO> buscarRecibidosDespuesDe(
+        @Param("usuarioDestinoId") Long usuarioDestinoId,
+        @Param("fechaCreacion") LocalDateTime fechaCreacion,
+        @Param("id") Long id,
+        Pageable pagina
+    );
+    
+    /**
+     * Obtiene un lote de pares (origen, destino) archivados con ID mayor al
+     * indicado, ordenados por ID, para cargar el índice de likes en memoria.
+     *
+     * @param desdeId ID a partir del cual (exclusivo) se leen los likes
+     * @param pagina Tamaño del lote
+     * @return Lote de pares de likes
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.social.grafo.ParLike(" +
+           "l.id, l.usuarioOrigenId, l.usuarioDestinoId) " +
+           "FROM EntidadLikeArchivado l WHERE l.id > :desdeId ORDER BY l.id")
+    List<ParLike> buscarParesDesde(@Param("desdeId") Long desdeId, Pageable pagina);
+    
+    /**
+     * Obtiene los IDs de los usuarios a los que un usuario dio un like ya archivado.
+     * 
+     * @param usuarioOrigenId ID del usuario que dio los likes
+     * @return IDs de los usuarios destino
+     */
+    @Query("SELECT l.usuarioDestinoId FROM EntidadLikeArchivado l WHERE l.usuarioOrigenId = :usuarioOrigenId")
+    List<Long> buscarDestinosDeUsuario(@Param("usuarioOrigenId") Long usuarioOrigenId);
+}
@@ -0,0 +1,181 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repositorio JDBC para las escrituras de likes y matches por lotes.
+ * Hibernate no agrupa inserciones de entidades con IDs IDENTITY, por lo que
+ * este repositorio escribe directamente con lotes JDBC (enviados en un solo
+ * viaje por el driver de MySQL) y deja el ID a AUTO_INCREMENT. Cada fila
+ * informa si insertó algo, para no dar por creado lo que se descartó.
+ *
+ * <p>El índice único de likes no cubre los likes archivados, así que cada
+ * inserción de un like comprueba en la misma sentencia que el par no esté en
+ * {@code likes_archivo}; el like individual también se inserta aquí.</p>
+ *
+ * @author AndGar03
+ */
+@Repository
+public class LikeLoteRepositorio {
+    
+    // Condición de las inserciones de likes: el par (origen, destino) no está archivado
+    private static final String SIN_ARCHIVAR =
+            "WHERE NOT EXISTS (SELECT 1 FROM likes_archivo WHERE usuario_origen_id = ? AND usuario_destino_id = ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    @Value("${social.likes.tamano-lote-jdbc:100}")
+    private int tamanoLoteJdbc;
+    
+    public LikeLoteRepositorio(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+    
+    /**
+     * Obtiene, entre los destinos indicados, aquellos a los que el usuario ya
+     * dio like, incluidos los likes archivados.
+     * 
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuariosDestinoIds IDs de los usuarios destino
+     * @return IDs de destino que ya tienen like del usuario origen
+     */
+    public Set<Long> buscarDestinosConLike(Long usuarioOrigenId, Collection<Long> usuariosDestinoIds) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("origen", usuarioOrigenId)
+                .addValue("destinos", usuariosDestinoIds);
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT usuario_destino_id FROM likes " +
+                "WHERE usuario_origen_id = :origen AND usuario_destino_id IN (:destinos) " +
+                "UNION ALL " +
+                "SELECT usuario_destino_id FROM likes_archivo " +
+                "WHERE usuario_origen_id = :origen AND usuario_destino_id IN (:destinos)",
+                parametros, Long.class));
+    }
+    
+    /**
+     * Inserta un like si el par no está archivado. Un like repetido en la
+     * tabla caliente lo rechaza el índice único.
+     * 
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuarioDestinoId ID del usuario que recibe el like
+     * @param fechaCreacion Fecha de creación del like
+     * @return ID del like insertado, o vacío si el par ya estaba archivado
+     * @throws org.springframework.dao.DuplicateKeyException si el like ya existe en la tabla caliente
+     */
+    public Optional<Long> insertarLike(Long usuarioOrigenId, Long usuarioDestinoId, LocalDateTime fechaCreacion) {
+        KeyHolder clave = new GeneratedKeyHolder();
+        int filas = jdbcTemplate.update(conexion -> {
+            PreparedStatement ps = conexion.prepareStatement(
+                    "INSERT INTO likes (usuario_origen_id, usuario_destino_id, fecha_creacion) " +
+                    "SELECT ?, ?, ? FROM DUAL " + SIN_ARCHIVAR, new String[]{"id"});
+            ps.setLong(1, usuarioOrigenId);
+            ps.setLong(2, usuarioDestinoId);
+            ps.setTimestamp(3, Timestamp.valueOf(fechaCreacion));
+            ps.setLong(4, usuarioOrigenId);
+            ps.setLong(5, usuarioDestinoId);
+            return ps;
+        }, clave);
+        return filas > 0 ? Optional.of(clave.getKey().longValue()) : Optional.empty();
+    }
+    
+    /**
+     * Inserta los likes de un usuario hacia varios destinos con lotes JDBC.
+     * Los pares que ya existan se descartan por el índice único, también los
+     * que otra transacción insertó después de la validación previa, y los
+     * archivados por la condición de la sentencia. La forma INSERT ... SELECT
+     * evita que el driver reescriba el lote como un INSERT multi-fila, que no
+     * informa qué filas se insertaron.
+     * 
+     * @param usuarioOrigenId ID del usuario que da like
+     * @param usuariosDestinoIds IDs de los usuarios destino
+     * @param fechaCreacion Fecha de creación de los likes
+     * @return IDs de los destinos cuyo like se insertó, en el mismo orden
+     */
+    public List<Long> insertarLikes(Long usuarioOrigenId, List<Long> usuariosDestinoIds, LocalDateTime fechaCreacion) {
+        Timestamp fecha = Timestamp.valueOf(fechaCreacion);
+        int[][] resultados = jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO likes (usuario_origen_id, usuario_destino_id, fecha_creacion) " +
+                "SELECT ?, ?, ? FROM DUAL " + SIN_ARCHIVAR,
+                usuariosDestinoIds, tamanoLoteJdbc,
+                (ps, destino) -> {
+                    ps.setLong(1, usuarioOrigenId);
+                    ps.setLong(2, destino);
+                    ps.setTimestamp(3, fecha);
+                    ps.setLong(4, usuarioOrigenId);
+                    ps.setLong(5, destino);
+                });
+        return filtrarInsertados(usuariosDestinoIds, resultados);
+    }
+    
+    /**
+     * Crea con lotes JDBC los matches de un usuario con los usuarios que ya le
+     * dieron like. Cada fila es la misma sentencia que el like individual: la
+     * comprobación del like recíproco (en la tabla de likes o en su archivo) y
+     * la inserción del par canónico se resuelven juntas, y el índice único del
+     * par descarta el match si ya existía.
+     * 
+     * @param usuarioId ID del usuario que acaba de dar los likes
+     * @param otrosUsuariosIds IDs de los usuarios que recibieron los likes
+     * @param fechaCreacion Fecha de creación de los matches
+     * @return IDs de los usuarios con los que se creó un match nuevo, en el mismo orden
+     */
+    public List<Long> insertarMatchesSiHayLikeReciproco(Long usuarioId, List<Long> otrosUsuariosIds,
+                                                        LocalDateTime fechaCreacion) {
+        Timestamp fecha = Timestamp.valueOf(fechaCreacion);
+        int[][] resultados = jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) " +
+                "SELECT ?, ?, ?, 1 FROM DUAL " +
+                "WHERE EXISTS (SELECT 1 FROM likes WHERE usuario_origen_id = ? AND usuario_destino_id = ?) " +
+                "OR EXISTS (SELECT 1 FROM likes_archivo WHERE usuario_origen_id = ? AND usuario_destino_id = ?)",
+                otrosUsuariosIds, tamanoLoteJdbc,
+                (ps, otro) -> {
+                    ps.setLong(1, Math.min(usuarioId, otro));
+                    ps.setLong(2, Math.max(usuarioId, otro));
+                    ps.setTimestamp(3, fecha);
+                    ps.setLong(4, otro);
+                    ps.setLong(5, usuarioId);
+                    ps.setLong(6, otro);
+                    ps.setLong(7, usuarioId);
+                });
+        return filtrarInsertados(otrosUsuariosIds, resultados);
+    }
+    
+    /**
+     * Obtiene los elementos cuya fila del lote insertó algo.
+     * 
+     * @param ids IDs en el orden del lote
+     * @param resultados Filas afectadas por cada sentencia, agrupadas por lote JDBC
+     * @return IDs con al menos una fila insertada
+     */
+    private static List<Long> filtrarInsertados(List<Long> ids, int[][] resultados) {
+        List<Long> insertados = new ArrayList<>(ids.size());
+        int indice = 0;
+        for (int[] lote : resultados) {
+            for (int filas : lote) {
+                if (filas > 0) {
+                    insertados.add(ids.get(indice));
+                }
+                indice++;
+            }
+        }
+        return insertados;
+    }
+}
@@ -1,9 +1,16 @@
 package udistrital.avanzada.tinderstandin.social.repositorios;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
+import udistrital.avanzada.tinderstandin.social.grafo.ParLike;
 import udistrital.avanzada.tinderstandin.social.modelos.EntidadLike;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,4 +46,66 @@ public interface LikeRepositorio extends JpaRepository<EntidadLike, Long> {
      * @return Lista de likes recibidos
      */
     java.util.List<EntidadLike> findByUsuarioDestinoId(Long usuarioDestinoId);
+    
+    /**
+     * Obtiene la primera página de likes recibidos por un usuario,
+     * del más reciente al más antiguo. Se proyecta directamente en el DTO de
+     * respuesta, sin cargar entidades en el contexto de persistencia.
+     *
+     * @param usuarioDestinoId ID del usuario que recibe likes
+     * @param pagina Tamaño de la página
+     * @return Likes recibidos de la página
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO(" +
+           "l.id, l.usuarioOrigenId, l.usuarioDestinoId, l.fechaCreacion, false) " +
+           "FROM EntidadLike l WHERE l.usuarioDestinoId = :usuarioDestinoId " +
+           "ORDER BY l.fechaCreacion DESC, l.id DESC")
+    List<LikeResponseDTO> buscarRecibidos(@Param("usuarioDestinoId") Long usuarioDestinoId, Pageable pagina);
+    
+    /**
+     * Obtiene la página de likes recibidos que sigue a la posición (fecha, id)
+     * indicada. Recorre el índice (usuario_destino_id, fecha_creacion, id) sin OFFSET
+     * y se proyecta directamente en el DTO de respuesta.
+     *
+     * @param usuarioDestinoId ID del usuario que recibe likes
+     * @param fechaCreacion Fecha del último like entregado
+     * @param id ID del último like entregado
+     * @param pagina Tamaño de la página
+     * @return Likes recibidos de la página
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO(" +
+           "l.id, l.usuarioOrigenId, l.usuarioDestinoId, l.fechaCreacion, false) " +
+           "FROM EntidadLike l WHERE l.usuarioDestinoId = :usuarioDestinoId " +
+           "AND (l.fechaCreacion < :fechaCreacion OR (l.fechaCreacion = :fechaCreacion AND l.id < :id)) " +
+           "ORDER BY l.fechaCreacion DESC, l.id DESC")
+    List<LikeResponseDTO> buscarRecibidosDespuesDe(
+        @Param("usuarioDestinoId") Long usuarioDestinoId,
+        @Param("fechaCreacion") LocalDateTime fechaCreacion,
+        @Param("id") Long id,
+        Pageable pagina
+    );
+    
+    /**
+     * Obtiene un lote de pares (origen, destino) con ID mayor al indicado,
+     * ordenados por ID. Se usa para cargar el índice de likes en memoria
+     * recorriendo la tabla por rangos de la clave primaria.
+     *
+     * @param desdeId ID a partir del cual (exclusivo) se leen los likes
+     * @param pagina Tamaño del lote
+     * @return Lote de pares de likes
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.social.grafo.ParLike(" +
+           "l.id, l.usuarioOrigenId, l.usuarioDestinoId) " +
+           "FROM EntidadLike l WHERE l.id > :desdeId ORDER BY l.id")
+    List<ParLike> buscarParesDesde(@Param("desdeId") Long desdeId, Pageable pagina);
+    
+    /**
+     * Obtiene los IDs de todos los usuarios a los que un usuario dio like.
+     * Recorre solo las entradas del usuario en el índice único (origen, destino).
+     * 
+     * @param usuarioOrigenId ID del usuario que dio los likes
+     * @return IDs de los usuarios destino
+     */
+    @Query("SELECT l.usuarioDestinoId FROM EntidadLike l WHERE l.usuarioOrigenId = :usuarioOrigenId")
+    List<Long> buscarDestinosDeUsuario(@Param("usuarioOrigenId") Long usuarioOrigenId);
 }
@@ -0,0 +1,142 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio JDBC para las lecturas paginadas de matches.
+ * Las filas se leen directamente en {@link MatchResponseDTO}, sin pasar por
+ * entidades administradas: no se llenan el contexto de persistencia ni las
+ * instantáneas para la detección de cambios.
+ *
+ * @author AndGar03
+ */
+@Repository
+public class MatchLecturaRepositorio {
+    
+    private static final RowMapper<MatchResponseDTO> MAPEADOR = (fila, numero) -> {
+        MatchResponseDTO dto = new MatchResponseDTO();
+        dto.setId(fila.getLong("id"));
+        dto.setUsuario1Id(fila.getLong("usuario1_id"));
+        dto.setUsuario2Id(fila.getLong("usuario2_id"));
+        dto.setFechaCreacion(fila.getTimestamp("fecha_creacion").toLocalDateTime());
+        dto.setHayMatch(fila.getBoolean("activo"));
+        return dto;
+    };
+    
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    public MatchLecturaRepositorio(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+    
+    /**
+     * Obtiene la primera página de matches de un usuario, del más reciente al más antiguo.
+     * Como el par es canónico, un usuario aparece como usuario1 o como usuario2
+     * pero nunca en ambos: cada rama de la unión recorre su índice
+     * (usuarioN_id, fecha_creacion, id) y se detiene en el límite; luego se
+     * mezclan ambas ramas. Si se incluye el archivo, se agregan las dos ramas
+     * equivalentes sobre la tabla de matches archivados.
+     * 
+     * @param usuarioId ID del usuario
+     * @param limite Número máximo de matches a devolver
+     * @param incluirArchivo true para incluir los matches archivados
+     * @return Matches de la página, sin información de usuarios
+     */
+    public List<MatchResponseDTO> buscarPagina(Long usuarioId, int limite, boolean incluirArchivo) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("limite", limite);
+        return namedJdbcTemplate.query(construirConsulta("", incluirArchivo), parametros, MAPEADOR);
+    }
+    
+    /**
+     * Obtiene la página de matches de un usuario que sigue a la posición (fecha, id) indicada.
+     * 
+     * @param usuarioId ID del usuario
+     * @param fechaCreacion Fecha del último match entregado
+     * @param id ID del último match entregado
+     * @param limite Número máximo de matches a devolver
+     * @param incluirArchivo true para incluir los matches archivados
+     * @return Matches de la página, sin información de usuarios
+     */
+    public List<MatchResponseDTO> buscarPaginaDespuesDe(Long usuarioId, LocalDateTime fechaCreacion, Long id,
+                                                        int limite, boolean incluirArchivo) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("fechaCreacion", Timestamp.valueOf(fechaCreacion))
+                .addValue("id", id)
+                .addValue("limite", limite);
+        return namedJdbcTemplate.query(
+                construirConsulta("AND (fecha_creacion < :fechaCreacion " +
+                                  "OR (fecha_creacion = :fechaCreacion AND id < :id)) ", incluirArchivo),
+                parametros, MAPEADOR);
+    }
+    
+    /**
+     * Busca el match de un par de usuarios en la tabla de matches.
+     * 
+     * @param usuarioA ID de uno de los usuarios
+     * @param usuarioB ID del otro usuario
+     * @return Match del par, si existe y no está archivado
+     */
+    public Optional<MatchResponseDTO> buscarPorPar(Long usuarioA, Long usuarioB) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("usuario1Id", Math.min(usuarioA, usuarioB))
+                .addValue("usuario2Id", Math.max(usuarioA, usuarioB));
+        return namedJdbcTemplate.query(
+                "SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                "WHERE usuario1_id = :usuario1Id AND usuario2_id = :usuario2Id",
+                parametros, MAPEADOR).stream().findFirst();
+    }
+    
+    /**
+     * Recorre la tabla de matches en orden de ID, para procesos por lotes.
+     * 
+     * @param despuesDeId ID a partir del cual se leen los matches (exclusivo)
+     * @param limite Número máximo de matches a devolver
+     * @return Matches del lote, sin información de usuarios
+     */
+    public List<MatchResponseDTO> buscarDespuesDeId(long despuesDeId, int limite) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("despuesDeId", despuesDeId)
+                .addValue("limite", limite);
+        return namedJdbcTemplate.query(
+                "SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                "WHERE id > :despuesDeId ORDER BY id LIMIT :limite",
+                parametros, MAPEADOR);
+    }
+    
+    /**
+     * Arma la unión de las ramas por usuario1 y usuario2 de la tabla de
+     * matches y, si se pide, de la tabla de archivo.
+     * 
+     * @param filtroPosicion Condición adicional de cada rama (vacía en la primera página)
+     * @param incluirArchivo true para agregar las ramas del archivo
+     * @return Consulta SQL completa
+     */
+    private static String construirConsulta(String filtroPosicion, boolean incluirArchivo) {
+        List<String> tablas = incluirArchivo ? List.of("matches", "matches_archivo") : List.of("matches");
+        StringBuilder consulta = new StringBuilder("SELECT * FROM (");
+        String separador = "";
+        for (String tabla : tablas) {
+            for (String columna : List.of("usuario1_id", "usuario2_id")) {
+                consulta.append(separador)
+                        .append("(SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM ").append(tabla)
+                        .append(" WHERE ").append(columna).append(" = :usuarioId ")
+                        .append(filtroPosicion)
+                        .append("ORDER BY fecha_creacion DESC, id DESC LIMIT :limite)");
+                separador = " UNION ALL ";
+            }
+        }
+        return consulta.append(") m ORDER BY fecha_creacion DESC, id DESC LIMIT :limite").toString();
+    }
+}
@@ -1,11 +1,13 @@
 package udistrital.avanzada.tinderstandin.social.repositorios;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import udistrital.avanzada.tinderstandin.social.modelos.EntidadMatch;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,43 +20,137 @@ import java.util.Optional;
 public interface MatchRepositorio extends JpaRepository<EntidadMatch, Long> {
     
     /**
-     * Verifica si existe un match entre dos usuarios.
+     * Verifica si existe el match de un par canónico (usuario1Id menor que usuario2Id).
+     * Se resuelve con una sola búsqueda en el índice único (usuario1_id, usuario2_id).
+     * 
+     * @param usuario1Id ID menor del par
+     * @param usuario2Id ID mayor del par
+     * @return true si existe el match, false en caso contrario
+     */
+    boolean existsByUsuario1IdAndUsuario2Id(Long usuario1Id, Long usuario2Id);
+    
+    /**
+     * Busca el match de un par canónico (usuario1Id menor que usuario2Id).
+     * 
+     * @param usuario1Id ID menor del par
+     * @param usuario2Id ID mayor del par
+     * @return Optional con el match si existe
+     */
+    Optional<EntidadMatch> findByUsuario1IdAndUsuario2Id(Long usuario1Id, Long usuario2Id);
+    
+    /**
+     * Verifica si existe un match entre dos usuarios, en cualquier orden.
      * 
      * @param usuario1Id ID del primer usuario
      * @param usuario2Id ID del segundo usuario
      * @return true si existe el match, false en caso contrario
      */
-    @Query("SELECT CASE WHEN COUNT(m) > 0 THEN true ELSE false END " +
-           "FROM EntidadMatch m WHERE " +
-           "(m.usuario1Id = :usuario1Id AND m.usuario2Id = :usuario2Id) OR " +
-           "(m.usuario1Id = :usuario2Id AND m.usuario2Id = :usuario1Id)")
-    boolean existeMatchEntreUsuarios(
-        @Param("usuario1Id") Long usuario1Id, 
-        @Param("usuario2Id") Long usuario2Id
-    );
+    default boolean existeMatchEntreUsuarios(Long usuario1Id, Long usuario2Id) {
+        return existsByUsuario1IdAndUsuario2Id(Math.min(usuario1Id, usuario2Id), Math.max(usuario1Id, usuario2Id));
+    }
     
     /**
-     * Busca un match entre dos usuarios.
+     * Busca un match entre dos usuarios, en cualquier orden.
      * 
      * @param usuario1Id ID del primer usuario
      * @param usuario2Id ID del segundo usuario
      * @return Optional con el match si existe
      */
-    @Query("SELECT m FROM EntidadMatch m WHERE " +
-           "(m.usuario1Id = :usuario1Id AND m.usuario2Id = :usuario2Id) OR " +
-           "(m.usuario1Id = :usuario2Id AND m.usuario2Id = :usuario1Id)")
-    Optional<EntidadMatch> buscarMatchEntreUsuarios(
-        @Param("usuario1Id") Long usuario1Id, 
-        @Param("usuario2Id") Long usuario2Id
-    );
+    default Optional<EntidadMatch> buscarMatchEntreUsuarios(Long usuario1Id, Long usuario2Id) {
+        return findByUsuario1IdAndUsuario2Id(Math.min(usuario1Id, usuario2Id), Math.max(usuario1Id, usuario2Id));
+    }
     
     /**
      * Obtiene todos los matches de un usuario.
+     * Como el par es canónico, un usuario aparece como usuario1 o como usuario2
+     * pero nunca en ambos: la consulta es la unión de dos recorridos de índice.
      * 
      * @param usuarioId ID del usuario
      * @return Lista de matches
      */
-    @Query("SELECT m FROM EntidadMatch m WHERE " +
-           "m.usuario1Id = :usuarioId OR m.usuario2Id = :usuarioId")
+    @Query(value = "SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                   "WHERE usuario1_id = :usuarioId " +
+                   "UNION ALL " +
+                   "SELECT id, usuario1_id, usuario2_id, fecha_creacion, activo FROM matches " +
+                   "WHERE usuario2_id = :usuarioId",
+           nativeQuery = true)
     List<EntidadMatch> buscarMatchesPorUsuarioId(@Param("usuarioId") Long usuarioId);
+    
+    /**
+     * Obtiene los IDs de los usuarios con los que un usuario tiene match.
+     * 
+     * @param usuarioId ID del usuario
+     * @return IDs de las contrapartes de sus matches
+     */
+    @Query(value = "SELECT usuario2_id FROM matches WHERE usuario1_id = :usuarioId " +
+                   "UNION ALL " +
+                   "SELECT usuario1_id FROM matches WHERE usuario2_id = :usuarioId",
+           nativeQuery = true)
+    List<Long> buscarContrapartesDeUsuario(@Param("usuarioId") Long usuarioId);
+    
+    /**
+     * Crea el match entre dos usuarios solo si existe el like recíproco,
+     * en una única sentencia: la consulta del like de destino hacia origen
+     * (en la tabla de likes o en su archivo) y la inserción del par canónico
+     * se resuelven juntas, y el índice único del par descarta el match si ya existía.
+     * 
+     * @param usuarioOrigenId ID del usuario que acaba de dar like
+     * @param usuarioDestinoId ID del usuario que recibió el like
+     * @param fechaCreacion Fecha de creación del match
+     * @return 1 si se creó el match, 0 si no hay like recíproco o ya existía
+     */
+    default int crearMatchSiHayLikeReciproco(Long usuarioOrigenId, Long usuarioDestinoId,
+                                             LocalDateTime fechaCreacion) {
+        return crearMatchCanonicoSiHayLikeReciproco(usuarioOrigenId, usuarioDestinoId,
+                Math.min(usuarioOrigenId, usuarioDestinoId), Math.max(usuarioOrigenId, usuarioDestinoId),
+                fechaCreacion);
+    }
+    
+    /**
+     * Variante de {@link #crearMatchSiHayLikeReciproco} que recibe el par
+     * canónico ya calculado, en lugar de resolverlo con LEAST/GREATEST sobre
+     * parámetros sin tipo.
+     * 
+     * @param usuarioOrigenId ID del usuario que acaba de dar like
+     * @param usuarioDestinoId ID del usuario que recibió el like
+     * @param usuario1Id ID menor del par
+     * @param usuario2Id ID mayor del par
+     * @param fechaCreacion Fecha de creación del match
+     * @return 1 si se creó el match, 0 si no hay like recíproco o ya existía
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) " +
+                   "SELECT :usuario1Id, :usuario2Id, :fechaCreacion, 1 FROM DUAL " +
+                   "WHERE EXISTS (SELECT 1 FROM likes WHERE usuario_origen_id = :usuarioDestinoId " +
+                   "AND usuario_destino_id = :usuarioOrigenId) " +
+                   "OR EXISTS (SELECT 1 FROM likes_archivo WHERE usuario_origen_id = :usuarioDestinoId " +
+                   "AND usuario_destino_id = :usuarioOrigenId)",
+           nativeQuery = true)
+    int crearMatchCanonicoSiHayLikeReciproco(
+        @Param("usuarioOrigenId") Long usuarioOrigenId,
+        @Param("usuarioDestinoId") Long usuarioDestinoId,
+        @Param("usuario1Id") Long usuario1Id,
+        @Param("usuario2Id") Long usuario2Id,
+        @Param("fechaCreacion") LocalDateTime fechaCreacion
+    );
+    
+    /**
+     * Crea el match canónico entre dos usuarios sin comprobar likes, para
+     * cuando el like recíproco se verificó en otro fragmento. El índice único
+     * del par descarta el match si ya existía.
+     * 
+     * @param usuario1Id ID menor del par
+     * @param usuario2Id ID mayor del par
+     * @param fechaCreacion Fecha de creación del match
+     * @return 1 si se creó el match, 0 si ya existía
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) " +
+                   "VALUES (:usuario1Id, :usuario2Id, :fechaCreacion, 1)",
+           nativeQuery = true)
+    int insertarMatchSiNoExiste(
+        @Param("usuario1Id") Long usuario1Id,
+        @Param("usuario2Id") Long usuario2Id,
+        @Param("fechaCreacion") LocalDateTime fechaCreacion
+    );
 }
@@ -0,0 +1,96 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.social.notificaciones.EventoSocial;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio JDBC del canal de difusión de notificaciones entre instancias.
+ * Las filas se leen en orden de ID a partir de la última leída por cada
+ * instancia.
+ *
+ * @author AndGar03
+ */
+@Repository
+public class NotificacionDifusionRepositorio {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificacionDifusionRepositorio(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registra notificaciones para que todas las instancias las envíen.
+     *
+     * @param eventos Eventos a difundir; cada uno va al usuario destino
+     */
+    public void insertar(List<EventoSocial> eventos) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notificaciones_difusion (tipo, usuario_origen_id, usuario_destino_id, fecha, " +
+                "fecha_registro) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP(3))",
+                eventos, eventos.size(),
+                (ps, evento) -> {
+                    ps.setString(1, evento.tipo().name());
+                    ps.setLong(2, evento.usuarioOrigenId());
+                    ps.setLong(3, evento.usuarioDestinoId());
+                    ps.setTimestamp(4, Timestamp.valueOf(evento.fecha()));
+                });
+    }
+
+    /**
+     * Obtiene el ID de la última notificación registrada.
+     *
+     * @return ID más alto, o 0 si no hay notificaciones
+     */
+    public long buscarUltimoId() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM notificaciones_difusion", Long.class);
+    }
+
+    /**
+     * Obtiene las notificaciones posteriores a un ID registradas hace al menos
+     * el margen indicado, según el reloj de la base de datos. El margen deja
+     * confirmar las inserciones concurrentes que tomaron un ID menor.
+     *
+     * @param desdeId ID de la última notificación leída (exclusivo)
+     * @param margenMs Antigüedad mínima de las filas en milisegundos
+     * @param limite Número máximo de notificaciones
+     * @return Notificaciones en orden de ID
+     */
+    public List<NotificacionDifundida> buscarDesde(long desdeId, long margenMs, int limite) {
+        return jdbcTemplate.query(
+                "SELECT id, tipo, usuario_origen_id, usuario_destino_id, fecha FROM notificaciones_difusion " +
+                "WHERE id > ? AND fecha_registro <= TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)) " +
+                "ORDER BY id LIMIT ?",
+                (rs, fila) -> new NotificacionDifundida(rs.getLong("id"), new EventoSocial(
+                        EventoSocial.Tipo.valueOf(rs.getString("tipo")),
+                        rs.getLong("usuario_origen_id"),
+                        rs.getLong("usuario_destino_id"),
+                        rs.getTimestamp("fecha").toLocalDateTime())),
+                desdeId, -margenMs * 1000, limite);
+    }
+
+    /**
+     * Elimina las notificaciones registradas antes de la fecha indicada.
+     *
+     * @param limite Fecha límite (exclusiva)
+     * @return Número de notificaciones eliminadas
+     */
+    public int eliminarAnterioresA(LocalDateTime limite) {
+        return jdbcTemplate.update("DELETE FROM notificaciones_difusion WHERE fecha_registro < ?",
+                Timestamp.valueOf(limite));
+    }
+
+    /**
+     * Notificación leída del canal de difusión.
+     *
+     * @param id ID de la fila
+     * @param evento Evento a enviar al usuario destino
+     */
+    public record NotificacionDifundida(long id, EventoSocial evento) {
+    }
+}
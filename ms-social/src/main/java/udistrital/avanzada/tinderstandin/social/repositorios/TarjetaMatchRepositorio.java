@@ -0,0 +1,208 @@
+package udistrital.avanzada.tinderstandin.social.repositorios;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResumenUsuarioDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repositorio JDBC de las tarjetas de match, el modelo de lectura de la
+ * pantalla de matches. Cada match tiene una tarjeta por usuario con los datos
+ * de la otra persona, de modo que los datos de una página de matches salen de
+ * una búsqueda en el índice único (usuario_id, contraparte_id), sin llamar a
+ * otros microservicios.
+ *
+ * <p>Las filas del match y los datos de la otra persona se escriben por
+ * separado: registrar un match solo toca sus columnas, y los datos se
+ * actualizan cuando se obtienen. Una foto nula conserva la anterior.</p>
+ *
+ * @author AndGar03
+ */
+@Repository
+public class TarjetaMatchRepositorio {
+
+    private static final String ACTUALIZAR_DATOS =
+            "UPDATE tarjetas_match SET username = ?, nombre_completo = ?, genero = ?, ciudad = ?, " +
+            "foto_url = COALESCE(?, foto_url), fecha_actualizacion = ? WHERE contraparte_id = ? ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Value("${social.likes.tamano-lote-jdbc:100}")
+    private int tamanoLoteJdbc;
+
+    public TarjetaMatchRepositorio(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Obtiene los datos de la otra persona de las tarjetas de un usuario con
+     * varias contrapartes. Las tarjetas que aún no tienen datos, o que no
+     * existen, no aparecen en el resultado.
+     *
+     * @param usuarioId ID del dueño de las tarjetas
+     * @param contraparteIds IDs de las otras personas
+     * @return Mapa de ID de la contraparte a sus datos
+     */
+    public Map<Long, ResumenUsuarioDTO> buscarDatosContrapartes(Long usuarioId, Collection<Long> contraparteIds) {
+        if (contraparteIds.isEmpty()) {
+            return Map.of();
+        }
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("contraparteIds", contraparteIds);
+        Map<Long, ResumenUsuarioDTO> datos = new HashMap<>();
+        // Sin username la tarjeta aún no tiene datos de la otra persona
+        namedJdbcTemplate.query(
+                "SELECT contraparte_id, username, nombre_completo, genero, ciudad, foto_url FROM tarjetas_match " +
+                "WHERE usuario_id = :usuarioId AND contraparte_id IN (:contraparteIds) AND username IS NOT NULL",
+                parametros,
+                fila -> {
+                    long contraparteId = fila.getLong("contraparte_id");
+                    datos.put(contraparteId, new ResumenUsuarioDTO(
+                            contraparteId,
+                            fila.getString("username"),
+                            fila.getString("nombre_completo"),
+                            fila.getString("genero"),
+                            fila.getString("ciudad"),
+                            fila.getString("foto_url")));
+                });
+        return datos;
+    }
+
+    /**
+     * Crea o actualiza las dos tarjetas de cada match. Si la tarjeta del par
+     * ya existía solo cambian las columnas del match y se conservan los datos
+     * de la otra persona.
+     *
+     * @param matches Matches a registrar
+     */
+    public void registrarMatches(List<MatchResponseDTO> matches) {
+        String sql = "INSERT INTO tarjetas_match (match_id, usuario_id, contraparte_id, fecha_match, activo) " +
+                     "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE match_id = VALUES(match_id), " +
+                     "fecha_match = VALUES(fecha_match), activo = VALUES(activo)";
+        // Dos filas por match: la primera mitad del lote para usuario1 y la segunda para usuario2
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                MatchResponseDTO match = matches.get(i % matches.size());
+                boolean delUsuario1 = i < matches.size();
+                ps.setLong(1, match.getId());
+                ps.setLong(2, delUsuario1 ? match.getUsuario1Id() : match.getUsuario2Id());
+                ps.setLong(3, delUsuario1 ? match.getUsuario2Id() : match.getUsuario1Id());
+                ps.setTimestamp(4, Timestamp.valueOf(match.getFechaCreacion()));
+                ps.setBoolean(5, match.isHayMatch());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return matches.size() * 2;
+            }
+        });
+    }
+
+    /**
+     * Actualiza los datos de una persona en todas las tarjetas donde aparece
+     * como la otra persona del match.
+     *
+     * @param contraparteId ID de la persona
+     * @param resumen Resumen de ms-usuarios
+     * @param fotoUrl URL de la foto principal, o null para conservar la anterior
+     * @return Número de tarjetas actualizadas
+     */
+    public int actualizarContraparte(Long contraparteId, ResumenUsuarioDTO resumen, String fotoUrl) {
+        return jdbcTemplate.update(ACTUALIZAR_DATOS, resumen.getUsername(), resumen.getNombreCompleto(),
+                resumen.getGenero(), resumen.getCiudad(), fotoUrl, Timestamp.valueOf(LocalDateTime.now()),
+                contraparteId);
+    }
+
+    /**
+     * Actualiza los datos de la otra persona en la tarjeta de un usuario.
+     *
+     * @param usuarioId ID del dueño de la tarjeta
+     * @param contraparteId ID de la otra persona
+     * @param resumen Resumen de ms-usuarios
+     * @param fotoUrl URL de la foto principal, o null para conservar la anterior
+     * @param confirmados false si los datos son el último valor conocido; la
+     *                    tarjeta sigue pendiente de completar
+     */
+    public void actualizarTarjeta(Long usuarioId, Long contraparteId, ResumenUsuarioDTO resumen, String fotoUrl,
+                                  boolean confirmados) {
+        jdbcTemplate.update(ACTUALIZAR_DATOS + "AND usuario_id = ?", resumen.getUsername(),
+                resumen.getNombreCompleto(), resumen.getGenero(), resumen.getCiudad(), fotoUrl,
+                confirmados ? Timestamp.valueOf(LocalDateTime.now()) : null, contraparteId, usuarioId);
+    }
+
+    /**
+     * Completa las tarjetas pendientes (sin datos confirmados) de varias personas.
+     *
+     * @param resumenes Resumen de ms-usuarios de cada persona
+     * @param fotos URL de la foto principal de cada persona (las ausentes conservan la anterior)
+     */
+    public void completarPendientes(Map<Long, ResumenUsuarioDTO> resumenes, Map<Long, String> fotos) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(ACTUALIZAR_DATOS + "AND fecha_actualizacion IS NULL",
+                List.copyOf(resumenes.values()), tamanoLoteJdbc,
+                (ps, resumen) -> {
+                    ps.setString(1, resumen.getUsername());
+                    ps.setString(2, resumen.getNombreCompleto());
+                    ps.setString(3, resumen.getGenero());
+                    ps.setString(4, resumen.getCiudad());
+                    ps.setString(5, fotos.get(resumen.getId()));
+                    ps.setTimestamp(6, ahora);
+                    ps.setLong(7, resumen.getId());
+                });
+    }
+
+    /**
+     * Obtiene personas con tarjetas pendientes de completar.
+     *
+     * @param limite Número máximo de IDs
+     * @return IDs de las personas
+     */
+    public List<Long> buscarContrapartesPendientes(int limite) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT contraparte_id FROM tarjetas_match WHERE fecha_actualizacion IS NULL LIMIT ?",
+                Long.class, limite);
+    }
+
+    /**
+     * Reasigna las tarjetas de matches repetidos que se borraron al match que
+     * se conservó del mismo par, o las borra si ya no queda ninguno en la
+     * tabla de matches (el que se conservó está archivado).
+     *
+     * @param eliminados Filas (ID del match borrado, usuario1, usuario2)
+     */
+    public void reasignarMatchesEliminados(List<long[]> eliminados) {
+        for (long[] eliminado : eliminados) {
+            Optional<Object[]> conservado = jdbcTemplate.query(
+                    "SELECT id, fecha_creacion, activo FROM matches WHERE usuario1_id = ? AND usuario2_id = ? " +
+                    "ORDER BY id LIMIT 1",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getTimestamp(2), rs.getBoolean(3)},
+                    eliminado[1], eliminado[2]).stream().findFirst();
+            if (conservado.isPresent()) {
+                Object[] match = conservado.get();
+                jdbcTemplate.update(
+                        "UPDATE tarjetas_match SET match_id = ?, fecha_match = ?, activo = ? WHERE match_id = ?",
+                        match[0], match[1], match[2], eliminado[0]);
+            } else {
+                jdbcTemplate.update("DELETE FROM tarjetas_match WHERE match_id = ?", eliminado[0]);
+            }
+        }
+    }
+}
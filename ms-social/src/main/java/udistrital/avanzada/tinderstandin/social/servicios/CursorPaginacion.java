@@ -0,0 +1,50 @@
+package udistrital.avanzada.tinderstandin.social.servicios;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posición de continuación para la paginación por clave (fecha_creacion, id).
+ * Se intercambia con el cliente como un token opaco en Base64 URL-safe.
+ *
+ * @param fechaCreacion Fecha de creación del último elemento entregado
+ * @param id ID del último elemento entregado
+ * @author AndGar03
+ */
+public record CursorPaginacion(LocalDateTime fechaCreacion, Long id) {
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Codifica el cursor como token opaco.
+     *
+     * @return Token para la siguiente página
+     */
+    public String codificar() {
+        String valor = fechaCreacion + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token recibido del cliente.
+     *
+     * @param token Token opaco, puede ser null para la primera página
+     * @return Cursor decodificado, o null si no se envió token
+     * @throws RuntimeException si el token no es válido
+     */
+    public static CursorPaginacion decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new CursorPaginacion(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Cursor de paginación inválido");
+        }
+    }
+}
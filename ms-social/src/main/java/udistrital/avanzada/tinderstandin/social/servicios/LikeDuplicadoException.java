@@ -0,0 +1,13 @@
+package udistrital.avanzada.tinderstandin.social.servicios;
+
+/**
+ * Indica que el usuario ya había dado like al destino.
+ *
+ * @author AndGar03
+ */
+public class LikeDuplicadoException extends RuntimeException {
+
+    public LikeDuplicadoException() {
+        super("Ya existe un like de este usuario");
+    }
+}
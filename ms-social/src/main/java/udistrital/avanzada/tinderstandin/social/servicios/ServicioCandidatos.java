@@ -0,0 +1,208 @@
+package udistrital.avanzada.tinderstandin.social.servicios;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import udistrital.avanzada.tinderstandin.social.clientes.ClienteUsuarios;
+import udistrital.avanzada.tinderstandin.social.grafo.IndiceLikes;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeArchivadoRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.MatchRepositorio;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Servicio que entrega candidatos para swiping: usuarios que no son el
+ * solicitante, a los que aún no dio like y con los que no tiene match.
+ *
+ * <p>Para cada usuario activo se guarda un estado con su conjunto de
+ * exclusión (arreglo ordenado de IDs, consultado con búsqueda binaria), la
+ * posición alcanzada en el recorrido de usuarios de ms-usuarios y un buffer
+ * de candidatos ya filtrados. Cuando el buffer baja de la mitad se rellena
+ * en segundo plano, de modo que la siguiente página suele estar lista antes
+ * de que el cliente la pida. Los estados inactivos expiran de la caché.</p>
+ *
+ * @author AndGar03
+ */
+@Service
+@Slf4j
+public class ServicioCandidatos {
+    
+    private final ClienteUsuarios clienteUsuarios;
+    private final IndiceLikes indiceLikes;
+    private final LikeRepositorio likeRepositorio;
+    private final LikeArchivadoRepositorio likeArchivadoRepositorio;
+    private final MatchRepositorio matchRepositorio;
+    private final AsyncTaskExecutor ejecutorUsuarios;
+    private final Cache<Long, EstadoCandidatos> estados;
+    
+    @Value("${social.candidatos.capacidad-buffer:200}")
+    private int capacidadBuffer;
+    
+    @Value("${social.candidatos.tamano-lote-usuarios:500}")
+    private int tamanoLoteUsuarios;
+    
+    @Value("${social.paginacion.tamano-maximo:200}")
+    private int tamanoMaximoPagina;
+    
+    public ServicioCandidatos(ClienteUsuarios clienteUsuarios,
+                              IndiceLikes indiceLikes,
+                              LikeRepositorio likeRepositorio,
+                              LikeArchivadoRepositorio likeArchivadoRepositorio,
+                              MatchRepositorio matchRepositorio,
+                              @Qualifier("ejecutorUsuarios") AsyncTaskExecutor ejecutorUsuarios,
+                              @Value("${social.candidatos.maximo-usuarios:10000}") long maximoUsuarios,
+                              @Value("${social.candidatos.minutos-inactividad:30}") long minutosInactividad) {
+        this.clienteUsuarios = clienteUsuarios;
+        this.indiceLikes = indiceLikes;
+        this.likeRepositorio = likeRepositorio;
+        this.likeArchivadoRepositorio = likeArchivadoRepositorio;
+        this.matchRepositorio = matchRepositorio;
+        this.ejecutorUsuarios = ejecutorUsuarios;
+        this.estados = Caffeine.newBuilder()
+                .maximumSize(maximoUsuarios)
+                .expireAfterAccess(Duration.ofMinutes(minutosInactividad))
+                .build();
+    }
+    
+    /**
+     * Obtiene la siguiente página de candidatos de un usuario.
+     * Los candidatos entregados no se repiten en páginas posteriores.
+     *
+     * @param usuarioId ID del usuario que hace swiping
+     * @param tamano Tamaño de página solicitado (se limita al máximo configurado)
+     * @return IDs de los candidatos; vacío si no quedan más
+     * @throws RuntimeException si no se pudo consultar ms-usuarios y no hay candidatos en el buffer
+     */
+    public List<Long> obtenerCandidatos(Long usuarioId, int tamano) {
+        int limite = Math.max(1, Math.min(tamano, tamanoMaximoPagina));
+        EstadoCandidatos estado = estados.get(usuarioId, this::crearEstado);
+        
+        List<Long> pagina = new ArrayList<>(limite);
+        estado.candado.lock();
+        try {
+            if (estado.buffer.size() < limite) {
+                try {
+                    rellenar(estado, limite);
+                } catch (RestClientException e) {
+                    if (estado.buffer.isEmpty()) {
+                        throw new RuntimeException("No se pudo consultar el servicio de usuarios");
+                    }
+                    log.warn("Candidatos parciales para usuario {}: {}", usuarioId, e.getMessage());
+                }
+            }
+            while (pagina.size() < limite && !estado.buffer.isEmpty()) {
+                long candidato = estado.buffer.poll();
+                // Un like dado después de llenar el buffer también lo excluye
+                if (!indiceLikes.contiene(usuarioId, candidato)) {
+                    pagina.add(candidato);
+                }
+            }
+        } finally {
+            estado.candado.unlock();
+        }
+        
+        if (!estado.agotado && estado.buffer.size() < capacidadBuffer / 2) {
+            programarRelleno(estado);
+        }
+        return pagina;
+    }
+    
+    /**
+     * Construye el estado de un usuario con su conjunto de exclusión:
+     * él mismo, los usuarios a los que dio like (en likes y likes_archivo)
+     * y sus matches. Se lee siempre de la base de datos; el índice de likes
+     * puede no conocer likes archivados o creados por otra instancia, así
+     * que solo se usa como filtro adicional al recorrer los usuarios.
+     */
+    private EstadoCandidatos crearEstado(Long usuarioId) {
+        long[] excluidos = Stream.of(
+                        likeRepositorio.buscarDestinosDeUsuario(usuarioId).stream().mapToLong(Long::longValue),
+                        likeArchivadoRepositorio.buscarDestinosDeUsuario(usuarioId).stream().mapToLong(Long::longValue),
+                        matchRepositorio.buscarContrapartesDeUsuario(usuarioId).stream().mapToLong(Long::longValue),
+                        LongStream.of(usuarioId))
+                .flatMapToLong(ids -> ids)
+                .sorted()
+                .distinct()
+                .toArray();
+        log.debug("Estado de candidatos creado para usuario {} con {} exclusiones", usuarioId, excluidos.length);
+        return new EstadoCandidatos(usuarioId, excluidos);
+    }
+    
+    /**
+     * Recorre los usuarios de ms-usuarios a partir de la última posición y
+     * agrega al buffer los no excluidos hasta tener al menos el mínimo pedido.
+     * Debe llamarse con el candado del estado tomado.
+     */
+    private void rellenar(EstadoCandidatos estado, int minimo) {
+        while (!estado.agotado && estado.buffer.size() < minimo) {
+            List<Long> ids = clienteUsuarios.obtenerIdsDespuesDe(estado.ultimoIdRevisado, tamanoLoteUsuarios);
+            if (ids.isEmpty()) {
+                estado.agotado = true;
+                return;
+            }
+            for (Long id : ids) {
+                if (Arrays.binarySearch(estado.excluidos, id) < 0
+                        && !indiceLikes.contiene(estado.usuarioId, id)) {
+                    estado.buffer.add(id);
+                }
+            }
+            estado.ultimoIdRevisado = ids.get(ids.size() - 1);
+        }
+    }
+    
+    private void programarRelleno(EstadoCandidatos estado) {
+        if (!estado.rellenoProgramado.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ejecutorUsuarios.execute(() -> {
+                estado.candado.lock();
+                try {
+                    rellenar(estado, capacidadBuffer);
+                } catch (RestClientException e) {
+                    log.warn("No se pudo rellenar los candidatos del usuario {}: {}", estado.usuarioId, e.getMessage());
+                } finally {
+                    estado.candado.unlock();
+                    estado.rellenoProgramado.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Pool saturado: el relleno se hará en la siguiente petición
+            estado.rellenoProgramado.set(false);
+        }
+    }
+    
+    /**
+     * Estado del recorrido de candidatos de un usuario.
+     */
+    private static final class EstadoCandidatos {
+        
+        private final long usuarioId;
+        private final long[] excluidos;
+        private final ArrayDeque<Long> buffer = new ArrayDeque<>();
+        private final ReentrantLock candado = new ReentrantLock();
+        private final AtomicBoolean rellenoProgramado = new AtomicBoolean();
+        private long ultimoIdRevisado;
+        private volatile boolean agotado;
+        
+        EstadoCandidatos(long usuarioId, long[] excluidos) {
+            this.usuarioId = usuarioId;
+            this.excluidos = excluidos;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package udistrital.avanzada.tinderstandin.social.servicios;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import udistrital.avanzada.tinderstandin.social.contadores.AcumuladorContadores;
+import udistrital.avanzada.tinderstandin.social.contadores.DeltaContadores;
+import udistrital.avanzada.tinderstandin.social.dto.ContadoresUsuarioDTO;
+import udistrital.avanzada.tinderstandin.social.repositorios.ContadorRepositorio;
+
+/**
+ * Servicio de lectura de los contadores de likes y matches por usuario.
+ * Lee una sola fila por clave primaria y le suma los incrementos que aún
+ * no se han escrito, sin recorrer las tablas de likes ni de matches.
+ *
+ * @author AndGar03
+ */
+@Service
+@RequiredArgsConstructor
+public class ServicioContadores {
+    
+    private final ContadorRepositorio contadorRepositorio;
+    private final AcumuladorContadores acumuladorContadores;
+    
+    /**
+     * Obtiene los contadores de un usuario.
+     *
+     * @param usuarioId ID del usuario
+     * @return Contadores del usuario
+     */
+    public ContadoresUsuarioDTO obtenerContadores(Long usuarioId) {
+        // Leer primero la tabla: si una escritura ocurre entre ambas lecturas,
+        // el conteo queda corto un instante en lugar de duplicarse
+        DeltaContadores guardados = contadorRepositorio.buscarPorUsuario(usuarioId);
+        DeltaContadores pendientes = acumuladorContadores.obtenerPendientes(usuarioId);
+        return new ContadoresUsuarioDTO(
+                usuarioId,
+                guardados.likesRecibidos() + pendientes.likesRecibidos(),
+                guardados.likesEnviados() + pendientes.likesEnviados(),
+                guardados.matches() + pendientes.matches()
+        );
+    }
+}
@@ -3,23 +3,45 @@ package udistrital.avanzada.tinderstandin.social.servicios;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import udistrital.avanzada.tinderstandin.social.clientes.ClienteUsuarios;
+import udistrital.avanzada.tinderstandin.social.clientes.ResultadoResumenes;
+import udistrital.avanzada.tinderstandin.social.contadores.AcumuladorContadores;
 import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
 import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
-import udistrital.avanzada.tinderstandin.social.modelos.EntidadLike;
-import udistrital.avanzada.tinderstandin.social.modelos.EntidadMatch;
+import udistrital.avanzada.tinderstandin.social.dto.PaginaDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResultadoLikeLoteDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResumenUsuarioDTO;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+import udistrital.avanzada.tinderstandin.social.eventos.PublicadorEventos;
+import udistrital.avanzada.tinderstandin.social.grafo.BloqueosPares;
+import udistrital.avanzada.tinderstandin.social.grafo.IndiceLikes;
+import udistrital.avanzada.tinderstandin.social.replicacion.VentanaLecturaPropia;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeArchivadoRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.LikeLoteRepositorio;
 import udistrital.avanzada.tinderstandin.social.repositorios.LikeRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.MatchLecturaRepositorio;
 import udistrital.avanzada.tinderstandin.social.repositorios.MatchRepositorio;
+import udistrital.avanzada.tinderstandin.social.tarjetas.ServicioTarjetasMatch;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Servicio para gestionar la lógica de likes y matches.
- * Utiliza RestTemplate para comunicarse con el microservicio de usuarios.
+ * Utiliza ClienteUsuarios para comunicarse con el microservicio de usuarios.
  *
  * @author AndGar03
  */
@@ -29,15 +51,38 @@ import java.util.stream.Collectors;
 public class ServicioSocial {
     
     private final LikeRepositorio likeRepositorio;
+    private final LikeArchivadoRepositorio likeArchivadoRepositorio;
     private final MatchRepositorio matchRepositorio;
-    private final RestTemplate restTemplate;
+    private final MatchLecturaRepositorio matchLecturaRepositorio;
+    private final ClienteUsuarios clienteUsuarios;
+    private final IndiceLikes indiceLikes;
+    private final BloqueosPares bloqueosPares;
+    private final LikeLoteRepositorio likeLoteRepositorio;
+    private final PublicadorEventos publicadorEventos;
+    private final AcumuladorContadores acumuladorContadores;
+    private final VentanaLecturaPropia ventanaLecturaPropia;
+    private final Optional<ServicioTarjetasMatch> servicioTarjetasMatch;
     
-    @Value("${ms.usuarios.url}")
-    private String msUsuariosUrl;
+    @Value("${social.paginacion.tamano-maximo:200}")
+    private int tamanoMaximoPagina;
+    
+    @Value("${social.likes.maximo-por-lote:500}")
+    private int maximoLikesPorLote;
     
     /**
      * Crea un like de un usuario hacia otro.
      * Si existe un like recíproco, crea automáticamente un match.
+     * Se apoya en los índices únicos de likes y matches: la inserción del like
+     * detecta el duplicado (la misma sentencia descarta los pares archivados,
+     * que el índice único no cubre) y una sola sentencia comprueba el like
+     * recíproco y crea el match, de modo que dos likes recíprocos simultáneos
+     * no pueden duplicar ni perder el match. Con el índice de likes en memoria
+     * cargado, un duplicado que el índice conoce se rechaza sin consultar la
+     * base de datos. El índice nunca decide que un like falta: solo ve los
+     * likes confirmados por esta instancia, así que la inserción y la
+     * sentencia del match se ejecutan siempre. El par queda bloqueado en
+     * memoria hasta el fin de la transacción para que el like recíproco
+     * simultáneo de esta instancia espere a este.
      *
      * @param usuarioOrigenId ID del usuario que da like
      * @param usuarioDestinoId ID del usuario que recibe el like
@@ -52,131 +97,319 @@ public class ServicioSocial {
             throw new RuntimeException("No puedes dar like a ti mismo");
         }
         
-        // Verificar si ya existe el like
-        if (likeRepositorio.existsByUsuarioOrigenIdAndUsuarioDestinoId(usuarioOrigenId, usuarioDestinoId)) {
-            throw new RuntimeException("Ya existe un like de este usuario");
+        bloqueosPares.bloquearHastaFinDeTransaccion(usuarioOrigenId, usuarioDestinoId);
+        if (indiceLikes.estaListo() && indiceLikes.contiene(usuarioOrigenId, usuarioDestinoId)) {
+            throw new LikeDuplicadoException();
         }
         
-        // Crear el like
-        EntidadLike like = new EntidadLike();
-        like.setUsuarioOrigenId(usuarioOrigenId);
-        like.setUsuarioDestinoId(usuarioDestinoId);
-        EntidadLike likeGuardado = likeRepositorio.save(like);
-        
-        // Verificar si existe un like recíproco
-        boolean existeLikeReciproco = likeRepositorio
-                .existsByUsuarioOrigenIdAndUsuarioDestinoId(usuarioDestinoId, usuarioOrigenId);
-        
-        boolean esMatch = false;
-        if (existeLikeReciproco) {
-            // Verificar que no exista ya un match
-            boolean existeMatch = matchRepositorio.existeMatchEntreUsuarios(usuarioOrigenId, usuarioDestinoId);
-            if (!existeMatch) {
-                crearMatch(usuarioOrigenId, usuarioDestinoId);
-                esMatch = true;
-                log.info("¡Match creado entre {} y {}!", usuarioOrigenId, usuarioDestinoId);
-            }
+        // Crear el like; el índice único (origen, destino) rechaza los duplicados
+        // y la sentencia descarta los pares archivados
+        LocalDateTime fechaCreacion = LocalDateTime.now();
+        Long likeId;
+        try {
+            likeId = likeLoteRepositorio.insertarLike(usuarioOrigenId, usuarioDestinoId, fechaCreacion)
+                    .orElseThrow(LikeDuplicadoException::new);
+        } catch (DataIntegrityViolationException e) {
+            throw new LikeDuplicadoException();
+        }
+        
+        indiceLikes.registrarTrasCommit(likeId, usuarioOrigenId, usuarioDestinoId);
+        publicadorEventos.registrar(EventoDominio.Tipo.LIKE_CREADO, usuarioOrigenId, usuarioDestinoId);
+        acumuladorContadores.registrarLikesTrasCommit(usuarioOrigenId, List.of(usuarioDestinoId));
+        ventanaLecturaPropia.registrarEscritura(usuarioOrigenId);
+        
+        // Crear el match si existe un like recíproco; la base de datos decide,
+        // ya que el like recíproco puede venir de otra instancia o de una importación
+        boolean esMatch = crearMatch(usuarioOrigenId, usuarioDestinoId);
+        if (esMatch) {
+            log.info("¡Match creado entre {} y {}!", usuarioOrigenId, usuarioDestinoId);
+            publicadorEventos.registrar(EventoDominio.Tipo.MATCH_CREADO, usuarioOrigenId, usuarioDestinoId);
+            acumuladorContadores.registrarMatchesTrasCommit(usuarioOrigenId, List.of(usuarioDestinoId));
         }
         
         return new LikeResponseDTO(
-                likeGuardado.getId(),
-                likeGuardado.getUsuarioOrigenId(),
-                likeGuardado.getUsuarioDestinoId(),
-                likeGuardado.getFechaCreacion(),
+                likeId,
+                usuarioOrigenId,
+                usuarioDestinoId,
+                fechaCreacion,
                 esMatch
         );
     }
     
     /**
-     * Crea un match entre dos usuarios.
+     * Crea en una sola transacción los likes de un usuario hacia varios destinos,
+     * por ejemplo al sincronizar swipes acumulados sin conexión.
+     * Los duplicados conocidos se descartan con el índice en memoria (o con
+     * una consulta IN por lote si aún no está cargado) y las inserciones de
+     * likes y matches se envían como lotes JDBC. Un like solo cuenta como
+     * creado si su fila se insertó (la inserción descarta los duplicados y los
+     * pares archivados que el índice no conocía), y el match de cada like creado se crea con
+     * la misma sentencia que en {@link #crearLike(Long, Long)}, que comprueba
+     * el like recíproco en la base de datos. Los pares del lote quedan
+     * bloqueados en memoria hasta el fin de la transacción.
+     *
+     * @param usuarioOrigenId ID del usuario que da los likes
+     * @param usuariosDestinoIds IDs de los usuarios que reciben los likes, en orden
+     * @return Resultado de cada like en el mismo orden de la petición
+     */
+    @Transactional
+    public List<ResultadoLikeLoteDTO> crearLikesEnLote(Long usuarioOrigenId, List<Long> usuariosDestinoIds) {
+        log.info("Usuario {} enviando {} likes en lote", usuarioOrigenId, usuariosDestinoIds.size());
+        
+        if (usuariosDestinoIds.size() > maximoLikesPorLote) {
+            throw new RuntimeException("No se pueden enviar más de " + maximoLikesPorLote + " likes por lote");
+        }
+        
+        // Descartar likes a sí mismo y IDs repetidos dentro de la misma petición
+        Set<Long> candidatos = new LinkedHashSet<>();
+        for (Long destino : usuariosDestinoIds) {
+            if (!destino.equals(usuarioOrigenId)) {
+                candidatos.add(destino);
+            }
+        }
+        
+        bloqueosPares.bloquearVariosHastaFinDeTransaccion(usuarioOrigenId, candidatos);
+        Set<Long> existentes;
+        if (candidatos.isEmpty()) {
+            existentes = Set.of();
+        } else if (indiceLikes.estaListo()) {
+            existentes = candidatos.stream()
+                    .filter(destino -> indiceLikes.contiene(usuarioOrigenId, destino))
+                    .collect(Collectors.toSet());
+        } else {
+            existentes = likeLoteRepositorio.buscarDestinosConLike(usuarioOrigenId, candidatos);
+        }
+        List<Long> nuevos = candidatos.stream()
+                .filter(destino -> !existentes.contains(destino))
+                .toList();
+        
+        // Solo los likes cuya fila se insertó cuentan como creados
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Long> creados = nuevos.isEmpty()
+                ? List.of()
+                : likeLoteRepositorio.insertarLikes(usuarioOrigenId, nuevos, ahora);
+        Set<Long> reciprocos = Set.of();
+        if (!creados.isEmpty()) {
+            indiceLikes.registrarVariosTrasCommit(usuarioOrigenId, creados);
+            publicadorEventos.registrarVarios(EventoDominio.Tipo.LIKE_CREADO, usuarioOrigenId, creados);
+            acumuladorContadores.registrarLikesTrasCommit(usuarioOrigenId, creados);
+            ventanaLecturaPropia.registrarEscritura(usuarioOrigenId);
+            
+            List<Long> nuevosMatches = likeLoteRepositorio.insertarMatchesSiHayLikeReciproco(
+                    usuarioOrigenId, creados, ahora);
+            if (!nuevosMatches.isEmpty()) {
+                publicadorEventos.registrarVarios(EventoDominio.Tipo.MATCH_CREADO, usuarioOrigenId, nuevosMatches);
+                acumuladorContadores.registrarMatchesTrasCommit(usuarioOrigenId, nuevosMatches);
+                log.info("¡{} matches creados para el usuario {}!", nuevosMatches.size(), usuarioOrigenId);
+                reciprocos = new HashSet<>(nuevosMatches);
+            }
+        }
+        
+        // Armar el resultado en el orden de la petición
+        Set<Long> nuevosPendientes = new HashSet<>(creados);
+        List<ResultadoLikeLoteDTO> resultados = new ArrayList<>(usuariosDestinoIds.size());
+        for (Long destino : usuariosDestinoIds) {
+            ResultadoLikeLoteDTO.Estado estado;
+            if (destino.equals(usuarioOrigenId)) {
+                estado = ResultadoLikeLoteDTO.Estado.INVALIDO;
+            } else if (!nuevosPendientes.remove(destino)) {
+                estado = ResultadoLikeLoteDTO.Estado.DUPLICADO;
+            } else if (reciprocos.contains(destino)) {
+                estado = ResultadoLikeLoteDTO.Estado.MATCH;
+            } else {
+                estado = ResultadoLikeLoteDTO.Estado.CREADO;
+            }
+            resultados.add(new ResultadoLikeLoteDTO(destino, estado));
+        }
+        return resultados;
+    }
+    
+    /**
+     * Crea el match entre dos usuarios si el destino ya había dado like al origen.
+     * El par se guarda de forma canónica (usuario1Id = menor, usuario2Id = mayor).
      *
-     * @param usuario1Id ID del primer usuario
-     * @param usuario2Id ID del segundo usuario
+     * @param usuarioOrigenId ID del usuario que acaba de dar like
+     * @param usuarioDestinoId ID del usuario que recibió el like
+     * @return true si se creó un match nuevo
      */
-    private void crearMatch(Long usuario1Id, Long usuario2Id) {
-        EntidadMatch match = new EntidadMatch();
-        match.setUsuario1Id(Math.min(usuario1Id, usuario2Id));
-        match.setUsuario2Id(Math.max(usuario1Id, usuario2Id));
-        match.setActivo(true);
-        matchRepositorio.save(match);
+    private boolean crearMatch(Long usuarioOrigenId, Long usuarioDestinoId) {
+        return matchRepositorio.crearMatchSiHayLikeReciproco(
+                usuarioOrigenId, usuarioDestinoId, LocalDateTime.now()) > 0;
     }
     
     /**
-     * Obtiene todos los matches de un usuario con información completa.
-     * Consulta el microservicio de usuarios para obtener datos adicionales.
+     * Obtiene una página de matches de un usuario con información completa.
+     * La página se lee siempre de la tabla de matches. Los datos de la otra
+     * persona salen de las tarjetas de match cuando están habilitadas (solo
+     * sin fragmentación) y ya los tienen; los demás se consultan al
+     * microservicio de usuarios en una sola llamada (o pocas, por lotes) en
+     * lugar de una por match.
+     * Si ms-usuarios no responde a tiempo, los matches afectados se devuelven
+     * sin información y marcados como degradados.
      *
      * @param usuarioId ID del usuario
-     * @return Lista de matches con información de usuarios
+     * @param cursor Token de continuación de la página anterior, o null para la primera
+     * @param tamano Tamaño de página solicitado (se limita al máximo configurado)
+     * @param incluirArchivo true para incluir los matches inactivos archivados
+     * @return Página de matches con información de usuarios
      */
     @Transactional(readOnly = true)
-    public List<MatchResponseDTO> obtenerMatchesDeUsuario(Long usuarioId) {
+    public PaginaDTO<MatchResponseDTO> obtenerMatchesDeUsuario(Long usuarioId, String cursor, int tamano,
+                                                               boolean incluirArchivo) {
         log.info("Obteniendo matches del usuario: {}", usuarioId);
+        PaginaDTO<MatchResponseDTO> pagina = obtenerPaginaMatches(usuarioId, cursor, tamano, incluirArchivo);
+        completarDatosContrapartes(usuarioId, pagina.getElementos());
+        return pagina;
+    }
+    
+    /**
+     * Obtiene una página de matches de un usuario sin los datos de la otra
+     * persona, para combinar páginas de varios fragmentos antes de
+     * completarlas con {@link #completarDatosContrapartes}.
+     *
+     * @param usuarioId ID del usuario
+     * @param cursor Token de continuación de la página anterior, o null para la primera
+     * @param tamano Tamaño de página solicitado (se limita al máximo configurado)
+     * @param incluirArchivo true para incluir los matches inactivos archivados
+     * @return Página de matches sin información de usuarios
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<MatchResponseDTO> obtenerPaginaMatches(Long usuarioId, String cursor, int tamano,
+                                                            boolean incluirArchivo) {
+        ventanaLecturaPropia.aplicarA(usuarioId);
         
-        List<EntidadMatch> matches = matchRepositorio.buscarMatchesPorUsuarioId(usuarioId);
+        CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+        int limite = limitarTamanoPagina(tamano);
+        List<MatchResponseDTO> matches = posicion == null
+                ? matchLecturaRepositorio.buscarPagina(usuarioId, limite + 1, incluirArchivo)
+                : matchLecturaRepositorio.buscarPaginaDespuesDe(
+                        usuarioId, posicion.fechaCreacion(), posicion.id(), limite + 1, incluirArchivo);
+        String siguienteCursor = null;
+        if (matches.size() > limite) {
+            matches = matches.subList(0, limite);
+            MatchResponseDTO ultimo = matches.get(limite - 1);
+            siguienteCursor = new CursorPaginacion(ultimo.getFechaCreacion(), ultimo.getId()).codificar();
+        }
+        return new PaginaDTO<>(matches, siguienteCursor);
+    }
+    
+    /**
+     * Completa los matches con los datos de la otra persona: de las tarjetas
+     * de match cuando los tienen y, el resto, de ms-usuarios en una sola
+     * consulta por lotes. Si ms-usuarios no responde a tiempo, los matches
+     * afectados quedan sin información y marcados como degradados.
+     *
+     * @param usuarioId ID del usuario que consulta
+     * @param matches Matches a completar
+     */
+    public void completarDatosContrapartes(Long usuarioId, List<MatchResponseDTO> matches) {
+        // IDs distintos de las contrapartes, con los datos de las tarjetas que ya los tienen
+        Set<Long> contrapartes = matches.stream()
+                .map(match -> obtenerContraparte(match, usuarioId))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, ResumenUsuarioDTO> deTarjetas = servicioTarjetasMatch
+                .map(servicio -> servicio.buscarDatosContrapartes(usuarioId, contrapartes))
+                .orElse(Map.of());
         
-        return matches.stream().map(match -> {
-            MatchResponseDTO dto = new MatchResponseDTO();
-            dto.setId(match.getId());
-            dto.setUsuario1Id(match.getUsuario1Id());
-            dto.setUsuario2Id(match.getUsuario2Id());
-            dto.setFechaCreacion(match.getFechaCreacion());
-            dto.setHayMatch(match.isActivo());
-            
-            // Obtener información de usuarios desde ms-usuarios usando RestTemplate
-            try {
-                Map<String, Object> usuario1Info = obtenerInfoUsuario(match.getUsuario1Id());
-                Map<String, Object> usuario2Info = obtenerInfoUsuario(match.getUsuario2Id());
-                
-                // Aquí podrías agregar los datos al DTO si los necesitas
-                // dto.setUsuario1Info(usuario1Info);
-                // dto.setUsuario2Info(usuario2Info);
-            } catch (Exception e) {
-                log.error("Error al obtener información de usuarios: {}", e.getMessage());
+        // El resto se consulta de una sola vez
+        contrapartes.removeAll(deTarjetas.keySet());
+        ResultadoResumenes resultado = clienteUsuarios.obtenerResumenes(contrapartes);
+        
+        for (MatchResponseDTO match : matches) {
+            Long contraparte = obtenerContraparte(match, usuarioId);
+            ResumenUsuarioDTO tarjeta = deTarjetas.get(contraparte);
+            if (tarjeta != null) {
+                match.setUsuarioInfo(tarjeta);
+            } else {
+                match.setUsuarioInfo(resultado.resumenes().get(contraparte));
+                match.setInfoDegradada(resultado.degradado() && match.getUsuarioInfo() == null);
             }
-            
-            return dto;
-        }).collect(Collectors.toList());
+        }
     }
     
     /**
-     * Obtiene información de un usuario desde el microservicio de usuarios.
-     * Utiliza RestTemplate para la comunicación entre microservicios.
+     * Devuelve el ID de la otra persona de un match.
      *
-     * @param usuarioId ID del usuario
-     * @return Mapa con la información del usuario
+     * @param match Match a evaluar
+     * @param usuarioId ID del usuario que consulta
+     * @return ID de la contraparte
      */
-    private Map<String, Object> obtenerInfoUsuario(Long usuarioId) {
-        try {
-            String url = msUsuariosUrl + "/api/auth/usuario/" + usuarioId;
-            log.debug("Consultando información de usuario en: {}", url);
-            
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            return response;
-        } catch (Exception e) {
-            log.error("Error al consultar ms-usuarios para usuario {}: {}", usuarioId, e.getMessage());
-            throw new RuntimeException("Error al obtener información del usuario");
-        }
+    private Long obtenerContraparte(MatchResponseDTO match, Long usuarioId) {
+        return match.getUsuario1Id().equals(usuarioId) ? match.getUsuario2Id() : match.getUsuario1Id();
     }
     
     /**
-     * Obtiene los likes recibidos por un usuario.
+     * Obtiene una página de likes recibidos por un usuario, del más reciente al más antiguo.
+     * Si se incluye el archivo, se lee la misma página de la tabla de likes
+     * archivados y ambas se combinan por (fecha, id); los IDs se conservan al
+     * archivar, así que el cursor sirve para las dos tablas.
      *
      * @param usuarioId ID del usuario
-     * @return Lista de likes recibidos
+     * @param cursor Token de continuación de la página anterior, o null para la primera
+     * @param tamano Tamaño de página solicitado (se limita al máximo configurado)
+     * @param incluirArchivo true para incluir los likes archivados
+     * @return Página de likes recibidos
      */
     @Transactional(readOnly = true)
-    public List<LikeResponseDTO> obtenerLikesRecibidos(Long usuarioId) {
+    public PaginaDTO<LikeResponseDTO> obtenerLikesRecibidos(Long usuarioId, String cursor, int tamano,
+                                                            boolean incluirArchivo) {
         log.info("Obteniendo likes recibidos por usuario: {}", usuarioId);
+        ventanaLecturaPropia.aplicarA(usuarioId);
         
-        List<EntidadLike> likes = likeRepositorio.findByUsuarioDestinoId(usuarioId);
+        CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+        int limite = limitarTamanoPagina(tamano);
+        Pageable pagina = PageRequest.of(0, limite + 1);
+        List<LikeResponseDTO> likes = posicion == null
+                ? likeRepositorio.buscarRecibidos(usuarioId, pagina)
+                : likeRepositorio.buscarRecibidosDespuesDe(
+                        usuarioId, posicion.fechaCreacion(), posicion.id(), pagina);
+        if (incluirArchivo) {
+            List<LikeResponseDTO> archivados = posicion == null
+                    ? likeArchivadoRepositorio.buscarRecibidos(usuarioId, pagina)
+                    : likeArchivadoRepositorio.buscarRecibidosDespuesDe(
+                            usuarioId, posicion.fechaCreacion(), posicion.id(), pagina);
+            likes = combinarRecientesPrimero(likes, archivados);
+        }
+        String siguienteCursor = null;
+        if (likes.size() > limite) {
+            likes = likes.subList(0, limite);
+            LikeResponseDTO ultimo = likes.get(limite - 1);
+            siguienteCursor = new CursorPaginacion(ultimo.getFechaCreacion(), ultimo.getId()).codificar();
+        }
         
-        return likes.stream().map(like -> new LikeResponseDTO(
-                like.getId(),
-                like.getUsuarioOrigenId(),
-                like.getUsuarioDestinoId(),
-                like.getFechaCreacion(),
-                false
-        )).collect(Collectors.toList());
+        return new PaginaDTO<>(likes, siguienteCursor);
+    }
+    
+    /**
+     * Combina dos listas de likes ordenadas del más reciente al más antiguo
+     * en una sola con el mismo orden.
+     *
+     * @param a Primera lista ordenada
+     * @param b Segunda lista ordenada
+     * @return Lista combinada
+     */
+    private static List<LikeResponseDTO> combinarRecientesPrimero(List<LikeResponseDTO> a, List<LikeResponseDTO> b) {
+        if (b.isEmpty()) {
+            return a;
+        }
+        Comparator<LikeResponseDTO> recientesPrimero = Comparator
+                .comparing(LikeResponseDTO::getFechaCreacion)
+                .thenComparing(LikeResponseDTO::getId)
+                .reversed();
+        List<LikeResponseDTO> combinados = new ArrayList<>(a.size() + b.size());
+        combinados.addAll(a);
+        combinados.addAll(b);
+        combinados.sort(recientesPrimero);
+        return combinados;
+    }
+    
+    /**
+     * Ajusta el tamaño de página solicitado al rango [1, máximo configurado].
+     *
+     * @param tamano Tamaño solicitado
+     * @return Tamaño de página a usar
+     */
+    private int limitarTamanoPagina(int tamano) {
+        return Math.max(1, Math.min(tamano, tamanoMaximoPagina));
     }
 }
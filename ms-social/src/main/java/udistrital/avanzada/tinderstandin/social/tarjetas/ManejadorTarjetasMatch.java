@@ -0,0 +1,36 @@
+package udistrital.avanzada.tinderstandin.social.tarjetas;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+import udistrital.avanzada.tinderstandin.social.eventos.ManejadorEventos;
+
+/**
+ * Manejador que mantiene las tarjetas de match con los matches creados y los
+ * cambios de perfil y de foto.
+ *
+ * @author AndGar03
+ */
+@Component
+@ConditionalOnProperty(prefix = "social.fragmentacion", name = "habilitada", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ManejadorTarjetasMatch implements ManejadorEventos {
+
+    private final ServicioTarjetasMatch servicioTarjetasMatch;
+
+    @Override
+    public boolean acepta(EventoDominio.Tipo tipo) {
+        return servicioTarjetasMatch.estanHabilitadas()
+                && (tipo == EventoDominio.Tipo.MATCH_CREADO || tipo == EventoDominio.Tipo.PERFIL_ACTUALIZADO);
+    }
+
+    @Override
+    public void manejar(EventoDominio evento) {
+        if (evento.tipo() == EventoDominio.Tipo.MATCH_CREADO) {
+            servicioTarjetasMatch.crearTarjetas(evento.usuarioOrigenId(), evento.usuarioDestinoId());
+        } else {
+            servicioTarjetasMatch.refrescarContraparte(evento.usuarioOrigenId());
+        }
+    }
+}
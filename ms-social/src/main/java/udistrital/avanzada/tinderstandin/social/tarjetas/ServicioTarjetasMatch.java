@@ -0,0 +1,270 @@
+package udistrital.avanzada.tinderstandin.social.tarjetas;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import udistrital.avanzada.tinderstandin.social.clientes.ClienteMultimedia;
+import udistrital.avanzada.tinderstandin.social.clientes.ClienteUsuarios;
+import udistrital.avanzada.tinderstandin.social.clientes.ResultadoResumenes;
+import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResumenUsuarioDTO;
+import udistrital.avanzada.tinderstandin.social.eventos.EventoDominio;
+import udistrital.avanzada.tinderstandin.social.eventos.PublicadorEventos;
+import udistrital.avanzada.tinderstandin.social.repositorios.MatchLecturaRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.TarjetaMatchRepositorio;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mantiene las tarjetas de match, el modelo de lectura de la pantalla de
+ * matches, a partir de los eventos de la tabla de salida.
+ *
+ * <ul>
+ *   <li>Match creado: se crean las dos tarjetas del match con los datos de
+ *   cada persona obtenidos de ms-usuarios y su foto principal de
+ *   ms-multimedia.</li>
+ *   <li>Perfil o foto actualizados: se reescriben los datos de la persona en
+ *   todas las tarjetas donde aparece, con una sola sentencia.</li>
+ * </ul>
+ *
+ * <p>Si al crear el match los datos no se pueden obtener (o son el último
+ * valor conocido), la tarjeta queda pendiente y una tarea periódica la
+ * completa; mientras tanto la lectura consulta a ms-usuarios solo por las
+ * tarjetas sin datos. Así el match nunca se reintenta por un fallo de otro
+ * microservicio, lo que repetiría sus notificaciones. Un cambio de perfil sí
+ * se reintenta, ya que nadie más lo reescribiría.</p>
+ *
+ * <p>La página de matches se sigue leyendo de la tabla de matches, que es la
+ * fuente de verdad; las tarjetas solo aportan los datos de la otra persona.
+ * Así un match sin tarjeta (anterior a habilitarlas, importado o aún sin
+ * despachar) aparece igual, con sus datos pedidos a ms-usuarios. Con
+ * fragmentación los matches de un usuario están repartidos, así que las
+ * tarjetas solo se registran sin ella.</p>
+ *
+ * @author AndGar03
+ */
+@Service
+@ConditionalOnProperty(prefix = "social.fragmentacion", name = "habilitada", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class ServicioTarjetasMatch {
+
+    private final TarjetaMatchRepositorio tarjetaMatchRepositorio;
+    private final MatchLecturaRepositorio matchLecturaRepositorio;
+    private final ClienteUsuarios clienteUsuarios;
+    private final ClienteMultimedia clienteMultimedia;
+    private final PublicadorEventos publicadorEventos;
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    @Value("${social.tarjetas.habilitadas:true}")
+    private boolean habilitadas;
+
+    @Value("${social.tarjetas.tamano-lote:200}")
+    private int tamanoLote;
+
+    public ServicioTarjetasMatch(TarjetaMatchRepositorio tarjetaMatchRepositorio,
+                                 MatchLecturaRepositorio matchLecturaRepositorio,
+                                 ClienteUsuarios clienteUsuarios,
+                                 ClienteMultimedia clienteMultimedia,
+                                 PublicadorEventos publicadorEventos) {
+        this.tarjetaMatchRepositorio = tarjetaMatchRepositorio;
+        this.matchLecturaRepositorio = matchLecturaRepositorio;
+        this.clienteUsuarios = clienteUsuarios;
+        this.clienteMultimedia = clienteMultimedia;
+        this.publicadorEventos = publicadorEventos;
+    }
+
+    /**
+     * Indica si las tarjetas se mantienen y se usan para leer los matches.
+     */
+    public boolean estanHabilitadas() {
+        return habilitadas;
+    }
+
+    /**
+     * Obtiene los datos de la otra persona guardados en las tarjetas de un
+     * usuario; con las tarjetas deshabilitadas no devuelve ninguno.
+     *
+     * @param usuarioId ID del dueño de las tarjetas
+     * @param contraparteIds IDs de las otras personas
+     * @return Mapa de ID de la contraparte a sus datos, sin las tarjetas que aún no los tienen
+     */
+    public Map<Long, ResumenUsuarioDTO> buscarDatosContrapartes(Long usuarioId, Collection<Long> contraparteIds) {
+        return habilitadas ? tarjetaMatchRepositorio.buscarDatosContrapartes(usuarioId, contraparteIds) : Map.of();
+    }
+
+    /**
+     * Registra en la tabla de salida que cambió el perfil o la foto de un
+     * usuario, para reescribir sus datos en las tarjetas.
+     *
+     * @param usuarioId ID del usuario
+     */
+    @Transactional
+    public void registrarCambioPerfil(Long usuarioId) {
+        if (habilitadas) {
+            publicadorEventos.registrar(EventoDominio.Tipo.PERFIL_ACTUALIZADO, usuarioId, usuarioId);
+        }
+    }
+
+    /**
+     * Crea las dos tarjetas del match de un par de usuarios. Si el match ya
+     * no está en la tabla de matches (se archivó), no se crea nada.
+     *
+     * @param usuarioA ID de uno de los usuarios
+     * @param usuarioB ID del otro usuario
+     */
+    public void crearTarjetas(Long usuarioA, Long usuarioB) {
+        Optional<MatchResponseDTO> match = matchLecturaRepositorio.buscarPorPar(usuarioA, usuarioB);
+        if (match.isEmpty()) {
+            log.debug("Match entre {} y {} no encontrado, no se crean tarjetas", usuarioA, usuarioB);
+            return;
+        }
+        tarjetaMatchRepositorio.registrarMatches(List.of(match.get()));
+
+        List<Long> usuarios = List.of(usuarioA, usuarioB);
+        ResultadoResumenes resultado = clienteUsuarios.obtenerResumenes(usuarios);
+        Map<Long, String> fotos = obtenerFotosSinFallar(usuarios);
+        boolean confirmados = !resultado.degradado() && fotos != null;
+        for (Long contraparteId : usuarios) {
+            ResumenUsuarioDTO resumen = resultado.resumenes().get(contraparteId);
+            if (resumen != null) {
+                Long usuarioId = contraparteId.equals(usuarioA) ? usuarioB : usuarioA;
+                tarjetaMatchRepositorio.actualizarTarjeta(usuarioId, contraparteId, resumen,
+                        elegirFoto(resumen, fotos), confirmados);
+            }
+        }
+    }
+
+    /**
+     * Reescribe los datos de un usuario en todas las tarjetas donde aparece.
+     *
+     * @param usuarioId ID del usuario
+     * @throws RuntimeException si ms-usuarios o ms-multimedia no responden,
+     *                          para que el evento se reintente
+     */
+    public void refrescarContraparte(Long usuarioId) {
+        ResultadoResumenes resultado = clienteUsuarios.obtenerResumenes(List.of(usuarioId));
+        if (resultado.degradado()) {
+            throw new RuntimeException("ms-usuarios no respondió al refrescar las tarjetas del usuario " + usuarioId);
+        }
+        ResumenUsuarioDTO resumen = resultado.resumenes().get(usuarioId);
+        if (resumen == null) {
+            log.debug("Usuario {} no encontrado en ms-usuarios, sus tarjetas no se modifican", usuarioId);
+            return;
+        }
+        Map<Long, String> fotos = clienteMultimedia.obtenerFotosPrincipales(List.of(usuarioId));
+        int actualizadas = tarjetaMatchRepositorio.actualizarContraparte(usuarioId, resumen, elegirFoto(resumen, fotos));
+        log.debug("Datos del usuario {} actualizados en {} tarjetas", usuarioId, actualizadas);
+    }
+
+    /**
+     * Ejecución periódica del completado de tarjetas pendientes, si están habilitadas.
+     */
+    @Scheduled(fixedDelayString = "${social.tarjetas.intervalo-completado-ms:60000}")
+    public void completarPendientesPeriodicamente() {
+        if (!habilitadas || !enCurso.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            completarPendientes();
+        } catch (RuntimeException e) {
+            log.error("Error al completar tarjetas de match pendientes: {}", e.getMessage());
+        } finally {
+            enCurso.set(false);
+        }
+    }
+
+    /**
+     * Crea las tarjetas de todos los matches de la tabla de matches, por
+     * lotes, y completa los datos de las que queden pendientes. Las tarjetas
+     * existentes conservan sus datos. Se usa al habilitar las tarjetas sobre
+     * una base con matches.
+     *
+     * @return Número de matches recorridos y de personas completadas
+     * @throws IllegalStateException si ya hay una reconstrucción o un completado en curso
+     */
+    public Map<String, Long> reconstruir() {
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay una reconstrucción o un completado de tarjetas en curso");
+        }
+        try {
+            long matches = 0;
+            long desdeId = 0;
+            List<MatchResponseDTO> lote;
+            while (!(lote = matchLecturaRepositorio.buscarDespuesDeId(desdeId, tamanoLote)).isEmpty()) {
+                tarjetaMatchRepositorio.registrarMatches(lote);
+                matches += lote.size();
+                desdeId = lote.get(lote.size() - 1).getId();
+            }
+            long personas = completarPendientes();
+            log.info("Tarjetas reconstruidas para {} matches, {} personas completadas", matches, personas);
+            return Map.of("matches", matches, "personasCompletadas", personas);
+        } finally {
+            enCurso.set(false);
+        }
+    }
+
+    /**
+     * Completa por lotes las tarjetas sin datos confirmados. Se detiene en el
+     * primer lote que no se puede obtener completo; el resto queda para la
+     * siguiente ejecución. Los usuarios que ms-usuarios ya no conoce se dan
+     * por completados sin datos.
+     *
+     * @return Número de personas completadas
+     */
+    private long completarPendientes() {
+        long completadas = 0;
+        List<Long> pendientes;
+        while (!(pendientes = tarjetaMatchRepositorio.buscarContrapartesPendientes(tamanoLote)).isEmpty()) {
+            ResultadoResumenes resultado = clienteUsuarios.obtenerResumenes(pendientes);
+            Map<Long, String> fotos = obtenerFotosSinFallar(pendientes);
+            if (resultado.degradado() || fotos == null) {
+                log.warn("Completado de tarjetas interrumpido: ms-usuarios o ms-multimedia no respondieron");
+                break;
+            }
+            Map<Long, ResumenUsuarioDTO> resumenes = new HashMap<>(resultado.resumenes());
+            Map<Long, String> fotosElegidas = new HashMap<>();
+            for (Long id : pendientes) {
+                ResumenUsuarioDTO resumen = resumenes.computeIfAbsent(
+                        id, clave -> new ResumenUsuarioDTO(clave, null, null, null, null, null));
+                String foto = elegirFoto(resumen, fotos);
+                if (foto != null) {
+                    fotosElegidas.put(id, foto);
+                }
+            }
+            tarjetaMatchRepositorio.completarPendientes(resumenes, fotosElegidas);
+            completadas += pendientes.size();
+        }
+        return completadas;
+    }
+
+    /**
+     * Obtiene las fotos principales de varios usuarios.
+     *
+     * @return Mapa de ID de usuario a URL, o null si ms-multimedia no respondió
+     */
+    private Map<Long, String> obtenerFotosSinFallar(List<Long> usuarioIds) {
+        try {
+            return clienteMultimedia.obtenerFotosPrincipales(usuarioIds);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron obtener las fotos principales de ms-multimedia: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Elige la foto de la tarjeta: la principal de ms-multimedia o, si el
+     * usuario no tiene fotos o no se conocen, la foto de perfil de ms-usuarios.
+     */
+    private static String elegirFoto(ResumenUsuarioDTO resumen, Map<Long, String> fotos) {
+        String foto = fotos == null ? null : fotos.get(resumen.getId());
+        return foto != null ? foto : resumen.getFotoPerfil();
+    }
+}
@@ -0,0 +1,340 @@
+package udistrital.avanzada.tinderstandin.social.volcado;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Formatos de volcado de las tablas sociales. Ambos se escriben fila a fila
+ * sobre el flujo recibido (que el servicio comprime con gzip), sin acumular
+ * la tabla en memoria.
+ *
+ * <ul>
+ *   <li>CSV: una línea {@code # fragmentos=N}, una cabecera con los nombres de
+ *   las columnas y una línea por fila; las fechas van en ISO-8601 y los lógicos
+ *   como true/false.</li>
+ *   <li>BINARIO: una cabecera con un número mágico, el nombre de la tabla, el
+ *   número de columnas y el número de fragmentos; cada fila va precedida de un
+ *   byte 1 y el final se marca con un byte 0. Los enteros y las fechas (en microsegundos desde la época,
+ *   UTC, sin zona) se guardan como la diferencia con el valor de la fila
+ *   anterior en la misma columna, en un entero de longitud variable: como las
+ *   filas salen ordenadas por ID, el ID y la fecha suelen ocupar uno o dos
+ *   bytes. Los lógicos ocupan 1 byte.</li>
+ * </ul>
+ *
+ * <p>El número de fragmentos de origen indica si los IDs del volcado son
+ * únicos: con más de uno, cada fragmento numera sus filas por su cuenta. Los
+ * volcados anteriores, sin ese dato, se leen como de un solo fragmento.</p>
+ *
+ * @author AndGar03
+ */
+public enum FormatoVolcado {
+
+    CSV("csv") {
+        @Override
+        public Escritor crearEscritor(OutputStream salida, TablaVolcado tabla, int fragmentos)
+                throws IOException {
+            BufferedWriter escritor = new BufferedWriter(
+                    new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
+            escritor.write(PREFIJO_FRAGMENTOS_CSV + fragmentos);
+            escritor.newLine();
+            escritor.write(tabla.getColumnas().stream()
+                    .map(TablaVolcado.Columna::nombre)
+                    .collect(Collectors.joining(",")));
+            escritor.newLine();
+            return new Escritor() {
+                @Override
+                public void escribir(Object[] fila) throws IOException {
+                    for (int i = 0; i < fila.length; i++) {
+                        if (i > 0) {
+                            escritor.write(',');
+                        }
+                        escritor.write(String.valueOf(fila[i]));
+                    }
+                    escritor.newLine();
+                }
+
+                @Override
+                public void terminar() throws IOException {
+                    escritor.flush();
+                }
+            };
+        }
+
+        @Override
+        public Lector crearLector(InputStream entrada, TablaVolcado tabla) throws IOException {
+            BufferedReader lector = new BufferedReader(
+                    new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANO_BUFFER);
+            String esperada = tabla.getColumnas().stream()
+                    .map(TablaVolcado.Columna::nombre)
+                    .collect(Collectors.joining(","));
+            String cabecera = lector.readLine();
+            int fragmentos = 1;
+            if (cabecera != null && cabecera.startsWith(PREFIJO_FRAGMENTOS_CSV)) {
+                fragmentos = leerFragmentos(cabecera.substring(PREFIJO_FRAGMENTOS_CSV.length()).trim());
+                cabecera = lector.readLine();
+            }
+            if (cabecera == null || !cabecera.trim().equals(esperada)) {
+                throw new IOException("La cabecera del CSV no corresponde a la tabla " + tabla.getNombre()
+                        + ", se esperaba: " + esperada);
+            }
+            List<TablaVolcado.Columna> columnas = tabla.getColumnas();
+            int fragmentosOrigen = fragmentos;
+            return new Lector() {
+                @Override
+                public int fragmentosOrigen() {
+                    return fragmentosOrigen;
+                }
+
+                @Override
+                public Object[] leer() throws IOException {
+                    String linea;
+                    do {
+                        linea = lector.readLine();
+                    } while (linea != null && linea.isBlank());
+                    if (linea == null) {
+                        return null;
+                    }
+                    String[] valores = linea.split(",", -1);
+                    if (valores.length != columnas.size()) {
+                        throw new IOException("Línea con " + valores.length + " columnas, se esperaban "
+                                + columnas.size() + ": " + linea);
+                    }
+                    Object[] fila = new Object[valores.length];
+                    for (int i = 0; i < valores.length; i++) {
+                        String valor = valores[i].trim();
+                        fila[i] = switch (columnas.get(i).tipo()) {
+                            case ENTERO -> Long.parseLong(valor);
+                            case FECHA -> LocalDateTime.parse(valor);
+                            case LOGICO -> valor.equals("1") || Boolean.parseBoolean(valor);
+                        };
+                    }
+                    return fila;
+                }
+            };
+        }
+    },
+
+    BINARIO("bin") {
+        @Override
+        public Escritor crearEscritor(OutputStream salida, TablaVolcado tabla, int fragmentos)
+                throws IOException {
+            DataOutputStream datos = new DataOutputStream(new BufferedOutputStream(salida, TAMANO_BUFFER));
+            datos.writeInt(MAGICO_CON_FRAGMENTOS);
+            datos.writeUTF(tabla.getNombre());
+            datos.writeByte(tabla.getColumnas().size());
+            datos.writeInt(fragmentos);
+            List<TablaVolcado.Columna> columnas = tabla.getColumnas();
+            long[] anteriores = new long[columnas.size()];
+            return new Escritor() {
+                @Override
+                public void escribir(Object[] fila) throws IOException {
+                    datos.writeByte(1);
+                    for (int i = 0; i < fila.length; i++) {
+                        long valor;
+                        switch (columnas.get(i).tipo()) {
+                            case ENTERO -> valor = (Long) fila[i];
+                            case FECHA -> valor = aMicros((LocalDateTime) fila[i]);
+                            default -> {
+                                datos.writeBoolean((Boolean) fila[i]);
+                                continue;
+                            }
+                        }
+                        escribirVariable(datos, valor - anteriores[i]);
+                        anteriores[i] = valor;
+                    }
+                }
+
+                @Override
+                public void terminar() throws IOException {
+                    datos.writeByte(0);
+                    datos.flush();
+                }
+            };
+        }
+
+        @Override
+        public Lector crearLector(InputStream entrada, TablaVolcado tabla) throws IOException {
+            DataInputStream datos = new DataInputStream(new BufferedInputStream(entrada, TAMANO_BUFFER));
+            int magico = datos.readInt();
+            if (magico != MAGICO && magico != MAGICO_CON_FRAGMENTOS) {
+                throw new IOException("El archivo no es un volcado binario de ms-social");
+            }
+            String nombre = datos.readUTF();
+            int cantidadColumnas = datos.readUnsignedByte();
+            if (!nombre.equals(tabla.getNombre()) || cantidadColumnas != tabla.getColumnas().size()) {
+                throw new IOException("El volcado es de la tabla " + nombre + ", no de " + tabla.getNombre());
+            }
+            int fragmentosOrigen = magico == MAGICO_CON_FRAGMENTOS ? datos.readInt() : 1;
+            List<TablaVolcado.Columna> columnas = tabla.getColumnas();
+            long[] anteriores = new long[cantidadColumnas];
+            return new Lector() {
+                @Override
+                public int fragmentosOrigen() {
+                    return fragmentosOrigen;
+                }
+
+                @Override
+                public Object[] leer() throws IOException {
+                    int marca;
+                    try {
+                        marca = datos.readUnsignedByte();
+                    } catch (EOFException e) {
+                        throw new IOException("Volcado binario truncado");
+                    }
+                    if (marca == 0) {
+                        return null;
+                    }
+                    Object[] fila = new Object[cantidadColumnas];
+                    for (int i = 0; i < cantidadColumnas; i++) {
+                        TablaVolcado.TipoColumna tipo = columnas.get(i).tipo();
+                        if (tipo == TablaVolcado.TipoColumna.LOGICO) {
+                            fila[i] = datos.readBoolean();
+                            continue;
+                        }
+                        anteriores[i] += leerVariable(datos);
+                        fila[i] = tipo == TablaVolcado.TipoColumna.FECHA ? deMicros(anteriores[i]) : anteriores[i];
+                    }
+                    return fila;
+                }
+            };
+        }
+    };
+
+    /**
+     * Escribe filas en un volcado.
+     */
+    public interface Escritor {
+
+        /**
+         * Escribe una fila con los valores en el orden de las columnas de la tabla.
+         */
+        void escribir(Object[] fila) throws IOException;
+
+        /**
+         * Escribe el final del volcado y vacía los buffers, sin cerrar el flujo.
+         */
+        void terminar() throws IOException;
+    }
+
+    /**
+     * Lee filas de un volcado.
+     */
+    public interface Lector {
+
+        /**
+         * Número de fragmentos de los que se exportó el volcado; con más de
+         * uno los IDs pueden repetirse.
+         */
+        int fragmentosOrigen();
+
+        /**
+         * Lee la siguiente fila.
+         *
+         * @return Valores de la fila en el orden de las columnas, o null al terminar
+         */
+        Object[] leer() throws IOException;
+    }
+
+    private static final int MAGICO = 0x534F4331;
+    private static final int MAGICO_CON_FRAGMENTOS = 0x534F4332;
+    private static final String PREFIJO_FRAGMENTOS_CSV = "# fragmentos=";
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final String extension;
+
+    FormatoVolcado(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Obtiene el formato a partir de su nombre o extensión, sin distinguir mayúsculas.
+     *
+     * @param nombre "csv", "binario" o "bin"
+     * @return Formato correspondiente
+     * @throws IllegalArgumentException si el formato no existe
+     */
+    public static FormatoVolcado desde(String nombre) {
+        for (FormatoVolcado formato : values()) {
+            if (formato.name().equalsIgnoreCase(nombre) || formato.extension.equalsIgnoreCase(nombre)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato no soportado: " + nombre);
+    }
+
+    /**
+     * Extensión del archivo, sin la de compresión.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Crea un escritor que escribe la cabecera del volcado en el flujo.
+     *
+     * @param fragmentos Número de fragmentos de los que se exporta la tabla
+     */
+    public abstract Escritor crearEscritor(OutputStream salida, TablaVolcado tabla, int fragmentos)
+            throws IOException;
+
+    /**
+     * Crea un lector que valida la cabecera del volcado contra la tabla.
+     */
+    public abstract Lector crearLector(InputStream entrada, TablaVolcado tabla) throws IOException;
+
+    private static int leerFragmentos(String valor) throws IOException {
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IOException("Número de fragmentos inválido en el volcado: " + valor);
+        }
+    }
+
+    /**
+     * Escribe un entero con signo en codificación zigzag de 7 bits por byte.
+     */
+    private static void escribirVariable(DataOutputStream datos, long valor) throws IOException {
+        long zigzag = (valor << 1) ^ (valor >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            datos.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        datos.writeByte((int) zigzag);
+    }
+
+    private static long leerVariable(DataInputStream datos) throws IOException {
+        long zigzag = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int octeto = datos.readUnsignedByte();
+            zigzag |= (long) (octeto & 0x7F) << desplazamiento;
+            if ((octeto & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Entero mal codificado en el volcado binario");
+    }
+
+    private static long aMicros(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + fecha.getNano() / 1_000;
+    }
+
+    private static LocalDateTime deMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
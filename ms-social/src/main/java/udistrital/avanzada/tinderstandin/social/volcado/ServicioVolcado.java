@@ -0,0 +1,391 @@
+package udistrital.avanzada.tinderstandin.social.volcado;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import udistrital.avanzada.tinderstandin.social.dto.ResultadoVolcadoDTO;
+import udistrital.avanzada.tinderstandin.social.fragmentacion.EnrutadorFragmentos;
+import udistrital.avanzada.tinderstandin.social.grafo.IndiceLikes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exporta e importa las tablas de likes y matches (y sus archivos) como
+ * volcados comprimidos con gzip, en memoria constante sin importar el tamaño
+ * de la tabla.
+ *
+ * <p>La exportación recorre la tabla con un ResultSet de solo avance,
+ * escribiendo cada fila en cuanto llega. Con MySQL la sentencia de la
+ * exportación pide las filas una a una (fetch de Integer.MIN_VALUE), sin
+ * cambiar la URL del datasource que usan las demás consultas; con otras bases
+ * usa un tamaño de fetch fijo. Con fragmentación se recorren todos los
+ * fragmentos uno tras otro y el volcado registra cuántos eran, ya que sus IDs
+ * pueden repetirse.</p>
+ *
+ * <p>La importación lee el volcado fila a fila y confirma cada cierto número
+ * de filas con lotes JDBC de INSERT IGNORE ... SELECT, que el driver envía en
+ * un solo viaje por lote y que informan por fila si se insertó. Repetir una
+ * importación interrumpida no duplica nada, y las filas descartadas por una
+ * clave repetida se cuentan aparte en lugar de perderse en silencio. Un
+ * volcado de varios fragmentos solo se importa con IDs nuevos. Siempre escribe
+ * en el fragmento principal: con fragmentación, el rebalanceador reparte
+ * después las filas. Los likes insertados se agregan al índice en memoria tras
+ * cada commit; los contadores por usuario no se recalculan.</p>
+ *
+ * <p>Solo se ejecuta una operación a la vez; su avance se registra
+ * periódicamente en el log y se puede consultar mientras corre.</p>
+ *
+ * @author AndGar03
+ */
+@Service
+@Slf4j
+public class ServicioVolcado {
+
+    private static final int TAMANO_BUFFER_GZIP = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<EnrutadorFragmentos> enrutador;
+    private final IndiceLikes indiceLikes;
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+    private final AtomicReference<Progreso> ultimo = new AtomicReference<>();
+
+    @Value("${social.volcado.tamano-fetch:1000}")
+    private int tamanoFetch;
+
+    @Value("${social.volcado.tamano-lote-jdbc:1000}")
+    private int tamanoLoteJdbc;
+
+    @Value("${social.volcado.filas-por-commit:20000}")
+    private int filasPorCommit;
+
+    @Value("${social.volcado.intervalo-reporte-ms:5000}")
+    private long intervaloReporteMs;
+
+    public ServicioVolcado(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           Optional<EnrutadorFragmentos> enrutador, IndiceLikes indiceLikes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enrutador = enrutador;
+        this.indiceLikes = indiceLikes;
+    }
+
+    /**
+     * Exporta una tabla completa al flujo indicado, comprimida con gzip.
+     * El flujo no se cierra.
+     *
+     * @param tabla Tabla a exportar
+     * @param formato Formato del volcado
+     * @param salida Flujo de destino
+     * @return Resultado de la exportación
+     * @throws IllegalStateException si ya hay un volcado en curso
+     * @throws IOException si falla la escritura del volcado
+     */
+    public ResultadoVolcadoDTO exportar(TablaVolcado tabla, FormatoVolcado formato, OutputStream salida)
+            throws IOException {
+        Progreso progreso = iniciar("EXPORTACION", tabla, formato);
+        try {
+            GZIPOutputStream comprimido = new GZIPOutputStream(salida, TAMANO_BUFFER_GZIP);
+            FormatoVolcado.Escritor escritor = formato.crearEscritor(comprimido, tabla, cantidadFragmentos());
+            String consulta = "SELECT " + nombresColumnas(tabla.getColumnas()) +
+                              " FROM " + tabla.getNombre() + " ORDER BY id";
+            for (int fragmento = 0; fragmento < cantidadFragmentos(); fragmento++) {
+                enFragmento(fragmento, () -> {
+                    jdbcTemplate.query(conexion -> {
+                        PreparedStatement sentencia = conexion.prepareStatement(
+                                consulta, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        // Con MySQL, Integer.MIN_VALUE entrega las filas una a una en lugar
+                        // de cargar el resultado completo; solo afecta a esta sentencia
+                        sentencia.setFetchSize(esMySql(conexion) ? Integer.MIN_VALUE : tamanoFetch);
+                        return sentencia;
+                    }, resultado -> {
+                        try {
+                            escritor.escribir(leerFila(resultado, tabla));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        progreso.sumar(1, 0);
+                    });
+                    return null;
+                });
+            }
+            escritor.terminar();
+            comprimido.finish();
+            comprimido.flush();
+            return terminar(progreso, null);
+        } catch (UncheckedIOException e) {
+            terminar(progreso, e.getCause().getMessage());
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            terminar(progreso, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Importa en una tabla un volcado comprimido con gzip. El flujo no se cierra.
+     *
+     * @param tabla Tabla de destino
+     * @param formato Formato del volcado
+     * @param entrada Flujo con el volcado
+     * @param conservarIds false para que la base de datos asigne los IDs de likes
+     *                     y matches (las tablas de archivo siempre conservan el suyo)
+     * @return Resultado de la importación, con las filas insertadas y las descartadas
+     * @throws IllegalStateException si ya hay un volcado en curso
+     * @throws IllegalArgumentException si el volcado es de varios fragmentos y se
+     *                                  deben conservar sus IDs
+     * @throws IOException si el volcado no se puede leer o no corresponde a la tabla
+     */
+    public ResultadoVolcadoDTO importar(TablaVolcado tabla, FormatoVolcado formato, InputStream entrada,
+                                        boolean conservarIds) throws IOException {
+        Progreso progreso = iniciar("IMPORTACION", tabla, formato);
+        try {
+            FormatoVolcado.Lector lector = formato.crearLector(descomprimir(entrada), tabla);
+            validarIds(tabla, lector.fragmentosOrigen(), conservarIds);
+            List<TablaVolcado.Columna> columnas = tabla.columnasInsercion(conservarIds);
+            int omitidas = tabla.getColumnas().size() - columnas.size();
+            String insercion = "INSERT IGNORE INTO " + tabla.getNombre() +
+                               " (" + nombresColumnas(columnas) + ") SELECT " +
+                               columnas.stream().map(columna -> "?").collect(Collectors.joining(", ")) +
+                               " FROM DUAL";
+
+            List<Object[]> pendientes = new ArrayList<>(filasPorCommit);
+            Object[] fila;
+            while ((fila = lector.leer()) != null) {
+                pendientes.add(fila);
+                if (pendientes.size() == filasPorCommit) {
+                    int insertadas = confirmar(tabla, insercion, columnas, omitidas, pendientes);
+                    progreso.sumar(insertadas, pendientes.size() - insertadas);
+                    pendientes.clear();
+                }
+            }
+            if (!pendientes.isEmpty()) {
+                int insertadas = confirmar(tabla, insercion, columnas, omitidas, pendientes);
+                progreso.sumar(insertadas, pendientes.size() - insertadas);
+            }
+            return terminar(progreso, null);
+        } catch (IOException | RuntimeException e) {
+            terminar(progreso, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene el avance de la operación en curso o el resultado de la última.
+     *
+     * @return Avance o resultado, vacío si no ha habido ningún volcado
+     */
+    public Optional<ResultadoVolcadoDTO> obtenerEstado() {
+        return Optional.ofNullable(ultimo.get()).map(Progreso::resultado);
+    }
+
+    /**
+     * Rechaza conservar los IDs de un volcado exportado de varios fragmentos:
+     * cada fragmento numera sus filas por su cuenta, así que INSERT IGNORE
+     * descartaría las filas cuyo ID ya usó otro fragmento.
+     */
+    private static void validarIds(TablaVolcado tabla, int fragmentosOrigen, boolean conservarIds) {
+        if (fragmentosOrigen <= 1) {
+            return;
+        }
+        if (!tabla.isIdGenerado()) {
+            throw new IllegalArgumentException("El volcado de " + tabla.getNombre() + " viene de " +
+                    fragmentosOrigen + " fragmentos y sus IDs pueden repetirse; las tablas de archivo " +
+                    "conservan su ID, así que solo se importan desde volcados de un fragmento");
+        }
+        if (conservarIds) {
+            throw new IllegalArgumentException("El volcado de " + tabla.getNombre() + " viene de " +
+                    fragmentosOrigen + " fragmentos y sus IDs pueden repetirse; impórtalo con conservarIds=false");
+        }
+    }
+
+    /**
+     * Inserta un grupo de filas en una transacción con lotes JDBC.
+     *
+     * @return Número de filas insertadas; el resto se descartó por una clave repetida
+     */
+    private int confirmar(TablaVolcado tabla, String insercion, List<TablaVolcado.Columna> columnas,
+                          int omitidas, List<Object[]> filas) {
+        return enTransaccionPrincipal(() -> {
+            int[][] resultados = jdbcTemplate.batchUpdate(insercion, filas, tamanoLoteJdbc, (sentencia, fila) -> {
+                for (int i = 0; i < columnas.size(); i++) {
+                    Object valor = fila[i + omitidas];
+                    switch (columnas.get(i).tipo()) {
+                        case ENTERO -> sentencia.setLong(i + 1, (Long) valor);
+                        case FECHA -> sentencia.setTimestamp(i + 1,
+                                Timestamp.valueOf((LocalDateTime) valor));
+                        case LOGICO -> sentencia.setBoolean(i + 1, (Boolean) valor);
+                    }
+                }
+            });
+            // Los resultados llegan por lote, en el mismo orden que las filas
+            List<Object[]> insertadas = new ArrayList<>(filas.size());
+            int posicion = 0;
+            for (int[] lote : resultados) {
+                for (int filasAfectadas : lote) {
+                    if (filasAfectadas > 0) {
+                        insertadas.add(filas.get(posicion));
+                    }
+                    posicion++;
+                }
+            }
+            if (tabla == TablaVolcado.LIKES || tabla == TablaVolcado.LIKES_ARCHIVO) {
+                // Columnas 1 y 2: usuario_origen_id y usuario_destino_id
+                Map<Long, List<Long>> destinosPorOrigen = new HashMap<>();
+                for (Object[] fila : insertadas) {
+                    destinosPorOrigen.computeIfAbsent((Long) fila[1], k -> new ArrayList<>()).add((Long) fila[2]);
+                }
+                destinosPorOrigen.forEach(indiceLikes::registrarVariosTrasCommit);
+            }
+            return insertadas.size();
+        });
+    }
+
+    private static InputStream descomprimir(InputStream entrada) throws IOException {
+        try {
+            return new GZIPInputStream(entrada, TAMANO_BUFFER_GZIP);
+        } catch (EOFException e) {
+            throw new IOException("El volcado está vacío");
+        }
+    }
+
+    private static boolean esMySql(Connection conexion) throws SQLException {
+        return "MySQL".equals(conexion.getMetaData().getDatabaseProductName());
+    }
+
+    private static Object[] leerFila(ResultSet resultado, TablaVolcado tabla) throws SQLException {
+        List<TablaVolcado.Columna> columnas = tabla.getColumnas();
+        Object[] fila = new Object[columnas.size()];
+        for (int i = 0; i < fila.length; i++) {
+            fila[i] = switch (columnas.get(i).tipo()) {
+                case ENTERO -> resultado.getLong(i + 1);
+                case FECHA -> resultado.getTimestamp(i + 1).toLocalDateTime();
+                case LOGICO -> resultado.getBoolean(i + 1);
+            };
+        }
+        return fila;
+    }
+
+    private static String nombresColumnas(List<TablaVolcado.Columna> columnas) {
+        return columnas.stream().map(TablaVolcado.Columna::nombre).collect(Collectors.joining(", "));
+    }
+
+    private Progreso iniciar(String operacion, TablaVolcado tabla, FormatoVolcado formato) {
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay una exportación o importación en curso");
+        }
+        Progreso progreso = new Progreso(operacion, tabla, formato);
+        ultimo.set(progreso);
+        log.info("Iniciando {} de {} en formato {}", operacion.toLowerCase(), tabla.getNombre(), formato);
+        return progreso;
+    }
+
+    private ResultadoVolcadoDTO terminar(Progreso progreso, String error) {
+        progreso.terminar(error);
+        enCurso.set(false);
+        ResultadoVolcadoDTO resultado = progreso.resultado();
+        if (error == null) {
+            log.info("{} de {} terminada: {} filas ({} descartadas) en {} ms ({} filas/s)", progreso.operacion,
+                    progreso.tabla.getNombre(), resultado.getFilas(), resultado.getFilasDescartadas(),
+                    resultado.getDuracionMs(), Math.round(resultado.getFilasPorSegundo()));
+        } else {
+            log.error("{} de {} fallida tras {} filas ({} descartadas): {}", progreso.operacion,
+                    progreso.tabla.getNombre(), resultado.getFilas(), resultado.getFilasDescartadas(), error);
+        }
+        return resultado;
+    }
+
+    private int cantidadFragmentos() {
+        return enrutador.map(EnrutadorFragmentos::cantidadFragmentos).orElse(1);
+    }
+
+    private <T> T enFragmento(int fragmento, Supplier<T> operacion) {
+        return enrutador.isPresent() ? enrutador.get().enFragmento(fragmento, operacion) : operacion.get();
+    }
+
+    private <T> T enTransaccionPrincipal(Supplier<T> operacion) {
+        return enrutador.isPresent()
+                ? enrutador.get().enTransaccion(EnrutadorFragmentos.FRAGMENTO_PRINCIPAL, operacion)
+                : transactionTemplate.execute(estado -> operacion.get());
+    }
+
+    /**
+     * Avance de una operación, actualizado por el hilo que la ejecuta y leído
+     * por las consultas de estado.
+     */
+    private final class Progreso {
+
+        private final String operacion;
+        private final TablaVolcado tabla;
+        private final FormatoVolcado formato;
+        private final long inicio = System.nanoTime();
+        private volatile long filas;
+        private volatile long descartadas;
+        private volatile long fin;
+        private volatile String error;
+        private long ultimoReporte = inicio;
+
+        Progreso(String operacion, TablaVolcado tabla, FormatoVolcado formato) {
+            this.operacion = operacion;
+            this.tabla = tabla;
+            this.formato = formato;
+        }
+
+        void sumar(long escritas, long descartadasLote) {
+            filas += escritas;
+            descartadas += descartadasLote;
+            long ahora = System.nanoTime();
+            if (ahora - ultimoReporte >= intervaloReporteMs * 1_000_000L) {
+                ultimoReporte = ahora;
+                ResultadoVolcadoDTO avance = resultado();
+                log.info("{} de {}: {} filas, {} descartadas ({} filas/s)", operacion, tabla.getNombre(),
+                        avance.getFilas(), avance.getFilasDescartadas(), Math.round(avance.getFilasPorSegundo()));
+            }
+        }
+
+        void terminar(String mensajeError) {
+            error = mensajeError;
+            fin = System.nanoTime();
+        }
+
+        ResultadoVolcadoDTO resultado() {
+            long terminado = fin;
+            long duracionNanos = (terminado == 0 ? System.nanoTime() : terminado) - inicio;
+            long filasActuales = filas;
+            return new ResultadoVolcadoDTO(
+                    operacion,
+                    tabla.getNombre(),
+                    formato.name(),
+                    terminado == 0,
+                    filasActuales,
+                    descartadas,
+                    duracionNanos / 1_000_000,
+                    duracionNanos == 0 ? 0 : filasActuales * 1_000_000_000.0 / duracionNanos,
+                    error
+            );
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package udistrital.avanzada.tinderstandin.social.volcado;
+
+import java.util.List;
+
+/**
+ * Tablas del grafo social que se pueden exportar e importar, con sus columnas
+ * en el orden en que se escriben.
+ *
+ * @author AndGar03
+ */
+public enum TablaVolcado {
+
+    LIKES("likes", true, List.of(
+            new Columna("id", TipoColumna.ENTERO),
+            new Columna("usuario_origen_id", TipoColumna.ENTERO),
+            new Columna("usuario_destino_id", TipoColumna.ENTERO),
+            new Columna("fecha_creacion", TipoColumna.FECHA))),
+
+    MATCHES("matches", true, List.of(
+            new Columna("id", TipoColumna.ENTERO),
+            new Columna("usuario1_id", TipoColumna.ENTERO),
+            new Columna("usuario2_id", TipoColumna.ENTERO),
+            new Columna("fecha_creacion", TipoColumna.FECHA),
+            new Columna("activo", TipoColumna.LOGICO))),
+
+    LIKES_ARCHIVO("likes_archivo", false, List.of(
+            new Columna("id", TipoColumna.ENTERO),
+            new Columna("usuario_origen_id", TipoColumna.ENTERO),
+            new Columna("usuario_destino_id", TipoColumna.ENTERO),
+            new Columna("fecha_creacion", TipoColumna.FECHA),
+            new Columna("fecha_archivado", TipoColumna.FECHA))),
+
+    MATCHES_ARCHIVO("matches_archivo", false, List.of(
+            new Columna("id", TipoColumna.ENTERO),
+            new Columna("usuario1_id", TipoColumna.ENTERO),
+            new Columna("usuario2_id", TipoColumna.ENTERO),
+            new Columna("fecha_creacion", TipoColumna.FECHA),
+            new Columna("activo", TipoColumna.LOGICO),
+            new Columna("fecha_archivado", TipoColumna.FECHA)));
+
+    /**
+     * Tipo de valor de una columna.
+     */
+    public enum TipoColumna { ENTERO, FECHA, LOGICO }
+
+    /**
+     * Columna de una tabla exportable.
+     */
+    public record Columna(String nombre, TipoColumna tipo) {
+    }
+
+    private final String nombre;
+    private final boolean idGenerado;
+    private final List<Columna> columnas;
+
+    TablaVolcado(String nombre, boolean idGenerado, List<Columna> columnas) {
+        this.nombre = nombre;
+        this.idGenerado = idGenerado;
+        this.columnas = columnas;
+    }
+
+    /**
+     * Obtiene la tabla a partir de su nombre, sin distinguir mayúsculas.
+     *
+     * @param nombre Nombre de la tabla (por ejemplo "likes" o "matches_archivo")
+     * @return Tabla correspondiente
+     * @throws IllegalArgumentException si la tabla no se puede volcar
+     */
+    public static TablaVolcado desde(String nombre) {
+        for (TablaVolcado tabla : values()) {
+            if (tabla.nombre.equalsIgnoreCase(nombre.replace('-', '_'))) {
+                return tabla;
+            }
+        }
+        throw new IllegalArgumentException("Tabla no soportada: " + nombre);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Indica si la tabla genera su ID con AUTO_INCREMENT, de modo que al
+     * importar se puede dejar que la base de datos lo asigne.
+     */
+    public boolean isIdGenerado() {
+        return idGenerado;
+    }
+
+    public List<Columna> getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Columnas que se escriben al importar.
+     *
+     * @param conservarIds false para omitir el ID si la tabla lo genera
+     * @return Columnas de la inserción
+     */
+    public List<Columna> columnasInsercion(boolean conservarIds) {
+        return conservarIds || !idGenerado ? columnas : columnas.subList(1, columnas.size());
+    }
+}
@@ -0,0 +1,98 @@
+package udistrital.avanzada.tinderstandin.social.volcado;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import udistrital.avanzada.tinderstandin.social.dto.ResultadoVolcadoDTO;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Ejecuta una exportación o importación desde la línea de comandos y termina
+ * la aplicación al acabar. Sin la opción --volcado no hace nada.
+ *
+ * <pre>
+ * java -jar ms-social.jar --spring.main.web-application-type=none \
+ *      --volcado=exportar --tabla=likes --formato=bin --archivo=/respaldos/likes.bin.gz
+ * java -jar ms-social.jar --spring.main.web-application-type=none \
+ *      --volcado=importar --tabla=likes --archivo=/respaldos/likes.csv.gz [--conservar-ids=true]
+ * </pre>
+ *
+ * <p>El formato por defecto es csv y la importación asigna IDs nuevos a likes
+ * y matches salvo con --conservar-ids=true. La salida del proceso es 0 si el volcado
+ * terminó bien y 1 si falló.</p>
+ *
+ * @author AndGar03
+ */
+@Component
+@Slf4j
+public class VolcadoLineaComandos implements ApplicationRunner {
+
+    private final ServicioVolcado servicioVolcado;
+    private final ConfigurableApplicationContext contexto;
+
+    public VolcadoLineaComandos(ServicioVolcado servicioVolcado, ConfigurableApplicationContext contexto) {
+        this.servicioVolcado = servicioVolcado;
+        this.contexto = contexto;
+    }
+
+    @Override
+    public void run(ApplicationArguments argumentos) {
+        String operacion = opcion(argumentos, "volcado", null);
+        if (operacion == null) {
+            return;
+        }
+        int codigo;
+        try {
+            ResultadoVolcadoDTO resultado = ejecutar(operacion, argumentos);
+            log.info("Volcado terminado: {} filas de {} ({} descartadas) en {} ms", resultado.getFilas(),
+                    resultado.getTabla(), resultado.getFilasDescartadas(), resultado.getDuracionMs());
+            codigo = 0;
+        } catch (IOException | RuntimeException e) {
+            log.error("Volcado fallido: {}", e.getMessage());
+            codigo = 1;
+        }
+        int salida = codigo;
+        System.exit(SpringApplication.exit(contexto, () -> salida));
+    }
+
+    private ResultadoVolcadoDTO ejecutar(String operacion, ApplicationArguments argumentos) throws IOException {
+        TablaVolcado tabla = TablaVolcado.desde(opcion(argumentos, "tabla", "likes"));
+        FormatoVolcado formato = FormatoVolcado.desde(opcion(argumentos, "formato", "csv"));
+        String archivo = opcion(argumentos, "archivo", null);
+        if (archivo == null) {
+            throw new IllegalArgumentException("Falta la opción --archivo");
+        }
+        Path ruta = Path.of(archivo);
+        switch (operacion) {
+            case "exportar" -> {
+                try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(ruta))) {
+                    return servicioVolcado.exportar(tabla, formato, salida);
+                }
+            }
+            case "importar" -> {
+                boolean conservarIds = Boolean.parseBoolean(opcion(argumentos, "conservar-ids", "false"));
+                try (InputStream entrada = new BufferedInputStream(Files.newInputStream(ruta))) {
+                    return servicioVolcado.importar(tabla, formato, entrada, conservarIds);
+                }
+            }
+            default -> throw new IllegalArgumentException(
+                    "Operación de volcado no soportada: " + operacion + " (exportar o importar)");
+        }
+    }
+
+    private static String opcion(ApplicationArguments argumentos, String nombre, String porDefecto) {
+        List<String> valores = argumentos.getOptionValues(nombre);
+        return valores == null || valores.isEmpty() ? porDefecto : valores.get(0);
+    }
+}
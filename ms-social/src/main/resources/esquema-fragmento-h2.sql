@@ -0,0 +1,119 @@
+-- Esquema de cada fragmento para el perfil local con H2 (modo MySQL).
+-- Las tablas no fragmentadas solo se usan en el fragmento principal.
+
+CREATE TABLE IF NOT EXISTS likes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    CONSTRAINT uk_likes_origen_destino UNIQUE (usuario_origen_id, usuario_destino_id)
+);
+CREATE INDEX IF NOT EXISTS idx_likes_destino_fecha ON likes (usuario_destino_id, fecha_creacion, id);
+
+CREATE TABLE IF NOT EXISTS matches (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    usuario1_id BIGINT NOT NULL,
+    usuario2_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    activo BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_matches_par UNIQUE (usuario1_id, usuario2_id)
+);
+CREATE INDEX IF NOT EXISTS idx_matches_usuario1_fecha ON matches (usuario1_id, fecha_creacion, id);
+CREATE INDEX IF NOT EXISTS idx_matches_usuario2_fecha ON matches (usuario2_id, fecha_creacion, id);
+
+CREATE TABLE IF NOT EXISTS eventos_salida (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    clave_orden VARCHAR(50) NOT NULL,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    intentos INT NOT NULL DEFAULT 0,
+    proximo_intento DATETIME NOT NULL,
+    ultimo_error VARCHAR(500)
+);
+CREATE INDEX IF NOT EXISTS idx_eventos_estado_intento ON eventos_salida (estado, proximo_intento, id);
+
+CREATE TABLE IF NOT EXISTS contadores_usuario (
+    usuario_id BIGINT PRIMARY KEY,
+    likes_recibidos BIGINT NOT NULL DEFAULT 0,
+    likes_enviados BIGINT NOT NULL DEFAULT 0,
+    matches BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS claves_idempotencia (
+    clave VARCHAR(160) PRIMARY KEY,
+    huella VARCHAR(64) NOT NULL,
+    propietario VARCHAR(36),
+    codigo_estado INT,
+    cuerpo TEXT,
+    fecha_creacion DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS arrendamientos (
+    nombre VARCHAR(60) PRIMARY KEY,
+    propietario VARCHAR(36) NOT NULL,
+    vence DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS notificaciones_difusion (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha DATETIME NOT NULL,
+    fecha_registro DATETIME(3) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_notificaciones_difusion_registro ON notificaciones_difusion (fecha_registro);
+
+CREATE TABLE IF NOT EXISTS likes_archivo (
+    id BIGINT PRIMARY KEY,
+    usuario_origen_id BIGINT NOT NULL,
+    usuario_destino_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    fecha_archivado DATETIME NOT NULL,
+    CONSTRAINT uk_likes_archivo_origen_destino UNIQUE (usuario_origen_id, usuario_destino_id)
+);
+CREATE INDEX IF NOT EXISTS idx_likes_archivo_destino_fecha ON likes_archivo (usuario_destino_id, fecha_creacion, id);
+
+CREATE TABLE IF NOT EXISTS matches_archivo (
+    id BIGINT PRIMARY KEY,
+    usuario1_id BIGINT NOT NULL,
+    usuario2_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    activo BOOLEAN NOT NULL,
+    fecha_archivado DATETIME NOT NULL,
+    CONSTRAINT uk_matches_archivo_par UNIQUE (usuario1_id, usuario2_id)
+);
+CREATE INDEX IF NOT EXISTS idx_matches_archivo_usuario1_fecha ON matches_archivo (usuario1_id, fecha_creacion, id);
+CREATE INDEX IF NOT EXISTS idx_matches_archivo_usuario2_fecha ON matches_archivo (usuario2_id, fecha_creacion, id);
+
+CREATE TABLE IF NOT EXISTS reconciliacion_puntos_control (
+    rango_inicio BIGINT PRIMARY KEY,
+    rango_fin BIGINT NOT NULL,
+    likes_duplicados INT NOT NULL,
+    matches_duplicados INT NOT NULL,
+    matches_faltantes INT NOT NULL,
+    fecha_completado DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tarjetas_match (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    match_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    contraparte_id BIGINT NOT NULL,
+    fecha_match DATETIME NOT NULL,
+    activo BOOLEAN NOT NULL,
+    username VARCHAR(100),
+    nombre_completo VARCHAR(200),
+    genero VARCHAR(30),
+    ciudad VARCHAR(100),
+    foto_url VARCHAR(500),
+    fecha_actualizacion DATETIME,
+    CONSTRAINT uk_tarjetas_usuario_contraparte UNIQUE (usuario_id, contraparte_id)
+);
+CREATE INDEX IF NOT EXISTS idx_tarjetas_usuario_fecha ON tarjetas_match (usuario_id, fecha_match, match_id);
+CREATE INDEX IF NOT EXISTS idx_tarjetas_contraparte ON tarjetas_match (contraparte_id);
+CREATE INDEX IF NOT EXISTS idx_tarjetas_match ON tarjetas_match (match_id);
+CREATE INDEX IF NOT EXISTS idx_tarjetas_pendientes ON tarjetas_match (fecha_actualizacion, contraparte_id);
@@ -0,0 +1,181 @@
+package udistrital.avanzada.tinderstandin.social.carga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generador de carga con concurrencia fija para comparar el modo bloqueante
+ * y el reactivo de ms-social con la misma base, los mismos datos y el mismo
+ * ms-usuarios lento.
+ *
+ * <p>Cada petición pide la primera página de matches de un usuario distinto,
+ * con contrapartes que no se repiten, así que ninguna se resuelve con la
+ * caché de resúmenes y todas esperan a ms-usuarios. El cliente HTTP usa un
+ * pool de pocos hilos y un semáforo para mantener exactamente la
+ * concurrencia pedida; el pico de hilos del proceso se mide desde justo antes
+ * de la primera petición.</p>
+ *
+ * <p>Parámetros, como propiedades del sistema:
+ * {@code carga.peticiones} (1000), {@code carga.concurrencia} (500),
+ * {@code carga.latencia-ms} (300) y {@code carga.matches-por-usuario} (5).</p>
+ *
+ * @author AndGar03
+ */
+public final class GeneradorCarga {
+
+    public static final int PETICIONES = Integer.getInteger("carga.peticiones", 1000);
+    public static final int CONCURRENCIA = Integer.getInteger("carga.concurrencia", 500);
+    public static final long LATENCIA_MS = Long.getLong("carga.latencia-ms", 300);
+    public static final int MATCHES_POR_USUARIO = Integer.getInteger("carga.matches-por-usuario", 5);
+
+    private static final long PRIMER_USUARIO = 100_000;
+    private static final long PRIMERA_CONTRAPARTE = 1_000_000;
+
+    private GeneradorCarga() {
+    }
+
+    /**
+     * Crea los matches de cada usuario consultado, con contrapartes distintas
+     * para todos.
+     *
+     * @param jdbcTemplate Acceso a la base del modo probado
+     * @return IDs de los usuarios a consultar
+     */
+    public static List<Long> sembrar(JdbcTemplate jdbcTemplate) {
+        List<Long> usuarios = new ArrayList<>(PETICIONES);
+        List<Object[]> filas = new ArrayList<>(PETICIONES * MATCHES_POR_USUARIO);
+        Timestamp fecha = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < PETICIONES; i++) {
+            long usuario = PRIMER_USUARIO + i;
+            usuarios.add(usuario);
+            for (int k = 0; k < MATCHES_POR_USUARIO; k++) {
+                filas.add(new Object[]{usuario, PRIMERA_CONTRAPARTE + (long) i * MATCHES_POR_USUARIO + k, fecha});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) VALUES (?, ?, ?, TRUE)", filas);
+        return usuarios;
+    }
+
+    /**
+     * Pide la primera página de matches de cada usuario con la concurrencia
+     * configurada y espera a que terminen todas.
+     *
+     * @param baseUrl URL base de ms-social
+     * @param usuarios Usuarios a consultar, uno por petición
+     * @param servicioUsuarios ms-usuarios lento, para contar sus consultas
+     * @return Resultado de la ejecución
+     */
+    public static Resultado ejecutar(String baseUrl, List<Long> usuarios, ServicioUsuariosLento servicioUsuarios)
+            throws InterruptedException {
+        ExecutorService hilosCliente = Executors.newFixedThreadPool(4);
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(hilosCliente)
+                .build();
+        Semaphore enVuelo = new Semaphore(CONCURRENCIA);
+        long[] latenciasNanos = new long[usuarios.size()];
+        LongAdder exitosas = new LongAdder();
+        LongAdder degradadas = new LongAdder();
+        List<CompletableFuture<?>> pendientes = new ArrayList<>(usuarios.size());
+        long consultasPrevias = servicioUsuarios.consultas();
+
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        hilos.resetPeakThreadCount();
+        long inicio = System.nanoTime();
+        try {
+            for (int i = 0; i < usuarios.size(); i++) {
+                int indice = i;
+                enVuelo.acquire();
+                HttpRequest peticion = HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/api/social/matches/" + usuarios.get(i) + "?tamano=" + MATCHES_POR_USUARIO))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                long enviada = System.nanoTime();
+                pendientes.add(cliente.sendAsync(peticion, HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((respuesta, error) -> {
+                            latenciasNanos[indice] = System.nanoTime() - enviada;
+                            if (error == null && respuesta.statusCode() == 200) {
+                                exitosas.increment();
+                                if (respuesta.body().contains("\"infoDegradada\":true")) {
+                                    degradadas.increment();
+                                }
+                            }
+                            enVuelo.release();
+                        }));
+            }
+            CompletableFuture.allOf(pendientes.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        } finally {
+            hilosCliente.shutdown();
+        }
+        long duracionNanos = System.nanoTime() - inicio;
+
+        long[] ordenadas = latenciasNanos.clone();
+        Arrays.sort(ordenadas);
+        return new Resultado(usuarios.size(), exitosas.sum(), degradadas.sum(), duracionNanos / 1_000_000,
+                percentilMs(ordenadas, 0.50), percentilMs(ordenadas, 0.95), percentilMs(ordenadas, 0.99),
+                hilos.getPeakThreadCount(), servicioUsuarios.consultas() - consultasPrevias);
+    }
+
+    private static long percentilMs(long[] ordenadas, double percentil) {
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1_000_000;
+    }
+
+    /**
+     * Resultado de una ejecución.
+     *
+     * @param peticiones Peticiones enviadas
+     * @param exitosas Respuestas 200
+     * @param degradadas Respuestas 200 con algún match sin datos de ms-usuarios
+     * @param duracionMs Tiempo total de la ejecución
+     * @param p50Ms Mediana de la latencia
+     * @param p95Ms Percentil 95 de la latencia
+     * @param p99Ms Percentil 99 de la latencia
+     * @param hilosPico Pico de hilos vivos del proceso (servicio, ms-usuarios lento y cliente)
+     * @param consultasUsuarios Consultas recibidas por ms-usuarios
+     */
+    public record Resultado(int peticiones, long exitosas, long degradadas, long duracionMs,
+                            long p50Ms, long p95Ms, long p99Ms, int hilosPico, long consultasUsuarios) {
+
+        /**
+         * Peticiones completadas por segundo.
+         */
+        public double porSegundo() {
+            return duracionMs == 0 ? 0 : peticiones * 1000.0 / duracionMs;
+        }
+
+        /**
+         * Resumen de una línea para el registro de la prueba.
+         *
+         * @param modo Modo probado
+         * @return Texto del resumen
+         */
+        public String describir(String modo) {
+            return String.format(
+                    "%s: %d peticiones, concurrencia %d, ms-usuarios a %d ms -> %d OK (%d degradadas) en %d ms " +
+                    "(%.1f/s), latencia p50 %d ms, p95 %d ms, p99 %d ms, pico de %d hilos, %d consultas a ms-usuarios",
+                    modo, peticiones, CONCURRENCIA, LATENCIA_MS, exitosas, degradadas, duracionMs, porSegundo(),
+                    p50Ms, p95Ms, p99Ms, hilosPico, consultasUsuarios);
+        }
+    }
+}
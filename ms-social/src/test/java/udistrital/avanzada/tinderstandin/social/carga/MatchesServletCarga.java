@@ -0,0 +1,73 @@
+package udistrital.avanzada.tinderstandin.social.carga;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga del modo bloqueante (Tomcat y RestTemplate) contra un
+ * ms-usuarios lento. No forma parte de las pruebas normales: se ejecuta con
+ * {@code mvn test -Pcarga}, y junto con la del modo reactivo con
+ * {@code mvn test -Pcarga,reactivo}. Ver {@link GeneradorCarga}.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.udistrital.avanzada.tinderstandin.social.carga=INFO",
+        "social.tarjetas.habilitadas=false"
+})
+@ActiveProfiles("prueba")
+class MatchesServletCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchesServletCarga.class);
+    private static final ServicioUsuariosLento SERVICIO_USUARIOS = iniciarServicioUsuarios();
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void apuntarAServicioUsuarios(DynamicPropertyRegistry registro) {
+        registro.add("ms.usuarios.url", SERVICIO_USUARIOS::url);
+    }
+
+    @AfterAll
+    static void detenerServicioUsuarios() {
+        SERVICIO_USUARIOS.close();
+    }
+
+    @Test
+    void matchesConConcurrenciaFija() throws Exception {
+        List<Long> usuarios = GeneradorCarga.sembrar(jdbcTemplate);
+
+        GeneradorCarga.Resultado resultado = GeneradorCarga.ejecutar(
+                "http://127.0.0.1:" + puerto, usuarios, SERVICIO_USUARIOS);
+
+        log.info(resultado.describir("Modo bloqueante"));
+        assertEquals(resultado.peticiones(), resultado.exitosas());
+    }
+
+    private static ServicioUsuariosLento iniciarServicioUsuarios() {
+        try {
+            return new ServicioUsuariosLento(GeneradorCarga.LATENCIA_MS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
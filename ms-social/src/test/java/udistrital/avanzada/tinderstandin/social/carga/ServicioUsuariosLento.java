@@ -0,0 +1,86 @@
+package udistrital.avanzada.tinderstandin.social.carga;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Sustituto de ms-usuarios para las pruebas de carga: responde al endpoint
+ * masivo de resúmenes con una latencia fija. Las respuestas se envían desde
+ * un temporizador, así que el sustituto apenas suma hilos al proceso y no
+ * limita cuántas consultas hay en vuelo.
+ *
+ * @author AndGar03
+ */
+public final class ServicioUsuariosLento implements AutoCloseable {
+
+    private final HttpServer servidor;
+    private final ScheduledExecutorService temporizador = Executors.newScheduledThreadPool(2);
+    private final LongAdder consultas = new LongAdder();
+
+    public ServicioUsuariosLento(long latenciaMs) throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        servidor.createContext("/api/auth/usuarios/resumen", intercambio -> {
+            consultas.increment();
+            byte[] cuerpo = resumenes(new String(intercambio.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            temporizador.schedule(() -> responder(intercambio, cuerpo), latenciaMs, TimeUnit.MILLISECONDS);
+        });
+        servidor.start();
+    }
+
+    /**
+     * URL base para {@code ms.usuarios.url}.
+     */
+    public String url() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort();
+    }
+
+    /**
+     * Consultas recibidas desde el arranque.
+     */
+    public long consultas() {
+        return consultas.sum();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        temporizador.shutdownNow();
+    }
+
+    /**
+     * Resume cada ID de la petición (un arreglo JSON de números).
+     */
+    private static byte[] resumenes(String ids) {
+        String contenido = ids.trim().replace("[", "").replace("]", "");
+        if (contenido.isBlank()) {
+            return "[]".getBytes(StandardCharsets.UTF_8);
+        }
+        return Arrays.stream(contenido.split(","))
+                .map(String::trim)
+                .map(id -> "{\"id\":" + id + ",\"username\":\"usuario" + id
+                           + "\",\"nombreCompleto\":\"Usuario " + id + "\",\"ciudad\":\"Bogotá\"}")
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void responder(HttpExchange intercambio, byte[] cuerpo) {
+        try (intercambio; OutputStream salida = intercambio.getResponseBody()) {
+            intercambio.getResponseHeaders().set("Content-Type", "application/json");
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            salida.write(cuerpo);
+        } catch (IOException e) {
+            // El cliente ya abandonó la consulta por su plazo
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package udistrital.avanzada.tinderstandin.social.clientes;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import udistrital.avanzada.tinderstandin.social.config.ConfiguracionClientes;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasClienteDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link ClienteProtegido} contra un ms-usuarios de reemplazo con
+ * latencia inyectada: con el destino lento, las llamadas que superan el límite
+ * de concurrencia o llegan con el circuito abierto se rechazan de inmediato en
+ * lugar de ocupar el hilo de la petición.
+ *
+ * @author AndGar03
+ */
+class ClienteProtegidoTest {
+
+    // Cota holgada para "de inmediato": muy por debajo de la latencia del destino
+    private static final long RECHAZO_MAXIMO_MS = 100;
+
+    private HttpServer servidor;
+    private final AtomicInteger peticionesRecibidas = new AtomicInteger();
+    private volatile long latenciaMs;
+    private String url;
+    private ExecutorService hilos;
+
+    @BeforeEach
+    void iniciarServidorLento() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/api/usuarios/resumen", intercambio -> {
+            peticionesRecibidas.incrementAndGet();
+            try {
+                Thread.sleep(latenciaMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] cuerpo = "[]".getBytes(StandardCharsets.UTF_8);
+            intercambio.getResponseHeaders().add("Content-Type", "application/json");
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        });
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.start();
+        url = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/api/usuarios/resumen";
+        hilos = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void detenerServidor() {
+        hilos.shutdownNow();
+        servidor.stop(0);
+    }
+
+    @Test
+    void conElDestinoLentoLasLlamadasQueExcedenElLimiteSeRechazanDeInmediato() throws Exception {
+        latenciaMs = 1500;
+        RestTemplate restTemplate = crearRestTemplate(5000);
+        ClienteProtegido cliente = new ClienteProtegido("ms-usuarios", 4, 20, 10, 0.5, 5000);
+
+        // Cuatro llamadas lentas ocupan toda la capacidad
+        CountDownLatch enVuelo = new CountDownLatch(4);
+        List<CompletableFuture<String>> lentas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            lentas.add(cliente.ejecutarAsync(() -> {
+                enVuelo.countDown();
+                return restTemplate.getForObject(url, String.class);
+            }, hilos));
+        }
+        assertTrue(enVuelo.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 50; i++) {
+            long inicio = System.nanoTime();
+            assertThrows(LlamadaRechazadaException.class,
+                    () -> cliente.ejecutar(() -> restTemplate.getForObject(url, String.class)));
+            assertRechazoInmediato(inicio);
+        }
+
+        // Solo las cuatro llamadas admitidas llegaron al destino
+        for (CompletableFuture<String> lenta : lentas) {
+            assertEquals("[]", lenta.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(4, peticionesRecibidas.get());
+        EstadisticasClienteDTO estadisticas = cliente.obtenerEstadisticas();
+        assertEquals(50, estadisticas.getRechazadasPorConcurrencia());
+        assertEquals(0, estadisticas.getEnVuelo());
+    }
+
+    @Test
+    void conElDestinoLentoElCircuitoSeAbreYRechazaSinLlamar() {
+        latenciaMs = 2000;
+        // Plazo de lectura corto: cada llamada al destino lento falla por tiempo
+        RestTemplate restTemplate = crearRestTemplate(200);
+        ClienteProtegido cliente = new ClienteProtegido("ms-usuarios", 32, 4, 4, 0.5, 60_000);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class,
+                    () -> cliente.ejecutar(() -> restTemplate.getForObject(url, String.class)));
+        }
+        assertEquals("ABIERTO", cliente.obtenerEstadisticas().getEstadoCircuito());
+
+        int recibidasAlAbrir = peticionesRecibidas.get();
+        for (int i = 0; i < 50; i++) {
+            long inicio = System.nanoTime();
+            assertThrows(LlamadaRechazadaException.class,
+                    () -> cliente.ejecutar(() -> restTemplate.getForObject(url, String.class)));
+            assertRechazoInmediato(inicio);
+        }
+        assertEquals(recibidasAlAbrir, peticionesRecibidas.get());
+        assertEquals(50, cliente.obtenerEstadisticas().getRechazadasPorCircuito());
+    }
+
+    private static RestTemplate crearRestTemplate(long timeoutLecturaMs) {
+        return new ConfiguracionClientes().restTemplate(new MappingJackson2CborHttpMessageConverter(),
+                300, timeoutLecturaMs, HttpClient.Version.HTTP_1_1, false);
+    }
+
+    private static void assertRechazoInmediato(long inicioNanos) {
+        long transcurridoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        assertTrue(transcurridoMs < RECHAZO_MAXIMO_MS,
+                "El rechazo tardó " + transcurridoMs + " ms");
+    }
+}
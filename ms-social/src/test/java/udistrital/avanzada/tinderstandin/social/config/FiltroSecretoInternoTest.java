@@ -0,0 +1,51 @@
+package udistrital.avanzada.tinderstandin.social.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Pruebas de {@link FiltroSecretoInterno}: los endpoints internos solo
+ * aceptan peticiones con el secreto compartido.
+ *
+ * @author AndGar03
+ */
+class FiltroSecretoInternoTest {
+
+    private final FiltroSecretoInterno filtro = new FiltroSecretoInterno("secreto-de-prueba");
+
+    @Test
+    void rechazaLasPeticionesSinSecretoOConUnoDistinto() throws Exception {
+        for (String secreto : new String[]{null, "", "otro-secreto", "secreto-de-prueb"}) {
+            MockHttpServletRequest peticion = new MockHttpServletRequest("POST", "/api/social/interno/archivo/ejecutar");
+            if (secreto != null) {
+                peticion.addHeader(FiltroSecretoInterno.CABECERA, secreto);
+            }
+            MockHttpServletResponse respuesta = new MockHttpServletResponse();
+            MockFilterChain cadena = new MockFilterChain();
+
+            filtro.doFilter(peticion, respuesta, cadena);
+
+            assertEquals(401, respuesta.getStatus());
+            assertNull(cadena.getRequest());
+        }
+    }
+
+    @Test
+    void dejaPasarLasPeticionesConElSecreto() throws Exception {
+        MockHttpServletRequest peticion = new MockHttpServletRequest("POST", "/api/social/interno/archivo/ejecutar");
+        peticion.addHeader(FiltroSecretoInterno.CABECERA, "secreto-de-prueba");
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        MockFilterChain cadena = new MockFilterChain();
+
+        filtro.doFilter(peticion, respuesta, cadena);
+
+        assertEquals(200, respuesta.getStatus());
+        assertNotNull(cadena.getRequest());
+    }
+}
@@ -0,0 +1,86 @@
+package udistrital.avanzada.tinderstandin.social.eventos;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import udistrital.avanzada.tinderstandin.social.repositorios.ArrendamientoRepositorio;
+import udistrital.avanzada.tinderstandin.social.repositorios.EventoSalidaRepositorio;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del despacho del outbox con varias instancias sobre la misma base
+ * de datos: solo la que tiene el arrendamiento entrega los eventos.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("prueba")
+class DespachadorEventosTest {
+
+    @Autowired
+    private ArrendamientoRepositorio arrendamientoRepositorio;
+
+    @Autowired
+    private EventoSalidaRepositorio eventoSalidaRepositorio;
+
+    @Autowired
+    @Qualifier("ejecutorOutbox")
+    private TaskExecutor ejecutorOutbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void elArrendamientoSoloLoTieneUnaInstanciaHastaQueVence() {
+        LocalDateTime ahora = LocalDateTime.now();
+        String tarea = "prueba-arrendamiento";
+
+        assertTrue(arrendamientoRepositorio.adquirir(tarea, "instancia-a", ahora, ahora.plusSeconds(30)));
+        assertFalse(arrendamientoRepositorio.adquirir(tarea, "instancia-b", ahora, ahora.plusSeconds(30)));
+        assertTrue(arrendamientoRepositorio.adquirir(tarea, "instancia-a", ahora, ahora.plusSeconds(30)));
+
+        // La instancia A cae sin liberar: B lo toma cuando vence
+        LocalDateTime despues = ahora.plusSeconds(31);
+        assertTrue(arrendamientoRepositorio.adquirir(tarea, "instancia-b", despues, despues.plusSeconds(30)));
+        assertFalse(arrendamientoRepositorio.adquirir(tarea, "instancia-a", despues, despues.plusSeconds(30)));
+
+        arrendamientoRepositorio.liberar(tarea, "instancia-b");
+        assertTrue(arrendamientoRepositorio.adquirir(tarea, "instancia-a", despues, despues.plusSeconds(30)));
+    }
+
+    @Test
+    void unaSegundaInstanciaNoEntregaLosEventosDelQueTieneElArrendamiento() throws InterruptedException {
+        long origen = 60_000;
+        eventoSalidaRepositorio.insertar(EventoDominio.Tipo.LIKE_CREADO, origen,
+                List.of(origen + 1, origen + 2), LocalDateTime.now());
+        AtomicInteger entregados = new AtomicInteger();
+        DespachadorEventos segundaInstancia = new DespachadorEventos(eventoSalidaRepositorio,
+                List.of(evento -> entregados.incrementAndGet()), ejecutorOutbox, arrendamientoRepositorio);
+
+        // El despachador del contexto tiene el arrendamiento y entrega los eventos
+        long limite = System.currentTimeMillis() + 10_000;
+        while (contarPendientes(origen) > 0 && System.currentTimeMillis() < limite) {
+            segundaInstancia.despachar();
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, contarPendientes(origen));
+        assertEquals(0, entregados.get());
+    }
+
+    private long contarPendientes(long origen) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM eventos_salida WHERE usuario_origen_id = ?", Long.class, origen);
+    }
+}
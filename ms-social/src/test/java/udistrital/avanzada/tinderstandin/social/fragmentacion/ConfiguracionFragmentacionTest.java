@@ -0,0 +1,47 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import udistrital.avanzada.tinderstandin.social.MsSocialApplication;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del arranque con fragmentación: las opciones que asumen una sola
+ * base de datos impiden arrancar en lugar de quedar activas a medias.
+ *
+ * @author AndGar03
+ */
+class ConfiguracionFragmentacionTest {
+
+    @Test
+    void noArrancaConElIndiceDeLikesHabilitado() {
+        assertNoArranca("--social.indice-likes.habilitado=true");
+    }
+
+    @Test
+    void noArrancaConLaIngestaDiferida() {
+        assertNoArranca("--social.ingesta.modo=diferido");
+    }
+
+    @Test
+    void noArrancaConLaSesionAbiertaEnLaVista() {
+        assertNoArranca("--spring.jpa.open-in-view=true");
+    }
+
+    private static void assertNoArranca(String argumento) {
+        Exception error = assertThrows(Exception.class, () -> new SpringApplicationBuilder(MsSocialApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prueba", "fragmentos-local")
+                .run(argumento)
+                .close());
+        Throwable causa = error;
+        while (causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        assertTrue(causa instanceof IllegalStateException
+                   && causa.getMessage().startsWith("La fragmentación requiere"), String.valueOf(causa));
+    }
+}
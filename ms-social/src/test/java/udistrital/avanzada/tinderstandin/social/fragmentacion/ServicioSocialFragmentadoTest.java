@@ -0,0 +1,133 @@
+package udistrital.avanzada.tinderstandin.social.fragmentacion;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.PaginaDTO;
+import udistrital.avanzada.tinderstandin.social.servicios.LikeDuplicadoException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de likes y matches fragmentados sobre el perfil {@code fragmentos-local}
+ * (tres bases H2 en modo MySQL), sin ms-usuarios.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"prueba", "fragmentos-local"})
+class ServicioSocialFragmentadoTest {
+
+    @Autowired
+    private ServicioSocialFragmentado servicioSocialFragmentado;
+
+    @Autowired
+    private EnrutadorFragmentos enrutador;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void elLikeVaAlFragmentoDelDestinoYElMatchAlDelPar() {
+        long origen = 80_000;
+        long destino = origen + 1;
+        while (enrutador.fragmentoDeLikesRecibidos(destino) == enrutador.fragmentoDeLikesRecibidos(origen)) {
+            destino++;
+        }
+
+        LikeResponseDTO like = servicioSocialFragmentado.crearLike(origen, destino);
+        assertFalse(like.isEsMatch());
+        for (int fragmento = 0; fragmento < enrutador.cantidadFragmentos(); fragmento++) {
+            assertEquals(fragmento == enrutador.fragmentoDeLikesRecibidos(destino) ? 1 : 0,
+                    contarLikes(fragmento, origen, destino));
+        }
+
+        LikeResponseDTO reciproco = servicioSocialFragmentado.crearLike(destino, origen);
+        assertTrue(reciproco.isEsMatch());
+        for (int fragmento = 0; fragmento < enrutador.cantidadFragmentos(); fragmento++) {
+            assertEquals(fragmento == enrutador.fragmentoDePar(origen, destino) ? 1 : 0,
+                    contarMatches(fragmento, origen, destino));
+        }
+    }
+
+    @Test
+    void elReintentoDeUnLikeCaidoAntesDelMatchCreaElMatch() {
+        long origen = 81_000;
+        long destino = 81_001;
+        LocalDateTime fecha = LocalDateTime.now();
+        // Ambos likes confirmados, pero el proceso cayó antes de crear el match
+        insertarLike(enrutador.fragmentoDeLikesRecibidos(origen), destino, origen, fecha);
+        insertarLike(enrutador.fragmentoDeLikesRecibidos(destino), origen, destino, fecha);
+
+        assertThrows(LikeDuplicadoException.class, () -> servicioSocialFragmentado.crearLike(origen, destino));
+        assertThrows(LikeDuplicadoException.class, () -> servicioSocialFragmentado.crearLike(origen, destino));
+
+        assertEquals(1, contarLikes(enrutador.fragmentoDeLikesRecibidos(destino), origen, destino));
+        assertEquals(1, contarMatches(enrutador.fragmentoDePar(origen, destino), origen, destino));
+    }
+
+    @Test
+    void elCursorRecorreLosMatchesDeTodosLosFragmentosSinRepetirNiSaltar() {
+        long usuario = 82_000;
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        int[] porFragmento = new int[enrutador.cantidadFragmentos()];
+        List<Long> esperadas = new ArrayList<>();
+        // Contrapartes repartidas en todos los fragmentos, con fechas intercaladas
+        for (long contraparte = usuario + 1; esperadas.size() < 4 * porFragmento.length; contraparte++) {
+            int fragmento = enrutador.fragmentoDePar(usuario, contraparte);
+            if (porFragmento[fragmento] == 4) {
+                continue;
+            }
+            porFragmento[fragmento]++;
+            insertarMatch(fragmento, usuario, contraparte, base.minusMinutes(esperadas.size()));
+            esperadas.add(contraparte);
+        }
+
+        List<Long> recorridas = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaDTO<MatchResponseDTO> pagina = servicioSocialFragmentado.obtenerMatchesDeUsuario(
+                    usuario, cursor, 5, false);
+            pagina.getElementos().forEach(match -> recorridas.add(match.getUsuario2Id()));
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+
+        assertEquals(esperadas, recorridas);
+    }
+
+    private void insertarLike(int fragmento, long origen, long destino, LocalDateTime fecha) {
+        enrutador.enFragmento(fragmento, () -> jdbcTemplate.update(
+                "INSERT INTO likes (usuario_origen_id, usuario_destino_id, fecha_creacion) VALUES (?, ?, ?)",
+                origen, destino, Timestamp.valueOf(fecha)));
+    }
+
+    private void insertarMatch(int fragmento, long usuario1, long usuario2, LocalDateTime fecha) {
+        enrutador.enFragmento(fragmento, () -> jdbcTemplate.update(
+                "INSERT INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) VALUES (?, ?, ?, TRUE)",
+                usuario1, usuario2, Timestamp.valueOf(fecha)));
+    }
+
+    private long contarLikes(int fragmento, long origen, long destino) {
+        return enrutador.enFragmento(fragmento, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM likes WHERE usuario_origen_id = ? AND usuario_destino_id = ?",
+                Long.class, origen, destino));
+    }
+
+    private long contarMatches(int fragmento, long usuarioA, long usuarioB) {
+        return enrutador.enFragmento(fragmento, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM matches WHERE usuario1_id = ? AND usuario2_id = ?",
+                Long.class, Math.min(usuarioA, usuarioB), Math.max(usuarioA, usuarioB)));
+    }
+}
@@ -0,0 +1,47 @@
+package udistrital.avanzada.tinderstandin.social.grafo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de los candados por par: una espera agotada es un conflicto de
+ * concurrencia (409 en el controlador), no un error de la petición.
+ *
+ * @author AndGar03
+ */
+class BloqueosParesTest {
+
+    @Test
+    void laEsperaAgotadaPorUnParOcupadoEsUnConflictoDeConcurrencia() throws Exception {
+        BloqueosPares bloqueosPares = new BloqueosPares(1, 50);
+        CountDownLatch tomado = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        CompletableFuture<Void> ocupante = CompletableFuture.runAsync(() ->
+                bloqueosPares.ejecutarBloqueado(1L, 2L, () -> {
+                    tomado.countDown();
+                    try {
+                        return soltar.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }));
+        try {
+            tomado.await(5, TimeUnit.SECONDS);
+            // Mismo par en el otro sentido
+            assertThrows(ConcurrencyFailureException.class,
+                    () -> bloqueosPares.ejecutarBloqueado(2L, 1L, () -> true));
+        } finally {
+            soltar.countDown();
+            ocupante.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(1, bloqueosPares.obtenerEstadisticas().getEsperasAgotadas());
+    }
+}
@@ -0,0 +1,145 @@
+package udistrital.avanzada.tinderstandin.social.idempotencia;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import udistrital.avanzada.tinderstandin.social.dto.MensajeRespuesta;
+import udistrital.avanzada.tinderstandin.social.repositorios.ClaveIdempotenciaRepositorio;
+import udistrital.avanzada.tinderstandin.social.servicios.ServicioSocial;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de las claves de idempotencia con dos registros sobre la misma base
+ * de datos, como dos instancias del servicio atendiendo reintentos.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("prueba")
+class RegistroIdempotenciaTest {
+
+    @Autowired
+    private ServicioSocial servicioSocial;
+
+    @Autowired
+    private ClaveIdempotenciaRepositorio claveIdempotenciaRepositorio;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reintentosSimultaneosEnDosInstanciasCreanUnSoloLike() throws Exception {
+        RegistroIdempotencia instanciaA = crearRegistro();
+        RegistroIdempotencia instanciaB = crearRegistro();
+        long origen = 50_000;
+        long destino = 50_001;
+
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<?>> respuestaA = hilos.submit(() -> {
+                salida.await();
+                return instanciaA.ejecutar("likes:" + origen, "reintento-1", String.valueOf(destino),
+                        () -> crearLikeLento(origen, destino));
+            });
+            Future<ResponseEntity<?>> respuestaB = hilos.submit(() -> {
+                salida.await();
+                return instanciaB.ejecutar("likes:" + origen, "reintento-1", String.valueOf(destino),
+                        () -> crearLikeLento(origen, destino));
+            });
+            salida.countDown();
+
+            List<ResponseEntity<?>> respuestas = List.of(
+                    respuestaA.get(10, TimeUnit.SECONDS), respuestaB.get(10, TimeUnit.SECONDS));
+            assertEquals(HttpStatus.CREATED, respuestas.get(0).getStatusCode());
+            assertEquals(HttpStatus.CREATED, respuestas.get(1).getStatusCode());
+            assertEquals(1, respuestas.stream()
+                    .filter(r -> r.getHeaders().containsKey(RegistroIdempotencia.CABECERA_REPETIDA))
+                    .count());
+        } finally {
+            hilos.shutdown();
+        }
+        assertEquals(1, contarLikes(origen, destino));
+    }
+
+    @Test
+    void unaClaveAbandonadaPorUnaInstanciaCaidaSeRetoma() {
+        long origen = 50_002;
+        long destino = 50_003;
+        // Reclamo de una instancia que cayó antes de confirmar: su like se deshizo
+        jdbcTemplate.update("INSERT INTO claves_idempotencia (clave, huella, propietario, fecha_creacion) " +
+                            "VALUES (?, ?, 'instancia-caida', ?)",
+                "likes:" + origen + ":reintento-2", huella(String.valueOf(destino)),
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)));
+
+        ResponseEntity<?> respuesta = crearRegistro().ejecutar("likes:" + origen, "reintento-2",
+                String.valueOf(destino), () -> crearLikeLento(origen, destino));
+
+        assertEquals(HttpStatus.CREATED, respuesta.getStatusCode());
+        assertEquals(1, contarLikes(origen, destino));
+    }
+
+    private RegistroIdempotencia crearRegistro() {
+        return new RegistroIdempotencia(claveIdempotenciaRepositorio, objectMapper, transactionManager,
+                24, 1000, 5000, 60_000);
+    }
+
+    /**
+     * Crea el like como el controlador, con una pausa para que el otro
+     * reintento llegue mientras la escritura sigue en curso.
+     */
+    private ResponseEntity<?> crearLikeLento(long origen, long destino) {
+        try {
+            ResponseEntity<?> respuesta = ResponseEntity.status(HttpStatus.CREATED)
+                    .body(servicioSocial.crearLike(origen, destino));
+            Thread.sleep(300);
+            return respuesta;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
+
+    private long contarLikes(long origen, long destino) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM likes WHERE usuario_origen_id = ? AND usuario_destino_id = ?",
+                Long.class, origen, destino);
+    }
+
+    private static String huella(String peticion) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(peticion.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package udistrital.avanzada.tinderstandin.social.ingesta;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import udistrital.avanzada.tinderstandin.social.grafo.IndiceLikes;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la ingesta diferida de likes sobre H2 en modo MySQL.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+                properties = {
+                    "social.ingesta.modo=diferido",
+                    // Volcado lento para que los likes de la prueba caigan en el mismo lote
+                    "social.ingesta.intervalo-volcado-ms=2000"
+                })
+@ActiveProfiles("prueba")
+class ServicioIngestaLikesTest {
+
+    private static final int PARES = 200;
+    private static final long BASE = 10_000;
+
+    @Autowired
+    private ServicioIngestaLikes servicioIngestaLikes;
+
+    @Autowired
+    private IndiceLikes indiceLikes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configurarDirectorio(DynamicPropertyRegistry registro) throws IOException {
+        String directorio = Files.createTempDirectory("ingesta-prueba").toString();
+        registro.add("social.ingesta.directorio", () -> directorio);
+    }
+
+    @Test
+    void likesReciprocosEnElMismoVolcadoCreanUnSoloMatchPorPar() throws Exception {
+        esperar(indiceLikes::estaListo, "el índice de likes no terminó de cargar");
+
+        List<long[]> likes = new ArrayList<>();
+        for (int i = 0; i < PARES; i++) {
+            long a = BASE + 2L * i;
+            long b = a + 1;
+            likes.add(new long[]{a, b});
+            likes.add(new long[]{b, a});
+        }
+        Collections.shuffle(likes);
+
+        ExecutorService hilos = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> envios = new ArrayList<>();
+            for (long[] like : likes) {
+                envios.add(hilos.submit(() -> servicioIngestaLikes.registrarLike(like[0], like[1])));
+            }
+            for (Future<?> envio : envios) {
+                envio.get();
+            }
+        } finally {
+            hilos.shutdown();
+        }
+
+        esperar(() -> contar("SELECT COUNT(*) FROM likes WHERE usuario_origen_id >= ?") == 2 * PARES,
+                "los likes no se volcaron a la base de datos");
+
+        assertEquals(PARES, contar("SELECT COUNT(*) FROM matches WHERE usuario1_id >= ?"));
+        assertEquals(PARES, contar(
+                "SELECT COUNT(*) FROM matches WHERE usuario1_id >= ? AND usuario2_id = usuario1_id + 1 " +
+                "AND MOD(usuario1_id, 2) = 0"));
+    }
+
+    private long contar(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class, BASE);
+    }
+
+    private static void esperar(BooleanSupplier condicion, String mensaje) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 30_000;
+        while (!condicion.getAsBoolean() && System.currentTimeMillis() < limite) {
+            Thread.sleep(100);
+        }
+        assertTrue(condicion.getAsBoolean(), mensaje);
+    }
+}
@@ -0,0 +1,66 @@
+package udistrital.avanzada.tinderstandin.social.notificaciones;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import udistrital.avanzada.tinderstandin.social.repositorios.NotificacionDifusionRepositorio;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de la difusión de notificaciones a otra instancia de ms-social
+ * sobre la misma base de datos.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("prueba")
+class DifusionNotificacionesTest {
+
+    @Autowired
+    private DifusionNotificaciones difusionNotificaciones;
+
+    @Autowired
+    private NotificacionDifusionRepositorio notificacionDifusionRepositorio;
+
+    @Test
+    void otraInstanciaEntregaLasNotificacionesASusConexiones() throws InterruptedException {
+        List<EventoSocial> recibidos = new CopyOnWriteArrayList<>();
+        CentralNotificaciones centralDeOtraInstancia = new CentralNotificaciones(new SyncTaskExecutor()) {
+            @Override
+            public void publicar(Long usuarioId, EventoSocial evento) {
+                if (usuarioId >= 70_000 && usuarioId < 70_100) {
+                    recibidos.add(evento);
+                }
+            }
+        };
+        DifusionNotificaciones otraInstancia =
+                new DifusionNotificaciones(notificacionDifusionRepositorio, centralDeOtraInstancia);
+        ReflectionTestUtils.setField(otraInstancia, "margenMs", 100L);
+        ReflectionTestUtils.setField(otraInstancia, "tamanoLote", 1);
+        otraInstancia.iniciar();
+
+        LocalDateTime fecha = LocalDateTime.now().withNano(0);
+        difusionNotificaciones.difundir(List.of(
+                new EventoSocial(EventoSocial.Tipo.MATCH_CREADO, 70_001L, 70_000L, fecha),
+                new EventoSocial(EventoSocial.Tipo.MATCH_CREADO, 70_000L, 70_001L, fecha)));
+
+        long limite = System.currentTimeMillis() + 10_000;
+        while (recibidos.size() < 2 && System.currentTimeMillis() < limite) {
+            otraInstancia.leer();
+            Thread.sleep(100);
+        }
+        otraInstancia.leer();
+
+        assertEquals(List.of(
+                new EventoSocial(EventoSocial.Tipo.MATCH_CREADO, 70_001L, 70_000L, fecha),
+                new EventoSocial(EventoSocial.Tipo.MATCH_CREADO, 70_000L, 70_001L, fecha)), recibidos);
+    }
+}
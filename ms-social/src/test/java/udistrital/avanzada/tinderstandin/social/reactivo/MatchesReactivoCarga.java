@@ -0,0 +1,84 @@
+package udistrital.avanzada.tinderstandin.social.reactivo;
+
+import org.h2.Driver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import udistrital.avanzada.tinderstandin.social.carga.GeneradorCarga;
+import udistrital.avanzada.tinderstandin.social.carga.ServicioUsuariosLento;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga del modo reactivo (Netty, R2DBC y WebClient) con los mismos
+ * datos y el mismo ms-usuarios lento que la del modo bloqueante. La base es
+ * una H2 en memoria compartida: el esquema y los datos se cargan por JDBC y
+ * el servicio la lee por R2DBC. Se ejecuta con {@code mvn test -Pcarga,reactivo}.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(classes = MsSocialReactivaApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///carga-reactiva?options=" + MatchesReactivoCarga.OPCIONES_H2,
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "social.clientes-http.formato-binario=false",
+        "logging.level.udistrital.avanzada.tinderstandin=ERROR",
+        "logging.level.udistrital.avanzada.tinderstandin.social.reactivo=INFO"
+})
+@ActiveProfiles(MsSocialReactivaApplication.PERFIL)
+class MatchesReactivoCarga {
+
+    static final String OPCIONES_H2 = "MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final Logger log = LoggerFactory.getLogger(MatchesReactivoCarga.class);
+    private static final ServicioUsuariosLento SERVICIO_USUARIOS = iniciarServicioUsuarios();
+
+    @LocalServerPort
+    private int puerto;
+
+    @DynamicPropertySource
+    static void apuntarAServicioUsuarios(DynamicPropertyRegistry registro) {
+        registro.add("ms.usuarios.url", SERVICIO_USUARIOS::url);
+    }
+
+    @AfterAll
+    static void detenerServicioUsuarios() {
+        SERVICIO_USUARIOS.close();
+    }
+
+    @Test
+    void matchesConConcurrenciaFija() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SimpleDriverDataSource(new Driver(),
+                "jdbc:h2:mem:carga-reactiva;" + OPCIONES_H2
+                + ";INIT=RUNSCRIPT FROM 'classpath:esquema-fragmento-h2.sql'", "sa", ""));
+        List<Long> usuarios = GeneradorCarga.sembrar(jdbcTemplate);
+
+        GeneradorCarga.Resultado resultado = GeneradorCarga.ejecutar(
+                "http://127.0.0.1:" + puerto, usuarios, SERVICIO_USUARIOS);
+
+        log.info(resultado.describir("Modo reactivo"));
+        assertEquals(resultado.peticiones(), resultado.exitosas());
+    }
+
+    private static ServicioUsuariosLento iniciarServicioUsuarios() {
+        try {
+            return new ServicioUsuariosLento(GeneradorCarga.LATENCIA_MS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package udistrital.avanzada.tinderstandin.social.reconciliacion;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import udistrital.avanzada.tinderstandin.social.contadores.DeltaContadores;
+import udistrital.avanzada.tinderstandin.social.dto.EstadisticasReconciliacionDTO;
+import udistrital.avanzada.tinderstandin.social.repositorios.ContadorRepositorio;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del recuento de contadores de la reconciliación, con la base en
+ * uso: cuenta los likes y matches archivados y no corrige los descuadres que
+ * solo reflejan incrementos aún no escritos.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "social.reconciliacion.espera-contadores-ms=2000",
+        "social.reconciliacion.pausa-entre-lotes-ms=0"
+})
+@ActiveProfiles("prueba")
+class ReconciliadorSocialTest {
+
+    @Autowired
+    private ReconciliadorSocial reconciliadorSocial;
+
+    @Autowired
+    private ContadorRepositorio contadorRepositorio;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void losContadoresSeRecuentanConLosLikesYMatchesArchivados() throws Exception {
+        Timestamp fecha = Timestamp.valueOf(LocalDateTime.now().minusDays(200));
+        jdbcTemplate.update("INSERT INTO likes (usuario_origen_id, usuario_destino_id, fecha_creacion) " +
+                            "VALUES (90000, 90001, ?)", fecha);
+        jdbcTemplate.update("INSERT INTO likes_archivo (id, usuario_origen_id, usuario_destino_id, " +
+                            "fecha_creacion, fecha_archivado) VALUES (90000, 90001, 90000, ?, ?)", fecha, fecha);
+        jdbcTemplate.update("INSERT INTO matches_archivo (id, usuario1_id, usuario2_id, fecha_creacion, " +
+                            "activo, fecha_archivado) VALUES (90000, 90000, 90001, ?, TRUE, ?)", fecha, fecha);
+        // Contadores que perdieron incrementos o que sobran
+        contadorRepositorio.sumarDeltas(List.of(new DeltaContadores(90000L, 0, 1, 0),
+                new DeltaContadores(90002L, 5, 5, 5)));
+
+        EstadisticasReconciliacionDTO estadisticas = reconciliar();
+
+        assertEquals(0, estadisticas.getMatchesFaltantes());
+        assertEquals(3, estadisticas.getContadoresCorregidos());
+        assertEquals(new DeltaContadores(90000L, 1, 1, 1), contadorRepositorio.buscarPorUsuario(90000L));
+        assertEquals(new DeltaContadores(90001L, 1, 1, 1), contadorRepositorio.buscarPorUsuario(90001L));
+        assertEquals(new DeltaContadores(90002L, 0, 0, 0), contadorRepositorio.buscarPorUsuario(90002L));
+    }
+
+    @Test
+    void unIncrementoEscritoEntreLosRecuentosNoSeCuentaDosVeces() throws Exception {
+        // Like confirmado cuyo incremento sigue en el acumulador de otra instancia
+        jdbcTemplate.update("INSERT INTO likes (usuario_origen_id, usuario_destino_id, fecha_creacion) " +
+                            "VALUES (90010, 90011, ?)", Timestamp.valueOf(LocalDateTime.now()));
+        contadorRepositorio.sumarDeltas(List.of(new DeltaContadores(90010L, 0, 1, 0)));
+
+        reconciliadorSocial.iniciar(false);
+        CompletableFuture.runAsync(() -> contadorRepositorio.sumarDeltas(
+                        List.of(new DeltaContadores(90011L, 1, 0, 0))),
+                CompletableFuture.delayedExecutor(500, TimeUnit.MILLISECONDS)).get(5, TimeUnit.SECONDS);
+        esperarFin();
+
+        assertEquals(new DeltaContadores(90011L, 1, 0, 0), contadorRepositorio.buscarPorUsuario(90011L));
+        assertEquals(new DeltaContadores(90010L, 0, 1, 0), contadorRepositorio.buscarPorUsuario(90010L));
+    }
+
+    private EstadisticasReconciliacionDTO reconciliar() throws InterruptedException {
+        reconciliadorSocial.iniciar(false);
+        return esperarFin();
+    }
+
+    private EstadisticasReconciliacionDTO esperarFin() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 20_000;
+        EstadisticasReconciliacionDTO estadisticas = reconciliadorSocial.obtenerEstadisticas();
+        while (estadisticas.isEnCurso() && System.currentTimeMillis() < limite) {
+            Thread.sleep(100);
+            estadisticas = reconciliadorSocial.obtenerEstadisticas();
+        }
+        assertTrue(!estadisticas.isEnCurso(), "La reconciliación no terminó a tiempo");
+        return estadisticas;
+    }
+}
@@ -0,0 +1,103 @@
+package udistrital.avanzada.tinderstandin.social.servicios;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import udistrital.avanzada.tinderstandin.social.dto.LikeResponseDTO;
+import udistrital.avanzada.tinderstandin.social.grafo.BloqueosPares;
+import udistrital.avanzada.tinderstandin.social.grafo.IndiceLikes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga de likes recíprocos simultáneos sobre H2 en modo MySQL:
+ * cada par debe terminar con exactamente un match, sin importar el orden en
+ * que lleguen los dos likes.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("prueba")
+class ServicioSocialConcurrenciaTest {
+
+    private static final int PARES = 300;
+    private static final int HILOS = 64;
+    private static final long BASE = 20_000;
+
+    @Autowired
+    private ServicioSocial servicioSocial;
+
+    @Autowired
+    private IndiceLikes indiceLikes;
+
+    @Autowired
+    private BloqueosPares bloqueosPares;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void likesReciprocosSimultaneosCreanUnSoloMatchPorPar() throws Exception {
+        long limite = System.currentTimeMillis() + 30_000;
+        while (!indiceLikes.estaListo() && System.currentTimeMillis() < limite) {
+            Thread.sleep(100);
+        }
+        assertTrue(indiceLikes.estaListo(), "el índice de likes no terminó de cargar");
+
+        List<long[]> likes = new ArrayList<>();
+        for (int i = 0; i < PARES; i++) {
+            long a = BASE + 2L * i;
+            long b = a + 1;
+            likes.add(new long[]{a, b});
+            likes.add(new long[]{b, a});
+        }
+        Collections.shuffle(likes);
+
+        // Todos los hilos arrancan a la vez para que los pares se crucen
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        List<Future<LikeResponseDTO>> respuestas = new ArrayList<>();
+        try {
+            for (long[] like : likes) {
+                respuestas.add(hilos.submit(() -> {
+                    salida.await();
+                    return servicioSocial.crearLike(like[0], like[1]);
+                }));
+            }
+            salida.countDown();
+            int conMatch = 0;
+            for (Future<LikeResponseDTO> respuesta : respuestas) {
+                if (respuesta.get().isEsMatch()) {
+                    conMatch++;
+                }
+            }
+            // Solo el segundo like de cada par informa el match
+            assertEquals(PARES, conMatch);
+        } finally {
+            hilos.shutdown();
+        }
+
+        assertEquals(2L * PARES, contar("SELECT COUNT(*) FROM likes WHERE usuario_origen_id BETWEEN ? AND ?"));
+        assertEquals(PARES, contar("SELECT COUNT(*) FROM matches WHERE usuario1_id BETWEEN ? AND ?"));
+        assertEquals(PARES, contar(
+                "SELECT COUNT(*) FROM matches WHERE usuario1_id BETWEEN ? AND ? AND usuario2_id = usuario1_id + 1 " +
+                "AND MOD(usuario1_id, 2) = 0"));
+        assertEquals(0, bloqueosPares.obtenerEstadisticas().getEsperasAgotadas());
+    }
+
+    // Solo los usuarios de esta prueba: el contexto y la base se comparten con otras
+    private long contar(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class, BASE, BASE + 2L * PARES - 1);
+    }
+}
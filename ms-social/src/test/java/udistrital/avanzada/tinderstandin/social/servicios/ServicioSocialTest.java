@@ -0,0 +1,92 @@
+package udistrital.avanzada.tinderstandin.social.servicios;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import udistrital.avanzada.tinderstandin.social.dto.MatchResponseDTO;
+import udistrital.avanzada.tinderstandin.social.dto.PaginaDTO;
+import udistrital.avanzada.tinderstandin.social.dto.ResultadoLikeLoteDTO;
+import udistrital.avanzada.tinderstandin.social.grafo.IndiceLikes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de likes y de la lectura de matches sobre H2 en modo MySQL, sin ms-usuarios.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("prueba")
+class ServicioSocialTest {
+
+    @Autowired
+    private ServicioSocial servicioSocial;
+
+    @Autowired
+    private IndiceLikes indiceLikes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unLikeArchivadoNoSeVuelveACrearAunqueElIndiceNoLoConozca() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 30_000;
+        while (!indiceLikes.estaListo() && System.currentTimeMillis() < limite) {
+            Thread.sleep(100);
+        }
+        assertTrue(indiceLikes.estaListo(), "el índice de likes no terminó de cargar");
+        long origen = 41_000;
+        // Likes archivados por otra instancia o importados: el índice de esta no los tiene
+        for (long destino = origen + 1; destino <= origen + 2; destino++) {
+            jdbcTemplate.update("INSERT INTO likes_archivo (id, usuario_origen_id, usuario_destino_id, " +
+                                "fecha_creacion, fecha_archivado) " +
+                                "VALUES (?, ?, ?, TIMESTAMP '2023-01-01 10:00:00', CURRENT_TIMESTAMP)",
+                    910_000 + destino - origen, origen, destino);
+        }
+
+        assertThrows(LikeDuplicadoException.class, () -> servicioSocial.crearLike(origen, origen + 1));
+        List<ResultadoLikeLoteDTO> resultados = servicioSocial.crearLikesEnLote(origen, List.of(origen + 2));
+
+        assertEquals(ResultadoLikeLoteDTO.Estado.DUPLICADO, resultados.get(0).getEstado());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM likes WHERE usuario_origen_id = ?", Long.class, origen));
+    }
+
+    @Test
+    void losMatchesSinTarjetaTambienAparecenEnLaPagina() {
+        long usuario = 40_000;
+        // Un match con tarjeta completa y otro sin tarjeta (importado o sin despachar)
+        jdbcTemplate.update("INSERT INTO matches (id, usuario1_id, usuario2_id, fecha_creacion, activo) " +
+                            "VALUES (900001, ?, ?, TIMESTAMP '2024-01-02 10:00:00', TRUE)", usuario, usuario + 1);
+        jdbcTemplate.update("INSERT INTO matches (id, usuario1_id, usuario2_id, fecha_creacion, activo) " +
+                            "VALUES (900002, ?, ?, TIMESTAMP '2024-01-01 10:00:00', TRUE)", usuario, usuario + 2);
+        jdbcTemplate.update("INSERT INTO tarjetas_match (match_id, usuario_id, contraparte_id, fecha_match, activo, " +
+                            "username, nombre_completo, fecha_actualizacion) " +
+                            "VALUES (900001, ?, ?, TIMESTAMP '2024-01-02 10:00:00', TRUE, 'carla', 'Carla Ruiz', " +
+                            "CURRENT_TIMESTAMP)", usuario, usuario + 1);
+
+        PaginaDTO<MatchResponseDTO> pagina = servicioSocial.obtenerMatchesDeUsuario(usuario, null, 20, false);
+
+        assertEquals(2, pagina.getElementos().size());
+        Map<Long, MatchResponseDTO> porId = pagina.getElementos().stream()
+                .collect(Collectors.toMap(MatchResponseDTO::getId, Function.identity()));
+        MatchResponseDTO conTarjeta = porId.get(900001L);
+        assertEquals("carla", conTarjeta.getUsuarioInfo().getUsername());
+        assertFalse(conTarjeta.isInfoDegradada());
+        // Sin tarjeta los datos se piden a ms-usuarios, que en las pruebas no responde
+        MatchResponseDTO sinTarjeta = porId.get(900002L);
+        assertNull(sinTarjeta.getUsuarioInfo());
+        assertTrue(sinTarjeta.isInfoDegradada());
+    }
+}
@@ -0,0 +1,92 @@
+package udistrital.avanzada.tinderstandin.social.volcado;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import udistrital.avanzada.tinderstandin.social.dto.ResultadoVolcadoDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de la importación de volcados sobre H2 en modo MySQL.
+ *
+ * @author AndGar03
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("prueba")
+class ServicioVolcadoTest {
+
+    private static final String CABECERA_LIKES = "id,usuario_origen_id,usuario_destino_id,fecha_creacion";
+
+    @Autowired
+    private ServicioVolcado servicioVolcado;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void laImportacionCuentaLasFilasDescartadasAparte() throws IOException {
+        jdbcTemplate.update("INSERT INTO likes (id, usuario_origen_id, usuario_destino_id, fecha_creacion) " +
+                            "VALUES (5000, 30000, 30001, CURRENT_TIMESTAMP)");
+
+        // La primera fila repite el par existente; las otras dos son nuevas
+        byte[] volcado = comprimir(CABECERA_LIKES + "\n" +
+                "1,30000,30001,2024-01-01T10:00\n" +
+                "2,30002,30003,2024-01-01T10:00\n" +
+                "3,30004,30005,2024-01-01T10:00\n");
+        ResultadoVolcadoDTO resultado = servicioVolcado.importar(
+                TablaVolcado.LIKES, FormatoVolcado.CSV, new ByteArrayInputStream(volcado), false);
+
+        assertEquals(2, resultado.getFilas());
+        assertEquals(1, resultado.getFilasDescartadas());
+        assertEquals(3L, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM likes WHERE usuario_origen_id BETWEEN 30000 AND 30005", Long.class));
+    }
+
+    @Test
+    void unVolcadoDeVariosFragmentosNoSeImportaConservandoIds() throws IOException {
+        byte[] volcado = comprimir("# fragmentos=3\n" + CABECERA_LIKES + "\n" +
+                "1,31000,31001,2024-01-01T10:00\n" +
+                "1,31002,31003,2024-01-01T10:00\n");
+
+        assertThrows(IllegalArgumentException.class, () -> servicioVolcado.importar(
+                TablaVolcado.LIKES, FormatoVolcado.CSV, new ByteArrayInputStream(volcado), true));
+
+        // Con IDs nuevos las dos filas entran aunque compartan ID en el volcado
+        ResultadoVolcadoDTO resultado = servicioVolcado.importar(
+                TablaVolcado.LIKES, FormatoVolcado.CSV, new ByteArrayInputStream(volcado), false);
+        assertEquals(2, resultado.getFilas());
+        assertEquals(0, resultado.getFilasDescartadas());
+    }
+
+    @Test
+    void elVolcadoExportadoRegistraLosFragmentosYSeReimporta() throws IOException {
+        jdbcTemplate.update("INSERT INTO matches (usuario1_id, usuario2_id, fecha_creacion, activo) " +
+                            "VALUES (32000, 32001, CURRENT_TIMESTAMP, TRUE)");
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        long exportadas = servicioVolcado.exportar(TablaVolcado.MATCHES, FormatoVolcado.BINARIO, salida).getFilas();
+
+        // Reimportar en la misma base: todas las filas ya existen
+        ResultadoVolcadoDTO resultado = servicioVolcado.importar(TablaVolcado.MATCHES, FormatoVolcado.BINARIO,
+                new ByteArrayInputStream(salida.toByteArray()), true);
+        assertEquals(0, resultado.getFilas());
+        assertEquals(exportadas, resultado.getFilasDescartadas());
+    }
+
+    private static byte[] comprimir(String contenido) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(contenido.getBytes(StandardCharsets.UTF_8));
+        }
+        return salida.toByteArray();
+    }
+}
@@ -0,0 +1,30 @@
+package udistrital.avanzada.tinderstandin.usuario.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Habilita CBOR como formato alternativo a JSON. Solo se usa cuando el
+ * cliente lo pide en la cabecera Accept o lo envía como Content-Type;
+ * los navegadores siguen recibiendo JSON.
+ *
+ * @author AndGar03
+ */
+@Configuration
+public class ConfiguracionFormatoBinario {
+
+    /**
+     * Conversor CBOR con la misma configuración de Jackson que el de JSON
+     * (formato de fechas, módulos registrados).
+     *
+     * @param builder Constructor de ObjectMapper configurado por Spring Boot
+     * @return Conversor de mensajes CBOR
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
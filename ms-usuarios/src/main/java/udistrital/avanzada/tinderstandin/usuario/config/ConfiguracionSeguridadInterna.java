@@ -0,0 +1,39 @@
+package udistrital.avanzada.tinderstandin.usuario.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración del acceso a los endpoints internos de ms-usuarios, que solo
+ * deben invocar otros microservicios (por ejemplo el recorrido de IDs de
+ * usuario que usa ms-social para los candidatos).
+ *
+ * @author AndGar03
+ */
+@Configuration
+public class ConfiguracionSeguridadInterna {
+
+    /**
+     * Registra el filtro del secreto compartido sobre {@code /api/usuarios/interno/*}.
+     * Corre antes de la cadena de Spring Security, que deja pasar esa ruta sin JWT.
+     *
+     * @param secreto Secreto compartido por los microservicios
+     * @return Registro del filtro
+     * @throws IllegalStateException si el secreto está vacío
+     */
+    @Bean
+    public FilterRegistrationBean<FiltroSecretoInterno> filtroSecretoInterno(
+            @Value("${usuarios.interno.secreto}") String secreto) {
+        if (secreto.isBlank()) {
+            throw new IllegalStateException("usuarios.interno.secreto no puede estar vacío");
+        }
+        FilterRegistrationBean<FiltroSecretoInterno> registro =
+                new FilterRegistrationBean<>(new FiltroSecretoInterno(secreto));
+        registro.addUrlPatterns("/api/usuarios/interno/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+}
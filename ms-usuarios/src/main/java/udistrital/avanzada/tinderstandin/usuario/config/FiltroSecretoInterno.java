@@ -0,0 +1,55 @@
+package udistrital.avanzada.tinderstandin.usuario.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Filtro de los endpoints internos ({@code /api/usuarios/interno/**}). Solo
+ * deja pasar las peticiones que traen en la cabecera {@value #CABECERA} el
+ * secreto compartido por los microservicios; el resto recibe 401.
+ *
+ * @author AndGar03
+ */
+@Slf4j
+public class FiltroSecretoInterno extends OncePerRequestFilter {
+
+    /**
+     * Cabecera con el secreto compartido entre microservicios.
+     */
+    public static final String CABECERA = "X-Secreto-Interno";
+
+    private final byte[] secreto;
+
+    public FiltroSecretoInterno(String secreto) {
+        this.secreto = secreto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!esValido(request.getHeader(CABECERA))) {
+            log.warn("Petición interna rechazada sin secreto válido: {} {}", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Compara el secreto recibido en tiempo constante.
+     *
+     * @param recibido Valor de la cabecera, o null si no viene
+     * @return true si coincide con el secreto configurado
+     */
+    boolean esValido(String recibido) {
+        return recibido != null && MessageDigest.isEqual(secreto, recibido.getBytes(StandardCharsets.UTF_8));
+    }
+}
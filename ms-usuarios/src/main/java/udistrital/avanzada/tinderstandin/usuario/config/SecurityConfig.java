@@ -34,6 +34,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/api/auth/**", "/error").permitAll()
+                // Protegidos por el secreto compartido (ConfiguracionSeguridadInterna)
+                .requestMatchers("/api/usuarios/interno/**").permitAll()
                 .anyRequest().authenticated()
             );
             
@@ -13,7 +13,9 @@ import org.springframework.web.bind.annotation.*;
 import udistrital.avanzada.tinderstandin.usuario.dto.JwtResponse;
 import udistrital.avanzada.tinderstandin.usuario.dto.LoginRequest;
 import udistrital.avanzada.tinderstandin.usuario.dto.MensajeRespuesta;
+import udistrital.avanzada.tinderstandin.usuario.dto.PerfilUsuarioDTO;
 import udistrital.avanzada.tinderstandin.usuario.dto.RegistroRequest;
+import udistrital.avanzada.tinderstandin.usuario.dto.ResumenUsuarioDTO;
 import udistrital.avanzada.tinderstandin.usuario.modelos.EntidadUsuario;
 import udistrital.avanzada.tinderstandin.usuario.seguridad.JwtUtils;
 import udistrital.avanzada.tinderstandin.usuario.seguridad.UserDetailsImpl;
@@ -22,6 +24,7 @@ import udistrital.avanzada.tinderstandin.usuario.servicios.ServicioUsuario;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -129,16 +132,17 @@ public class ControladorAutenticacion {
         try {
             EntidadUsuario usuario = servicioUsuario.obtenerPorId(id);
             
-            // Crear un DTO simplificado para evitar exponer información sensible
-            var usuarioDTO = new java.util.HashMap<String, Object>();
-            usuarioDTO.put("id", usuario.getId());
-            usuarioDTO.put("username", usuario.getUsername());
-            usuarioDTO.put("email", usuario.getEmail());
-            usuarioDTO.put("nombreCompleto", usuario.getNombreCompleto());
-            usuarioDTO.put("genero", usuario.getGenero());
-            usuarioDTO.put("ciudad", usuario.getCiudad());
-            usuarioDTO.put("descripcion", usuario.getDescripcion());
-            usuarioDTO.put("fotoPerfil", usuario.getFotoPerfil());
+            // DTO simplificado para evitar exponer información sensible
+            PerfilUsuarioDTO usuarioDTO = new PerfilUsuarioDTO(
+                    usuario.getId(),
+                    usuario.getUsername(),
+                    usuario.getEmail(),
+                    usuario.getNombreCompleto(),
+                    usuario.getGenero(),
+                    usuario.getCiudad(),
+                    usuario.getDescripcion(),
+                    usuario.getFotoPerfil()
+            );
             
             return ResponseEntity.ok(usuarioDTO);
         } catch (RuntimeException e) {
@@ -147,4 +151,25 @@ public class ControladorAutenticacion {
                     .body(new MensajeRespuesta("Usuario no encontrado"));
         }
     }
+    
+    /**
+     * Endpoint para obtener el resumen de varios usuarios en una sola llamada
+     * (para otros microservicios).
+     *
+     * @param ids IDs de los usuarios a consultar
+     * @return ResponseEntity con la lista de resúmenes encontrados
+     */
+    @PostMapping("/usuarios/resumen")
+    public ResponseEntity<?> obtenerResumenesUsuarios(@RequestBody Set<Long> ids) {
+        log.info("Solicitud de resumen para {} usuarios", ids.size());
+        
+        try {
+            List<ResumenUsuarioDTO> resumenes = servicioUsuario.obtenerResumenesPorIds(ids);
+            return ResponseEntity.ok(resumenes);
+        } catch (RuntimeException e) {
+            log.error("Error al obtener resúmenes de usuarios: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new MensajeRespuesta(e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package udistrital.avanzada.tinderstandin.usuario.controladores;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import udistrital.avanzada.tinderstandin.usuario.servicios.ServicioUsuario;
+
+import java.util.List;
+
+/**
+ * Controlador REST para operaciones internas invocadas por otros
+ * microservicios. Exige el secreto compartido en la cabecera
+ * {@value udistrital.avanzada.tinderstandin.usuario.config.FiltroSecretoInterno#CABECERA}.
+ *
+ * @author AndGar03
+ */
+@RestController
+@RequestMapping("/api/usuarios/interno")
+@RequiredArgsConstructor
+public class ControladorInterno {
+    
+    private final ServicioUsuario servicioUsuario;
+    
+    /**
+     * Endpoint para recorrer los IDs de usuario por páginas.
+     *
+     * @param despuesDe ID a partir del cual se listan los usuarios (exclusivo)
+     * @param tamano Número de IDs solicitados
+     * @return ResponseEntity con los IDs en orden ascendente
+     */
+    @GetMapping("/ids")
+    public ResponseEntity<List<Long>> obtenerIdsUsuarios(
+            @RequestParam(value = "despuesDe", defaultValue = "0") Long despuesDe,
+            @RequestParam(value = "tamano", defaultValue = "500") int tamano) {
+        return ResponseEntity.ok(servicioUsuario.obtenerIdsDespuesDe(despuesDe, tamano));
+    }
+}
@@ -0,0 +1,99 @@
+package udistrital.avanzada.tinderstandin.usuario.dto;
+
+/**
+ * DTO con la información pública del perfil de un usuario, para consultas
+ * individuales desde otros microservicios.
+ *
+ * @author AndGar03
+ */
+public class PerfilUsuarioDTO {
+
+    private Long id;
+    private String username;
+    private String email;
+    private String nombreCompleto;
+    private String genero;
+    private String ciudad;
+    private String descripcion;
+    private String fotoPerfil;
+
+    public PerfilUsuarioDTO() {
+    }
+
+    public PerfilUsuarioDTO(Long id, String username, String email, String nombreCompleto,
+                            String genero, String ciudad, String descripcion, String fotoPerfil) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.nombreCompleto = nombreCompleto;
+        this.genero = genero;
+        this.ciudad = ciudad;
+        this.descripcion = descripcion;
+        this.fotoPerfil = fotoPerfil;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getNombreCompleto() {
+        return nombreCompleto;
+    }
+
+    public void setNombreCompleto(String nombreCompleto) {
+        this.nombreCompleto = nombreCompleto;
+    }
+
+    public String getGenero() {
+        return genero;
+    }
+
+    public void setGenero(String genero) {
+        this.genero = genero;
+    }
+
+    public String getCiudad() {
+        return ciudad;
+    }
+
+    public void setCiudad(String ciudad) {
+        this.ciudad = ciudad;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getFotoPerfil() {
+        return fotoPerfil;
+    }
+
+    public void setFotoPerfil(String fotoPerfil) {
+        this.fotoPerfil = fotoPerfil;
+    }
+}
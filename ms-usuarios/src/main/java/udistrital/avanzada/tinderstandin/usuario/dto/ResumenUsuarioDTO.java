@@ -0,0 +1,79 @@
+package udistrital.avanzada.tinderstandin.usuario.dto;
+
+/**
+ * DTO con el resumen público de un usuario, pensado para consultas
+ * masivas desde otros microservicios.
+ *
+ * @author AndGar03
+ */
+public class ResumenUsuarioDTO {
+
+    private Long id;
+    private String username;
+    private String nombreCompleto;
+    private String genero;
+    private String ciudad;
+    private String fotoPerfil;
+
+    public ResumenUsuarioDTO() {
+    }
+
+    public ResumenUsuarioDTO(Long id, String username, String nombreCompleto,
+                             String genero, String ciudad, String fotoPerfil) {
+        this.id = id;
+        this.username = username;
+        this.nombreCompleto = nombreCompleto;
+        this.genero = genero;
+        this.ciudad = ciudad;
+        this.fotoPerfil = fotoPerfil;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getNombreCompleto() {
+        return nombreCompleto;
+    }
+
+    public void setNombreCompleto(String nombreCompleto) {
+        this.nombreCompleto = nombreCompleto;
+    }
+
+    public String getGenero() {
+        return genero;
+    }
+
+    public void setGenero(String genero) {
+        this.genero = genero;
+    }
+
+    public String getCiudad() {
+        return ciudad;
+    }
+
+    public void setCiudad(String ciudad) {
+        this.ciudad = ciudad;
+    }
+
+    public String getFotoPerfil() {
+        return fotoPerfil;
+    }
+
+    public void setFotoPerfil(String fotoPerfil) {
+        this.fotoPerfil = fotoPerfil;
+    }
+}
@@ -18,6 +18,7 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
+@EntityListeners(EscuchaCambiosUsuario.class)
 @Table(name = "usuarios", 
        uniqueConstraints = {
            @UniqueConstraint(columnNames = "username"),
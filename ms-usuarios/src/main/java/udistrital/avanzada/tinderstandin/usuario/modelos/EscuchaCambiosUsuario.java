@@ -0,0 +1,28 @@
+package udistrital.avanzada.tinderstandin.usuario.modelos;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import udistrital.avanzada.tinderstandin.usuario.servicios.NotificadorCambiosPerfil;
+
+/**
+ * Listener JPA que detecta cambios en los usuarios y los notifica
+ * a los demás microservicios.
+ * 
+ * @author AndGar03
+ */
+@Component
+public class EscuchaCambiosUsuario {
+    
+    private final NotificadorCambiosPerfil notificadorCambiosPerfil;
+    
+    public EscuchaCambiosUsuario(NotificadorCambiosPerfil notificadorCambiosPerfil) {
+        this.notificadorCambiosPerfil = notificadorCambiosPerfil;
+    }
+    
+    @PostUpdate
+    @PostRemove
+    void alCambiar(EntidadUsuario usuario) {
+        notificadorCambiosPerfil.notificarCambio(usuario.getId());
+    }
+}
@@ -0,0 +1,117 @@
+package udistrital.avanzada.tinderstandin.usuario.replicacion;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración del enrutamiento de lecturas a réplicas.
+ * Se activa con {@code usuarios.replicacion.habilitada=true} y reemplaza al
+ * datasource único: el primario sale de {@code spring.datasource.*}, con su
+ * pool ajustado por {@code spring.datasource.hikari.*} como el datasource
+ * autoconfigurado, y cada réplica tiene su propio pool de solo lectura.
+ *
+ * <p>La sesión JPA no debe abarcar toda la petición (open-in-view) para que
+ * cada transacción elija su conexión.</p>
+ *
+ * @author AndGar03
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "usuarios.replicacion", name = "habilitada", havingValue = "true")
+@EnableConfigurationProperties(PropiedadesReplicacion.class)
+@Slf4j
+public class ConfiguracionReplicacion {
+
+    // Espera máxima por una conexión de réplica antes de darla por caída
+    private static final long ESPERA_CONEXION_REPLICA_MS = 2000;
+
+    /**
+     * Crea un pool por réplica y el selector que reparte las lecturas entre ellas.
+     *
+     * @param propiedades Propiedades de la replicación
+     * @return Selector de réplicas con su estado inicial verificado
+     */
+    @Bean
+    public SelectorReplicas selectorReplicas(PropiedadesReplicacion propiedades) {
+        if (propiedades.getReplicas().isEmpty()) {
+            throw new IllegalStateException("La replicación requiere al menos una réplica configurada");
+        }
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (PropiedadesReplicacion.Replica replica : propiedades.getReplicas()) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsuario())
+                    .password(replica.getContrasena())
+                    .driverClassName(replica.getDriver())
+                    .build();
+            pool.setPoolName("replica-" + replica.getNombre());
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(ESPERA_CONEXION_REPLICA_MS);
+            pools.put(replica.getNombre(), pool);
+        }
+        SelectorReplicas selector = new SelectorReplicas(
+                pools, propiedades.getRetrasoMaximoSegundos(), propiedades.isVerificarRetraso());
+        selector.verificarReplicas();
+        return selector;
+    }
+
+    /**
+     * Crea el pool del primario. Al ser un bean, Spring le aplica las
+     * propiedades de {@code spring.datasource.hikari.*} tras crearlo.
+     *
+     * @param propiedadesPrimario Propiedades de {@code spring.datasource.*}
+     * @return Pool del primario
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propiedadesPrimario) {
+        HikariDataSource primario = propiedadesPrimario.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primario.setPoolName("primario");
+        return primario;
+    }
+
+    /**
+     * Crea el datasource que envía las transacciones de solo lectura a las réplicas.
+     *
+     * @param primario Pool del primario
+     * @param selectorReplicas Selector de réplicas
+     * @param sesionEnVista Si la sesión JPA permanece abierta durante toda la petición
+     * @return Datasource enrutado con obtención diferida de la conexión
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primario,
+                                 SelectorReplicas selectorReplicas,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean sesionEnVista) {
+        if (sesionEnVista) {
+            throw new IllegalStateException("La replicación requiere spring.jpa.open-in-view=false");
+        }
+
+        Map<Object, Object> destinos = new HashMap<>(selectorReplicas.obtenerDataSources());
+        destinos.put(DataSourceLecturaEscritura.PRIMARIO, primario);
+
+        DataSourceLecturaEscritura enrutado = new DataSourceLecturaEscritura(selectorReplicas);
+        enrutado.setTargetDataSources(destinos);
+        enrutado.setDefaultTargetDataSource(primario);
+        enrutado.afterPropertiesSet();
+        log.info("Lecturas enrutadas a {} réplicas", destinos.size() - 1);
+        return new LazyConnectionDataSourceProxy(enrutado);
+    }
+}
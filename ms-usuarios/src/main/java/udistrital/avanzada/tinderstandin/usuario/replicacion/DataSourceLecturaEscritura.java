@@ -0,0 +1,36 @@
+package udistrital.avanzada.tinderstandin.usuario.replicacion;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Datasource que entrega conexiones de una réplica a las transacciones de
+ * solo lectura y del primario a todo lo demás. Si no hay réplicas disponibles,
+ * o el usuario está en su ventana de lectura propia, se usa el primario.
+ *
+ * <p>Debe envolverse en un {@code LazyConnectionDataSourceProxy}: la marca de
+ * solo lectura se publica después de que el gestor de transacciones pide la
+ * conexión, por lo que la decisión se toma en la primera consulta.</p>
+ *
+ * @author AndGar03
+ */
+public class DataSourceLecturaEscritura extends AbstractRoutingDataSource {
+
+    static final String PRIMARIO = "primario";
+
+    private final SelectorReplicas selectorReplicas;
+
+    public DataSourceLecturaEscritura(SelectorReplicas selectorReplicas) {
+        this.selectorReplicas = selectorReplicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || VentanaLecturaPropia.primarioForzado()) {
+            return PRIMARIO;
+        }
+        String replica = selectorReplicas.elegir();
+        return replica != null ? replica : PRIMARIO;
+    }
+}
@@ -0,0 +1,56 @@
+package udistrital.avanzada.tinderstandin.usuario.replicacion;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades del enrutamiento de lecturas a réplicas ({@code usuarios.replicacion.*}).
+ * El primario se sigue configurando con {@code spring.datasource.*}.
+ *
+ * @author AndGar03
+ */
+@Data
+@ConfigurationProperties(prefix = "usuarios.replicacion")
+public class PropiedadesReplicacion {
+
+    /**
+     * Envía las transacciones de solo lectura a las réplicas.
+     */
+    private boolean habilitada;
+
+    /**
+     * Retraso máximo de replicación tolerado; una réplica más atrasada deja de recibir lecturas.
+     */
+    private long retrasoMaximoSegundos = 5;
+
+    /**
+     * Consulta el retraso de replicación en cada verificación de salud (MySQL).
+     */
+    private boolean verificarRetraso = true;
+
+    /**
+     * Ventana tras una escritura en la que las lecturas del mismo usuario van al primario (0 la desactiva).
+     */
+    private long ventanaLecturaPropiaMs;
+
+    /**
+     * Réplicas de solo lectura.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Conexión a una réplica.
+     */
+    @Data
+    public static class Replica {
+
+        private String nombre;
+        private String url;
+        private String usuario;
+        private String contrasena;
+        private String driver;
+    }
+}
@@ -1,9 +1,15 @@
 package udistrital.avanzada.tinderstandin.usuario.repositorios;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import udistrital.avanzada.tinderstandin.usuario.dto.ResumenUsuarioDTO;
 import udistrital.avanzada.tinderstandin.usuario.modelos.EntidadUsuario;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -37,4 +43,27 @@ public interface UsuarioRepositorio extends JpaRepository<EntidadUsuario, Long>
      * @return true si existe, false en caso contrario
      */
     Boolean existsByEmail(String email);
+    
+    /**
+     * Obtiene el resumen público de varios usuarios en una sola consulta.
+     * Proyecta directamente al DTO para no cargar entidades ni roles.
+     * 
+     * @param ids IDs de los usuarios a consultar
+     * @return Lista de resúmenes de los usuarios encontrados
+     */
+    @Query("SELECT new udistrital.avanzada.tinderstandin.usuario.dto.ResumenUsuarioDTO(" +
+           "u.id, u.username, u.nombreCompleto, u.genero, u.ciudad, u.fotoPerfil) " +
+           "FROM EntidadUsuario u WHERE u.id IN :ids")
+    List<ResumenUsuarioDTO> buscarResumenesPorIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Obtiene, en orden ascendente, los IDs de usuario posteriores a uno dado.
+     * Recorre la clave primaria, por lo que el costo no depende de la posición.
+     * 
+     * @param despuesDe ID a partir del cual se listan los usuarios (exclusivo)
+     * @param pagina Límite de resultados
+     * @return IDs de los usuarios
+     */
+    @Query("SELECT u.id FROM EntidadUsuario u WHERE u.id > :despuesDe ORDER BY u.id")
+    List<Long> buscarIdsDespuesDe(@Param("despuesDe") Long despuesDe, Pageable pagina);
 }
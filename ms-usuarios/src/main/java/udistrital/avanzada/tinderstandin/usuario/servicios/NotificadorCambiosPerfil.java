@@ -0,0 +1,93 @@
+package udistrital.avanzada.tinderstandin.usuario.servicios;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servicio que avisa a ms-social cuando cambia el perfil de un usuario,
+ * para que invalide la información que tiene en caché.
+ * El aviso se envía en segundo plano después del commit para no
+ * retrasar ni acoplar la transacción a la disponibilidad de ms-social.
+ *
+ * @author AndGar03
+ */
+@Service
+@Slf4j
+public class NotificadorCambiosPerfil {
+    
+    /**
+     * Cabecera con el secreto que exigen los endpoints internos de ms-social.
+     */
+    private static final String CABECERA_SECRETO = "X-Secreto-Interno";
+    
+    private final RestTemplate restTemplate;
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "notificador-perfiles");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    
+    @Value("${ms.social.url}")
+    private String msSocialUrl;
+    
+    @Value("${ms.social.secreto-interno}")
+    private String secretoInterno;
+    
+    public NotificadorCambiosPerfil(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+    
+    /**
+     * Programa el aviso de cambio de perfil. Si hay una transacción activa,
+     * el aviso se envía solo si esta confirma.
+     *
+     * @param usuarioId ID del usuario cuyo perfil cambió
+     */
+    public void notificarCambio(Long usuarioId) {
+        Runnable envio = () -> enviar(usuarioId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ejecutor.execute(envio);
+                }
+            });
+        } else {
+            ejecutor.execute(envio);
+        }
+    }
+    
+    /**
+     * Envía el aviso a ms-social. Los errores se registran sin propagarse:
+     * en el peor caso la entrada expira por TTL en ms-social.
+     *
+     * @param usuarioId ID del usuario cuyo perfil cambió
+     */
+    private void enviar(Long usuarioId) {
+        try {
+            HttpHeaders cabeceras = new HttpHeaders();
+            cabeceras.set(CABECERA_SECRETO, secretoInterno);
+            restTemplate.postForObject(
+                    msSocialUrl + "/api/social/interno/usuarios/" + usuarioId + "/invalidar",
+                    new HttpEntity<>(null, cabeceras), Void.class);
+            log.debug("Cambio de perfil del usuario {} notificado a ms-social", usuarioId);
+        } catch (Exception e) {
+            log.error("Error al notificar cambio de perfil del usuario {}: {}", usuarioId, e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdown();
+    }
+}
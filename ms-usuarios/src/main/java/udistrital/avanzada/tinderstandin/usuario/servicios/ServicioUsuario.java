@@ -2,17 +2,22 @@ package udistrital.avanzada.tinderstandin.usuario.servicios;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import udistrital.avanzada.tinderstandin.usuario.dto.RegistroRequest;
+import udistrital.avanzada.tinderstandin.usuario.dto.ResumenUsuarioDTO;
 import udistrital.avanzada.tinderstandin.usuario.modelos.EntidadRol;
 import udistrital.avanzada.tinderstandin.usuario.modelos.EntidadUsuario;
+import udistrital.avanzada.tinderstandin.usuario.replicacion.VentanaLecturaPropia;
 import udistrital.avanzada.tinderstandin.usuario.repositorios.RolRepositorio;
 import udistrital.avanzada.tinderstandin.usuario.repositorios.UsuarioRepositorio;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
@@ -30,6 +35,13 @@ public class ServicioUsuario {
     private final RolRepositorio rolRepositorio;
     private final PasswordEncoder passwordEncoder;
     private final JavaMailSender mailSender;
+    private final VentanaLecturaPropia ventanaLecturaPropia;
+    
+    // Máximo de IDs aceptados en una consulta masiva de resúmenes
+    private static final int MAXIMO_IDS_RESUMEN = 500;
+    
+    // Máximo de IDs por página en el listado de IDs de usuario
+    private static final int MAXIMO_IDS_PAGINA = 1000;
     
     // Expresión regular para validación de contraseña
     // Debe coincidir con la usada en RegistroRequest (@Pattern)
@@ -110,6 +122,7 @@ public class ServicioUsuario {
         // Guardar usuario
         EntidadUsuario usuarioGuardado = usuarioRepositorio.save(usuario);
         log.info("Usuario registrado exitosamente: {}", usuarioGuardado.getUsername());
+        ventanaLecturaPropia.registrarEscritura(usuarioGuardado.getId());
         
         // Enviar correo de bienvenida
         enviarCorreoBienvenida(usuarioGuardado);
@@ -165,7 +178,39 @@ public class ServicioUsuario {
      */
     @Transactional(readOnly = true)
     public EntidadUsuario obtenerPorId(Long id) {
+        ventanaLecturaPropia.aplicarA(id);
         return usuarioRepositorio.findById(id)
             .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + id));
     }
+    
+    /**
+     * Obtiene el resumen público de varios usuarios con una sola consulta.
+     *
+     * @param ids IDs de los usuarios
+     * @return Resúmenes de los usuarios encontrados (los IDs inexistentes se omiten)
+     * @throws RuntimeException si se solicitan más IDs de los permitidos
+     */
+    @Transactional(readOnly = true)
+    public List<ResumenUsuarioDTO> obtenerResumenesPorIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > MAXIMO_IDS_RESUMEN) {
+            throw new RuntimeException("No se pueden consultar más de " + MAXIMO_IDS_RESUMEN + " usuarios a la vez");
+        }
+        return usuarioRepositorio.buscarResumenesPorIds(ids);
+    }
+    
+    /**
+     * Obtiene una página de IDs de usuario posteriores a un ID dado, en orden ascendente.
+     *
+     * @param despuesDe ID a partir del cual se listan los usuarios (exclusivo)
+     * @param tamano Número de IDs solicitados (se limita al máximo permitido)
+     * @return IDs de los usuarios
+     */
+    @Transactional(readOnly = true)
+    public List<Long> obtenerIdsDespuesDe(Long despuesDe, int tamano) {
+        int limite = Math.max(1, Math.min(tamano, MAXIMO_IDS_PAGINA));
+        return usuarioRepositorio.buscarIdsDespuesDe(despuesDe, PageRequest.of(0, limite));
+    }
 }